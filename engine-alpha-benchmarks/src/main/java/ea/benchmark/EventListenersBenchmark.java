@@ -0,0 +1,60 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.benchmark;
+
+import ea.FrameUpdateListener;
+import ea.event.EventListeners;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Benachrichtigen vieler Listener über {@link EventListeners#invoke(java.util.function.Consumer)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventListenersBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    public int listenerCount;
+
+    private EventListeners<FrameUpdateListener> listeners;
+
+    private float sum;
+
+    @Setup
+    public void setup() {
+        listeners = new EventListeners<>();
+
+        for (int i = 0; i < listenerCount; i++) {
+            listeners.add(deltaSeconds -> sum += deltaSeconds);
+        }
+    }
+
+    @Benchmark
+    public float invoke() {
+        listeners.invoke(listener -> listener.onFrameUpdate(0.016f));
+
+        return sum;
+    }
+}
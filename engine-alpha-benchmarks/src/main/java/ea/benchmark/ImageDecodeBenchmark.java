@@ -0,0 +1,68 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.benchmark;
+
+import ea.internal.io.ImageLoader;
+import ea.internal.util.GifDecoder;
+import ea.internal.util.GifIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Dekodieren von Bildern ohne Cache: PNG über {@link ImageLoader} und animierte GIFs über
+ * {@link GifDecoder} und {@link GifIndex}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageDecodeBenchmark {
+    private static final String PNG_PATH = "benchmark-assets/ball.png";
+    private static final String GIF_PATH = "benchmark-assets/walk.gif";
+
+    @Benchmark
+    public BufferedImage loadPng() {
+        ImageLoader.clearCache(PNG_PATH);
+
+        return ImageLoader.load(PNG_PATH);
+    }
+
+    @Benchmark
+    public int decodeGif() {
+        GifDecoder decoder = new GifDecoder();
+        decoder.read(GIF_PATH);
+
+        return decoder.getFrameCount();
+    }
+
+    @Benchmark
+    public int decodeGifIndexed() {
+        return GifIndex.read(GIF_PATH).getFrames().length;
+    }
+
+    @Benchmark
+    public BufferedImage streamGifFirstFrame() {
+        return GifIndex.read(GIF_PATH).openStream().getFrame(0);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.benchmark;
+
+import ea.Game;
+import ea.Layer;
+import ea.Scene;
+import ea.actor.Actor;
+import ea.actor.Image;
+import ea.actor.Rectangle;
+import ea.actor.Text;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Zeichnen eines Layers in ein Bild im Speicher. Die Actors sind in einem Raster angeordnet, das etwa
+ * viermal so groß wie die sichtbare Fläche ist, damit auch das Aussortieren unsichtbarer Actors mitgemessen wird.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LayerRenderBenchmark {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final float ZOOM = 30;
+
+    public enum ActorType {
+        RECTANGLE, IMAGE, TEXT
+    }
+
+    @Param({"1000", "10000"})
+    public int actorCount;
+
+    @Param({"RECTANGLE", "IMAGE", "TEXT"})
+    public ActorType actorType;
+
+    @Param({"false", "true"})
+    public boolean staticLayer;
+
+    private Scene scene;
+    private Layer layer;
+    private BufferedImage target;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scene = new Scene();
+        scene.getCamera().setZoom(ZOOM);
+
+        layer = scene.getMainLayer();
+        layer.setStatic(staticLayer);
+        target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        float areaWidth = 2 * WIDTH / ZOOM;
+        float areaHeight = 2 * HEIGHT / ZOOM;
+        int columns = (int) Math.ceil(Math.sqrt(actorCount * areaWidth / areaHeight));
+        int rows = (int) Math.ceil((double) actorCount / columns);
+
+        for (int i = 0; i < actorCount; i++) {
+            Actor actor = createActor(i);
+            actor.setPosition(-areaWidth / 2 + (i % columns) * areaWidth / columns, -areaHeight / 2 + (i / columns) * areaHeight / rows);
+            layer.add(actor);
+        }
+
+        // Meldet die Actors an
+        Game.startHeadless(scene, 1);
+    }
+
+    private Actor createActor(int index) {
+        switch (actorType) {
+            case IMAGE:
+                return new Image("benchmark-assets/ball.png", 1, 1);
+            case TEXT:
+                return new Text("Actor " + index, 0.5f);
+            default:
+                return new Rectangle(1, 1);
+        }
+    }
+
+    @Benchmark
+    public int render() {
+        Graphics2D g = target.createGraphics();
+        layer.render(g, scene.getCamera(), WIDTH, HEIGHT);
+        g.dispose();
+
+        return layer.getDrawnActorCount();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.benchmark;
+
+import ea.internal.util.Logger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die Kosten eines Log-Aufrufs auf dem aufrufenden Thread. Debug-Meldungen werden ohne Debug-Modus nur in die
+ * Datei geschrieben, nicht auf die Konsole.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggerBenchmark {
+    @Param({"false", "true"})
+    public boolean asynchronous;
+
+    @Param({"true", "false"})
+    public boolean callSiteCapture;
+
+    @Setup
+    public void setup() {
+        Logger.setAsynchronous(asynchronous);
+        Logger.setOverflowPolicy(Logger.OverflowPolicy.DROP);
+        Logger.setCallSiteCapture(callSiteCapture);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Logger.setAsynchronous(false);
+    }
+
+    @Benchmark
+    public void debug() {
+        Logger.debug("Benchmark", "Kollision erkannt");
+    }
+}
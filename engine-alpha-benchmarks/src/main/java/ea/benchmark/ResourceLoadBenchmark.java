@@ -0,0 +1,91 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.benchmark;
+
+import ea.internal.io.ImageLoader;
+import ea.internal.io.PackFile;
+import ea.internal.io.ResourceLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Lesen von Dateien über den {@link ResourceLoader}, wahlweise aus der JAR bzw. dem Klassenpfad oder aus
+ * einem eingebundenen {@link PackFile}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceLoadBenchmark {
+    private static final String PNG_PATH = "benchmark-assets/ball.png";
+    private static final String GIF_PATH = "benchmark-assets/walk.gif";
+
+    @Param({"false", "true"})
+    public boolean pack;
+
+    private Path directory;
+
+    @Setup
+    public void setup() throws IOException {
+        if (!pack) {
+            return;
+        }
+
+        directory = Files.createTempDirectory("ea-pack");
+        Path assets = Files.createDirectories(directory.resolve("content/benchmark-assets"));
+
+        Files.write(assets.resolve("ball.png"), ResourceLoader.load(PNG_PATH));
+        Files.write(assets.resolve("walk.gif"), ResourceLoader.load(GIF_PATH));
+
+        Path packFile = directory.resolve("assets.eapack");
+        PackFile.write(packFile, directory.resolve("content"));
+        ResourceLoader.mountPack(packFile.toString());
+    }
+
+    @TearDown
+    public void tearDown() {
+        ResourceLoader.unmountPacks();
+    }
+
+    @Benchmark
+    public byte[] loadBytes() throws IOException {
+        return ResourceLoader.load(GIF_PATH);
+    }
+
+    @Benchmark
+    public ByteBuffer loadBuffer() throws IOException {
+        return ResourceLoader.loadAsBuffer(GIF_PATH);
+    }
+
+    @Benchmark
+    public BufferedImage loadPng() {
+        ImageLoader.clearCache(PNG_PATH);
+
+        return ImageLoader.load(PNG_PATH);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.benchmark;
+
+import ea.Game;
+import ea.Scene;
+import ea.actor.Text;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Ändern eines Textes, wie es z.B. bei einem Punktestand in jedem Frame passiert.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextUpdateBenchmark {
+    @Param({"false", "true"})
+    public boolean renderOnly;
+
+    private Text text;
+    private int score;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        text = new Text("Score: 0", 1);
+        text.setRenderOnly(renderOnly);
+
+        Scene scene = new Scene();
+        scene.add(text);
+
+        // Meldet den Text an, damit auch die Fixture in der Physik-Welt ersetzt wird
+        Game.startHeadless(scene, 1);
+    }
+
+    @Benchmark
+    public Text setContent() {
+        // Ein Punktestand nimmt nur wenige verschiedene Werte an
+        score = (score + 1) % 100;
+        text.setContent("Score: " + score);
+
+        return text;
+    }
+}
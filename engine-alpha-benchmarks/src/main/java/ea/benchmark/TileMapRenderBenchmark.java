@@ -0,0 +1,88 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.benchmark;
+
+import ea.Game;
+import ea.Layer;
+import ea.Scene;
+import ea.actor.Tile;
+import ea.actor.TileContainer;
+import ea.actor.TileMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst das Zeichnen eines vollständig belegten {@link TileContainer}, von dem nur ein kleiner Ausschnitt sichtbar
+ * ist. Die Kosten sollten unabhängig von der Kartengröße sein.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TileMapRenderBenchmark {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final float ZOOM = 30;
+
+    @Param({"100", "1000"})
+    public int mapSize;
+
+    private Scene scene;
+    private Layer layer;
+    private BufferedImage target;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scene = new Scene();
+        scene.getCamera().setZoom(ZOOM);
+
+        layer = scene.getMainLayer();
+        target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        Tile tile = TileMap.createFromImage("benchmark-assets/ball.png");
+        TileContainer container = new TileContainer(mapSize, mapSize, 1);
+
+        for (int x = 0; x < mapSize; x++) {
+            for (int y = 0; y < mapSize; y++) {
+                container.setTile(x, y, tile);
+            }
+        }
+
+        container.setPosition(-mapSize / 2f, -mapSize / 2f);
+        layer.add(container);
+
+        // Meldet den Container an
+        Game.startHeadless(scene, 1);
+    }
+
+    @Benchmark
+    public int render() {
+        Graphics2D g = target.createGraphics();
+        layer.render(g, scene.getCamera(), WIDTH, HEIGHT);
+        g.dispose();
+
+        return layer.getDrawnActorCount();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.benchmark;
+
+import ea.MutableVector;
+import ea.Vector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst typische Rechnungen mit {@link Vector}, wie sie pro Frame in Spiellogik und Engine vorkommen.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBenchmark {
+    private Vector a;
+    private Vector b;
+    private final MutableVector scratch = new MutableVector();
+
+    @Setup
+    public void setup() {
+        a = new Vector(3.5f, -1.25f);
+        b = new Vector(-0.75f, 8);
+    }
+
+    @Benchmark
+    public Vector add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public Vector multiply() {
+        return a.multiply(1.5f);
+    }
+
+    @Benchmark
+    public Vector normalize() {
+        return a.normalize();
+    }
+
+    @Benchmark
+    public Vector rotate() {
+        return a.rotate(30);
+    }
+
+    @Benchmark
+    public float length() {
+        return a.getLength();
+    }
+
+    @Benchmark
+    public Vector movement() {
+        // Geschwindigkeit * Zeit + Position, gedämpft
+        return a.add(b.multiply(0.016f)).multiply(0.98f).subtract(b.normalize());
+    }
+
+    @Benchmark
+    public MutableVector movementMutable() {
+        // wie movement, aber ohne neue Objekte
+        return scratch.set(b).multiply(0.016f).add(a).multiply(0.98f).subtract(b.getX() / b.getLength(), b.getY() / b.getLength());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.benchmark;
+
+import ea.Game;
+import ea.Scene;
+import ea.Vector;
+import ea.actor.BodyType;
+import ea.actor.Rectangle;
+import ea.internal.physics.WorldHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst einen einzelnen Physik-Schritt ({@link WorldHandler#STEP_TIME}) mit einem Stapel fallender Körper auf einem
+ * statischen Boden. Die Körper werden vor jeder Iteration neu erstellt. Einschlafen ist abgeschaltet: Sonst kommen die
+ * Körper nach wenigen Schritten zur Ruhe und {@link WorldHandler#step(float)} überspringt die Schritte, statt Kontakte
+ * zu lösen.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorldStepBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int bodyCount;
+
+    private WorldHandler worldHandler;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Scene scene = new Scene();
+        scene.setGravity(new Vector(0, -9.81f));
+        scene.getMainLayer().setSleepingAllowed(false);
+
+        int columns = (int) Math.ceil(Math.sqrt(bodyCount));
+
+        Rectangle ground = new Rectangle(columns * 1.5f + 10, 1);
+        ground.setPosition(-5, -1);
+        ground.setBodyType(BodyType.STATIC);
+        scene.add(ground);
+
+        for (int i = 0; i < bodyCount; i++) {
+            Rectangle rectangle = new Rectangle(1, 1);
+            rectangle.setPosition((i % columns) * 1.5f, (i / columns) * 1.5f);
+            rectangle.setBodyType(BodyType.DYNAMIC);
+            scene.add(rectangle);
+        }
+
+        // Meldet die Actors an
+        Game.startHeadless(scene, 1);
+
+        worldHandler = scene.getMainLayer().getWorldHandler();
+    }
+
+    @Benchmark
+    public int step() {
+        worldHandler.step(WorldHandler.STEP_TIME);
+
+        return worldHandler.getWorld().getContactCount();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea;
+
+import ea.internal.annotations.API;
+
+/**
+ * Wird über den Fortschritt eines {@link AssetManager} informiert. Läuft das Spiel, werden alle Methoden auf dem
+ * Game-Thread zu Beginn eines Frames aufgerufen, sodass z.B. ein Ladebildschirm direkt aktualisiert werden kann.
+ */
+@API
+public interface AssetLoadListener {
+    /**
+     * Wird aufgerufen, nachdem eine Datei geladen wurde oder nicht geladen werden konnte.
+     *
+     * @param path   Pfad der Datei.
+     * @param loaded Anzahl der bisher bearbeiteten Dateien.
+     * @param total  Anzahl aller Dateien.
+     */
+    @API
+    void onProgress(String path, int loaded, int total);
+
+    /**
+     * Wird aufgerufen, wenn eine Datei nicht geladen werden konnte. Die übrigen Dateien werden trotzdem geladen.
+     *
+     * @param path      Pfad der Datei.
+     * @param exception Der aufgetretene Fehler.
+     */
+    @API
+    default void onError(String path, RuntimeException exception) {
+        // Standardmäßig nichts tun
+    }
+
+    /**
+     * Wird einmal aufgerufen, nachdem alle Dateien bearbeitet wurden.
+     */
+    @API
+    default void onComplete() {
+        // Standardmäßig nichts tun
+    }
+}
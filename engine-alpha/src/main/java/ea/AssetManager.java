@@ -0,0 +1,272 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+import ea.internal.io.FontLoader;
+import ea.internal.io.GifLoader;
+import ea.internal.io.ImageLoader;
+import ea.internal.util.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Lädt Bilder, Spritesheets, animierte GIFs und Schriftarten im Hintergrund vor. Die Dateien werden parallel gelesen
+ * und landen in denselben Caches, die auch {@link ea.actor.Image}, {@link ea.actor.Animation} und
+ * {@link ea.actor.Text} verwenden. Werden die Actors nach dem Laden erstellt, wird dabei nichts mehr von der Festplatte
+ * gelesen und das Spiel stockt nicht.
+ * <p>
+ * Ein Ladebildschirm kann den Fortschritt über einen {@link AssetLoadListener} oder über {@link #getProgress()}
+ * anzeigen, während das Spiel normal weiterläuft.
+ */
+@API
+public final class AssetManager {
+    private static final ExecutorService loader = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), runnable -> {
+        Thread thread = new Thread(runnable, "ea.assets");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Alle angemeldeten Dateien in der Reihenfolge des Hinzufügens.
+     */
+    private final Map<String, AssetType> assets = new LinkedHashMap<>();
+
+    private CountDownLatch remaining;
+    private int loadedCount;
+    private int failedCount;
+
+    /**
+     * Meldet ein Bild zum Laden an. Spritesheets und Tilesets sind ebenfalls Bilder.
+     *
+     * @param paths Pfade der Bilder.
+     *
+     * @return Dieser AssetManager.
+     */
+    @API
+    public AssetManager addImage(String... paths) {
+        return add(AssetType.IMAGE, paths);
+    }
+
+    /**
+     * Meldet ein animiertes GIF zum Laden an, z.B. für {@link ea.actor.Animation#createFromAnimatedGif(String, float, float)}.
+     * Alle Frames werden dabei dekodiert.
+     *
+     * @param paths Pfade der GIFs.
+     *
+     * @return Dieser AssetManager.
+     */
+    @API
+    public AssetManager addAnimatedGif(String... paths) {
+        return add(AssetType.GIF, paths);
+    }
+
+    /**
+     * Meldet eine Schriftart zum Laden an, z.B. für {@link FontLoader#loadFromFile(String)}.
+     *
+     * @param paths Pfade der Schriftarten.
+     *
+     * @return Dieser AssetManager.
+     */
+    @API
+    public AssetManager addFont(String... paths) {
+        return add(AssetType.FONT, paths);
+    }
+
+    @Internal
+    private synchronized AssetManager add(AssetType type, String[] paths) {
+        if (remaining != null) {
+            throw new IllegalStateException("Nach dem Start des Ladens können keine Dateien mehr hinzugefügt werden");
+        }
+
+        for (String path : paths) {
+            assets.put(path, type);
+        }
+
+        return this;
+    }
+
+    /**
+     * Startet das Laden aller angemeldeten Dateien im Hintergrund.
+     */
+    @API
+    public void load() {
+        load(null);
+    }
+
+    /**
+     * Startet das Laden aller angemeldeten Dateien im Hintergrund.
+     *
+     * @param listener Wird über den Fortschritt informiert, darf <code>null</code> sein.
+     */
+    @API
+    public synchronized void load(AssetLoadListener listener) {
+        if (remaining != null) {
+            throw new IllegalStateException("Das Laden wurde bereits gestartet");
+        }
+
+        remaining = new CountDownLatch(assets.size());
+
+        if (assets.isEmpty()) {
+            notifyListener(listener, AssetLoadListener::onComplete);
+
+            return;
+        }
+
+        for (Map.Entry<String, AssetType> asset : assets.entrySet()) {
+            loader.execute(() -> loadAsset(asset.getKey(), asset.getValue(), listener));
+        }
+    }
+
+    @Internal
+    private void loadAsset(String path, AssetType type, AssetLoadListener listener) {
+        RuntimeException exception = null;
+        Error fatal = null;
+
+        try {
+            try {
+                type.loader.accept(path);
+            } catch (RuntimeException e) {
+                exception = e;
+            } catch (Error e) {
+                // z.B. OutOfMemoryError: als fehlgeschlagen zählen, damit das Laden trotzdem abgeschlossen wird
+                exception = new RuntimeException(e);
+                fatal = e;
+            }
+
+            if (exception != null) {
+                Logger.error("Assets", "Datei konnte nicht vorgeladen werden: " + path + " (" + exception.getMessage() + ")");
+            }
+
+            // Benachrichtigungen unter dem Lock einreihen, damit sie in der richtigen Reihenfolge ankommen
+            synchronized (this) {
+                if (exception == null) {
+                    loadedCount++;
+                } else {
+                    failedCount++;
+
+                    RuntimeException error = exception;
+                    notifyListener(listener, l -> l.onError(path, error));
+                }
+
+                int processed = loadedCount + failedCount;
+                int total = assets.size();
+
+                notifyListener(listener, l -> l.onProgress(path, processed, total));
+
+                if (processed == total) {
+                    notifyListener(listener, AssetLoadListener::onComplete);
+                }
+            }
+        } finally {
+            // Immer zählen, sonst wartet await() für immer
+            remaining.countDown();
+        }
+
+        if (fatal != null) {
+            throw fatal;
+        }
+    }
+
+    @Internal
+    private static void notifyListener(AssetLoadListener listener, Consumer<AssetLoadListener> notification) {
+        if (listener != null) {
+            Game.runOnGameThread(() -> notification.accept(listener));
+        }
+    }
+
+    /**
+     * Wartet, bis alle Dateien bearbeitet wurden. Sollte nicht auf dem Game-Thread aufgerufen werden, da das Spiel
+     * sonst bis zum Ende des Ladens steht.
+     *
+     * @throws IllegalStateException Falls das Laden noch nicht gestartet wurde.
+     */
+    @API
+    public void await() {
+        CountDownLatch latch;
+
+        synchronized (this) {
+            latch = remaining;
+        }
+
+        if (latch == null) {
+            throw new IllegalStateException("Das Laden wurde noch nicht gestartet");
+        }
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return <code>true</code>, wenn alle Dateien bearbeitet wurden, auch wenn einzelne nicht geladen werden konnten.
+     */
+    @API
+    public synchronized boolean isDone() {
+        return remaining != null && remaining.getCount() == 0;
+    }
+
+    /**
+     * @return Anteil der bearbeiteten Dateien zwischen <code>0</code> und <code>1</code>.
+     */
+    @API
+    public synchronized float getProgress() {
+        if (assets.isEmpty()) {
+            return remaining == null ? 0 : 1;
+        }
+
+        return (float) (loadedCount + failedCount) / assets.size();
+    }
+
+    @API
+    public synchronized int getAssetCount() {
+        return assets.size();
+    }
+
+    @API
+    public synchronized int getLoadedCount() {
+        return loadedCount;
+    }
+
+    @API
+    public synchronized int getFailedCount() {
+        return failedCount;
+    }
+
+    private enum AssetType {
+        IMAGE(ImageLoader::load),
+        GIF(path -> GifLoader.load(path).getFrames()),
+        FONT(FontLoader::loadFromFile);
+
+        private final Consumer<String> loader;
+
+        AssetType(Consumer<String> loader) {
+            this.loader = loader;
+        }
+    }
+}
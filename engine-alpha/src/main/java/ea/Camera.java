@@ -48,9 +48,11 @@ public final class Camera {
     public static final float DEFAULT_ZOOM = 30;
 
     /**
-     * Aktuelle Position des Mittelpunkts der Kamera.
+     * Aktuelle Position des Mittelpunkts der Kamera. Als einzelne Koordinaten gespeichert, damit beim Verschieben
+     * keine Objekte erzeugt werden.
      */
-    private Vector position;
+    private float x;
+    private float y;
 
     /**
      * Die Bounds der Kamera (sofern vorhanden), die sie in der Bewegung einschränken.
@@ -82,7 +84,7 @@ public final class Camera {
      */
     @Internal
     public Camera() {
-        this.position = new Vector(0, 0);
+        // Position ist (0|0)
     }
 
     /**
@@ -199,12 +201,13 @@ public final class Camera {
      */
     @API
     public void moveBy(float x, float y) {
-        this.moveBy(new Vector(x, y));
+        this.x += x;
+        this.y += y;
     }
 
     @API
     public void moveBy(Vector vector) {
-        this.position = this.position.add(vector);
+        this.moveBy(vector.getX(), vector.getY());
     }
 
     /**
@@ -221,7 +224,7 @@ public final class Camera {
 
     @API
     public void moveTo(Vector vector) {
-        this.position = vector;
+        this.setPostion(vector.getX(), vector.getY());
     }
 
     @API
@@ -241,7 +244,7 @@ public final class Camera {
      */
     @API
     public void setPosition(Vector position) {
-        this.position = position;
+        this.setPostion(position.getX(), position.getY());
     }
 
     /**
@@ -252,7 +255,8 @@ public final class Camera {
      */
     @API
     public void setPostion(float x, float y) {
-        this.setPosition(new Vector(x, y));
+        this.x = x;
+        this.y = y;
     }
 
     /**
@@ -262,7 +266,31 @@ public final class Camera {
      */
     @API
     public Vector getPosition() {
-        return moveIntoBounds(this.position.add(this.offset));
+        return new Vector(getX(), getY());
+    }
+
+    /**
+     * Die X-Koordinate der aktuellen Position der Kamera, ohne dafür einen Vector zu erzeugen.
+     *
+     * @return Die X-Koordinate des Kamerazentrums.
+     *
+     * @see #getPosition()
+     */
+    @API
+    public float getX() {
+        return clampX(this.x + this.offset.getX());
+    }
+
+    /**
+     * Die Y-Koordinate der aktuellen Position der Kamera, ohne dafür einen Vector zu erzeugen.
+     *
+     * @return Die Y-Koordinate des Kamerazentrums.
+     *
+     * @see #getPosition()
+     */
+    @API
+    public float getY() {
+        return clampY(this.y + this.offset.getY());
     }
 
     /**
@@ -277,34 +305,40 @@ public final class Camera {
      */
     @Internal
     public Point toScreenPixelLocation(Vector locationInWorld, float pixelPerMeter) {
-        Vector cameraRelativeLocInPx = position.multiply(pixelPerMeter);
-
         Vector frameSize = Game.getFrameSizeInPixels();
 
-        return new Point((int) (frameSize.getX() / 2 + cameraRelativeLocInPx.getX()), (int) (frameSize.getY() / 2 + cameraRelativeLocInPx.getY()));
+        return new Point((int) (frameSize.getX() / 2 + x * pixelPerMeter), (int) (frameSize.getY() / 2 + y * pixelPerMeter));
     }
 
     // Does not implement FrameUpdateListener by design, as it's updated at a special moment
     public void onFrameUpdate() {
         if (this.hasFocus()) {
-            this.position = focus.getCenter();
+            Vector center = focus.getCenter();
+            this.x = center.getX();
+            this.y = center.getY();
         }
 
-        this.position = moveIntoBounds(this.position);
+        this.x = clampX(this.x);
+        this.y = clampY(this.y);
     }
 
     public float getRotation() {
         return rotation;
     }
 
-    private Vector moveIntoBounds(Vector position) {
+    private float clampX(float x) {
         if (!this.hasBounds()) {
-            return position;
+            return x;
         }
 
-        float x = Math.max(this.bounds.getX(), Math.min(position.getX(), this.bounds.getX() + this.bounds.getWidth()));
-        float y = Math.max(this.bounds.getY(), Math.min(position.getY(), this.bounds.getY() + this.bounds.getHeight()));
+        return Math.max(this.bounds.getX(), Math.min(x, this.bounds.getX() + this.bounds.getWidth()));
+    }
+
+    private float clampY(float y) {
+        if (!this.hasBounds()) {
+            return y;
+        }
 
-        return new Vector(x, y);
+        return Math.max(this.bounds.getY(), Math.min(y, this.bounds.getY() + this.bounds.getHeight()));
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea;
+
+import ea.internal.annotations.API;
+
+/**
+ * Die Abschnitte eines Frames, deren Dauer von der Engine gemessen wird.
+ *
+ * @see Game#getFrameStats()
+ */
+@API
+public enum FramePhase {
+    /**
+     * Die Physik-Simulation aller Layer.
+     */
+    PHYSICS,
+
+    /**
+     * Die Aktualisierung der Kamera, z.B. das Verfolgen eines Actors.
+     */
+    CAMERA,
+
+    /**
+     * Der Aufruf aller Frame-Update-Listener.
+     */
+    LISTENERS,
+
+    /**
+     * Das Abarbeiten aller Aufgaben, die über <code>defer</code> oder Eingaben für diesen Frame eingereiht wurden.
+     */
+    DISPATCH,
+
+    /**
+     * Das Festhalten, was im Frame gezeichnet wird.
+     */
+    SNAPSHOT,
+
+    /**
+     * Das Zeichnen des Frames.
+     */
+    RENDER,
+
+    /**
+     * Das Anzeigen des gezeichneten Frames auf dem Bildschirm.
+     */
+    PRESENT
+}
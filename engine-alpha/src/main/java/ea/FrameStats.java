@@ -0,0 +1,76 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Zeitmessungen der letzten Frames, aufgeteilt nach {@link FramePhase}. Hilft herauszufinden, ob ein langsamer Frame
+ * an der Physik, an Frame-Update-Listenern oder am Zeichnen liegt.
+ *
+ * @see Game#getFrameStats()
+ */
+@API
+public final class FrameStats {
+    private final TimingStats frame;
+    private final Map<FramePhase, TimingStats> phases;
+
+    @Internal
+    public FrameStats(TimingStats frame, Map<FramePhase, TimingStats> phases) {
+        this.frame = frame;
+        this.phases = new EnumMap<>(phases);
+    }
+
+    /**
+     * @return Die Auswertung der gesamten Frame-Dauer, inklusive Wartezeit bis zum nächsten Frame.
+     */
+    @API
+    public TimingStats getFrame() {
+        return frame;
+    }
+
+    /**
+     * Gibt die Auswertung eines Abschnitts aus.
+     *
+     * @param phase Der Abschnitt.
+     *
+     * @return Die Auswertung des Abschnitts.
+     */
+    @API
+    public TimingStats getPhase(FramePhase phase) {
+        return phases.get(phase);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("FrameStats {\n");
+        builder.append("  FRAME: ").append(frame).append('\n');
+
+        for (Map.Entry<FramePhase, TimingStats> entry : phases.entrySet()) {
+            builder.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+
+        return builder.append('}').toString();
+    }
+}
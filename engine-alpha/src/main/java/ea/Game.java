@@ -21,11 +21,15 @@ package ea;
 
 import ea.event.MouseButton;
 import ea.event.MouseWheelEvent;
+import ea.internal.FrameProfiler;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
+import ea.internal.graphics.ImageRenderTarget;
 import ea.internal.graphics.RenderPanel;
+import ea.internal.graphics.RenderTarget;
 import ea.internal.io.ImageLoader;
 import ea.internal.io.ImageWriter;
+import org.jbox2d.common.Settings;
 
 import javax.swing.JOptionPane;
 import java.awt.Dimension;
@@ -35,6 +39,7 @@ import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Diese Klasse gibt Zugriff auf das aktuelle Spiel.
@@ -66,6 +71,26 @@ public final class Game {
      */
     private static boolean verbose;
 
+    /**
+     * Angestrebte Anzahl an Frames pro Sekunde.
+     */
+    private static volatile int frameRate = GameLogic.DEFAULT_FRAME_RATE;
+
+    /**
+     * Gibt an, ob Actors beim Rendern zwischen den letzten beiden Physik-Schritten interpoliert werden.
+     */
+    private static volatile boolean renderInterpolation;
+
+    /**
+     * Gibt an, ob auf einem eigenen Render-Thread gezeichnet wird.
+     */
+    private static boolean renderPipelined;
+
+    /**
+     * Höchstzahl an Threads, auf die die Physik der Layer verteilt wird.
+     */
+    private static int physicsParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
     /**
      * Breite des Fensters.
      */
@@ -79,10 +104,17 @@ public final class Game {
     /**
      * Eigentliches Fenster des Spiels.
      */
-    private static final Frame frame = new Frame("Engine Alpha");
+    private static Frame frame;
 
     private static RenderPanel renderPanel;
 
+    /**
+     * Gibt an, ob das Spiel gerade ohne Fenster läuft.
+     *
+     * @see #startHeadless(Scene, int)
+     */
+    private static volatile boolean headless;
+
     /**
      * Gibt an, ob bei Escape-Druck das Spiel beendet werden soll.
      */
@@ -115,7 +147,7 @@ public final class Game {
      */
     @API
     public static void setTitle(String title) {
-        frame.setTitle(title);
+        getFrame().setTitle(title);
     }
 
     /**
@@ -138,6 +170,22 @@ public final class Game {
         return new Vector(width, height);
     }
 
+    /**
+     * @return Die Fensterbreite in Pixel, ohne dafür einen Vector zu erzeugen.
+     */
+    @Internal
+    static int getFrameWidthInPixels() {
+        return width;
+    }
+
+    /**
+     * @return Die Fensterhöhe in Pixel, ohne dafür einen Vector zu erzeugen.
+     */
+    @Internal
+    static int getFrameHeightInPixels() {
+        return height;
+    }
+
     /**
      * Dies startet das Fenster und beginnt sämtliche internen Prozesse der Engine.
      *
@@ -155,8 +203,14 @@ public final class Game {
         Game.height = height;
         Game.scene = scene;
 
+        if (headless) {
+            throw new IllegalStateException("Game.start kann nicht ausgeführt werden, während das Spiel ohne Fenster läuft");
+        }
+
         renderPanel = new RenderPanel(width, height);
 
+        Frame frame = getFrame();
+
         frame.setResizable(false);
         frame.add(renderPanel);
         frame.pack();
@@ -202,8 +256,117 @@ public final class Game {
         mainThread.setPriority(Thread.MAX_PRIORITY);
     }
 
+    /**
+     * Gibt das Fenster des Spiels aus. Es wird erst beim ersten Zugriff erstellt, damit das Spiel auch ohne Bildschirm
+     * laufen kann.
+     *
+     * @return Das Fenster des Spiels.
+     */
+    @Internal
+    private static Frame getFrame() {
+        if (frame == null) {
+            frame = new Frame("Engine Alpha");
+        }
+
+        return frame;
+    }
+
+    /**
+     * Führt eine Szene ohne Fenster für eine feste Anzahl an Frames aus, so schnell wie möglich. Es wird nicht
+     * gezeichnet. Die Methode kehrt erst zurück, wenn alle Frames ausgeführt wurden oder {@link #exit()} aufgerufen
+     * wurde.
+     * <p>
+     * Jeder Frame simuliert genau die Dauer eines Frames bei der eingestellten Framerate, das Ergebnis ist damit
+     * reproduzierbar.
+     *
+     * @param scene Die Szene, die ausgeführt wird.
+     * @param steps Die Anzahl der Frames.
+     *
+     * @see #startHeadless(Scene, int, boolean, int, int, int, Consumer)
+     */
+    @API
+    public static void startHeadless(Scene scene, int steps) {
+        startHeadless(scene, steps, true);
+    }
+
+    /**
+     * Führt eine Szene ohne Fenster für eine feste Anzahl an Frames aus, so schnell wie möglich. Es wird nicht
+     * gezeichnet.
+     *
+     * @param scene        Die Szene, die ausgeführt wird.
+     * @param steps        Die Anzahl der Frames.
+     * @param virtualClock <code>true</code>: Jeder Frame simuliert genau die Dauer eines Frames bei der eingestellten
+     *                     Framerate, das Ergebnis ist reproduzierbar. <code>false</code>: Jeder Frame simuliert die
+     *                     tatsächlich vergangene Zeit.
+     *
+     * @see #startHeadless(Scene, int, boolean, int, int, int, Consumer)
+     */
+    @API
+    public static void startHeadless(Scene scene, int steps, boolean virtualClock) {
+        startHeadless(scene, steps, virtualClock, width, height, 0, null);
+    }
+
+    /**
+     * Führt eine Szene ohne Fenster für eine feste Anzahl an Frames aus, so schnell wie möglich, z.B. auf einem
+     * Server oder in automatisierten Tests. Die Frames werden auf dem aufrufenden Thread ausgeführt, die Methode kehrt
+     * erst zurück, wenn alle Frames ausgeführt wurden oder {@link #exit()} aufgerufen wurde.
+     *
+     * @param scene          Die Szene, die ausgeführt wird.
+     * @param steps          Die Anzahl der Frames.
+     * @param virtualClock   <code>true</code>: Jeder Frame simuliert genau die Dauer eines Frames bei der
+     *                       eingestellten Framerate, das Ergebnis ist reproduzierbar. <code>false</code>: Jeder Frame
+     *                       simuliert die tatsächlich vergangene Zeit.
+     * @param width          Die Breite des Zeichenbereichs in Pixel.
+     * @param height         Die Höhe des Zeichenbereichs in Pixel.
+     * @param renderInterval Jeder wievielte Frame in ein Bild gezeichnet wird, <code>0</code> für keinen.
+     * @param frameListener  Erhält jedes gezeichnete Bild, darf <code>null</code> sein. Es wird immer dasselbe Bild
+     *                       übergeben, das beim nächsten Zeichnen überschrieben wird.
+     */
+    @API
+    public static void startHeadless(Scene scene, int steps, boolean virtualClock, int width, int height, int renderInterval, Consumer<BufferedImage> frameListener) {
+        if (renderPanel != null || headless) {
+            throw new IllegalStateException("Das Spiel läuft bereits");
+        }
+
+        if (steps < 0) {
+            throw new IllegalArgumentException("Die Anzahl der Frames darf nicht negativ sein, war " + steps);
+        }
+
+        if (renderInterval < 0) {
+            throw new IllegalArgumentException("Das Zeichenintervall darf nicht negativ sein, war " + renderInterval);
+        }
+
+        if (renderInterval > 0 && (width <= 0 || height <= 0)) {
+            throw new IllegalArgumentException("Die Größe des Zeichenbereichs muss größer als 0 sein. Eingabe war: " + width + " - " + height + ".");
+        }
+
+        Game.width = width;
+        Game.height = height;
+        Game.scene = scene;
+
+        mousePosition = new java.awt.Point(width / 2, height / 2);
+
+        RenderTarget renderTarget = renderInterval > 0 ? new ImageRenderTarget(width, height, frameListener) : source -> {
+            // nichts zeichnen
+        };
+
+        gameLogic = new GameLogic(renderTarget, Game::getActiveScene, Game::isDebug, Game::getFrameRate, false, physicsParallelism);
+        mainThread = Thread.currentThread();
+        headless = true;
+
+        try {
+            gameLogic.runHeadless(steps, virtualClock, renderInterval);
+        } finally {
+            headless = false;
+            mainThread = null;
+
+            // Unterbrechung durch Game.exit() nicht an den Aufrufer weitergeben
+            Thread.interrupted();
+        }
+    }
+
     private static void run() {
-        gameLogic = new GameLogic(renderPanel, Game::getActiveScene, Game::isDebug);
+        gameLogic = new GameLogic(renderPanel, Game::getActiveScene, Game::isDebug, Game::getFrameRate, renderPipelined, physicsParallelism);
         gameLogic.run();
 
         frame.setVisible(false);
@@ -216,11 +379,16 @@ public final class Game {
     public static Vector convertMousePosition(Scene scene, java.awt.Point mousePosition) {
         // Finde Klick auf Zeichenebene, die Position relativ zum Ursprung des RenderPanel-Canvas.
         // Mausklick-Position muss mit Zoom-Wert verrechnet werden
-        float zoom = scene.getCamera().getZoom();
-        float rotation = scene.getCamera().getRotation();
-        Vector position = scene.getCamera().getPosition();
+        Camera camera = scene.getCamera();
+        float zoom = camera.getZoom();
+        double rotation = Math.toRadians(camera.getRotation());
+        float cos = (float) Math.cos(rotation);
+        float sin = (float) Math.sin(rotation);
 
-        return new Vector(position.getX() + (((float) Math.cos(Math.toRadians(rotation)) * (mousePosition.x - width / 2f) + (float) Math.sin(Math.toRadians(rotation)) * (mousePosition.y - height / 2f))) / zoom, position.getY() + (((float) Math.sin(Math.toRadians(rotation)) * (mousePosition.x - width / 2f) - (float) Math.cos(Math.toRadians(rotation)) * (mousePosition.y - height / 2f))) / zoom);
+        float dX = mousePosition.x - width / 2f;
+        float dY = mousePosition.y - height / 2f;
+
+        return new Vector(camera.getX() + (cos * dX + sin * dY) / zoom, camera.getY() + (sin * dX - cos * dY) / zoom);
     }
 
     /**
@@ -278,15 +446,34 @@ public final class Game {
 
     /**
      * Gibt an, ob gerade die Engine läuft. Die Engine läuft, sobald es ein sichtbares Fenster gibt. Dieses läuft,
-     * sobald {@link #start(int, int, Scene)} ausgeführt wurde.
+     * sobald {@link #start(int, int, Scene)} ausgeführt wurde. Ohne Fenster läuft die Engine während
+     * {@link #startHeadless(Scene, int)}.
      *
      * @return <code>true</code>, wenn das Spiel läuft, sonst <code>false</code>.
      *
      * @see #start(int, int, Scene)
+     * @see #startHeadless(Scene, int)
      */
     @API
     public static boolean isRunning() {
-        return frame.isVisible();
+        return headless || (frame != null && frame.isVisible());
+    }
+
+    /**
+     * Führt eine Aktion zu Beginn des nächsten Frames auf dem Game-Thread aus. Läuft das Spiel nicht, wird sie direkt
+     * auf dem aufrufenden Thread ausgeführt.
+     *
+     * @param runnable Die Aktion.
+     */
+    @Internal
+    static void runOnGameThread(Runnable runnable) {
+        GameLogic logic = gameLogic;
+
+        if (logic == null || !isRunning()) {
+            runnable.run();
+        } else {
+            logic.enqueue(runnable);
+        }
     }
 
     /**
@@ -314,6 +501,7 @@ public final class Game {
         renderPanel.setSize(width, height);
         renderPanel.setPreferredSize(new Dimension(width, height));
 
+        Frame frame = getFrame();
         frame.pack();
         frame.setLocation(frame.getLocation().x - diffX, frame.getLocation().y - diffY);
     }
@@ -328,7 +516,7 @@ public final class Game {
      */
     @API
     public static void setFramePosition(int x, int y) {
-        frame.setLocation(x, y);
+        getFrame().setLocation(x, y);
     }
 
     /**
@@ -427,6 +615,197 @@ public final class Game {
         return scene.getMousePosition();
     }
 
+    /**
+     * Setzt die angestrebte Anzahl an Frames pro Sekunde. Standard sind 60 Frames pro Sekunde.
+     * <p>
+     * Die Physik wird unabhängig davon in festen Schritten simuliert. Bei höheren Frameraten (z.B. 120 oder 144) sollte
+     * zusätzlich die Interpolation aktiviert werden, damit Bewegungen flüssig erscheinen.
+     *
+     * @param framesPerSecond Die neue Framerate. Muss größer als 0 sein.
+     *
+     * @see #setRenderInterpolation(boolean)
+     */
+    @API
+    public static void setFrameRate(int framesPerSecond) {
+        if (framesPerSecond <= 0) {
+            throw new IllegalArgumentException("Die Framerate muss größer als 0 sein, war " + framesPerSecond);
+        }
+
+        frameRate = framesPerSecond;
+    }
+
+    /**
+     * Gibt die angestrebte Anzahl an Frames pro Sekunde aus.
+     *
+     * @return Die angestrebte Framerate.
+     *
+     * @see #setFrameRate(int)
+     */
+    @API
+    public static int getFrameRate() {
+        return frameRate;
+    }
+
+    /**
+     * Setzt, ob Position und Rotation der Actors beim Rendern zwischen den letzten beiden Physik-Schritten interpoliert
+     * werden sollen. Die Physik läuft in festen Schritten, die nicht mit den Frames übereinstimmen. Ohne Interpolation
+     * wird immer der letzte Physik-Schritt gezeichnet, was insbesondere bei hohen Frameraten zu Ruckeln führt.
+     * <p>
+     * Mit Interpolation wird der dargestellte Zustand um bis zu einen Physik-Schritt verzögert.
+     *
+     * @param enabled <code>true</code>, um die Interpolation zu aktivieren, sonst <code>false</code>.
+     *
+     * @see #setFrameRate(int)
+     */
+    @API
+    public static void setRenderInterpolation(boolean enabled) {
+        renderInterpolation = enabled;
+    }
+
+    /**
+     * Gibt an, ob Actors beim Rendern interpoliert werden.
+     *
+     * @return <code>true</code>, wenn die Interpolation aktiviert ist, sonst <code>false</code>.
+     *
+     * @see #setRenderInterpolation(boolean)
+     */
+    @API
+    public static boolean isRenderInterpolation() {
+        return renderInterpolation;
+    }
+
+    /**
+     * Setzt, ob auf einem eigenen Render-Thread gezeichnet werden soll. Die Simulation hält dann für jeden Frame fest,
+     * welche Actors wo gezeichnet werden, und berechnet bereits den nächsten Frame, während der vorherige gezeichnet
+     * wird. Auf Rechnern mit mehreren Kernen steigt dadurch die mögliche Framerate, insbesondere wenn
+     * Frame-Update-Listener aufwändig sind.
+     * <p>
+     * Im Pipeline-Modus wird <code>render</code> der Actors parallel zur Simulation aufgerufen. Eigene
+     * Implementierungen dürfen dort daher nur lesend auf ihren Zustand zugreifen.
+     * <p>
+     * Kann nur vor {@link #start(int, int, Scene)} geändert werden.
+     *
+     * @param pipelined <code>true</code>, um auf einem eigenen Render-Thread zu zeichnen, sonst <code>false</code>.
+     */
+    @API
+    public static void setRenderPipelined(boolean pipelined) {
+        if (renderPanel != null) {
+            throw new IllegalStateException("Der Render-Modus kann nur vor Game.start geändert werden");
+        }
+
+        renderPipelined = pipelined;
+    }
+
+    /**
+     * Gibt an, ob auf einem eigenen Render-Thread gezeichnet wird.
+     *
+     * @return <code>true</code>, wenn auf einem eigenen Render-Thread gezeichnet wird, sonst <code>false</code>.
+     *
+     * @see #setRenderPipelined(boolean)
+     */
+    @API
+    public static boolean isRenderPipelined() {
+        return renderPipelined;
+    }
+
+    /**
+     * Setzt, auf wie viele Threads die Physik-Schritte der Layer einer Szene höchstens verteilt werden. Layer ohne
+     * Objekte und pausierte Layer werden immer direkt auf dem Spiel-Thread simuliert.
+     * <p>
+     * Wirkt ab dem nächsten Aufruf von {@link #start(int, int, Scene)} bzw. {@link #startHeadless(Scene, int)}.
+     *
+     * @param parallelism Höchstzahl an Threads, Standard ist die Anzahl der Prozessorkerne minus eins.
+     *
+     * @see Layer#getStepStats()
+     */
+    @API
+    public static void setPhysicsParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Die Parallelität muss mindestens 1 sein, war " + parallelism);
+        }
+
+        physicsParallelism = parallelism;
+    }
+
+    /**
+     * @return Höchstzahl an Threads, auf die die Physik-Schritte der Layer verteilt werden.
+     *
+     * @see #setPhysicsParallelism(int)
+     */
+    @API
+    public static int getPhysicsParallelism() {
+        return physicsParallelism;
+    }
+
+    /**
+     * Setzt, ab wann Objekte in der Physik einschlafen. Ein Objekt schläft ein, wenn es sich für die angegebene Dauer
+     * langsamer als die Schwellwerte bewegt und dreht. Die Werte gelten für alle Layer, da die Physik-Engine sie nur
+     * global kennt. Ob Objekte eines Layers überhaupt einschlafen, wird mit {@link Layer#setSleepingAllowed(boolean)}
+     * gesetzt.
+     *
+     * @param linearVelocity  Schwellwert der Geschwindigkeit in Meter pro Sekunde, Standard ist 0,01.
+     * @param angularVelocity Schwellwert der Drehgeschwindigkeit in Grad pro Sekunde, Standard ist 2.
+     * @param timeToSleep     Dauer in Sekunden, Standard ist 0,5.
+     */
+    @API
+    public static void setPhysicsSleepTolerance(float linearVelocity, float angularVelocity, float timeToSleep) {
+        if (linearVelocity < 0 || angularVelocity < 0 || timeToSleep < 0) {
+            throw new IllegalArgumentException("Schwellwerte für das Einschlafen dürfen nicht negativ sein");
+        }
+
+        Settings.linearSleepTolerance = linearVelocity;
+        Settings.angularSleepTolerance = (float) Math.toRadians(angularVelocity);
+        Settings.timeToSleep = timeToSleep;
+    }
+
+    /**
+     * @return Schwellwert der Geschwindigkeit für das Einschlafen in Meter pro Sekunde.
+     *
+     * @see #setPhysicsSleepTolerance(float, float, float)
+     */
+    @API
+    public static float getPhysicsLinearSleepTolerance() {
+        return Settings.linearSleepTolerance;
+    }
+
+    /**
+     * @return Schwellwert der Drehgeschwindigkeit für das Einschlafen in Grad pro Sekunde.
+     *
+     * @see #setPhysicsSleepTolerance(float, float, float)
+     */
+    @API
+    public static float getPhysicsAngularSleepTolerance() {
+        return (float) Math.toDegrees(Settings.angularSleepTolerance);
+    }
+
+    /**
+     * @return Dauer in Sekunden, die ein Objekt unter den Schwellwerten bleiben muss, bevor es einschläft.
+     *
+     * @see #setPhysicsSleepTolerance(float, float, float)
+     */
+    @API
+    public static float getPhysicsTimeToSleep() {
+        return Settings.timeToSleep;
+    }
+
+    /**
+     * Gibt Zeitmessungen der letzten Frames aus, aufgeteilt nach Physik, Kamera, Frame-Update-Listenern, eingereihten
+     * Aufgaben, Zeichnen und Anzeigen. Im Debug-Modus wird der letzte Frame zusätzlich als Balken angezeigt.
+     * <p>
+     * Die Messungen laufen immer mit und kosten nur wenige Nanosekunden pro Frame, ausgewertet wird erst beim Aufruf
+     * dieser Methode.
+     *
+     * @return Median, Perzentile und Maximum der letzten Frames. Ohne laufendes Spiel ohne Messungen.
+     *
+     * @see Layer#getStepStats()
+     */
+    @API
+    public static FrameStats getFrameStats() {
+        GameLogic logic = gameLogic;
+
+        return logic == null ? new FrameProfiler().calculateStats() : logic.getFrameStats();
+    }
+
     /**
      * Gibt an, ob die Engine gerade im Debug-Modus ausgeführt wird.
      *
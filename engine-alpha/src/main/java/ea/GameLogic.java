@@ -20,17 +20,21 @@
 package ea;
 
 import ea.internal.DebugInfo;
+import ea.internal.FrameProfiler;
+import ea.internal.LayerScheduler;
 import ea.internal.annotations.Internal;
+import ea.internal.graphics.DoubleBuffer;
+import ea.internal.graphics.RenderSource;
 import ea.internal.graphics.RenderTarget;
+import ea.internal.graphics.VolatileImageCache;
+import ea.internal.util.Logger;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 public final class GameLogic {
@@ -38,6 +42,10 @@ public final class GameLogic {
     private static final Color COLOR_FPS_BORDER = new Color(0, 106, 214);
     private static final Color COLOR_BODY_COUNT_BORDER = new Color(0, 214, 84);
     private static final Color COLOR_BODY_COUNT_BACKGROUND = new Color(255, 255, 255, 50);
+    private static final Color COLOR_ACTOR_COUNT_BORDER = new Color(214, 129, 0);
+    private static final Color COLOR_ACTOR_COUNT_BACKGROUND = new Color(255, 255, 255, 50);
+    private static final Color COLOR_IMAGE_CACHE_BORDER = new Color(0, 170, 214);
+    private static final Color COLOR_IMAGE_CACHE_BACKGROUND = new Color(255, 255, 255, 50);
     private static final int DEBUG_INFO_HEIGHT = 20;
     private static final int DEBUG_INFO_LEFT = 10;
     private static final int DEBUG_INFO_TEXT_OFFSET = 16;
@@ -45,17 +53,50 @@ public final class GameLogic {
     private static final int GRID_SIZE_IN_PIXELS = 150;
     private static final int GRID_SIZE_METER_LIMIT = 100000;
     private static final int DEBUG_TEXT_SIZE = 12;
+    private static final int PROFILER_BAR_WIDTH = 300;
+    private static final int PROFILER_BAR_HEIGHT = 12;
+    private static final int PROFILER_LEGEND_SIZE = 8;
+    private static final Color COLOR_PROFILER_BACKGROUND = new Color(0, 0, 0, 100);
+    private static final Color COLOR_PROFILER_BUDGET = new Color(255, 255, 255, 200);
 
-    private static final float DESIRED_FRAME_DURATION = 0.016f;
+    /**
+     * Farben der Abschnitte im Profiler-Balken, in der Reihenfolge von {@link FramePhase}.
+     */
+    private static final Color[] COLOR_PROFILER_PHASES = {
+            new Color(0, 214, 84), // PHYSICS
+            new Color(0, 170, 214), // CAMERA
+            new Color(0, 106, 214), // LISTENERS
+            new Color(150, 80, 214), // DISPATCH
+            new Color(214, 200, 0), // SNAPSHOT
+            new Color(214, 129, 0), // RENDER
+            new Color(214, 40, 40), // PRESENT
+    };
+
+    private static final FramePhase[] PHASES = FramePhase.values();
+
+    static final int DEFAULT_FRAME_RATE = 60;
 
     private static final int NANOSECONDS_PER_SECOND = 1000000000;
+    private static final int NANOSECONDS_PER_MILLISECOND = 1000000;
 
-    private final ExecutorService threadPoolExecutor = Executors.newCachedThreadPool();
+    /**
+     * Restzeit bis zum nächsten Frame, ab der nicht mehr geschlafen, sondern aktiv gewartet wird.
+     * <code>Thread.sleep</code> wacht je nach Betriebssystem erst einige Millisekunden zu spät auf.
+     */
+    private static final long SPIN_THRESHOLD_NANOS = 2 * NANOSECONDS_PER_MILLISECOND;
+
+    /**
+     * Maximale Wartezeit auf den Render-Thread beim Beenden.
+     */
+    private static final long RENDER_THREAD_JOIN_MILLIS = 1000;
+
+    private final LayerScheduler layerScheduler;
 
     private final RenderTarget render;
 
     private final Supplier<Scene> currentScene;
     private final Supplier<Boolean> isDebug;
+    private final IntSupplier frameRate;
 
     /**
      * Queue aller Dispatchables, die im nächsten Frame ausgeführt werden.
@@ -64,90 +105,349 @@ public final class GameLogic {
 
     private float frameDuration;
 
-    public GameLogic(RenderTarget render, Supplier<Scene> currentScene, Supplier<Boolean> isDebug) {
+    /**
+     * Misst die Dauer der einzelnen Abschnitte jedes Frames.
+     */
+    private final FrameProfiler profiler = new FrameProfiler();
+
+    /**
+     * Ende des Zeichnens im zuletzt gezeichneten Frame, Beginn von {@link FramePhase#PRESENT}. Wird nur vom
+     * zeichnenden Thread verwendet.
+     */
+    private long renderEnd;
+
+    /**
+     * Einmalig erzeugt, damit nicht bei jedem Frame eine neue Methodenreferenz erzeugt wird.
+     */
+    private final RenderSource directRenderer = this::renderDirect;
+
+    /**
+     * Gibt an, ob auf einem eigenen Render-Thread gezeichnet wird, während die Simulation bereits den nächsten Frame
+     * berechnet.
+     */
+    private final boolean pipelined;
+
+    /**
+     * Snapshots für die Übergabe an den Render-Thread im Pipeline-Modus.
+     */
+    private final DoubleBuffer<SceneSnapshot> snapshots = new DoubleBuffer<>(() -> new SceneSnapshot(true));
+
+    /**
+     * Wird während des Zeichnens gehalten. Im Pipeline-Modus zeichnet der Spiel-Thread Frames, die nicht auf dem
+     * Render-Thread gezeichnet werden können, selbst und darf dabei nicht gleichzeitig mit dem Render-Thread zeichnen.
+     */
+    private final Object renderLock = new Object();
+
+    /**
+     * Der Render-Thread im Pipeline-Modus, sonst <code>null</code>. Wird nur vom Spiel-Thread gesetzt.
+     */
+    private Thread renderThread;
+
+    /**
+     * Snapshot für das direkte Zeichnen auf dem aufrufenden Thread.
+     */
+    private final SceneSnapshot directSnapshot = new SceneSnapshot();
+
+    /**
+     * Größe der Zeichenfläche beim letzten Zeichnen, wird im Pipeline-Modus für das Aussortieren benötigt.
+     */
+    private volatile int renderWidth;
+    private volatile int renderHeight;
+
+    public GameLogic(RenderTarget render, Supplier<Scene> currentScene, Supplier<Boolean> isDebug, IntSupplier frameRate, boolean pipelined, int physicsParallelism) {
+        this.layerScheduler = new LayerScheduler(physicsParallelism);
         this.render = render;
         this.currentScene = currentScene;
         this.isDebug = isDebug;
+        this.frameRate = frameRate;
+        this.pipelined = pipelined;
     }
 
     public void enqueue(Runnable runnable) {
         dispatchableQueue.add(runnable);
     }
 
+    /**
+     * Wertet die Zeitmessungen der letzten Frames aus.
+     *
+     * @return Die Auswertung, aufgeteilt nach {@link FramePhase}.
+     */
+    @Internal
+    public FrameStats getFrameStats() {
+        return profiler.calculateStats();
+    }
+
     public void run() {
-        this.frameDuration = DESIRED_FRAME_DURATION;
+        long desiredFrameDuration = NANOSECONDS_PER_SECOND / frameRate.getAsInt();
+        this.frameDuration = (float) desiredFrameDuration / NANOSECONDS_PER_SECOND;
 
         long frameStart = System.nanoTime();
-        long frameEnd;
+        long nextFrameStart = frameStart + desiredFrameDuration;
+
+        if (pipelined) {
+            renderThread = new Thread(this::runRenderThread, "ea.render");
+            renderThread.setPriority(Thread.MAX_PRIORITY);
+            renderThread.start();
+        }
 
         while (!Thread.currentThread().isInterrupted()) {
             Scene scene = this.currentScene.get();
 
             try {
-                float deltaSeconds = Math.min(2 * DESIRED_FRAME_DURATION, frameDuration);
+                float deltaSeconds = Math.min(2f * desiredFrameDuration / NANOSECONDS_PER_SECOND, frameDuration);
+
+                update(scene, deltaSeconds);
+
+                if (pipelined) {
+                    long snapshotStart = System.nanoTime();
+                    SceneSnapshot snapshot = snapshots.acquire();
+                    scene.captureSnapshot(snapshot, renderWidth, renderHeight);
+                    snapshot.setFrameDuration(frameDuration);
+                    profiler.record(FramePhase.SNAPSHOT, snapshotStart);
+
+                    if (snapshot.isPipelineSafe()) {
+                        snapshots.publish(snapshot);
+                    } else {
+                        // Actors ohne festgehaltenen Zeichenzustand dürfen nur gezeichnet werden, während die
+                        // Simulation steht
+                        snapshots.withdraw();
+                        renderSnapshot(snapshot);
+                    }
+                } else {
+                    render();
+                }
 
-                scene.step(deltaSeconds, threadPoolExecutor::submit);
-                scene.getCamera().onFrameUpdate();
-                scene.invokeFrameUpdateListeners(deltaSeconds);
+                waitUntil(nextFrameStart);
 
-                Runnable runnable = dispatchableQueue.poll();
-                while (runnable != null) {
-                    runnable.run();
-                    runnable = dispatchableQueue.poll();
+                long frameEnd = System.nanoTime();
+                frameDuration = ((float) (frameEnd - frameStart) / NANOSECONDS_PER_SECOND);
+                profiler.recordFrame(frameEnd - frameStart);
+                frameStart = frameEnd;
+
+                // Feste Taktung statt "Ende + Dauer", damit sich Ungenauigkeiten nicht aufsummieren.
+                // Liegt das Spiel mehr als einen Frame zurück, wird nicht aufgeholt, sondern neu getaktet.
+                desiredFrameDuration = NANOSECONDS_PER_SECOND / frameRate.getAsInt();
+                nextFrameStart += desiredFrameDuration;
+                if (nextFrameStart < frameEnd) {
+                    nextFrameStart = frameEnd + desiredFrameDuration;
                 }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
 
-                render();
+        shutdown();
+    }
 
-                frameEnd = System.nanoTime();
-                float duration = (float) (frameEnd - frameStart) / NANOSECONDS_PER_SECOND;
+    /**
+     * Führt eine feste Anzahl an Frames ohne Fenster und ohne Wartezeiten aus, z.B. auf einem Server oder in Tests.
+     * Kehrt erst zurück, wenn alle Frames ausgeführt wurden oder der aufrufende Thread unterbrochen wurde.
+     *
+     * @param steps          Anzahl der Frames.
+     * @param virtualClock   <code>true</code>: Jeder Frame simuliert genau die Dauer eines Frames bei der
+     *                       eingestellten Framerate, unabhängig von der tatsächlich vergangenen Zeit. Das Ergebnis ist
+     *                       damit reproduzierbar. <code>false</code>: Jeder Frame simuliert die tatsächlich vergangene
+     *                       Zeit.
+     * @param renderInterval Jeder wievielte Frame gezeichnet wird, <code>0</code> für keinen.
+     */
+    @Internal
+    public void runHeadless(int steps, boolean virtualClock, int renderInterval) {
+        float virtualFrameDuration = 1f / frameRate.getAsInt();
+        long frameStart = System.nanoTime();
 
-                if (duration < DESIRED_FRAME_DURATION) {
-                    try {
-                        //noinspection BusyWait
-                        Thread.sleep((int) (1000 * (DESIRED_FRAME_DURATION - duration)));
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
+        try {
+            for (int i = 0; i < steps && !Thread.currentThread().isInterrupted(); i++) {
+                long frameEnd = System.nanoTime();
+
+                if (virtualClock) {
+                    frameDuration = virtualFrameDuration;
+                } else {
+                    frameDuration = (float) (frameEnd - frameStart) / NANOSECONDS_PER_SECOND;
                 }
 
-                frameEnd = System.nanoTime();
-                frameDuration = ((float) (frameEnd - frameStart) / NANOSECONDS_PER_SECOND);
+                if (i > 0) {
+                    profiler.recordFrame(frameEnd - frameStart);
+                }
 
                 frameStart = frameEnd;
-            } catch (InterruptedException e) {
-                break;
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+
+                update(currentScene.get(), frameDuration);
+
+                if (renderInterval > 0 && (i + 1) % renderInterval == 0) {
+                    render();
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            shutdown();
         }
+    }
+
+    /**
+     * Führt die Simulation eines Frames aus: Physik, Kamera, Frame-Update-Listener und alle eingereihten
+     * Dispatchables.
+     */
+    @Internal
+    private void update(Scene scene, float deltaSeconds) throws InterruptedException {
+        long start = System.nanoTime();
 
-        threadPoolExecutor.shutdown();
+        scene.step(deltaSeconds, layerScheduler);
+        start = profiler.record(FramePhase.PHYSICS, start);
+
+        scene.getCamera().onFrameUpdate();
+        start = profiler.record(FramePhase.CAMERA, start);
+
+        scene.invokeFrameUpdateListeners(deltaSeconds);
+        start = profiler.record(FramePhase.LISTENERS, start);
+
+        Runnable runnable = dispatchableQueue.poll();
+        while (runnable != null) {
+            runnable.run();
+            runnable = dispatchableQueue.poll();
+        }
+
+        profiler.record(FramePhase.DISPATCH, start);
+    }
+
+    @Internal
+    private void shutdown() {
+        stopRenderThread();
 
         try {
-            threadPoolExecutor.awaitTermination(3, TimeUnit.SECONDS);
+            layerScheduler.shutdown();
         } catch (InterruptedException e) {
             // noinspection UnnecessaryReturnStatement
             return; // if interrupted again, don't wait
         }
     }
 
+    /**
+     * Beendet den Render-Thread und wartet, bis er das Zeichnen des aktuellen Frames abgeschlossen hat.
+     */
+    @Internal
+    private void stopRenderThread() {
+        if (renderThread == null) {
+            return;
+        }
+
+        renderThread.interrupt();
+
+        // Der Spiel-Thread ist beim Beenden meist selbst unterbrochen, join würde sonst sofort abbrechen
+        boolean interrupted = Thread.interrupted();
+
+        try {
+            renderThread.join(RENDER_THREAD_JOIN_MILLIS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+
+        renderThread = null;
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wartet bis zu einem bestimmten Zeitpunkt. Zunächst wird geschlafen, die letzten
+     * {@link #SPIN_THRESHOLD_NANOS Nanosekunden} wird aktiv gewartet, um den Zeitpunkt möglichst genau zu treffen.
+     *
+     * @param deadline Zeitpunkt im Format von {@link System#nanoTime()}.
+     */
+    @Internal
+    private static void waitUntil(long deadline) throws InterruptedException {
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                //noinspection BusyWait
+                Thread.sleep((remaining - SPIN_THRESHOLD_NANOS) / NANOSECONDS_PER_MILLISECOND);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
     public void render(RenderTarget renderTarget) {
-        renderTarget.render(this::render);
+        renderTarget.render(this::renderDirect);
     }
 
     private void render() {
-        render.render(this::render);
+        renderEnd = System.nanoTime();
+        render.render(directRenderer);
+        profiler.record(FramePhase.PRESENT, renderEnd);
+    }
+
+    /**
+     * Zeichnet im Pipeline-Modus fortlaufend den jeweils zuletzt von der Simulation festgehaltenen Frame.
+     */
+    @Internal
+    private void runRenderThread() {
+        while (!Thread.currentThread().isInterrupted()) {
+            SceneSnapshot snapshot;
+
+            try {
+                snapshot = snapshots.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            try {
+                renderSnapshot(snapshot);
+            } catch (RuntimeException e) {
+                // Ein fehlerhafter Frame soll nicht das Zeichnen aller folgenden Frames beenden
+                Logger.error("Render", "Frame konnte nicht gezeichnet werden: " + e);
+                e.printStackTrace();
+            } finally {
+                snapshots.release(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Zeichnet einen festgehaltenen Frame. Im Pipeline-Modus auf dem Render-Thread oder, falls der Frame nicht
+     * {@link SceneSnapshot#isPipelineSafe() dafür geeignet} ist, auf dem Spiel-Thread.
+     */
+    @Internal
+    private void renderSnapshot(SceneSnapshot snapshot) {
+        synchronized (renderLock) {
+            renderEnd = System.nanoTime();
+            render.render((g, width, height) -> render(g, width, height, snapshot));
+            profiler.record(FramePhase.PRESENT, renderEnd);
+        }
+    }
+
+    /**
+     * Hält den aktuellen Frame fest und zeichnet ihn direkt auf dem aufrufenden Thread.
+     */
+    @Internal
+    private void renderDirect(Graphics2D g, int width, int height) {
+        long start = System.nanoTime();
+        currentScene.get().captureSnapshot(directSnapshot, width, height);
+        directSnapshot.setFrameDuration(frameDuration);
+        profiler.record(FramePhase.SNAPSHOT, start);
+
+        render(g, width, height, directSnapshot);
     }
 
     /**
      * Führt die gesamte Zeichenroutine aus.
      *
-     * @param g Zeichenobjekt.
+     * @param g        Zeichenobjekt.
+     * @param snapshot Der festgehaltene Frame, der gezeichnet wird.
      */
     @Internal
-    private void render(Graphics2D g, int width, int height) {
-        Scene scene = this.currentScene.get();
+    private void render(Graphics2D g, int width, int height, SceneSnapshot snapshot) {
+        long start = System.nanoTime();
+
+        renderWidth = width;
+        renderHeight = height;
 
         // have to be the same @ Game.screenshot!
         g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
@@ -155,22 +455,24 @@ public final class GameLogic {
         g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
 
         // Absoluter Hintergrund
-        g.setColor(scene.getBackgroundColor());
+        g.setColor(snapshot.getBackgroundColor());
         g.fillRect(0, 0, width, height);
         g.setClip(0, 0, width, height);
 
         AffineTransform transform = g.getTransform();
 
-        scene.render(g, width, height);
+        snapshot.render(g, width, height);
 
         g.setTransform(transform);
 
         if (isDebug.get()) {
-            renderGrid(g, scene, width, height);
-            renderInfo(g, new DebugInfo(frameDuration, currentScene.get().getWorldHandler().getWorld().getBodyCount()));
+            renderGrid(g, snapshot, width, height);
+            renderInfo(g, new DebugInfo(snapshot.getFrameDuration(), snapshot.getBodyCount(), snapshot.getAwakeBodyCount(), snapshot.getDrawnActorCount(), snapshot.getCulledActorCount(), snapshot.getIgnoredContactCount()));
         }
 
         g.dispose();
+
+        renderEnd = profiler.record(FramePhase.RENDER, start);
     }
 
     /**
@@ -179,17 +481,16 @@ public final class GameLogic {
      * @param g Das Graphics-Objekt zum Zeichnen.
      */
     @Internal
-    private void renderGrid(Graphics2D g, Scene scene, int width, int height) {
+    private void renderGrid(Graphics2D g, SceneSnapshot snapshot, int width, int height) {
         AffineTransform pre = g.getTransform();
 
-        Camera camera = scene.getCamera();
-        Vector position = camera.getPosition();
-        float rotation = -camera.getRotation();
+        Vector position = new Vector(snapshot.getCameraX(), snapshot.getCameraY());
+        float rotation = -snapshot.getCameraRotation();
 
         g.setClip(0, 0, width, height);
         g.translate(width / 2, height / 2);
 
-        float pixelPerMeter = camera.getZoom();
+        float pixelPerMeter = snapshot.getCameraZoom();
 
         g.rotate(Math.toRadians(rotation), 0, 0);
         g.translate(-position.getX() * pixelPerMeter, position.getY() * pixelPerMeter);
@@ -245,33 +546,87 @@ public final class GameLogic {
 
         Font displayFont = new Font("Monospaced", Font.PLAIN, DEBUG_TEXT_SIZE);
         FontMetrics fm = g.getFontMetrics(displayFont);
-        Rectangle2D bounds;
         int y = 10;
 
         String fpsMessage = "FPS: " + (frameDuration == 0 ? "∞" : Math.round(1 / frameDuration));
-        bounds = fm.getStringBounds(fpsMessage, g);
+        y = renderInfoBox(g, displayFont, fm, y, fpsMessage, COLOR_FPS_BORDER, COLOR_FPS_BACKGROUND);
 
-        g.setColor(COLOR_FPS_BORDER);
-        g.fillRect(DEBUG_INFO_LEFT, y, (int) bounds.getWidth() + DEBUG_INFO_HEIGHT, (int) bounds.getHeight() + DEBUG_INFO_TEXT_OFFSET);
-        g.setColor(COLOR_FPS_BACKGROUND);
-        g.drawRect(DEBUG_INFO_LEFT, y, (int) bounds.getWidth() + DEBUG_INFO_HEIGHT - 1, (int) bounds.getHeight() + DEBUG_INFO_TEXT_OFFSET - 1);
+        String bodyMessage = "Bodies: " + bodyCount + " (" + debugInfo.getAwakeBodyCount() + " awake, " + debugInfo.getIgnoredContactCount() + " ignored contacts)";
+        y = renderInfoBox(g, displayFont, fm, y, bodyMessage, COLOR_BODY_COUNT_BORDER, COLOR_BODY_COUNT_BACKGROUND);
 
-        g.setColor(Color.WHITE);
+        String actorMessage = "Actors: " + debugInfo.getDrawnActorCount() + " (" + debugInfo.getCulledActorCount() + " culled)";
+        y = renderInfoBox(g, displayFont, fm, y, actorMessage, COLOR_ACTOR_COUNT_BORDER, COLOR_ACTOR_COUNT_BACKGROUND);
+
+        String imageCacheMessage = VolatileImageCache.isAccelerated()
+                ? "VRAM: " + VolatileImageCache.getHitCount() + " hits, " + VolatileImageCache.getMissCount() + " misses, " + VolatileImageCache.getRestoreCount() + " restores"
+                : "VRAM: off";
+        y = renderInfoBox(g, displayFont, fm, y, imageCacheMessage, COLOR_IMAGE_CACHE_BORDER, COLOR_IMAGE_CACHE_BACKGROUND);
+
+        renderProfilerBar(g, displayFont, fm, y);
+    }
+
+    /**
+     * Rendert die Dauer der Abschnitte des letzten Frames als gestapelten Balken. Die volle Breite des Balkens
+     * entspricht der doppelten Dauer eines Frames bei der angestrebten Framerate, die Markierung in der Mitte der
+     * angestrebten Dauer.
+     */
+    @Internal
+    private void renderProfilerBar(Graphics2D g, Font displayFont, FontMetrics fm, int y) {
+        double pixelsPerNano = (double) PROFILER_BAR_WIDTH * frameRate.getAsInt() / (2d * NANOSECONDS_PER_SECOND);
+
+        g.setColor(COLOR_PROFILER_BACKGROUND);
+        g.fillRect(DEBUG_INFO_LEFT, y, PROFILER_BAR_WIDTH, PROFILER_BAR_HEIGHT);
+
+        int x = DEBUG_INFO_LEFT;
+        for (FramePhase phase : PHASES) {
+            int segment = (int) Math.round(profiler.getLatest(phase) * pixelsPerNano);
+            segment = Math.min(segment, DEBUG_INFO_LEFT + PROFILER_BAR_WIDTH - x);
+
+            g.setColor(COLOR_PROFILER_PHASES[phase.ordinal()]);
+            g.fillRect(x, y, segment, PROFILER_BAR_HEIGHT);
+
+            x += segment;
+        }
+
+        g.setColor(COLOR_PROFILER_BUDGET);
+        g.fillRect(DEBUG_INFO_LEFT + PROFILER_BAR_WIDTH / 2, y - 2, 1, PROFILER_BAR_HEIGHT + 4);
+
+        // Legende
         g.setFont(displayFont);
-        g.drawString(fpsMessage, DEBUG_INFO_LEFT + 10, y + 8 + fm.getHeight() - fm.getDescent());
+        int legendY = y + PROFILER_BAR_HEIGHT + 6;
+        int legendX = DEBUG_INFO_LEFT;
 
-        y += fm.getHeight() + DEBUG_INFO_HEIGHT;
+        for (FramePhase phase : PHASES) {
+            String name = phase.name();
 
-        String bodyMessage = "Bodies: " + bodyCount;
-        bounds = fm.getStringBounds(bodyMessage, g);
+            g.setColor(COLOR_PROFILER_PHASES[phase.ordinal()]);
+            g.fillRect(legendX, legendY + (fm.getAscent() - PROFILER_LEGEND_SIZE) / 2, PROFILER_LEGEND_SIZE, PROFILER_LEGEND_SIZE);
 
-        g.setColor(COLOR_BODY_COUNT_BORDER);
+            g.setColor(Color.WHITE);
+            g.drawString(name, legendX + PROFILER_LEGEND_SIZE + 4, legendY + fm.getAscent());
+
+            legendX += PROFILER_LEGEND_SIZE + 4 + fm.stringWidth(name) + 10;
+        }
+    }
+
+    /**
+     * Rendert eine einzelne Zeile der Debug-Infos als Box.
+     *
+     * @return Die Y-Koordinate für die nächste Box.
+     */
+    @Internal
+    private static int renderInfoBox(Graphics2D g, Font displayFont, FontMetrics fm, int y, String message, Color border, Color background) {
+        Rectangle2D bounds = fm.getStringBounds(message, g);
+
+        g.setColor(border);
         g.fillRect(DEBUG_INFO_LEFT, y, (int) bounds.getWidth() + DEBUG_INFO_HEIGHT, (int) bounds.getHeight() + DEBUG_INFO_TEXT_OFFSET);
-        g.setColor(COLOR_BODY_COUNT_BACKGROUND);
+        g.setColor(background);
         g.drawRect(DEBUG_INFO_LEFT, y, (int) bounds.getWidth() + DEBUG_INFO_HEIGHT - 1, (int) bounds.getHeight() + DEBUG_INFO_TEXT_OFFSET - 1);
 
         g.setColor(Color.WHITE);
         g.setFont(displayFont);
-        g.drawString(bodyMessage, DEBUG_INFO_LEFT + 10, y + 8 + fm.getHeight() - fm.getDescent());
+        g.drawString(message, DEBUG_INFO_LEFT + 10, y + 8 + fm.getHeight() - fm.getDescent());
+
+        return y + fm.getHeight() + DEBUG_INFO_HEIGHT;
     }
 }
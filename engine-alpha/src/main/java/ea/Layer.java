@@ -3,16 +3,28 @@ package ea;
 import ea.actor.Actor;
 import ea.event.*;
 import ea.internal.Bounds;
+import ea.internal.TimingRecorder;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
 import ea.internal.physics.*;
+import org.jbox2d.callbacks.QueryCallback;
+import org.jbox2d.collision.AABB;
+import org.jbox2d.common.Transform;
+import org.jbox2d.common.Vec2;
 import org.jbox2d.dynamics.Body;
+import org.jbox2d.dynamics.Fixture;
 
 import java.awt.Graphics2D;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -22,8 +34,33 @@ import java.util.function.Supplier;
  * @author Michael Andonie
  */
 public class Layer implements KeyListenerContainer, MouseClickListenerContainer, MouseWheelListenerContainer, FrameUpdateListenerContainer {
+    /**
+     * Verhalten, wenn in einem Frame mehr Physik-Schritte nötig wären als mit {@link #setMaxPhysicsSteps(int)}
+     * erlaubt.
+     */
+    @API
+    public enum PhysicsOverflowPolicy {
+        /**
+         * Die übrige Zeit wird verworfen. Die Physik läuft bei langen Frames langsamer als die echte Zeit, holt aber
+         * nichts nach.
+         */
+        DROP,
+
+        /**
+         * Die übrige Zeit wird in den folgenden Frames nachgeholt, höchstens aber so viel, wie in einen weiteren Frame
+         * passt. Kurze Ruckler werden so ausgeglichen, ohne dass sich die Verzögerung aufschaukeln kann.
+         */
+        CATCH_UP
+    }
+
     private static final Comparator<? super Actor> ACTOR_COMPARATOR = Comparator.comparingInt(Actor::getLayerPosition);
 
+    /**
+     * Standard-Rand (in Meter) um die sichtbare Fläche, innerhalb dessen Actors trotzdem gezeichnet werden. Grafiken
+     * können über ihre Fixtures hinausragen, z.B. bei kleineren Kollisionsformen als das eigentliche Bild.
+     */
+    private static final float DEFAULT_CULLING_MARGIN = 2;
+
     private <T> Supplier<T> createParentSupplier(Function<Scene, T> supplier) {
         return () -> {
             Scene scene = getParent();
@@ -37,6 +74,43 @@ public class Layer implements KeyListenerContainer, MouseClickListenerContainer,
 
     private final List<Actor> actors;
 
+    /**
+     * Räumlicher Index der Actors: Position jedes Actors in {@link #actors}, also seine Zeichenreihenfolge. Die
+     * eigentliche räumliche Suche übernimmt der Broadphase-Baum der Physik-World, der bei jeder Positions- und
+     * Rotationsänderung der Bodies ohnehin aktuell gehalten wird.
+     */
+    private final Map<Actor, Integer> actorIndices = new IdentityHashMap<>();
+
+    /**
+     * Actors ohne Fixtures. Sie sind im Broadphase-Baum nicht enthalten, werden aber trotzdem gezeichnet.
+     */
+    private final List<Actor> actorsWithoutFixtures = new ArrayList<>();
+
+    /**
+     * Anzahl der sichtbaren Actors, wird zusammen mit dem räumlichen Index aktualisiert.
+     */
+    private int visibleActorCount;
+
+    /**
+     * Der räumliche Index wird auch von Abfragen anderer Threads gelesen (z.B. über {@link #queryActors(Bounds)} aus
+     * parallel simulierten Layern). Aufbau und Lesen geschehen daher immer mit Lock auf {@link #worldHandler}.
+     */
+    private volatile boolean actorIndicesDirty = false;
+
+    /**
+     * Wiederverwendete Puffer für räumliche Abfragen beim Rendern, um pro Frame keine Objekte zu erzeugen.
+     */
+    private final AABB queryAABB = new AABB();
+    private int[] queryResult = new int[16];
+    private int queryResultSize;
+    private final QueryCallback renderQueryCallback = this::collectQueryResult;
+    private final Transform renderTransform = new Transform();
+
+    /**
+     * Snapshot für das direkte Zeichnen über {@link #render(Graphics2D, Camera, int, int)}.
+     */
+    private final LayerSnapshot directSnapshot = new LayerSnapshot();
+
     private float parallaxX = 1;
     private float parallaxY = 1;
     private float parallaxRotation = 1;
@@ -50,10 +124,41 @@ public class Layer implements KeyListenerContainer, MouseClickListenerContainer,
 
     private boolean visible = true;
 
+    private boolean cullingEnabled = true;
+    private float cullingMargin = DEFAULT_CULLING_MARGIN;
+
+    /**
+     * Zustand für statische Layer, siehe {@link #setStatic(boolean)}. Der zwischengespeicherte Bereich ist doppelt so
+     * groß wie die sichtbare Fläche, damit die Kamera sich etwas bewegen kann, ohne dass neu gezeichnet werden muss.
+     */
+    private boolean staticRendering;
+    private final StaticLayerCache staticCache = new StaticLayerCache();
+    private final LayerSnapshot staticReference = new LayerSnapshot();
+    private Bounds staticRegion;
+    private float staticPixelPerMeter;
+    private long staticVersion;
+
+    /**
+     * Ob sich seit dem letzten Festhalten der Actors etwas geändert haben könnte. Solange das nicht der Fall ist,
+     * werden die Actors eines statischen Layers nicht neu erfasst und verglichen.
+     */
+    private volatile boolean staticDirty;
+
+    /**
+     * Anzahl der im letzten Frame gezeichneten bzw. außerhalb der Kamera aussortierten Actors.
+     */
+    private int drawnActorCount;
+    private int culledActorCount;
+
     private Scene parent;
 
     private final WorldHandler worldHandler;
 
+    /**
+     * Dauer der letzten Physik-Schritte.
+     */
+    private final TimingRecorder stepTimes = new TimingRecorder();
+
     private final EventListeners<KeyListener> keyListeners = new EventListeners<>(createParentSupplier(Scene::getKeyListeners));
     private final EventListeners<MouseClickListener> mouseClickListeners = new EventListeners<>(createParentSupplier(Scene::getMouseClickListeners));
     private final EventListeners<MouseWheelListener> mouseWheelListeners = new EventListeners<>(createParentSupplier(Scene::getMouseWheelListeners));
@@ -196,6 +301,222 @@ public class Layer implements KeyListenerContainer, MouseClickListenerContainer,
         this.worldHandler.getWorld().setGravity(gravityInNewton.toVec2());
     }
 
+    /**
+     * Setzt die Länge eines Physik-Teilschritts. Die Physik wird unabhängig von der Framerate in Schritten dieser Länge
+     * simuliert. Kürzere Schritte sind genauer, kosten aber mehr Rechenzeit.
+     *
+     * @param seconds Länge eines Teilschritts in Sekunden, Standard sind 8 ms.
+     *
+     * @see #setPhysicsIterations(int, int)
+     */
+    @API
+    public void setPhysicsStepTime(float seconds) {
+        this.worldHandler.setStepTime(seconds);
+    }
+
+    /**
+     * @return Länge eines Physik-Teilschritts in Sekunden.
+     *
+     * @see #setPhysicsStepTime(float)
+     */
+    @API
+    public float getPhysicsStepTime() {
+        return this.worldHandler.getStepTime();
+    }
+
+    /**
+     * Setzt, wie oft der Physik-Solver pro Teilschritt iteriert. Mehr Iterationen machen Stapel und Gelenke stabiler,
+     * kosten aber mehr Rechenzeit.
+     *
+     * @param velocityIterations Iterationen für Geschwindigkeiten, Standard ist 6.
+     * @param positionIterations Iterationen für Positionen, Standard ist 3.
+     */
+    @API
+    public void setPhysicsIterations(int velocityIterations, int positionIterations) {
+        this.worldHandler.setIterations(velocityIterations, positionIterations);
+    }
+
+    @API
+    public int getPhysicsVelocityIterations() {
+        return this.worldHandler.getVelocityIterations();
+    }
+
+    @API
+    public int getPhysicsPositionIterations() {
+        return this.worldHandler.getPositionIterations();
+    }
+
+    /**
+     * Setzt, wie viele Physik-Teilschritte höchstens pro Frame simuliert werden. Ohne Obergrenze kann ein langer Frame
+     * viele Teilschritte nach sich ziehen, die den nächsten Frame wieder verlängern. Mit Obergrenze wird dafür
+     * Simulationszeit verworfen, die Physik läuft dann langsamer als die echte Zeit. Was mit der übrigen Zeit passiert,
+     * legt {@link #setPhysicsOverflowPolicy(PhysicsOverflowPolicy)} fest, wie viel verworfen wurde, gibt
+     * {@link #getDroppedPhysicsSteps()} aus.
+     *
+     * @param maxSteps Höchstzahl an Teilschritten pro Frame. Standard ist {@link Integer#MAX_VALUE}, also keine
+     *                 Obergrenze: Es wird immer die gesamte vergangene Zeit simuliert.
+     */
+    @API
+    public void setMaxPhysicsSteps(int maxSteps) {
+        this.worldHandler.setMaxSteps(maxSteps);
+    }
+
+    @API
+    public int getMaxPhysicsSteps() {
+        return this.worldHandler.getMaxSteps();
+    }
+
+    /**
+     * Setzt, was mit der übrigen Zeit passiert, wenn {@link #setMaxPhysicsSteps(int)} erreicht wird.
+     *
+     * @param overflowPolicy Standard ist {@link PhysicsOverflowPolicy#DROP}.
+     */
+    @API
+    public void setPhysicsOverflowPolicy(PhysicsOverflowPolicy overflowPolicy) {
+        this.worldHandler.setOverflowPolicy(overflowPolicy);
+    }
+
+    @API
+    public PhysicsOverflowPolicy getPhysicsOverflowPolicy() {
+        return this.worldHandler.getOverflowPolicy();
+    }
+
+    /**
+     * Gibt aus, wie viele Physik-Teilschritte wegen {@link #setMaxPhysicsSteps(int)} bisher nicht simuliert wurden.
+     *
+     * @return Anzahl der verworfenen Teilschritte.
+     */
+    @API
+    public long getDroppedPhysicsSteps() {
+        return this.worldHandler.getDroppedStepCount();
+    }
+
+    /**
+     * Setzt, ob Objekte dieses Layers einschlafen dürfen. Schlafende Objekte werden erst wieder simuliert, wenn sie
+     * angestoßen werden. Schlafen alle Objekte, kostet die Physik des Layers fast nichts. Die Schwellwerte für das
+     * Einschlafen werden mit {@link Game#setPhysicsSleepTolerance(float, float, float)} gesetzt.
+     *
+     * @param sleepingAllowed <code>true</code>: Objekte dürfen einschlafen (Standard).
+     */
+    @API
+    public void setSleepingAllowed(boolean sleepingAllowed) {
+        synchronized (worldHandler) {
+            this.worldHandler.getWorld().setAllowSleep(sleepingAllowed);
+        }
+    }
+
+    @API
+    public boolean isSleepingAllowed() {
+        return this.worldHandler.getWorld().isAllowSleep();
+    }
+
+    /**
+     * Setzt, ob der Physik-Solver die Ergebnisse des letzten Schritts als Ausgangspunkt nutzt. Das macht Stapel
+     * deutlich stabiler und sollte nur zur Fehlersuche abgeschaltet werden.
+     *
+     * @param warmStarting <code>true</code>: Warm Starting ist aktiv (Standard).
+     */
+    @API
+    public void setWarmStarting(boolean warmStarting) {
+        synchronized (worldHandler) {
+            this.worldHandler.getWorld().setWarmStarting(warmStarting);
+        }
+    }
+
+    @API
+    public boolean isWarmStarting() {
+        return this.worldHandler.getWorld().isWarmStarting();
+    }
+
+    /**
+     * Gibt die Anzahl der nicht-statischen Objekte aus, die beim letzten Physik-Schritt wach waren.
+     *
+     * @return Anzahl der wachen Objekte.
+     *
+     * @see #getSleepingBodyCount()
+     */
+    @API
+    public int getAwakeBodyCount() {
+        return this.worldHandler.getAwakeBodyCount();
+    }
+
+    /**
+     * Gibt die Anzahl der nicht-statischen Objekte aus, die beim letzten Physik-Schritt geschlafen haben.
+     *
+     * @return Anzahl der schlafenden Objekte.
+     *
+     * @see #setSleepingAllowed(boolean)
+     */
+    @API
+    public int getSleepingBodyCount() {
+        return this.worldHandler.getSleepingBodyCount();
+    }
+
+    /**
+     * Setzt, ob die {@link ea.collision.CollisionEvent}s dieses Layers wiederverwendet werden. Bei vielen Kollisionen
+     * pro Sekunde entsteht so kein Müll mehr für den Garbage Collector.
+     * <p>
+     * Wiederverwendete Events sind <b>nur während des Listener-Aufrufs gültig</b> und dürfen danach weder gespeichert
+     * noch verwendet werden. Kontaktpunkte und Normale sollten dann über die Methoden mit primitiven Rückgabewerten
+     * abgefragt werden, z.B. {@link ea.collision.CollisionEvent#getPointX(int)}.
+     *
+     * @param collisionEventPooling <code>true</code>: Events werden wiederverwendet.
+     *                              <code>false</code>: Jeder Listener-Aufruf erhält ein neues Event (Standard).
+     *
+     * @see #isCollisionEventPooling()
+     */
+    @API
+    public void setCollisionEventPooling(boolean collisionEventPooling) {
+        this.worldHandler.setCollisionEventPooling(collisionEventPooling);
+    }
+
+    /**
+     * Gibt an, ob die {@link ea.collision.CollisionEvent}s dieses Layers wiederverwendet werden.
+     *
+     * @return <code>true</code>, falls Events wiederverwendet werden.
+     *
+     * @see #setCollisionEventPooling(boolean)
+     */
+    @API
+    public boolean isCollisionEventPooling() {
+        return this.worldHandler.isCollisionEventPooling();
+    }
+
+    /**
+     * Setzt, ob {@link ea.collision.CollisionListener} dieses Layers erst nach dem Physik-Schritt informiert werden.
+     * <p>
+     * Standardmäßig laufen die Listener mitten im Physik-Schritt, während die Physik gesperrt ist. Im verzögerten Modus
+     * werden Kontakte während des Schritts nur aufgezeichnet, über alle Teilschritte eines Frames zusammengefasst und
+     * danach gesammelt ausgeliefert. Listener können dann gefahrlos Objekte verändern, und langsame Listener halten die
+     * Physik-Berechnung nicht mehr auf. Die Layer einer Szene liefern ihre Events weiterhin parallel aus.
+     * <p>
+     * Beginnt und endet ein Kontakt innerhalb eines Frames, werden weiterhin Beginn und Ende gemeldet. Ein bereits
+     * beendeter Kontakt hat im Event keine Kontaktpunkte mehr. Da die Physik den Kontakt bereits einmal aufgelöst hat,
+     * wirkt {@link ea.collision.CollisionEvent#ignoreCollision()} erst ab dem nächsten Frame.
+     *
+     * @param collisionEventsDeferred <code>true</code>: Listener werden nach dem Physik-Schritt informiert.
+     *                                <code>false</code>: Listener werden während des Physik-Schritts informiert
+     *                                (Standard).
+     *
+     * @see #isCollisionEventsDeferred()
+     */
+    @API
+    public void setCollisionEventsDeferred(boolean collisionEventsDeferred) {
+        this.worldHandler.setCollisionEventsDeferred(collisionEventsDeferred);
+    }
+
+    /**
+     * Gibt an, ob {@link ea.collision.CollisionListener} dieses Layers erst nach dem Physik-Schritt informiert werden.
+     *
+     * @return <code>true</code>, falls Kollisionsevents nach dem Physik-Schritt ausgeliefert werden.
+     *
+     * @see #setCollisionEventsDeferred(boolean)
+     */
+    @API
+    public boolean isCollisionEventsDeferred() {
+        return this.worldHandler.isCollisionEventsDeferred();
+    }
+
     /**
      * Setzt, ob dieses Layer sichtbar sein soll.
      *
@@ -223,6 +544,151 @@ public class Layer implements KeyListenerContainer, MouseClickListenerContainer,
         return this.visible;
     }
 
+    /**
+     * Setzt, ob Actors außerhalb der sichtbaren Fläche beim Rendern übersprungen werden sollen. Standardmäßig ist dies
+     * aktiviert.
+     *
+     * @param cullingEnabled <code>true</code>: Nur Actors, deren Fixtures (teilweise) im sichtbaren Bereich liegen,
+     *                       werden gezeichnet. <code>false</code>: Alle sichtbaren Actors werden gezeichnet.
+     *
+     * @see #setCullingMargin(float)
+     */
+    @API
+    public void setCullingEnabled(boolean cullingEnabled) {
+        this.cullingEnabled = cullingEnabled;
+    }
+
+    /**
+     * Gibt an, ob Actors außerhalb der sichtbaren Fläche beim Rendern übersprungen werden.
+     *
+     * @return <code>true</code>, wenn Actors außerhalb der sichtbaren Fläche übersprungen werden.
+     *
+     * @see #setCullingEnabled(boolean)
+     */
+    @API
+    public boolean isCullingEnabled() {
+        return cullingEnabled;
+    }
+
+    /**
+     * Setzt den Rand um die sichtbare Fläche, innerhalb dessen Actors trotzdem gezeichnet werden. Dies ist nötig,
+     * wenn die Grafik eines Actors größer als seine Fixtures ist.
+     *
+     * @param cullingMargin Der Rand in Meter. Muss größer oder gleich 0 sein.
+     *
+     * @see #setCullingEnabled(boolean)
+     */
+    @API
+    public void setCullingMargin(float cullingMargin) {
+        if (cullingMargin < 0) {
+            throw new IllegalArgumentException("Der Rand muss größer oder gleich 0 sein, war " + cullingMargin);
+        }
+
+        this.cullingMargin = cullingMargin;
+    }
+
+    /**
+     * Gibt den Rand um die sichtbare Fläche aus, innerhalb dessen Actors trotzdem gezeichnet werden.
+     *
+     * @return Der Rand in Meter.
+     *
+     * @see #setCullingMargin(float)
+     */
+    @API
+    public float getCullingMargin() {
+        return cullingMargin;
+    }
+
+    /**
+     * Setzt, ob dieses Layer statisch ist. Statische Layer werden einmal in ein Bild gezeichnet, das in den folgenden
+     * Frames nur noch mit der Kamera- und Parallaxenverschiebung kopiert wird. Das lohnt sich für Hintergründe, die
+     * sich selten ändern, z.B. Parallaxen-Kulissen oder Tile-Maps.
+     * <p>
+     * Das Bild wird neu gezeichnet, wenn Actors hinzugefügt oder entfernt werden, sich Position, Rotation, Opacity
+     * oder Sichtbarkeit eines Actors ändern, der Zoom sich ändert oder die Kamera den zwischengespeicherten Bereich
+     * verlässt. Andere Änderungen am Aussehen eines Actors (z.B. Farbe, Textinhalt oder Animationen) werden nicht
+     * erkannt, dafür muss {@link #invalidate()} aufgerufen werden. Solange sich nichts ändert, müssen die Actors
+     * eines statischen Layers pro Frame nicht einmal erfasst werden.
+     *
+     * @param staticRendering <code>true</code>, um das Layer zwischenzuspeichern. Standard ist <code>false</code>.
+     *
+     * @see #invalidate()
+     */
+    @API
+    public void setStatic(boolean staticRendering) {
+        if (this.staticRendering == staticRendering) {
+            return;
+        }
+
+        this.staticRendering = staticRendering;
+        this.staticRegion = null;
+        this.staticReference.reset(false, 0, 0, 0, 0);
+
+        if (!staticRendering) {
+            staticCache.release();
+        }
+    }
+
+    /**
+     * Gibt an, ob dieses Layer statisch ist.
+     *
+     * @return <code>true</code>, wenn das Layer zwischengespeichert wird.
+     *
+     * @see #setStatic(boolean)
+     */
+    @API
+    public boolean isStatic() {
+        return staticRendering;
+    }
+
+    /**
+     * Erzwingt, dass ein statisches Layer im nächsten Frame neu gezeichnet wird. Nötig, wenn sich das Aussehen eines
+     * Actors ändert, ohne dass sich seine Position, Rotation oder Opacity ändert.
+     *
+     * @see #setStatic(boolean)
+     */
+    @API
+    public void invalidate() {
+        staticVersion++;
+        staticDirty = true;
+    }
+
+    /**
+     * Vermerkt, dass sich Position, Rotation, Opacity oder Sichtbarkeit eines Actors dieses Layers geändert haben.
+     * Bei statischen Layern werden die Actors daraufhin im nächsten Frame neu erfasst.
+     */
+    @Internal
+    public void markActorsChanged() {
+        staticDirty = true;
+    }
+
+    /**
+     * Gibt die Anzahl der Actors aus, die im letzten Frame gezeichnet wurden.
+     *
+     * @return Anzahl der gezeichneten Actors.
+     *
+     * @see #getCulledActorCount()
+     */
+    @API
+    public int getDrawnActorCount() {
+        return drawnActorCount;
+    }
+
+    /**
+     * Gibt die Anzahl der Actors aus, die im letzten Frame nicht gezeichnet wurden, weil sie außerhalb der sichtbaren
+     * Fläche lagen. Das sind alle sichtbaren Actors abzüglich der gezeichneten, also auch die, die der räumliche Index
+     * gar nicht erst als Kandidaten geliefert hat.
+     *
+     * @return Anzahl der aussortierten Actors.
+     *
+     * @see #getDrawnActorCount()
+     * @see #setCullingEnabled(boolean)
+     */
+    @API
+    public int getCulledActorCount() {
+        return culledActorCount;
+    }
+
     @API
     public void add(Actor... actors) {
         defer(() -> {
@@ -243,7 +709,8 @@ public class Layer implements KeyListenerContainer, MouseClickListenerContainer,
                 this.actors.add(actor);
             }
 
-            this.actors.sort(ACTOR_COMPARATOR);
+            invalidateActorIndex();
+            markActorsChanged();
         });
     }
 
@@ -252,6 +719,8 @@ public class Layer implements KeyListenerContainer, MouseClickListenerContainer,
         defer(() -> {
             for (Actor actor : actors) {
                 this.actors.remove(actor);
+                invalidateActorIndex();
+                markActorsChanged();
 
                 PhysicsData physicsData = actor.getPhysicsHandler().getPhysicsData();
                 PhysicsHandler physicsHandler = actor.getPhysicsHandler();
@@ -277,11 +746,28 @@ public class Layer implements KeyListenerContainer, MouseClickListenerContainer,
      */
     @Internal
     public Vector translateWorldPointToFramePxCoordinates(Vector worldPoint) {
-        float pixelPerMeter = calculatePixelPerMeter();
-        Vector frameSize = Game.getFrameSizeInPixels();
-        Vector cameraPositionInPx = new Vector(frameSize.getX() / 2, frameSize.getY() / 2);
-        Vector fromCamToPointInWorld = parent.getCamera().getPosition().multiplyX(parallaxX).multiplyY(parallaxY).getDistance(worldPoint);
-        return cameraPositionInPx.add(fromCamToPointInWorld.multiplyY(-1).multiply(pixelPerMeter * parallaxZoom));
+        return translateWorldPointToFramePxCoordinates(worldPoint.getX(), worldPoint.getY(), new MutableVector()).toVector();
+    }
+
+    /**
+     * Übersetzt einen Punkt auf diesem Layer wie {@link #translateWorldPointToFramePxCoordinates(Vector)}, ohne
+     * dabei Objekte zu erzeugen.
+     *
+     * @param x      X-Koordinate des Punktes auf dem Layer.
+     * @param y      Y-Koordinate des Punktes auf dem Layer.
+     * @param result Der Vektor, in den die Pixelkoordinate geschrieben wird.
+     *
+     * @return <code>result</code>
+     */
+    @Internal
+    public MutableVector translateWorldPointToFramePxCoordinates(float x, float y, MutableVector result) {
+        float factor = calculatePixelPerMeter() * parallaxZoom;
+        Camera camera = parent.getCamera();
+
+        float fromCameraX = x - camera.getX() * parallaxX;
+        float fromCameraY = y - camera.getY() * parallaxY;
+
+        return result.set(Game.getFrameWidthInPixels() / 2f + fromCameraX * factor, Game.getFrameHeightInPixels() / 2f - fromCameraY * factor);
     }
 
     /**
@@ -341,42 +827,333 @@ public class Layer implements KeyListenerContainer, MouseClickListenerContainer,
 
     @Internal
     public void render(Graphics2D g, Camera camera, int width, int height) {
+        captureSnapshot(directSnapshot, camera, width, height);
+        directSnapshot.render(g, g.getTransform(), width, height);
+    }
+
+    /**
+     * Hält fest, welche Actors dieses Layers im aktuellen Frame wie gezeichnet werden. Actors außerhalb der sichtbaren
+     * Fläche werden dabei bereits aussortiert.
+     *
+     * @param snapshot Der Snapshot, der befüllt wird.
+     * @param camera   Die Kamera der Szene.
+     * @param width    Breite der Zeichenfläche in Pixel.
+     * @param height   Höhe der Zeichenfläche in Pixel.
+     */
+    @Internal
+    void captureSnapshot(LayerSnapshot snapshot, Camera camera, int width, int height) {
+        float cameraX = camera.getX();
+        float cameraY = camera.getY();
+        float rotation = -camera.getRotation();
+        float pixelPerMeter = calculatePixelPerMeter();
+
+        snapshot.reset(visible, cameraX * parallaxX, cameraY * parallaxY, Math.toRadians(rotation) * parallaxRotation, pixelPerMeter);
+
         if (!visible) {
             return;
         }
 
-        Vector position = camera.getPosition();
-        float rotation = -camera.getRotation();
-        g.setClip(0, 0, width, height);
-        g.translate(width / 2, height / 2);
+        Bounds visibleBounds = cullingEnabled || staticRendering ? calculateVisibleBounds(cameraX, cameraY, rotation, pixelPerMeter, width, height) : null;
+        Transform transform = renderTransform;
 
-        float pixelPerMeter = calculatePixelPerMeter();
+        boolean staticSnapshot = staticRendering && visibleBounds != null;
+        if (staticSnapshot) {
+            if (!updateStaticRegion(visibleBounds, pixelPerMeter) && !staticDirty) {
+                // Unverändert: die zuletzt erfassten Actors übernehmen, statt sie erneut abzufragen
+                snapshot.copyActorsFrom(staticReference);
+                snapshot.setStaticCache(staticCache, staticVersion, staticRegion);
 
-        g.rotate(Math.toRadians(rotation) * parallaxRotation, 0, 0);
-        g.translate((-position.getX() * parallaxX) * pixelPerMeter, (position.getY() * parallaxY) * pixelPerMeter);
+                synchronized (worldHandler) {
+                    updateActorIndex();
+                    updateActorCounts(snapshot);
+                }
+
+                return;
+            }
 
-        // TODO: Calculate optimal bounds
-        int size = Math.max(width, height);
+            staticDirty = false;
+            visibleBounds = staticRegion;
+        }
 
-        boolean needsSort = false;
-        int previousPosition = Integer.MIN_VALUE;
+        if (!cullingEnabled) {
+            visibleBounds = null;
+        }
 
-        for (Actor actor : actors) {
-            actor.renderBasic(g, new Bounds(position.getX() - size, position.getY() - size, size * 2, size * 2), pixelPerMeter);
+        synchronized (worldHandler) {
+            updateActorIndex();
 
-            if (!needsSort) {
-                int actorPosition = actor.getLayerPosition();
-                if (actorPosition < previousPosition) {
-                    needsSort = true;
+            if (visibleBounds == null) {
+                for (Actor actor : actors) {
+                    if (actor.isRenderable(null)) {
+                        actor.calculateRenderTransform(transform);
+                        snapshot.add(actor, transform, actor.getOpacity());
+                    }
+                }
+            } else {
+                // Nur die Kandidaten aus dem räumlichen Index, in der ursprünglichen Reihenfolge
+                int candidateCount = queryActorIndices(visibleBounds);
+                for (int i = 0; i < candidateCount; i++) {
+                    Actor actor = actors.get(queryResult[i]);
+                    if (actor.isRenderable(visibleBounds)) {
+                        actor.calculateRenderTransform(transform);
+                        snapshot.add(actor, transform, actor.getOpacity());
+                    }
                 }
+            }
+
+            updateActorCounts(snapshot);
+        }
 
-                previousPosition = actorPosition;
+        if (staticSnapshot) {
+            if (!snapshot.hasSameActors(staticReference)) {
+                staticReference.copyActorsFrom(snapshot);
+                staticVersion++;
             }
+
+            snapshot.setStaticCache(staticCache, staticVersion, staticRegion);
+        }
+    }
+
+    /**
+     * Aktualisiert die Anzahl gezeichneter und aussortierter Actors. Aussortiert sind alle sichtbaren Actors, die nicht
+     * gezeichnet werden, auch die, die der räumliche Index nicht geliefert hat. Muss mit Lock auf
+     * {@link #worldHandler} nach {@link #updateActorIndex()} aufgerufen werden.
+     */
+    @Internal
+    private void updateActorCounts(LayerSnapshot snapshot) {
+        drawnActorCount = snapshot.size();
+        culledActorCount = Math.max(0, visibleActorCount - drawnActorCount);
+    }
+
+    /**
+     * Legt den Bereich des Zwischenspeichers neu fest, falls der Zoom sich geändert hat oder die sichtbare Fläche nicht
+     * mehr vollständig darin liegt.
+     *
+     * @return <code>true</code>, wenn der Bereich neu festgelegt wurde.
+     */
+    @Internal
+    private boolean updateStaticRegion(Bounds visibleBounds, float pixelPerMeter) {
+        if (staticRegion != null && staticPixelPerMeter == pixelPerMeter && staticRegion.contains(visibleBounds)) {
+            return false;
         }
 
-        if (needsSort) {
-            this.actors.sort(ACTOR_COMPARATOR);
+        float width = visibleBounds.getWidth();
+        float height = visibleBounds.getHeight();
+
+        // Auf ganze Pixel ausrichten, damit das Bild ohne Versatz kopiert wird
+        float left = (float) Math.floor((visibleBounds.getX() - width / 2) * pixelPerMeter);
+        float bottom = (float) Math.floor((visibleBounds.getY() - height / 2) * pixelPerMeter);
+        float pixelWidth = (float) Math.ceil(width * 2 * pixelPerMeter);
+        float pixelHeight = (float) Math.ceil(height * 2 * pixelPerMeter);
+
+        staticRegion = new Bounds(left / pixelPerMeter, bottom / pixelPerMeter, pixelWidth / pixelPerMeter, pixelHeight / pixelPerMeter);
+        staticPixelPerMeter = pixelPerMeter;
+        staticVersion++;
+
+        return true;
+    }
+
+    /**
+     * Berechnet die achsenparallele Fläche dieses Layers in Meter, die beim Rendern sichtbar ist. Berücksichtigt
+     * Parallaxe, Zoom und die Rotation der Kamera sowie den Rand für das Aussortieren von Actors.
+     *
+     * @return Die sichtbare Fläche oder <code>null</code>, falls sie nicht sinnvoll bestimmbar ist (Zoom von 0 oder
+     * Zeichenfläche noch unbekannt).
+     */
+    @Internal
+    private Bounds calculateVisibleBounds(float cameraX, float cameraY, float rotation, float pixelPerMeter, int width, int height) {
+        if (pixelPerMeter == 0 || width <= 0 || height <= 0) {
+            return null;
         }
+
+        float halfWidth = width / 2f / Math.abs(pixelPerMeter);
+        float halfHeight = height / 2f / Math.abs(pixelPerMeter);
+
+        // Die Bounding-Box des gedrehten Bildschirms ist größer als der Bildschirm selbst
+        double angle = Math.toRadians(rotation) * parallaxRotation;
+        float cos = (float) Math.abs(Math.cos(angle));
+        float sin = (float) Math.abs(Math.sin(angle));
+
+        float extentX = halfWidth * cos + halfHeight * sin + cullingMargin;
+        float extentY = halfWidth * sin + halfHeight * cos + cullingMargin;
+
+        float centerX = cameraX * parallaxX;
+        float centerY = cameraY * parallaxY;
+
+        return new Bounds(centerX - extentX, centerY - extentY, extentX * 2, extentY * 2);
+    }
+
+    /**
+     * Gibt alle Actors dieses Layers aus, deren Fixtures eine bestimmte Fläche schneiden. Die Suche nutzt einen
+     * räumlichen Index und muss daher nicht alle Actors des Layers prüfen.
+     *
+     * @param bounds Die Fläche in Meter.
+     *
+     * @return Die gefundenen Actors in Zeichenreihenfolge, also der hinterste Actor zuerst. Actors ohne Fixtures
+     * werden nie gefunden.
+     *
+     * @see #queryActors(Vector)
+     */
+    @API
+    public List<Actor> queryActors(Bounds bounds) {
+        float minX = bounds.getX();
+        float minY = bounds.getY();
+        float maxX = minX + bounds.getWidth();
+        float maxY = minY + bounds.getHeight();
+
+        return queryActors(minX, minY, maxX, maxY, fixture -> {
+            AABB aabb = fixture.getAABB(0);
+
+            return aabb.lowerBound.x <= maxX && aabb.upperBound.x >= minX && aabb.lowerBound.y <= maxY && aabb.upperBound.y >= minY;
+        });
+    }
+
+    /**
+     * Gibt alle Actors dieses Layers aus, die einen bestimmten Punkt enthalten, z.B. zur Auswahl von Actors per Maus.
+     * Die Suche nutzt einen räumlichen Index und muss daher nicht alle Actors des Layers prüfen.
+     *
+     * @param point Der Punkt in Meter.
+     *
+     * @return Die gefundenen Actors in Zeichenreihenfolge, also der vorderste Actor zuletzt.
+     *
+     * @see #queryActors(Bounds)
+     * @see Actor#contains(Vector)
+     */
+    @API
+    public List<Actor> queryActors(Vector point) {
+        Vec2 vec2 = point.toVec2();
+
+        return queryActors(vec2.x, vec2.y, vec2.x, vec2.y, fixture -> fixture.testPoint(vec2));
+    }
+
+    @Internal
+    private List<Actor> queryActors(float minX, float minY, float maxX, float maxY, Predicate<Fixture> filter) {
+        Set<Actor> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Actor> result;
+
+        synchronized (worldHandler) {
+            updateActorIndex();
+
+            worldHandler.getWorld().queryAABB((QueryCallback) fixture -> {
+                Actor actor = (Actor) fixture.getBody().getUserData();
+                if (actorIndices.containsKey(actor) && filter.test(fixture)) {
+                    found.add(actor);
+                }
+
+                return true;
+            }, new AABB(new Vec2(minX, minY), new Vec2(maxX, maxY)));
+
+            result = new ArrayList<>(found);
+            result.sort(Comparator.comparingInt(actorIndices::get));
+        }
+
+        return result;
+    }
+
+    /**
+     * Markiert den räumlichen Index als veraltet, z.B. weil sich die Layer-Position, die Sichtbarkeit oder die
+     * Fixtures eines Actors geändert haben. Er wird vor der nächsten Abfrage neu aufgebaut.
+     */
+    @Internal
+    public void invalidateActorIndex() {
+        actorIndicesDirty = true;
+    }
+
+    /**
+     * Baut den räumlichen Index bei Bedarf neu auf. Muss mit Lock auf {@link #worldHandler} aufgerufen werden.
+     */
+    @Internal
+    private void updateActorIndex() {
+        if (!actorIndicesDirty) {
+            return;
+        }
+
+        actorIndicesDirty = false;
+
+        actors.sort(ACTOR_COMPARATOR);
+        actorIndices.clear();
+        actorsWithoutFixtures.clear();
+        visibleActorCount = 0;
+
+        for (int i = 0; i < actors.size(); i++) {
+            Actor actor = actors.get(i);
+            actorIndices.put(actor, i);
+
+            if (actor.isVisible()) {
+                visibleActorCount++;
+            }
+
+            Body body = actor.getPhysicsHandler().getBody();
+            if (body == null || body.getFixtureList() == null) {
+                actorsWithoutFixtures.add(actor);
+            }
+        }
+    }
+
+    /**
+     * Sammelt die Indizes aller Actors, deren Fixtures die übergebene Fläche (ungefähr) schneiden, sortiert nach
+     * Zeichenreihenfolge in {@link #queryResult}. Actors ohne Fixtures sind immer enthalten. Muss mit Lock auf
+     * {@link #worldHandler} aufgerufen werden.
+     *
+     * @return Die Anzahl der gefundenen Actors.
+     */
+    @Internal
+    private int queryActorIndices(Bounds bounds) {
+        queryResultSize = 0;
+
+        queryAABB.lowerBound.set(bounds.getX(), bounds.getY());
+        queryAABB.upperBound.set(bounds.getX() + bounds.getWidth(), bounds.getY() + bounds.getHeight());
+
+        worldHandler.getWorld().queryAABB(renderQueryCallback, queryAABB);
+
+        for (Actor actor : actorsWithoutFixtures) {
+            addQueryResult(actorIndices.get(actor));
+        }
+
+        return sortUnique(queryResult, queryResultSize);
+    }
+
+    @Internal
+    private boolean collectQueryResult(Fixture fixture) {
+        Integer index = actorIndices.get(fixture.getBody().getUserData());
+        if (index != null) {
+            addQueryResult(index);
+        }
+
+        return true;
+    }
+
+    @Internal
+    private void addQueryResult(int index) {
+        if (queryResultSize == queryResult.length) {
+            queryResult = Arrays.copyOf(queryResult, queryResultSize * 2);
+        }
+
+        queryResult[queryResultSize++] = index;
+    }
+
+    /**
+     * Sortiert die ersten <code>size</code> Einträge aufsteigend und entfernt Duplikate (ein Actor kann mehrere
+     * Fixtures haben).
+     *
+     * @return Die Anzahl der verbleibenden Einträge.
+     */
+    @Internal
+    private static int sortUnique(int[] values, int size) {
+        if (size == 0) {
+            return 0;
+        }
+
+        Arrays.sort(values, 0, size);
+
+        int unique = 1;
+        for (int i = 1; i < size; i++) {
+            if (values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+
+        return unique;
     }
 
     /**
@@ -391,9 +1168,31 @@ public class Layer implements KeyListenerContainer, MouseClickListenerContainer,
 
     @Internal
     public void step(float deltaSeconds) {
+        long start = System.nanoTime();
+
         synchronized (worldHandler) {
             worldHandler.step(deltaSeconds * timeDistort);
+
+            // Statische und schlafende Bodies bewegen sich nicht
+            if (staticRendering && !staticDirty && worldHandler.getAwakeBodyCount() > 0) {
+                markActorsChanged();
+            }
         }
+
+        stepTimes.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Gibt aus, wie lange die Physik-Simulation dieses Layers in den letzten Frames gedauert hat. Da die Layer einer
+     * Szene parallel simuliert werden, kann so ein einzelner aufwändiger Layer gefunden werden.
+     *
+     * @return Die Auswertung der Dauer der letzten Physik-Schritte.
+     *
+     * @see Game#getFrameStats()
+     */
+    @API
+    public TimingStats getStepStats() {
+        return stepTimes.calculateStats();
     }
 
     @API
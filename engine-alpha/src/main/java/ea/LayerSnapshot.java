@@ -0,0 +1,352 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea;
+
+import ea.actor.Actor;
+import ea.internal.Bounds;
+import ea.internal.annotations.Internal;
+import ea.internal.graphics.AlphaComposites;
+import ea.internal.graphics.RenderState;
+import ea.internal.graphics.VolatileImageCache;
+import org.jbox2d.common.Transform;
+
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+
+/**
+ * Hält fest, was von einem Layer in einem Frame gezeichnet wird: die Kameraeinstellung und für jeden zu zeichnenden
+ * Actor dessen Position, Rotation und Opacity.
+ * <p>
+ * Nach {@link Layer#captureSnapshot(LayerSnapshot, Camera, int, int)} wird der Zustand nicht mehr verändert, bis
+ * der Snapshot erneut befüllt wird. Für das Zeichnen auf einem anderen Thread wird zusätzlich der Zeichenzustand jedes
+ * Actors festgehalten ({@link Actor#captureRenderState(float)}), sodass die Simulation die Actors währenddessen
+ * weiter verändern kann. Kann ein Actor seinen Zustand nicht festhalten, ist der Snapshot {@link #isComplete()
+ * unvollständig} und muss auf dem Spiel-Thread gezeichnet werden.
+ */
+@Internal
+final class LayerSnapshot {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private boolean visible;
+
+    private float centerX;
+    private float centerY;
+    private double rotation;
+    private float pixelPerMeter;
+
+    private Actor[] actors = new Actor[INITIAL_CAPACITY];
+    private RenderState[] states = new RenderState[INITIAL_CAPACITY];
+    private float[] transforms = new float[INITIAL_CAPACITY * 4];
+    private int size;
+
+    /**
+     * Ob beim Befüllen der Zeichenzustand der Actors festgehalten wird.
+     */
+    private final boolean captureRenderState;
+
+    /**
+     * Ob für jeden Actor ein Zeichenzustand festgehalten wurde.
+     */
+    private boolean complete = true;
+
+    /**
+     * Ob beim Befüllen der Debug-Modus aktiv war. Die Actors werden dann samt ihrer Shapes direkt gezeichnet.
+     */
+    private boolean debug;
+
+    /**
+     * Transformation eines Actors, wird beim Zeichnen wiederverwendet.
+     */
+    private final AffineTransform actorTransform = new AffineTransform();
+
+    /**
+     * Transformation des Layers, wird beim Zeichnen wiederverwendet.
+     */
+    private final AffineTransform layerTransform = new AffineTransform();
+
+    /**
+     * Zwischenspeicher eines statischen Layers oder <code>null</code>. Die Actors werden dann nur in den
+     * Zwischenspeicher gezeichnet, wenn sich {@link #staticVersion} geändert hat; der Bereich in Meter gibt an, welcher
+     * Teil des Layers darin abgebildet ist.
+     */
+    private StaticLayerCache staticCache;
+    private long staticVersion;
+    private float staticX;
+    private float staticY;
+    private float staticWidth;
+    private float staticHeight;
+
+    /**
+     * Erstellt einen Snapshot, der nur auf dem Spiel-Thread gezeichnet wird.
+     */
+    @Internal
+    LayerSnapshot() {
+        this(false);
+    }
+
+    /**
+     * @param captureRenderState Ob der Zeichenzustand der Actors festgehalten wird, damit der Snapshot auf einem
+     *                           anderen Thread gezeichnet werden kann.
+     */
+    @Internal
+    LayerSnapshot(boolean captureRenderState) {
+        this.captureRenderState = captureRenderState;
+    }
+
+    @Internal
+    void reset(boolean visible, float centerX, float centerY, double rotation, float pixelPerMeter) {
+        // Referenzen freigeben, damit entfernte Actors nicht länger als nötig im Speicher bleiben
+        Arrays.fill(actors, 0, size, null);
+        Arrays.fill(states, 0, size, null);
+
+        this.visible = visible;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.rotation = rotation;
+        this.pixelPerMeter = pixelPerMeter;
+        this.size = 0;
+        this.complete = true;
+        this.debug = Game.isDebug();
+        this.staticCache = null;
+    }
+
+    /**
+     * Zeichnet das Layer über einen Zwischenspeicher statt direkt.
+     *
+     * @param cache   Der Zwischenspeicher des Layers.
+     * @param version Die Version des Layer-Inhalts. Weicht sie vom Zwischenspeicher ab, wird dieser neu gezeichnet.
+     * @param region  Der im Zwischenspeicher abgebildete Bereich des Layers in Meter.
+     */
+    @Internal
+    void setStaticCache(StaticLayerCache cache, long version, Bounds region) {
+        this.staticCache = cache;
+        this.staticVersion = version;
+        this.staticX = region.getX();
+        this.staticY = region.getY();
+        this.staticWidth = region.getWidth();
+        this.staticHeight = region.getHeight();
+    }
+
+    /**
+     * Prüft, ob ein anderer Snapshot dieselben Actors mit denselben Positionen, Rotationen und Opacities enthält.
+     */
+    @Internal
+    boolean hasSameActors(LayerSnapshot other) {
+        if (size != other.size) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (actors[i] != other.actors[i]) {
+                return false;
+            }
+        }
+
+        return Arrays.equals(transforms, 0, size * 4, other.transforms, 0, size * 4);
+    }
+
+    /**
+     * Übernimmt die Actors eines anderen Snapshots, z.B. als Vergleichsgrundlage für {@link #hasSameActors}.
+     */
+    @Internal
+    void copyActorsFrom(LayerSnapshot other) {
+        Arrays.fill(actors, 0, size, null);
+        Arrays.fill(states, 0, size, null);
+
+        if (actors.length < other.size) {
+            actors = new Actor[other.actors.length];
+            states = new RenderState[other.actors.length];
+            transforms = new float[other.transforms.length];
+        }
+
+        System.arraycopy(other.actors, 0, actors, 0, other.size);
+        System.arraycopy(other.states, 0, states, 0, other.size);
+        System.arraycopy(other.transforms, 0, transforms, 0, other.size * 4);
+        size = other.size;
+        complete = true;
+
+        if (captureRenderState && !debug) {
+            // Die Vorlage wurde evtl. ohne Zeichenzustände befüllt
+            for (int i = 0; i < size; i++) {
+                if (states[i] == null) {
+                    states[i] = actors[i].captureRenderState(pixelPerMeter);
+                    complete &= states[i] != null;
+                }
+            }
+        }
+    }
+
+    @Internal
+    void add(Actor actor, Transform transform, float opacity) {
+        if (size == actors.length) {
+            actors = Arrays.copyOf(actors, size * 2);
+            states = Arrays.copyOf(states, size * 2);
+            transforms = Arrays.copyOf(transforms, size * 2 * 4);
+        }
+
+        if (captureRenderState && !debug) {
+            RenderState state = actor.captureRenderState(pixelPerMeter);
+            states[size] = state;
+            complete &= state != null;
+        }
+
+        int offset = size * 4;
+        transforms[offset] = transform.p.x;
+        transforms[offset + 1] = transform.p.y;
+        transforms[offset + 2] = transform.q.getAngle();
+        transforms[offset + 3] = opacity;
+
+        actors[size++] = actor;
+    }
+
+    /**
+     * @return <code>true</code>, wenn für jeden Actor ein Zeichenzustand festgehalten wurde und der Snapshot daher auf
+     * einem anderen Thread gezeichnet werden kann.
+     */
+    @Internal
+    boolean isComplete() {
+        return captureRenderState && complete && !debug;
+    }
+
+    /**
+     * @return Die Anzahl der festgehaltenen Actors.
+     */
+    @Internal
+    int size() {
+        return size;
+    }
+
+    /**
+     * Zeichnet alle festgehaltenen Actors.
+     * <p>
+     * Die Transformation jedes Actors wird direkt aus der Transformation des Layers berechnet, statt sie nach jedem
+     * Actor wiederherzustellen. Das Composite wird nur gewechselt, wenn sich die Opacity gegenüber dem vorherigen
+     * Actor ändert, aufeinanderfolgende Actors mit gleicher Opacity werden also ohne Wechsel gezeichnet. Die
+     * Reihenfolge der Actors bleibt dabei unverändert.
+     * <p>
+     * Bei statischen Layern wird stattdessen der Zwischenspeicher gezeichnet und nur bei Bedarf aktualisiert.
+     *
+     * @param g      Das Graphics-Objekt zum Zeichnen, die Transformation wird verändert.
+     * @param base   Die Transformation vor dem Zeichnen des Layers.
+     * @param width  Breite der Zeichenfläche in Pixel.
+     * @param height Höhe der Zeichenfläche in Pixel.
+     */
+    @Internal
+    void render(Graphics2D g, AffineTransform base, int width, int height) {
+        if (!visible) {
+            return;
+        }
+
+        layerTransform.setTransform(base);
+        layerTransform.translate(width / 2, height / 2);
+        layerTransform.rotate(rotation);
+        layerTransform.translate(-centerX * pixelPerMeter, centerY * pixelPerMeter);
+
+        g.setClip(0, 0, width, height);
+
+        if (staticCache == null || !renderStatic(g)) {
+            renderActors(g, layerTransform);
+        }
+
+        g.setTransform(layerTransform);
+    }
+
+    /**
+     * Zeichnet das Layer über den Zwischenspeicher.
+     *
+     * @return <code>false</code>, falls der Bereich für den Zwischenspeicher zu groß ist.
+     */
+    @Internal
+    private boolean renderStatic(Graphics2D g) {
+        int cacheWidth = (int) Math.ceil(staticWidth * pixelPerMeter);
+        int cacheHeight = (int) Math.ceil(staticHeight * pixelPerMeter);
+
+        if (cacheWidth <= 0 || cacheHeight <= 0 || cacheWidth > StaticLayerCache.MAX_SIZE || cacheHeight > StaticLayerCache.MAX_SIZE) {
+            return false;
+        }
+
+        // Obere linke Ecke des Bereichs in Pixelkoordinaten des Layers (Y-Achse nach unten)
+        float left = staticX * pixelPerMeter;
+        float top = -(staticY + staticHeight) * pixelPerMeter;
+
+        synchronized (staticCache) {
+            if (!staticCache.isCurrent(staticVersion)) {
+                Graphics2D cacheGraphics = staticCache.begin(cacheWidth, cacheHeight, staticVersion);
+                cacheGraphics.setRenderingHints(g.getRenderingHints());
+
+                AffineTransform cacheTransform = staticCache.getTransform();
+                cacheTransform.setToTranslation(-left, -top);
+
+                renderActors(cacheGraphics, cacheTransform);
+                cacheGraphics.dispose();
+            }
+
+            g.setTransform(layerTransform);
+            g.translate(left, top);
+            g.drawImage(VolatileImageCache.get(g, staticCache.getImage()), 0, 0, null);
+        }
+
+        return true;
+    }
+
+    @Internal
+    private void renderActors(Graphics2D g, AffineTransform base) {
+        Composite original = g.getComposite();
+        Composite active = original;
+
+        for (int i = 0; i < size; i++) {
+            int offset = i * 4;
+            float opacity = transforms[offset + 3];
+
+            Composite composite;
+            if (opacity == 1) {
+                composite = original;
+            } else if (AlphaComposites.quantize(opacity) == 0) {
+                continue; // unsichtbar
+            } else {
+                composite = AlphaComposites.get(opacity);
+            }
+
+            if (composite != active) {
+                g.setComposite(composite);
+                active = composite;
+            }
+
+            RenderState state = states[i];
+            if (state == null || debug) {
+                actors[i].renderTransformed(g, base, transforms[offset], transforms[offset + 1], transforms[offset + 2], pixelPerMeter);
+                continue;
+            }
+
+            actorTransform.setTransform(base);
+            actorTransform.translate(transforms[offset] * pixelPerMeter, -transforms[offset + 1] * pixelPerMeter);
+            actorTransform.rotate(-transforms[offset + 2]);
+
+            g.setTransform(actorTransform);
+            state.render(g, pixelPerMeter);
+        }
+
+        if (active != original) {
+            g.setComposite(original);
+        }
+    }
+}
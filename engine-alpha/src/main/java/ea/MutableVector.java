@@ -0,0 +1,208 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea;
+
+import ea.internal.annotations.API;
+
+/**
+ * Ein veränderbarer zweidimensionaler Vektor. Anders als {@link Vector} verändern alle Rechenoperationen dieses Objekt
+ * selbst und geben es wieder zurück, statt ein neues Objekt zu erzeugen.
+ * <p>
+ * Für Berechnungen, die in jedem Frame für viele Actors ausgeführt werden, kann so ein einzelnes Objekt
+ * wiederverwendet werden:
+ * <p>
+ * <code>
+ * MutableVector position = new MutableVector();<br>
+ * actor.getPosition(position).add(velocity.getX() * deltaSeconds, velocity.getY() * deltaSeconds);<br>
+ * actor.setPosition(position.getX(), position.getY());
+ * </code>
+ * <p>
+ * Ein <code>MutableVector</code> sollte nicht zwischen mehreren Threads geteilt und nicht dauerhaft gespeichert
+ * werden, wenn er danach noch verändert wird.
+ *
+ * @see Vector
+ */
+@API
+public final class MutableVector {
+    private float x;
+    private float y;
+
+    /**
+     * Erstellt einen neuen Vektor <code>(0|0)</code>.
+     */
+    @API
+    public MutableVector() {
+        this(0, 0);
+    }
+
+    @API
+    public MutableVector(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    @API
+    public MutableVector(Vector vector) {
+        this(vector.getX(), vector.getY());
+    }
+
+    @API
+    public float getX() {
+        return x;
+    }
+
+    @API
+    public float getY() {
+        return y;
+    }
+
+    @API
+    public MutableVector set(float x, float y) {
+        this.x = x;
+        this.y = y;
+
+        return this;
+    }
+
+    @API
+    public MutableVector set(Vector vector) {
+        return set(vector.getX(), vector.getY());
+    }
+
+    @API
+    public MutableVector set(MutableVector vector) {
+        return set(vector.x, vector.y);
+    }
+
+    @API
+    public MutableVector add(float x, float y) {
+        this.x += x;
+        this.y += y;
+
+        return this;
+    }
+
+    @API
+    public MutableVector add(Vector vector) {
+        return add(vector.getX(), vector.getY());
+    }
+
+    @API
+    public MutableVector subtract(float x, float y) {
+        this.x -= x;
+        this.y -= y;
+
+        return this;
+    }
+
+    @API
+    public MutableVector subtract(Vector vector) {
+        return subtract(vector.getX(), vector.getY());
+    }
+
+    @API
+    public MutableVector multiply(float factor) {
+        this.x *= factor;
+        this.y *= factor;
+
+        return this;
+    }
+
+    @API
+    public MutableVector multiply(float factorX, float factorY) {
+        this.x *= factorX;
+        this.y *= factorY;
+
+        return this;
+    }
+
+    /**
+     * Teilt beide Anteile durch eine Zahl.
+     *
+     * @param divisor Der Divisor.
+     *
+     * @return Dieser Vektor.
+     *
+     * @throws ArithmeticException Falls <code>divisor</code> <code>0</code> ist.
+     */
+    @API
+    public MutableVector divide(float divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Der Divisor für das Teilen war 0");
+        }
+
+        this.x /= divisor;
+        this.y /= divisor;
+
+        return this;
+    }
+
+    @API
+    public MutableVector negate() {
+        return set(-x, -y);
+    }
+
+    /**
+     * Normiert diesen Vektor auf die Länge 1.
+     *
+     * @return Dieser Vektor.
+     *
+     * @throws ArithmeticException Falls dieser Vektor die Länge <code>0</code> hat.
+     * @see Vector#normalize()
+     */
+    @API
+    public MutableVector normalize() {
+        return divide(getLength());
+    }
+
+    /**
+     * Rotiert diesen Vektor wie {@link Vector#rotate(float)}.
+     *
+     * @param degree Rotation in Grad.
+     *
+     * @return Dieser Vektor.
+     */
+    @API
+    public MutableVector rotate(float degree) {
+        double angle = Math.toRadians(degree);
+        double sin = Math.sin(angle);
+        double cos = Math.cos(angle);
+
+        return set((float) (cos * x + sin * y), (float) (-sin * x + cos * y));
+    }
+
+    @API
+    public float getLength() {
+        return (float) Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * @return Ein unveränderbarer {@link Vector} mit den aktuellen Werten.
+     */
+    @API
+    public Vector toVector() {
+        return new Vector(x, y);
+    }
+
+    @Override
+    public String toString() {
+        return "ea.MutableVector [ x = " + x + "; y = " + y + " ]";
+    }
+}
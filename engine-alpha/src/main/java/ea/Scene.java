@@ -22,6 +22,7 @@ package ea;
 import ea.actor.Actor;
 import ea.event.*;
 import ea.internal.Bounds;
+import ea.internal.LayerScheduler;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
 import ea.internal.physics.WorldHandler;
@@ -33,12 +34,8 @@ import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.awt.geom.AffineTransform;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.function.Function;
 
 public class Scene implements KeyListenerContainer, MouseClickListenerContainer, MouseWheelListenerContainer, FrameUpdateListenerContainer {
     private static final Color REVOLUTE_JOINT_COLOR = Color.BLUE;
@@ -95,24 +92,12 @@ public class Scene implements KeyListenerContainer, MouseClickListenerContainer,
      * Führt an allen Layern <b>parallelisiert</b> den World-Step aus.
      *
      * @param deltaSeconds Die Echtzeit, die seit dem letzten World-Step vergangen ist.
+     * @param scheduler    Verteilt die Layer auf die verfügbaren Threads.
      */
     @Internal
-    public final void step(float deltaSeconds, Function<Runnable, Future<?>> invoker) throws InterruptedException {
+    public final void step(float deltaSeconds, LayerScheduler scheduler) {
         synchronized (layers) {
-            Collection<Future<?>> layerFutures = new ArrayList<>(layers.size());
-
-            for (Layer layer : layers) {
-                Future<?> future = invoker.apply(() -> layer.step(deltaSeconds));
-                layerFutures.add(future);
-            }
-
-            for (Future<?> layerFuture : layerFutures) {
-                try {
-                    layerFuture.get();
-                } catch (ExecutionException e) {
-                    throw new RuntimeException(e);
-                }
-            }
+            scheduler.step(layers, deltaSeconds);
         }
     }
 
@@ -132,6 +117,95 @@ public class Scene implements KeyListenerContainer, MouseClickListenerContainer,
         }
     }
 
+    /**
+     * Hält fest, was im aktuellen Frame von allen Layern gezeichnet wird.
+     *
+     * @param snapshot Der Snapshot, der befüllt wird.
+     * @param width    Breite der Zeichenfläche in Pixel.
+     * @param height   Höhe der Zeichenfläche in Pixel.
+     */
+    @Internal
+    final void captureSnapshot(SceneSnapshot snapshot, int width, int height) {
+        int drawn = 0;
+        int culled = 0;
+        int ignored = 0;
+
+        synchronized (layers) {
+            snapshot.reset(this, camera, layers.size());
+
+            for (int i = 0; i < layers.size(); i++) {
+                Layer layer = layers.get(i);
+                layer.captureSnapshot(snapshot.getLayer(i), camera, width, height);
+
+                drawn += layer.getDrawnActorCount();
+                culled += layer.getCulledActorCount();
+                ignored += layer.getWorldHandler().getIgnoredContactCount();
+            }
+        }
+
+        snapshot.setStatistics(getWorldHandler().getWorld().getBodyCount(), getWorldHandler().getAwakeBodyCount(), drawn, culled, ignored);
+    }
+
+    /**
+     * Gibt die Anzahl der Actors aus, die im letzten Frame auf allen Layern dieser Szene gezeichnet wurden.
+     *
+     * @return Anzahl der gezeichneten Actors.
+     *
+     * @see Layer#getDrawnActorCount()
+     */
+    @API
+    public int getDrawnActorCount() {
+        int count = 0;
+
+        synchronized (layers) {
+            for (Layer layer : layers) {
+                count += layer.getDrawnActorCount();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gibt die Anzahl der Actors aus, die im letzten Frame auf allen Layern dieser Szene außerhalb der sichtbaren
+     * Fläche lagen und deshalb nicht gezeichnet wurden.
+     *
+     * @return Anzahl der aussortierten Actors.
+     *
+     * @see Layer#getCulledActorCount()
+     */
+    @API
+    public int getCulledActorCount() {
+        int count = 0;
+
+        synchronized (layers) {
+            for (Layer layer : layers) {
+                count += layer.getCulledActorCount();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gibt die Anzahl der Kontakte aus, die auf allen Layern dieser Szene gerade über
+     * {@link ea.collision.CollisionEvent#ignoreCollision()} ignoriert werden.
+     *
+     * @return Anzahl der ignorierten Kontakte.
+     */
+    @API
+    public int getIgnoredContactCount() {
+        int count = 0;
+
+        synchronized (layers) {
+            for (Layer layer : layers) {
+                count += layer.getWorldHandler().getIgnoredContactCount();
+            }
+        }
+
+        return count;
+    }
+
     /**
      * Wird aufgerufen, wann immer ein Layerzustand innerhalb dieser Scene geändert wurde.
      * Stellt sicher, dass die Layer-Liste korrekt sortiert ist und aller Layer in der richtigen Reihenfolge gerendert
@@ -177,7 +251,7 @@ public class Scene implements KeyListenerContainer, MouseClickListenerContainer,
     }
 
     @Internal
-    private void renderJoints(Graphics2D g) {
+    void renderJoints(Graphics2D g) {
         // Display Joints
 
         for (Layer layer : layers) {
@@ -0,0 +1,218 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea;
+
+import ea.internal.annotations.Internal;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hält fest, was von einer Szene in einem Frame gezeichnet wird. Wird von der Simulation befüllt und kann danach
+ * unabhängig davon gezeichnet werden. Auf einem anderen Thread nur, wenn {@link #isPipelineSafe()} gilt.
+ *
+ * @see Scene#captureSnapshot(SceneSnapshot, int, int)
+ * @see LayerSnapshot
+ */
+@Internal
+final class SceneSnapshot {
+    private final List<LayerSnapshot> layers = new ArrayList<>();
+    private int layerCount;
+
+    /**
+     * Ob der Zeichenzustand der Actors für das Zeichnen auf einem anderen Thread festgehalten wird.
+     */
+    private final boolean captureRenderState;
+
+    /**
+     * Ob beim Befüllen der Debug-Modus aktiv war. Shapes und Joints werden dann direkt aus der Physik-Welt gezeichnet.
+     */
+    private boolean debug;
+
+    private Scene scene;
+    private Color backgroundColor;
+
+    private float cameraX;
+    private float cameraY;
+    private float cameraRotation;
+    private float cameraZoom;
+
+    private int bodyCount;
+    private int awakeBodyCount;
+    private int drawnActorCount;
+    private int culledActorCount;
+    private int ignoredContactCount;
+    private float frameDuration;
+
+    /**
+     * Erstellt einen Snapshot, der nur auf dem Spiel-Thread gezeichnet wird.
+     */
+    @Internal
+    SceneSnapshot() {
+        this(false);
+    }
+
+    /**
+     * @param captureRenderState Ob der Zeichenzustand der Actors festgehalten wird, damit der Snapshot auf einem
+     *                           anderen Thread gezeichnet werden kann.
+     */
+    @Internal
+    SceneSnapshot(boolean captureRenderState) {
+        this.captureRenderState = captureRenderState;
+    }
+
+    @Internal
+    void reset(Scene scene, Camera camera, int layerCount) {
+        this.scene = scene;
+        this.debug = Game.isDebug();
+        this.backgroundColor = scene.getBackgroundColor();
+
+        this.cameraX = camera.getX();
+        this.cameraY = camera.getY();
+        this.cameraRotation = camera.getRotation();
+        this.cameraZoom = camera.getZoom();
+
+        while (layers.size() < layerCount) {
+            layers.add(new LayerSnapshot(captureRenderState));
+        }
+
+        this.layerCount = layerCount;
+    }
+
+    @Internal
+    LayerSnapshot getLayer(int index) {
+        return layers.get(index);
+    }
+
+    @Internal
+    void setStatistics(int bodyCount, int awakeBodyCount, int drawnActorCount, int culledActorCount, int ignoredContactCount) {
+        this.bodyCount = bodyCount;
+        this.awakeBodyCount = awakeBodyCount;
+        this.drawnActorCount = drawnActorCount;
+        this.culledActorCount = culledActorCount;
+        this.ignoredContactCount = ignoredContactCount;
+    }
+
+    @Internal
+    void setFrameDuration(float frameDuration) {
+        this.frameDuration = frameDuration;
+    }
+
+    /**
+     * Prüft, ob der Snapshot auf einem anderen Thread gezeichnet werden kann, während die Simulation weiterläuft. Das
+     * ist nicht der Fall, wenn ein Actor seinen Zeichenzustand nicht festhalten konnte oder der Debug-Modus aktiv ist.
+     *
+     * @return <code>true</code>, wenn der Snapshot nur unveränderliche Zeichenzustände enthält.
+     */
+    @Internal
+    boolean isPipelineSafe() {
+        if (!captureRenderState || debug) {
+            return false;
+        }
+
+        for (int i = 0; i < layerCount; i++) {
+            if (!layers.get(i).isComplete()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Zeichnet alle Layer in der festgehaltenen Reihenfolge.
+     */
+    @Internal
+    void render(Graphics2D g, int width, int height) {
+        final AffineTransform base = g.getTransform();
+
+        for (int i = 0; i < layerCount; i++) {
+            layers.get(i).render(g, base, width, height);
+            g.setTransform(base);
+        }
+
+        if (debug) {
+            scene.renderJoints(g);
+        }
+    }
+
+    @Internal
+    Scene getScene() {
+        return scene;
+    }
+
+    @Internal
+    Color getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    @Internal
+    float getCameraX() {
+        return cameraX;
+    }
+
+    @Internal
+    float getCameraY() {
+        return cameraY;
+    }
+
+    @Internal
+    float getCameraRotation() {
+        return cameraRotation;
+    }
+
+    @Internal
+    float getCameraZoom() {
+        return cameraZoom;
+    }
+
+    @Internal
+    int getBodyCount() {
+        return bodyCount;
+    }
+
+    @Internal
+    int getAwakeBodyCount() {
+        return awakeBodyCount;
+    }
+
+    @Internal
+    int getDrawnActorCount() {
+        return drawnActorCount;
+    }
+
+    @Internal
+    int getCulledActorCount() {
+        return culledActorCount;
+    }
+
+    @Internal
+    int getIgnoredContactCount() {
+        return ignoredContactCount;
+    }
+
+    @Internal
+    float getFrameDuration() {
+        return frameDuration;
+    }
+}
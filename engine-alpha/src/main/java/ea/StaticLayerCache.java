@@ -0,0 +1,105 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea;
+
+import ea.internal.annotations.Internal;
+import ea.internal.graphics.VolatileImageCache;
+import ea.internal.util.Optimizer;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Zwischengespeichertes Bild eines statischen Layers, siehe {@link Layer#setStatic(boolean)}.
+ * <p>
+ * Das Bild wird ausschließlich beim Zeichnen verwendet, also auf dem Render-Thread. Nur {@link #release()} kann von
+ * einem anderen Thread aufgerufen werden, daher sind alle Methoden synchronisiert.
+ */
+@Internal
+final class StaticLayerCache {
+    /**
+     * Maximale Kantenlänge des Bildes in Pixel. Bei größeren Flächen wird das Layer normal gezeichnet.
+     */
+    static final int MAX_SIZE = 4096;
+
+    private BufferedImage image;
+
+    /**
+     * Version des Layer-Inhalts, die im Bild gezeichnet ist.
+     */
+    private long version = -1;
+
+    /**
+     * Transformation zum Zeichnen in das Bild, wird wiederverwendet.
+     */
+    private final AffineTransform transform = new AffineTransform();
+
+    @Internal
+    synchronized boolean isCurrent(long version) {
+        return image != null && this.version == version;
+    }
+
+    /**
+     * Bereitet das Bild für eine neue Version vor. Ein vorhandenes Bild gleicher Größe wird geleert und
+     * wiederverwendet.
+     *
+     * @return Das Graphics-Objekt zum Zeichnen in das Bild, muss anschließend freigegeben werden.
+     */
+    @Internal
+    synchronized Graphics2D begin(int width, int height, long version) {
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            VolatileImageCache.remove(image);
+            image = Optimizer.createCompatibleImage(width, height);
+        }
+
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+
+        VolatileImageCache.invalidate(image);
+
+        this.version = version;
+
+        return g;
+    }
+
+    @Internal
+    synchronized BufferedImage getImage() {
+        return image;
+    }
+
+    @Internal
+    AffineTransform getTransform() {
+        return transform;
+    }
+
+    /**
+     * Gibt das Bild frei, z.B. wenn das Layer nicht mehr statisch ist.
+     */
+    @Internal
+    synchronized void release() {
+        VolatileImageCache.remove(image);
+        image = null;
+        version = -1;
+    }
+}
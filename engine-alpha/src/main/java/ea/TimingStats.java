@@ -0,0 +1,94 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+
+/**
+ * Auswertung gemessener Zeiten über die letzten Frames. Alle Zeiten sind in Millisekunden angegeben.
+ *
+ * @see FrameStats
+ * @see Layer#getStepStats()
+ */
+@API
+public final class TimingStats {
+    private static final float NANOSECONDS_PER_MILLISECOND = 1000000f;
+
+    private final int sampleCount;
+    private final long median;
+    private final long percentile95;
+    private final long percentile99;
+    private final long max;
+
+    @Internal
+    public TimingStats(int sampleCount, long median, long percentile95, long percentile99, long max) {
+        this.sampleCount = sampleCount;
+        this.median = median;
+        this.percentile95 = percentile95;
+        this.percentile99 = percentile99;
+        this.max = max;
+    }
+
+    /**
+     * @return Die Anzahl der ausgewerteten Messungen.
+     */
+    @API
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * @return Der Median, also die Dauer, die von der Hälfte der Messungen nicht überschritten wird.
+     */
+    @API
+    public float getMedian() {
+        return median / NANOSECONDS_PER_MILLISECOND;
+    }
+
+    /**
+     * @return Die Dauer, die von 95 % der Messungen nicht überschritten wird.
+     */
+    @API
+    public float getPercentile95() {
+        return percentile95 / NANOSECONDS_PER_MILLISECOND;
+    }
+
+    /**
+     * @return Die Dauer, die von 99 % der Messungen nicht überschritten wird.
+     */
+    @API
+    public float getPercentile99() {
+        return percentile99 / NANOSECONDS_PER_MILLISECOND;
+    }
+
+    /**
+     * @return Die längste gemessene Dauer.
+     */
+    @API
+    public float getMax() {
+        return max / NANOSECONDS_PER_MILLISECOND;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50 = %.2f ms, p95 = %.2f ms, p99 = %.2f ms, max = %.2f ms (%d Frames)", getMedian(), getPercentile95(), getPercentile99(), getMax(), sampleCount);
+    }
+}
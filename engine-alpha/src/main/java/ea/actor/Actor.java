@@ -22,6 +22,7 @@ package ea.actor;
 import ea.FrameUpdateListener;
 import ea.Game;
 import ea.Layer;
+import ea.MutableVector;
 import ea.Vector;
 import ea.animation.ValueAnimator;
 import ea.animation.interpolation.EaseInOutFloat;
@@ -32,10 +33,14 @@ import ea.internal.Bounds;
 import ea.internal.FixtureBuilder;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
+import ea.internal.graphics.AlphaComposites;
+import ea.internal.graphics.RenderState;
 import ea.internal.physics.*;
+import org.jbox2d.collision.AABB;
 import org.jbox2d.collision.shapes.CircleShape;
 import org.jbox2d.collision.shapes.PolygonShape;
 import org.jbox2d.collision.shapes.Shape;
+import org.jbox2d.common.Transform;
 import org.jbox2d.common.Vec2;
 import org.jbox2d.dynamics.Body;
 import org.jbox2d.dynamics.Fixture;
@@ -58,6 +63,25 @@ import java.util.function.Supplier;
  */
 @SuppressWarnings("OverlyComplexClass")
 public abstract class Actor implements KeyListenerContainer, MouseClickListenerContainer, MouseWheelListenerContainer, FrameUpdateListenerContainer {
+    private static final ThreadLocal<AABB> boundsAABB = ThreadLocal.withInitial(AABB::new);
+    private static final ThreadLocal<Transform> renderTransform = ThreadLocal.withInitial(Transform::new);
+    private static final ThreadLocal<AffineTransform> actorTransform = ThreadLocal.withInitial(AffineTransform::new);
+
+    /**
+     * Gibt je Klasse an, ob {@link #createRenderState(float)} in derselben Klasse implementiert ist wie
+     * {@link #render(Graphics2D, float)}. Überschreibt eine Unterklasse nur <code>render</code>, würde der festgehaltene
+     * Zustand ihre Darstellung übergehen.
+     */
+    private static final ClassValue<Boolean> renderStateSupport = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            Class<?> renderClass = findDeclaringClass(type, "render", Graphics2D.class, float.class);
+            Class<?> stateClass = findDeclaringClass(type, "createRenderState", float.class);
+
+            return stateClass != Actor.class && stateClass == renderClass;
+        }
+    };
+
     private <T> Supplier<T> createParentSupplier(Function<Layer, T> supplier) {
         return () -> {
             Layer layer = getLayer();
@@ -165,6 +189,11 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
     @API
     public final void setLayerPosition(int position) {
         this.layerPosition = position;
+
+        Layer layer = getLayer();
+        if (layer != null) {
+            layer.invalidateActorIndex();
+        }
     }
 
     /**
@@ -187,7 +216,16 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
      */
     @API
     public final void setVisible(boolean visible) {
+        boolean changed = this.visible != visible;
         this.visible = visible;
+
+        Layer layer = getLayer();
+        if (changed && layer != null) {
+            // Der Index zählt die sichtbaren Actors
+            layer.invalidateActorIndex();
+        }
+
+        markLayerChanged();
     }
 
     /**
@@ -220,6 +258,7 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
     @API
     public final void setOpacity(float opacity) {
         this.opacity = opacity;
+        markLayerChanged();
     }
 
     /**
@@ -321,63 +360,154 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
      *
      * @param g             Das zeichnende Graphics-Objekt
      * @param r             Das Bounds, dass die Kameraperspektive repräsentiert.<br> Hierbei soll zunächst getestet
-     *                      werden, ob das Objekt innerhalb der Kamera liegt, und erst dann gezeichnet werden.
+     *                      werden, ob das Objekt innerhalb der Kamera liegt, und erst dann gezeichnet werden. Ist
+     *                      dieser Wert <code>null</code>, wird nicht auf Sichtbarkeit getestet.
      * @param pixelPerMeter Pixel pro Meter.
+     * @return <code>true</code>, wenn das Objekt gezeichnet wurde. <code>false</code>, wenn es unsichtbar ist oder
+     * außerhalb der Kameraperspektive liegt.
      */
     @Internal
-    public final void renderBasic(Graphics2D g, Bounds r, float pixelPerMeter) {
-        if (visible && this.isWithinBounds(r)) {
-            float rotation = physicsHandler.getRotation();
-            Vector position = physicsHandler.getPosition();
-
-            // ____ Pre-Render ____
+    public final boolean renderBasic(Graphics2D g, Bounds r, float pixelPerMeter) {
+        if (isRenderable(r)) {
+            Transform renderTransform = Actor.renderTransform.get();
+            calculateRenderTransform(renderTransform);
 
-            AffineTransform transform = g.getTransform();
+            AffineTransform base = g.getTransform();
+            Composite composite = g.getComposite();
 
-            g.rotate(-Math.toRadians(rotation), position.getX() * pixelPerMeter, -position.getY() * pixelPerMeter);
-            g.translate(position.getX() * pixelPerMeter, -position.getY() * pixelPerMeter);
-
-            // Opacity Update
-            Composite composite;
             if (opacity != 1) {
-                composite = g.getComposite();
-                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
-            } else {
-                composite = null;
+                g.setComposite(AlphaComposites.get(opacity));
             }
 
-            // ____ Render ____
+            renderTransformed(g, base, renderTransform.p.x, renderTransform.p.y, renderTransform.q.getAngle(), pixelPerMeter);
 
-            render(g, pixelPerMeter);
+            g.setComposite(composite);
+            g.setTransform(base);
 
-            if (Game.isDebug()) {
-                synchronized (this) {
-                    // Visualisiere die Shape
-                    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-                    Body body = physicsHandler.getBody();
+            return true;
+        }
 
-                    if (body != null) {
-                        Fixture fixture = body.m_fixtureList;
-                        while (fixture != null && fixture.m_shape != null) {
-                            renderShape(fixture.m_shape, g, pixelPerMeter);
-                            fixture = fixture.m_next;
-                        }
-                    }
+        return false;
+    }
+
+    /**
+     * Prüft, ob das Objekt gezeichnet werden muss.
+     *
+     * @param r Die sichtbare Fläche oder <code>null</code>, falls nicht auf Sichtbarkeit getestet werden soll.
+     * @return <code>true</code>, wenn das Objekt sichtbar ist und (teilweise) innerhalb der Fläche liegt.
+     */
+    @Internal
+    public final boolean isRenderable(Bounds r) {
+        return visible && isWithinBounds(r);
+    }
+
+    /**
+     * Berechnet Position und Rotation, an der das Objekt gezeichnet wird. Ist die Interpolation aktiviert, liegen
+     * diese zwischen den letzten beiden Physik-Schritten.
+     *
+     * @param result Die Transformation, in die das Ergebnis geschrieben wird.
+     * @see Game#setRenderInterpolation(boolean)
+     */
+    @Internal
+    public final void calculateRenderTransform(Transform result) {
+        if (Game.isRenderInterpolation()) {
+            physicsHandler.calculateInterpolatedTransform(result);
+        } else {
+            result.p.set(physicsHandler.getX(), physicsHandler.getY());
+            result.q.set((float) Math.toRadians(physicsHandler.getRotation()));
+        }
+    }
+
+    /**
+     * Zeichnet das Objekt an einer vorgegebenen Position, unabhängig von seinem aktuellen Zustand. Wird beim
+     * Zeichnen auf einem separaten Render-Thread verwendet, für den Position und Rotation zuvor festgehalten wurden.
+     * <p>
+     * Die Transformation des Graphics-Objekts wird dabei auf die des Objekts gesetzt und <b>nicht</b>
+     * wiederhergestellt, da der Aufrufer sie für jedes Objekt ohnehin neu aus <code>base</code> berechnet. Die
+     * Opacity muss der Aufrufer vorher über das Composite setzen.
+     *
+     * @param g             Das zeichnende Graphics-Objekt
+     * @param base          Die Transformation des Layers, wird nicht verändert.
+     * @param x             X-Position in Meter
+     * @param y             Y-Position in Meter
+     * @param rotation      Rotation im Bogenmaß
+     * @param pixelPerMeter Pixel pro Meter.
+     */
+    @Internal
+    public final void renderTransformed(Graphics2D g, AffineTransform base, float x, float y, double rotation, float pixelPerMeter) {
+        AffineTransform transform = Actor.actorTransform.get();
+        transform.setTransform(base);
+        transform.translate(x * pixelPerMeter, -y * pixelPerMeter);
+        transform.rotate(-rotation);
+
+        g.setTransform(transform);
+
+        render(g, pixelPerMeter);
+
+        if (Game.isDebug()) {
+            g.setTransform(transform);
+
+            synchronized (this) {
+                // Visualisiere die Shape
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+                Body body = physicsHandler.getBody();
 
-                    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                if (body != null) {
+                    Fixture fixture = body.m_fixtureList;
+                    while (fixture != null && fixture.m_shape != null) {
+                        renderShape(fixture.m_shape, g, pixelPerMeter);
+                        fixture = fixture.m_next;
+                    }
                 }
+
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             }
+        }
 
-            // ____ Post-Render ____
+    }
 
-            // Opacity Update
-            if (composite != null) {
-                g.setComposite(composite);
-            }
+    /**
+     * Hält den aktuellen Zeichenzustand fest, damit das Objekt auf dem Render-Thread gezeichnet werden kann, während
+     * die Simulation den Actor bereits weiter verändert. Wird auf dem Spiel-Thread aufgerufen.
+     *
+     * @param pixelPerMeter Pixel pro Meter, mit denen im festgehaltenen Frame gezeichnet wird.
+     * @return Der unveränderliche Zeichenzustand oder <code>null</code>, falls das Objekt seinen Zustand nicht
+     * festhalten kann. Der Frame wird dann ohne Render-Thread gezeichnet.
+     */
+    @Internal
+    public final RenderState captureRenderState(float pixelPerMeter) {
+        if (!renderStateSupport.get(getClass())) {
+            return null;
+        }
 
-            // Transform zurücksetzen
-            g.setTransform(transform);
+        return createRenderState(pixelPerMeter);
+    }
+
+    /**
+     * Erstellt den Zeichenzustand für {@link #captureRenderState(float)}. Der Zustand darf keine Felder lesen, die
+     * sich danach noch ändern können. Unterklassen, die {@link #render(Graphics2D, float)} überschreiben, müssen auch
+     * diese Methode überschreiben, sonst werden sie nicht auf dem Render-Thread gezeichnet.
+     *
+     * @param pixelPerMeter Pixel pro Meter, mit denen im festgehaltenen Frame gezeichnet wird.
+     * @return Der unveränderliche Zeichenzustand oder <code>null</code>, falls er nicht festgehalten werden kann.
+     */
+    @Internal
+    protected RenderState createRenderState(float pixelPerMeter) {
+        return null;
+    }
+
+    @Internal
+    private static Class<?> findDeclaringClass(Class<?> type, String name, Class<?>... parameterTypes) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                current.getDeclaredMethod(name, parameterTypes);
+                return current;
+            } catch (NoSuchMethodException e) {
+                // in der Oberklasse weitersuchen
+            }
         }
+
+        return null;
     }
 
     /**
@@ -423,15 +553,27 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
 
     /**
      * Interne Methode. Prüft, ob das anliegende Objekt (teilweise) innerhalb des sichtbaren Bereichs liegt.
+     * Grundlage ist die achsenparallele Bounding-Box aller Fixtures in Weltkoordinaten.
      *
-     * @param bounds Die Bounds der Kamera.
+     * @param bounds Die Bounds der Kamera in Weltkoordinaten oder <code>null</code>, falls nicht getestet werden soll.
      * @return <code>true</code>, wenn das Objekt (teilweise) innerhalb des derzeit sichtbaren
      * Breichs liegt, sonst <code>false</code>.
      */
     @Internal
     private boolean isWithinBounds(Bounds bounds) {
-        // FIXME : Parameter ändern (?) und Funktionalität implementieren.
-        return true;
+        if (bounds == null) {
+            return true;
+        }
+
+        AABB aabb = Actor.boundsAABB.get();
+        if (!physicsHandler.calculateAABB(aabb)) {
+            return true; // Ohne Fixtures gibt es keine Grundlage zum Aussortieren
+        }
+
+        return aabb.lowerBound.x <= bounds.getX() + bounds.getWidth() //
+                && aabb.upperBound.x >= bounds.getX() //
+                && aabb.lowerBound.y <= bounds.getY() + bounds.getHeight() //
+                && aabb.upperBound.y >= bounds.getY();
     }
 
     /**
@@ -553,6 +695,17 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
         }
     }
 
+    /**
+     * Vermerkt beim Layer, dass sich die Darstellung dieses Actors geändert hat, siehe {@link Layer#setStatic(boolean)}.
+     */
+    @Internal
+    private void markLayerChanged() {
+        Layer layer = getLayer();
+        if (layer != null) {
+            layer.markActorsChanged();
+        }
+    }
+
     /**
      * @return Gibt die Ebene zurück, an der das aktuelle Objekt angemeldet ist, sonst {@code null}.
      */
@@ -1078,7 +1231,7 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
      */
     @API
     public final void setPosition(float x, float y) {
-        this.setPosition(new Vector(x, y));
+        this.moveBy(x - getX(), y - getY());
     }
 
     /**
@@ -1093,7 +1246,7 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
      */
     @API
     public final void setPosition(Vector position) {
-        this.moveBy(position.subtract(getPosition()));
+        this.setPosition(position.getX(), position.getY());
     }
 
     /**
@@ -1157,7 +1310,7 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
      */
     @API
     public final float getX() {
-        return this.getPosition().getX();
+        return physicsHandler.getX();
     }
 
     /**
@@ -1184,7 +1337,7 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
      */
     @API
     public final float getY() {
-        return this.getPosition().getY();
+        return physicsHandler.getY();
     }
 
     /**
@@ -1232,7 +1385,7 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
      */
     @API
     public final void moveBy(float dX, float dY) {
-        this.moveBy(new Vector(dX, dY));
+        physicsHandler.moveBy(dX, dY);
     }
 
     /**
@@ -1245,6 +1398,23 @@ public abstract class Actor implements KeyListenerContainer, MouseClickListenerC
         return physicsHandler.getPosition();
     }
 
+    /**
+     * Schreibt die Position dieses Actor-Objekts in einen bestehenden Vektor, statt einen neuen zu erzeugen. Sinnvoll
+     * für Berechnungen, die in jedem Frame für viele Actors ausgeführt werden.
+     *
+     * @param result Der Vektor, in den die Position geschrieben wird.
+     *
+     * @return <code>result</code>, mit der aktuellen Position dieses <code>Actor</code>-Objekts.
+     *
+     * @see #getPosition()
+     * @see #getX()
+     * @see #getY()
+     */
+    @API
+    public final MutableVector getPosition(MutableVector result) {
+        return result.set(physicsHandler.getX(), physicsHandler.getY());
+    }
+
     /**
      * Rotiert das Objekt.
      *
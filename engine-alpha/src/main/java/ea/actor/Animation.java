@@ -25,9 +25,12 @@ import ea.internal.FixtureBuilder;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
 import ea.internal.graphics.AnimationFrame;
+import ea.internal.graphics.RenderState;
+import ea.internal.io.GifLoader;
 import ea.internal.io.ImageLoader;
 import ea.internal.io.ResourceLoader;
-import ea.internal.util.GifDecoder;
+import ea.internal.util.GifIndex;
+import ea.internal.util.GifStream;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -165,6 +168,19 @@ public class Animation extends Actor implements FrameUpdateListener {
         this.frames[currentIndex].render(g, width * pixelPerMeter, height * pixelPerMeter, false, false);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Internal
+    @Override
+    protected RenderState createRenderState(float pixelPerMeter) {
+        AnimationFrame frame = frames[currentIndex];
+        float width = this.width;
+        float height = this.height;
+
+        return (g, ppm) -> frame.render(g, width * ppm, height * ppm, false, false);
+    }
+
     @API
     public static Animation createFromSpritesheet(float frameDuration, String filepath, int x, int y, float width, float height) {
         if (frameDuration <= 0) {
@@ -254,16 +270,38 @@ public class Animation extends Actor implements FrameUpdateListener {
 
     @API
     public static Animation createFromAnimatedGif(String filepath, float width, float height) {
-        GifDecoder gifDecoder = new GifDecoder();
-        gifDecoder.read(filepath);
+        GifIndex gif = GifLoader.load(filepath);
+        BufferedImage[] images = gif.getFrames();
+
+        AnimationFrame[] frames = new AnimationFrame[images.length];
+
+        for (int i = 0; i < images.length; i++) {
+            frames[i] = new AnimationFrame(images[i], gif.getDelay(i) / 1000f);
+        }
+
+        return new Animation(frames, width, height);
+    }
+
+    /**
+     * Lädt ein animiertes GIF, dessen Frames erst während des Abspielens im Hintergrund dekodiert werden. Es liegen
+     * immer nur wenige Frames gleichzeitig im Speicher, dafür kostet jeder Frameswechsel etwas Rechenzeit. Lohnt sich
+     * für lange oder große GIFs, bei kurzen GIFs ist {@link #createFromAnimatedGif(String, float, float)} schneller.
+     *
+     * @param filepath Pfad des GIFs.
+     * @param width    Breite der Animation in Meter.
+     * @param height   Höhe der Animation in Meter.
+     *
+     * @return Die Animation.
+     */
+    @API
+    public static Animation createFromAnimatedGifStreamed(String filepath, float width, float height) {
+        GifIndex gif = GifLoader.load(filepath);
+        GifStream stream = gif.openStream();
 
-        int frameCount = gifDecoder.getFrameCount();
-        AnimationFrame[] frames = new AnimationFrame[frameCount];
+        AnimationFrame[] frames = new AnimationFrame[gif.getFrameCount()];
 
-        for (int i = 0; i < frameCount; i++) {
-            BufferedImage frame = gifDecoder.getFrame(i);
-            int durationInMillis = gifDecoder.getDelay(i);
-            frames[i] = new AnimationFrame(frame, durationInMillis / 1000f);
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = new AnimationFrame(stream, i, gif.getDelay(i) / 1000f);
         }
 
         return new Animation(frames, width, height);
@@ -21,6 +21,7 @@ package ea.actor;
 
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
+import ea.internal.graphics.RenderState;
 import ea.internal.physics.FixtureData;
 import org.jbox2d.collision.shapes.CircleShape;
 import org.jbox2d.collision.shapes.Shape;
@@ -71,7 +72,24 @@ public class Circle extends Geometry {
 
     @Override
     public void render(Graphics2D g, float pixelPerMeter) {
-        g.setColor(getColor());
+        render(g, pixelPerMeter, getColor(), diameter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Internal
+    @Override
+    protected RenderState createRenderState(float pixelPerMeter) {
+        Color color = getColor();
+        float diameter = this.diameter;
+
+        return (g, ppm) -> render(g, ppm, color, diameter);
+    }
+
+    @Internal
+    private static void render(Graphics2D g, float pixelPerMeter, Color color, float diameter) {
+        g.setColor(color);
         g.fillOval(0, -(int) (diameter * pixelPerMeter), (int) (diameter * pixelPerMeter), (int) (diameter * pixelPerMeter));
     }
 
@@ -22,11 +22,14 @@ package ea.actor;
 import ea.internal.FixtureBuilder;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
+import ea.internal.graphics.AtlasRegion;
+import ea.internal.graphics.ImageRendering;
+import ea.internal.graphics.RenderState;
+import ea.internal.graphics.SpriteAtlas;
 import ea.internal.io.ImageLoader;
 
 import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 
 /**
@@ -40,6 +43,11 @@ public class Image extends Actor {
      */
     private final BufferedImage image;
 
+    /**
+     * Der Ausschnitt im Sprite-Atlas, aus dem gezeichnet wird.
+     */
+    private final AtlasRegion region;
+
     private float width;
     private float height;
 
@@ -58,6 +66,7 @@ public class Image extends Actor {
         super(() -> FixtureBuilder.createSimpleRectangularFixture(width, height));
         assertViableSizes(width, height);
         this.image = ImageLoader.load(filepath);
+        this.region = SpriteAtlas.getRegion(image);
 
         this.width = width;
         this.height = height;
@@ -75,6 +84,7 @@ public class Image extends Actor {
         super(() -> FixtureBuilder.createSimpleRectangularFixture(ImageLoader.load(filepath).getWidth() / pixelPerMeter, ImageLoader.load(filepath).getHeight() / pixelPerMeter));
         assertViablePPM(pixelPerMeter);
         this.image = ImageLoader.load(filepath);
+        this.region = SpriteAtlas.getRegion(image);
 
         this.width = image.getWidth() / pixelPerMeter;
         this.height = image.getHeight() / pixelPerMeter;
@@ -189,14 +199,21 @@ public class Image extends Actor {
      */
     @Override
     public void render(Graphics2D g, float pixelPerMeter) {
-        AffineTransform pre = g.getTransform();
-        g.scale(width * pixelPerMeter / this.image.getWidth(), height * pixelPerMeter / this.image.getHeight());
-        g.drawImage(this.image,
-                flipHorizontal ? image.getWidth() : 0,
-                -image.getHeight() + (flipVertical ? image.getHeight() : 0),
-                (flipHorizontal ? -1 : 1)*image.getWidth(),
-                (flipVertical ? -1 : 1)*image.getHeight(),
-                null);
-        g.setTransform(pre);
+        ImageRendering.drawRegion(g, region, width * pixelPerMeter, height * pixelPerMeter, flipHorizontal, flipVertical);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Internal
+    @Override
+    protected RenderState createRenderState(float pixelPerMeter) {
+        AtlasRegion region = this.region;
+        float width = this.width;
+        float height = this.height;
+        boolean flipHorizontal = this.flipHorizontal;
+        boolean flipVertical = this.flipVertical;
+
+        return (g, ppm) -> ImageRendering.drawRegion(g, region, width * ppm, height * ppm, flipHorizontal, flipVertical);
     }
 }
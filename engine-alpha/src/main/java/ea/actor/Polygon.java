@@ -4,9 +4,10 @@ import ea.Vector;
 import ea.internal.FixtureBuilder;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
+import ea.internal.graphics.RenderState;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.geom.AffineTransform;
 import java.util.function.Supplier;
 
 /**
@@ -17,10 +18,15 @@ import java.util.function.Supplier;
 @API
 public class Polygon extends Geometry {
     /**
-     * Die Punkte, die das Polygon beschreiben.
+     * Die Punkte, die das Polygon beschreiben. Die Arrays werden bei {@link #resetPoints(Vector...)} ersetzt und nie
+     * verändert, sodass sie in einem {@link RenderState} festgehalten werden können.
      */
     private float[] px, py;
 
+    /**
+     * Zwischenspeicher für die Punkte in Pixel, gehört zu <code>px</code> und <code>py</code>. Wird nur vom jeweils
+     * zeichnenden Thread beschrieben.
+     */
     private int[] scaledPx, scaledPy;
 
     /**
@@ -70,15 +76,33 @@ public class Polygon extends Geometry {
     @Internal
     @Override
     public void render(Graphics2D g, float pixelPerMeter) {
+        render(g, pixelPerMeter, getColor(), px, py, scaledPx, scaledPy);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Internal
+    @Override
+    protected RenderState createRenderState(float pixelPerMeter) {
+        Color color = getColor();
+        float[] px = this.px;
+        float[] py = this.py;
+        int[] scaledPx = this.scaledPx;
+        int[] scaledPy = this.scaledPy;
+
+        return (g, ppm) -> render(g, ppm, color, px, py, scaledPx, scaledPy);
+    }
+
+    @Internal
+    private static void render(Graphics2D g, float pixelPerMeter, Color color, float[] px, float[] py, int[] scaledPx, int[] scaledPy) {
+        // Y-Achse direkt beim Umrechnen spiegeln, statt die Transformation zu ändern
         for (int i = 0; i < scaledPx.length; i++) {
             scaledPx[i] = (int) (px[i] * pixelPerMeter);
-            scaledPy[i] = (int) (py[i] * pixelPerMeter);
+            scaledPy[i] = -(int) (py[i] * pixelPerMeter);
         }
 
-        AffineTransform at = g.getTransform();
-        g.scale(1, -1);
-        g.setColor(getColor());
+        g.setColor(color);
         g.fillPolygon(scaledPx, scaledPy, scaledPx.length);
-        g.setTransform(at);
     }
 }
@@ -21,8 +21,11 @@ package ea.actor;
 
 import ea.internal.FixtureBuilder;
 import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+import ea.internal.graphics.RenderState;
 import ea.internal.physics.FixtureData;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
 import java.util.function.Supplier;
 
@@ -112,13 +115,32 @@ public class Rectangle extends Geometry {
      */
     @Override
     public void render(Graphics2D g, float pixelPerMeter) {
-        g.setColor(getColor());
+        render(g, pixelPerMeter, getColor(), width, height, borderRadius);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Internal
+    @Override
+    protected RenderState createRenderState(float pixelPerMeter) {
+        Color color = getColor();
+        float width = this.width;
+        float height = this.height;
+        float borderRadius = this.borderRadius;
+
+        return (g, ppm) -> render(g, ppm, color, width, height, borderRadius);
+    }
+
+    @Internal
+    private static void render(Graphics2D g, float pixelPerMeter, Color color, float width, float height, float borderRadius) {
+        g.setColor(color);
 
         if (borderRadius == 0) {
             g.fillRect(0, (int) (-height * pixelPerMeter), (int) (width * pixelPerMeter), (int) (height * pixelPerMeter));
         } else {
-            int borderRadius = (int) (Math.min(width, height) * pixelPerMeter * this.borderRadius);
-            g.fillRoundRect(0, (int) (-height * pixelPerMeter), (int) (width * pixelPerMeter), (int) (height * pixelPerMeter), borderRadius, borderRadius);
+            int radius = (int) (Math.min(width, height) * pixelPerMeter * borderRadius);
+            g.fillRoundRect(0, (int) (-height * pixelPerMeter), (int) (width * pixelPerMeter), (int) (height * pixelPerMeter), radius, radius);
         }
     }
 }
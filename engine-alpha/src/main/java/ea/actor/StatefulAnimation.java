@@ -4,6 +4,7 @@ import ea.internal.FixtureBuilder;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
 import ea.internal.graphics.AnimationFrame;
+import ea.internal.graphics.RenderState;
 
 import java.awt.Graphics2D;
 import java.util.Map;
@@ -328,4 +329,25 @@ public class StatefulAnimation<State> extends Actor {
 
         currentAnimation[currentIndex].render(g, width * pixelPerMeter, height * pixelPerMeter, flipHorizontal, flipVertical);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Internal
+    @Override
+    protected RenderState createRenderState(float pixelPerMeter) {
+        if (currentAnimation == null || currentAnimation.length == 0) {
+            return (g, ppm) -> {
+                // we don't have a state yet
+            };
+        }
+
+        AnimationFrame frame = currentAnimation[currentIndex];
+        float width = this.width;
+        float height = this.height;
+        boolean flipHorizontal = this.flipHorizontal;
+        boolean flipVertical = this.flipVertical;
+
+        return (g, ppm) -> frame.render(g, width * ppm, height * ppm, flipHorizontal, flipVertical);
+    }
 }
@@ -0,0 +1,598 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.actor;
+
+import ea.internal.FixtureBuilder;
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+import ea.internal.graphics.VolatileImageCache;
+import ea.internal.io.TileChunkIO;
+import ea.internal.util.Logger;
+import ea.internal.util.Optimizer;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Eine Tile-Karte für sehr große Welten, die nie vollständig im Speicher liegt.
+ * <p>
+ * Jede Zelle speichert nur eine Tile-ID (<code>short</code>), die über eine Palette ({@link #setPaletteTile(int,
+ * Tile)}) einem {@link Tile} zugeordnet wird. Die ID <code>0</code> steht für eine leere Zelle. Die Karte ist in Blöcke
+ * zu 16x16 Tiles aufgeteilt, die als Dateien <code>&lt;x&gt;_&lt;y&gt;.chunk</code> im angegebenen Verzeichnis liegen
+ * (Blockkoordinaten, beginnend oben links). Fehlende Dateien gelten als leere Blöcke.
+ * <p>
+ * Blöcke werden erst geladen, wenn sie in die Nähe des sichtbaren Bereichs kommen. Das Laden passiert im Hintergrund;
+ * bis ein Block geladen ist, bleibt er leer. Werden mehr als {@link #setMaxLoadedChunks(int)} Blöcke geladen, werden
+ * die am längsten nicht sichtbaren Blöcke wieder verworfen. Über {@link #setTileId(int, int, short)} geänderte Blöcke
+ * bleiben dabei erhalten.
+ */
+@API
+public class StreamingTileMap extends Actor implements TileMap {
+    private static final int CHUNK_SIZE = TileContainer.CHUNK_SIZE;
+
+    /**
+     * Anzahl an Blöcken um den sichtbaren Bereich, die vorab geladen werden.
+     */
+    private static final int PREFETCH_MARGIN = 1;
+
+    /**
+     * Maximale Kantenlänge eines Block-Bildes in Pixel, siehe {@link TileContainer}.
+     */
+    private static final int MAX_CHUNK_PIXELS = 2048;
+
+    /**
+     * Maximale Anzahl an Pixeln, die alle Block-Bilder einer Karte zusammen belegen dürfen, siehe
+     * {@link TileContainer}. Darüber hinaus werden die Bilder der am längsten nicht gezeichneten Blöcke verworfen, die
+     * Blöcke selbst bleiben geladen.
+     */
+    private static final int MAX_CACHED_PIXELS = 16 * 1024 * 1024;
+
+    private static final ExecutorService loader = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "ea.tiles");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final class Chunk {
+        /**
+         * Tile-IDs, Index <code>x * CHUNK_SIZE + y</code>. <code>null</code> für leere Blöcke.
+         */
+        private short[] ids;
+
+        /**
+         * Vorgerendertes Bild für die aktuelle Zoomstufe. <code>null</code>, falls noch nicht gerendert.
+         */
+        private BufferedImage image;
+
+        private boolean modified;
+
+        private Chunk(short[] ids) {
+            this.ids = ids;
+        }
+    }
+
+    private final String chunkDirectory;
+    private final int numX;
+    private final int numY;
+    private final float tileWidth;
+    private final float tileHeight;
+    private final int chunkCountY;
+
+    /**
+     * Geladene Blöcke in der Reihenfolge ihrer letzten Verwendung. Alle anderen Felder werden ebenfalls über diese Map
+     * synchronisiert.
+     */
+    private final LinkedHashMap<Long, Chunk> chunks = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Chunk> eldest) {
+            if (size() <= Math.max(maxLoadedChunks, requiredChunks)) {
+                return false;
+            }
+
+            if (eldest.getValue().modified) {
+                modifiedChunks.put(eldest.getKey(), eldest.getValue().ids);
+            }
+
+            if (chunkImages.remove(eldest.getKey()) != null) {
+                VolatileImageCache.remove(eldest.getValue().image);
+            }
+
+            return true;
+        }
+    };
+
+    /**
+     * Blöcke mit vorgerendertem Bild in der Reihenfolge ihrer letzten Verwendung. Bei vollem Speicherbudget wird das
+     * Bild des ältesten Blocks verworfen.
+     */
+    private final LinkedHashMap<Long, Chunk> chunkImages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Chunk> eldest) {
+            if (size() <= Math.max(maxCachedImages, requiredImages)) {
+                return false;
+            }
+
+            VolatileImageCache.remove(eldest.getValue().image);
+            eldest.getValue().image = null;
+
+            return true;
+        }
+    };
+
+    /**
+     * Geänderte Blöcke, die aus {@link #chunks} verdrängt wurden. Sie werden nicht erneut aus der Datei geladen.
+     */
+    private final Map<Long, short[]> modifiedChunks = new HashMap<>();
+
+    /**
+     * Blöcke, die gerade im Hintergrund geladen werden.
+     */
+    private final Set<Long> pendingChunks = new HashSet<>();
+
+    private Tile[] palette = new Tile[16];
+
+    private int maxLoadedChunks = 256;
+
+    /**
+     * Anzahl der Blöcke im zuletzt gezeichneten Bereich samt Vorlade-Rand bzw. der davon sichtbaren Blöcke. Sie werden
+     * nie verdrängt, auch wenn {@link #maxLoadedChunks} bzw. {@link #maxCachedImages} kleiner ist. Sonst würden
+     * sichtbare Blöcke in jedem Frame verworfen und neu geladen.
+     */
+    private int requiredChunks;
+    private int requiredImages;
+
+    private float chunkPixelPerMeter = Float.NaN;
+
+    /**
+     * Die Anzahl an Block-Bildern, die bei der aktuellen Zoomstufe gleichzeitig zwischengespeichert werden.
+     */
+    private int maxCachedImages;
+
+    /**
+     * Erstellt eine neue Karte, deren Blöcke aus einem Verzeichnis geladen werden.
+     *
+     * @param chunkDirectory Verzeichnis mit den Blockdateien (im Classpath oder im Arbeitsverzeichnis).
+     * @param numX           Die Anzahl an Tiles in X-Richtung.
+     * @param numY           Die Anzahl an Tiles in Y-Richtung.
+     * @param tileWidth      Die Breite eines Tiles in Meter.
+     * @param tileHeight     Die Höhe eines Tiles in Meter.
+     */
+    @API
+    public StreamingTileMap(String chunkDirectory, int numX, int numY, float tileWidth, float tileHeight) {
+        super(() -> FixtureBuilder.createSimpleRectangularFixture(tileWidth * numX, tileHeight * numY));
+
+        if (numX <= 0 || numY <= 0) {
+            throw new IllegalArgumentException("numX und numY müssen jeweils > 0 sein.");
+        }
+        if (tileWidth <= 0 || tileHeight <= 0) {
+            throw new IllegalArgumentException("Breite und Höhe der Tiles müssen jeweils > 0 sein.");
+        }
+
+        this.chunkDirectory = chunkDirectory;
+        this.numX = numX;
+        this.numY = numY;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.chunkCountY = (numY + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    @API
+    public int getTileCountX() {
+        return numX;
+    }
+
+    @API
+    public int getTileCountY() {
+        return numY;
+    }
+
+    /**
+     * Ordnet einer Tile-ID ein Tile zu.
+     *
+     * @param id   Die Tile-ID, muss zwischen <code>1</code> und {@link Short#MAX_VALUE} liegen.
+     * @param tile Das Tile. Bei <code>null</code> werden Zellen mit dieser ID leer dargestellt.
+     */
+    @API
+    public void setPaletteTile(int id, Tile tile) {
+        if (id <= 0 || id > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Die Tile-ID muss zwischen 1 und " + Short.MAX_VALUE + " liegen, war " + id);
+        }
+
+        synchronized (chunks) {
+            if (id >= palette.length) {
+                palette = Arrays.copyOf(palette, Math.max(id + 1, palette.length * 2));
+            }
+
+            palette[id] = tile;
+            invalidateChunkImages();
+        }
+    }
+
+    /**
+     * Setzt die maximale Anzahl gleichzeitig geladener Blöcke.
+     *
+     * @param maxLoadedChunks Die maximale Anzahl, mindestens <code>1</code>. Standard ist <code>256</code>. Die Blöcke
+     *                        im sichtbaren Bereich und im Vorlade-Rand darum bleiben immer geladen, bei kleineren Werten
+     *                        wird die Grenze entsprechend angehoben.
+     */
+    @API
+    public void setMaxLoadedChunks(int maxLoadedChunks) {
+        if (maxLoadedChunks <= 0) {
+            throw new IllegalArgumentException("Die maximale Anzahl geladener Blöcke muss > 0 sein, war " + maxLoadedChunks);
+        }
+
+        synchronized (chunks) {
+            this.maxLoadedChunks = maxLoadedChunks;
+        }
+    }
+
+    /**
+     * @return Die Anzahl aktuell geladener Blöcke.
+     */
+    @API
+    public int getLoadedChunkCount() {
+        synchronized (chunks) {
+            return chunks.size();
+        }
+    }
+
+    /**
+     * Gibt die Tile-ID einer Zelle zurück. Ist der Block noch nicht geladen, wird er sofort geladen.
+     *
+     * @param x Der X-Index der Zelle.
+     * @param y Der Y-Index der Zelle.
+     *
+     * @return Die Tile-ID, <code>0</code> für eine leere Zelle.
+     */
+    @API
+    public short getTileId(int x, int y) {
+        checkBounds(x, y);
+
+        Chunk chunk = getChunkNow(x / CHUNK_SIZE, y / CHUNK_SIZE);
+
+        synchronized (chunks) {
+            return chunk.ids == null ? 0 : chunk.ids[getCellIndex(x, y)];
+        }
+    }
+
+    /**
+     * Setzt die Tile-ID einer Zelle. Ist der Block noch nicht geladen, wird er sofort geladen. Geänderte Blöcke werden
+     * nicht mehr verworfen.
+     *
+     * @param x  Der X-Index der Zelle.
+     * @param y  Der Y-Index der Zelle.
+     * @param id Die neue Tile-ID, <code>0</code> für eine leere Zelle.
+     */
+    @API
+    public void setTileId(int x, int y, short id) {
+        checkBounds(x, y);
+
+        long key = getChunkKey(x / CHUNK_SIZE, y / CHUNK_SIZE);
+
+        while (true) {
+            Chunk chunk = getChunkNow(x / CHUNK_SIZE, y / CHUNK_SIZE);
+
+            synchronized (chunks) {
+                if (chunks.get(key) != chunk) {
+                    continue; // zwischen Laden und Ändern verdrängt
+                }
+
+                if (chunk.ids == null) {
+                    if (id == 0) {
+                        return;
+                    }
+
+                    chunk.ids = new short[CHUNK_SIZE * CHUNK_SIZE];
+                }
+
+                chunk.ids[getCellIndex(x, y)] = id;
+                chunk.modified = true;
+                VolatileImageCache.remove(chunk.image);
+                chunk.image = null;
+                chunkImages.remove(key);
+
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Tile getTile(int x, int y) {
+        short id = getTileId(x, y);
+
+        synchronized (chunks) {
+            return getPaletteTile(id);
+        }
+    }
+
+    @Internal
+    @Override
+    public void render(Graphics2D g, float pixelPerMeter) {
+        final AffineTransform ore = g.getTransform();
+        final float offset = numY * tileHeight * pixelPerMeter;
+
+        g.translate(0, -offset);
+
+        Rectangle clip = g.getClipBounds();
+        float chunkWidth = CHUNK_SIZE * tileWidth * pixelPerMeter;
+        float chunkHeight = CHUNK_SIZE * tileHeight * pixelPerMeter;
+
+        int maxChunkX = (numX - 1) / CHUNK_SIZE;
+        int maxChunkY = chunkCountY - 1;
+        int minVisibleX = 0, minVisibleY = 0, maxVisibleX = maxChunkX, maxVisibleY = maxChunkY;
+
+        if (clip != null) {
+            minVisibleX = Math.max(0, (int) Math.floor(clip.x / chunkWidth));
+            minVisibleY = Math.max(0, (int) Math.floor(clip.y / chunkHeight));
+            maxVisibleX = Math.min(maxChunkX, (int) Math.floor((clip.x + clip.width) / chunkWidth));
+            maxVisibleY = Math.min(maxChunkY, (int) Math.floor((clip.y + clip.height) / chunkHeight));
+        }
+
+        boolean cacheImages = Math.ceil(chunkWidth) <= MAX_CHUNK_PIXELS && Math.ceil(chunkHeight) <= MAX_CHUNK_PIXELS;
+
+        synchronized (chunks) {
+            if (chunkPixelPerMeter != pixelPerMeter) {
+                invalidateChunkImages();
+                chunkPixelPerMeter = pixelPerMeter;
+                int chunkPixels = (int) Math.ceil(chunkWidth) * (int) Math.ceil(chunkHeight);
+                maxCachedImages = Math.max(4, MAX_CACHED_PIXELS / Math.max(1, chunkPixels));
+            }
+
+            int fromX = Math.max(0, minVisibleX - PREFETCH_MARGIN);
+            int fromY = Math.max(0, minVisibleY - PREFETCH_MARGIN);
+            int toX = Math.min(maxChunkX, maxVisibleX + PREFETCH_MARGIN);
+            int toY = Math.min(maxChunkY, maxVisibleY + PREFETCH_MARGIN);
+
+            requiredChunks = Math.max(0, toX - fromX + 1) * Math.max(0, toY - fromY + 1);
+            requiredImages = cacheImages ? Math.max(0, maxVisibleX - minVisibleX + 1) * Math.max(0, maxVisibleY - minVisibleY + 1) : 0;
+
+            for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                for (int chunkY = fromY; chunkY <= toY; chunkY++) {
+                    long key = getChunkKey(chunkX, chunkY);
+                    Chunk chunk = chunks.get(key);
+
+                    if (chunk == null) {
+                        requestChunk(chunkX, chunkY);
+                        continue;
+                    }
+
+                    boolean visible = chunkX >= minVisibleX && chunkX <= maxVisibleX && chunkY >= minVisibleY && chunkY <= maxVisibleY;
+
+                    if (!visible || chunk.ids == null) {
+                        continue;
+                    }
+
+                    float tx = chunkX * chunkWidth;
+                    float ty = chunkY * chunkHeight;
+
+                    g.translate(tx, ty);
+
+                    if (cacheImages) {
+                        if (chunk.image == null) {
+                            chunk.image = renderChunkImage(g, chunk, chunkX, chunkY, pixelPerMeter);
+                            chunkImages.put(key, chunk);
+                        } else {
+                            chunkImages.get(key);
+                        }
+
+                        g.drawImage(VolatileImageCache.get(g, chunk.image), 0, 0, null);
+                    } else {
+                        renderChunkTiles(g, chunk, chunkX, chunkY, pixelPerMeter);
+                    }
+
+                    g.translate(-tx, -ty);
+                }
+            }
+        }
+
+        g.setTransform(ore);
+    }
+
+    private BufferedImage renderChunkImage(Graphics2D g, Chunk chunk, int chunkX, int chunkY, float pixelPerMeter) {
+        int countX = Math.min(CHUNK_SIZE, numX - chunkX * CHUNK_SIZE);
+        int countY = Math.min(CHUNK_SIZE, numY - chunkY * CHUNK_SIZE);
+
+        BufferedImage image = Optimizer.createCompatibleImage( //
+                Math.max(1, (int) Math.ceil(countX * tileWidth * pixelPerMeter)), //
+                Math.max(1, (int) Math.ceil(countY * tileHeight * pixelPerMeter)));
+
+        Graphics2D imageGraphics = image.createGraphics();
+        imageGraphics.setRenderingHints(g.getRenderingHints());
+        renderChunkTiles(imageGraphics, chunk, chunkX, chunkY, pixelPerMeter);
+        imageGraphics.dispose();
+
+        return image;
+    }
+
+    private void renderChunkTiles(Graphics2D g, Chunk chunk, int chunkX, int chunkY, float pixelPerMeter) {
+        int countX = Math.min(CHUNK_SIZE, numX - chunkX * CHUNK_SIZE);
+        int countY = Math.min(CHUNK_SIZE, numY - chunkY * CHUNK_SIZE);
+        float pixelWidth = tileWidth * pixelPerMeter;
+        float pixelHeight = tileHeight * pixelPerMeter;
+
+        for (int x = 0; x < countX; x++) {
+            for (int y = 0; y < countY; y++) {
+                Tile tile = getPaletteTile(chunk.ids[x * CHUNK_SIZE + y]);
+
+                if (tile == null) {
+                    continue;
+                }
+
+                float tx = x * pixelWidth;
+                float ty = y * pixelHeight;
+
+                g.translate(tx, ty);
+                tile.render(g, pixelWidth, pixelHeight);
+                g.translate(-tx, -ty);
+            }
+        }
+    }
+
+    /**
+     * Startet das Laden eines Blocks im Hintergrund, falls er nicht bereits geladen wird. Muss mit Lock auf {@link
+     * #chunks} aufgerufen werden.
+     */
+    private void requestChunk(int chunkX, int chunkY) {
+        Long key = getChunkKey(chunkX, chunkY);
+
+        short[] modified = modifiedChunks.remove(key);
+        if (modified != null) {
+            Chunk chunk = new Chunk(modified);
+            chunk.modified = true;
+            chunks.put(key, chunk);
+            return;
+        }
+
+        if (!pendingChunks.add(key)) {
+            return;
+        }
+
+        loader.execute(() -> {
+            short[] ids = loadChunk(chunkX, chunkY);
+
+            synchronized (chunks) {
+                // Wurde der Block inzwischen synchron geladen, ist pendingChunks bereits bereinigt
+                if (pendingChunks.remove(key) && !chunks.containsKey(key)) {
+                    chunks.put(key, new Chunk(ids));
+                }
+            }
+        });
+    }
+
+    /**
+     * Gibt einen Block zurück und lädt ihn bei Bedarf sofort. Die Datei wird ohne Lock auf {@link #chunks} gelesen,
+     * damit das Zeichnen nicht auf das Laden wartet. Darf daher <b>nicht</b> mit diesem Lock aufgerufen werden.
+     */
+    private Chunk getChunkNow(int chunkX, int chunkY) {
+        Long key = getChunkKey(chunkX, chunkY);
+
+        synchronized (chunks) {
+            Chunk chunk = takeLoadedChunk(key);
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+
+        short[] ids = loadChunk(chunkX, chunkY);
+
+        synchronized (chunks) {
+            // Inzwischen im Hintergrund geladen oder geändert und wieder verdrängt
+            Chunk chunk = takeLoadedChunk(key);
+            if (chunk != null) {
+                return chunk;
+            }
+
+            pendingChunks.remove(key);
+            chunk = new Chunk(ids);
+            chunks.put(key, chunk);
+
+            return chunk;
+        }
+    }
+
+    /**
+     * Gibt einen geladenen Block zurück. Ein verdrängter, geänderter Block wird dabei wieder übernommen. Muss mit Lock
+     * auf {@link #chunks} aufgerufen werden.
+     *
+     * @return Der Block oder <code>null</code>, falls er aus der Datei geladen werden muss.
+     */
+    private Chunk takeLoadedChunk(Long key) {
+        Chunk chunk = chunks.get(key);
+
+        if (chunk != null) {
+            return chunk;
+        }
+
+        short[] modified = modifiedChunks.remove(key);
+        if (modified == null) {
+            return null;
+        }
+
+        chunk = new Chunk(modified);
+        chunk.modified = true;
+        chunks.put(key, chunk);
+
+        return chunk;
+    }
+
+    /**
+     * @return Die Tile-IDs des Blocks oder <code>null</code>, falls der Block leer ist oder nicht existiert.
+     */
+    private short[] loadChunk(int chunkX, int chunkY) {
+        String filename = chunkDirectory + "/" + chunkX + "_" + chunkY + ".chunk";
+
+        try {
+            short[] ids = TileChunkIO.load(filename, CHUNK_SIZE);
+
+            for (short id : ids) {
+                if (id != 0) {
+                    return ids;
+                }
+            }
+
+            return null;
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            Logger.error("StreamingTileMap", "Block " + filename + " konnte nicht geladen werden: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void invalidateChunkImages() {
+        for (Chunk chunk : chunkImages.values()) {
+            VolatileImageCache.remove(chunk.image);
+            chunk.image = null;
+        }
+
+        chunkImages.clear();
+    }
+
+    private Tile getPaletteTile(short id) {
+        return id > 0 && id < palette.length ? palette[id] : null;
+    }
+
+    private void checkBounds(int x, int y) {
+        if (x < 0 || x >= numX || y < 0 || y >= numY) {
+            throw new IllegalArgumentException("Zelle (" + x + ", " + y + ") liegt außerhalb der Karte (" + numX + "x" + numY + ")");
+        }
+    }
+
+    private static int getCellIndex(int x, int y) {
+        return (x % CHUNK_SIZE) * CHUNK_SIZE + y % CHUNK_SIZE;
+    }
+
+    private long getChunkKey(int chunkX, int chunkY) {
+        return (long) chunkX * chunkCountY + chunkY;
+    }
+}
@@ -23,13 +23,16 @@ import ea.Vector;
 import ea.internal.FixtureBuilder;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
+import ea.internal.graphics.GlyphAtlas;
+import ea.internal.graphics.GlyphRun;
+import ea.internal.graphics.RenderState;
 import ea.internal.io.FontLoader;
 import ea.internal.physics.FixtureData;
 import ea.internal.util.FontMetrics;
 
+import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
-import java.awt.geom.AffineTransform;
 
 /**
  * Zur Darstellung von Texten im Programmbildschirm.
@@ -69,8 +72,14 @@ public class Text extends Geometry {
      */
     private Font font;
 
+    /**
+     * Ob nur die Darstellung aktualisiert wird, ohne die Fixture an Inhalt und Größe anzupassen.
+     */
+    private boolean renderOnly;
+
     private transient int cachedDescent;
     private transient float cachedScaleFactor;
+    private transient GlyphRun cachedRun;
 
     /**
      * Konstruktor für Objekte der Klasse Text<br> Möglich ist es auch, Fonts zu laden, die im Projektordner sind.
@@ -211,27 +220,132 @@ public class Text extends Geometry {
         this.setHeight(width / sizeInPixels.getX() * sizeInPixels.getY());
     }
 
+    /**
+     * Setzt, ob der Text nur dargestellt wird. Dann wird die Fixture bei Änderungen von Inhalt, Schrift oder Höhe
+     * nicht mehr neu erstellt, was sich für häufig wechselnde Texte wie Punktestände lohnt. Kollisionen und das
+     * Aussortieren unsichtbarer Actors nutzen weiterhin die zuletzt erstellte Fixture.
+     *
+     * @param renderOnly <code>true</code>, um die Fixture nicht mehr anzupassen. Beim Zurücksetzen auf
+     *                   <code>false</code> wird sie sofort aktualisiert. Standard ist <code>false</code>.
+     */
+    @API
+    public void setRenderOnly(boolean renderOnly) {
+        if (this.renderOnly != renderOnly) {
+            this.renderOnly = renderOnly;
+
+            if (!renderOnly) {
+                this.update();
+            }
+        }
+    }
+
+    @API
+    public boolean isRenderOnly() {
+        return renderOnly;
+    }
+
     @Internal
     private void update() {
         Vector size = FontMetrics.getSize(content, font);
         cachedScaleFactor = height / size.getY();
         cachedDescent = FontMetrics.getDescent(font);
+        cachedRun = null;
 
-        setFixture(() -> createShape(content, height, font));
+        if (!renderOnly) {
+            setFixture(() -> createShape(content, height, font));
+        }
     }
 
     @Override
     @Internal
     public void render(Graphics2D g, float pixelPerMeter) {
-        AffineTransform pre = g.getTransform();
+        float scale = cachedScaleFactor * pixelPerMeter;
+        if (scale == 0) {
+            return;
+        }
+
+        float fontSize = SIZE * scale;
+        if (fontSize <= GlyphAtlas.MAX_FONT_SIZE && GlyphAtlas.isEnabled()) {
+            int atlasFontSize = GlyphAtlas.getFontSize(fontSize);
+            GlyphAtlas.draw(g, getRun(atlasFontSize), getBaseline(atlasFontSize));
+            return;
+        }
+
+        renderString(g, scale, content, font, getColor(), cachedDescent);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Über den {@link GlyphAtlas} wird der für diese Zoomstufe vorbereitete Text festgehalten, sonst Inhalt, Schrift
+     * und Farbe.
+     */
+    @Override
+    @Internal
+    protected RenderState createRenderState(float pixelPerMeter) {
+        float scaleFactor = cachedScaleFactor;
+        float fontSize = SIZE * scaleFactor * pixelPerMeter;
+
+        if (fontSize != 0 && fontSize <= GlyphAtlas.MAX_FONT_SIZE && GlyphAtlas.isEnabled()) {
+            int atlasFontSize = GlyphAtlas.getFontSize(fontSize);
+            GlyphRun run = getRun(atlasFontSize);
+            int baseline = getBaseline(atlasFontSize);
+
+            return (g, ppm) -> GlyphAtlas.draw(g, run, baseline);
+        }
+
+        String content = this.content;
+        Font font = this.font;
+        Color color = getColor();
+        int descent = cachedDescent;
+
+        return (g, ppm) -> {
+            float scale = scaleFactor * ppm;
+            if (scale != 0) {
+                renderString(g, scale, content, font, color, descent);
+            }
+        };
+    }
+
+    /**
+     * Gibt den über den {@link GlyphAtlas} vorbereiteten Text für eine Schriftgröße aus und bereitet ihn bei Bedarf neu
+     * vor.
+     */
+    @Internal
+    private GlyphRun getRun(int atlasFontSize) {
+        Color color = getColor();
+
+        GlyphRun run = cachedRun;
+        if (run == null || !run.matches(atlasFontSize, color.getRGB())) {
+            run = GlyphAtlas.getRun(content, font, atlasFontSize, color);
+            cachedRun = run;
+        }
+
+        return run;
+    }
+
+    /**
+     * Die Grundlinie in Pixel bei einer auf ganze Pixel gerundeten Schriftgröße.
+     */
+    @Internal
+    private int getBaseline(int atlasFontSize) {
+        return -Math.round((float) cachedDescent * atlasFontSize / SIZE);
+    }
+
+    /**
+     * Zeichnet den Text direkt mit der Schrift, für Größen außerhalb des {@link GlyphAtlas}.
+     */
+    @Internal
+    private static void renderString(Graphics2D g, float scale, String content, Font font, Color color, int descent) {
         Font preFont = g.getFont();
 
-        g.setColor(getColor());
-        g.scale(cachedScaleFactor * pixelPerMeter, cachedScaleFactor * pixelPerMeter);
+        g.setColor(color);
+        g.scale(scale, scale);
         g.setFont(font);
-        g.drawString(content, 0, -cachedDescent);
+        g.drawString(content, 0, -descent);
 
+        // Skalierung umkehren statt die Transformation zu kopieren und wiederherzustellen
+        g.scale(1 / scale, 1 / scale);
         g.setFont(preFont);
-        g.setTransform(pre);
     }
 }
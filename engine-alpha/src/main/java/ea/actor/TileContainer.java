@@ -3,18 +3,46 @@ package ea.actor;
 import ea.internal.FixtureBuilder;
 import ea.internal.annotations.API;
 import ea.internal.annotations.Internal;
+import ea.internal.graphics.VolatileImageCache;
+import ea.internal.util.Optimizer;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Ein <code>TileContainer</code> ist eine schachbrettartige Anordnung rechteckiger
  * <a href="https://de.wikipedia.org/wiki/Tiling_(Computer)">Tiles</a>.
+ * <p>
+ * Die Tiles werden in Blöcken zu {@value #CHUNK_SIZE}x{@value #CHUNK_SIZE} Tiles vorgerendert und als Bild
+ * zwischengespeichert. Gezeichnet werden nur die Blöcke, die im sichtbaren Bereich liegen. Ein Block wird nur dann neu
+ * gerendert, wenn sich die Zoomstufe ändert oder eines seiner Tiles über {@link #setTile(int, int, Tile)} ersetzt
+ * wird. Tiles, die ihr Aussehen selbst ändern, müssen über {@link #invalidateTiles()} neu gezeichnet werden.
  *
  * @author Michael Andonie
  */
 public class TileContainer extends Actor implements TileMap {
 
+    /**
+     * Kantenlänge eines vorgerenderten Blocks in Tiles.
+     */
+    static final int CHUNK_SIZE = 16;
+
+    /**
+     * Maximale Kantenlänge eines Block-Bildes in Pixel. Bei stärkerem Zoom werden die sichtbaren Tiles direkt
+     * gezeichnet, statt riesige Bilder anzulegen.
+     */
+    private static final int MAX_CHUNK_PIXELS = 2048;
+
+    /**
+     * Maximale Anzahl an Pixeln, die alle Block-Bilder eines Containers zusammen belegen dürfen (64 MB bei 32 Bit pro
+     * Pixel). Darüber hinaus werden die am längsten nicht gezeichneten Blöcke verworfen.
+     */
+    private static final int MAX_CACHED_PIXELS = 16 * 1024 * 1024;
+
     /**
      * Die IDs der aktuellen Tiles des Containers.
      */
@@ -30,6 +58,33 @@ public class TileContainer extends Actor implements TileMap {
      */
     private final float tileHeight;
 
+    /**
+     * Die vorgerenderten Blöcke, indiziert über {@link #getChunkIndex(int, int)}. Die Reihenfolge entspricht der letzten
+     * Verwendung, damit bei vollem Speicherbudget der älteste Block verworfen werden kann.
+     */
+    private final LinkedHashMap<Integer, BufferedImage> chunks = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+            if (size() <= maxCachedChunks) {
+                return false;
+            }
+
+            VolatileImageCache.remove(eldest.getValue());
+
+            return true;
+        }
+    };
+
+    /**
+     * Die Zoomstufe, für die die Blöcke in {@link #chunks} gerendert wurden.
+     */
+    private float chunkPixelPerMeter = Float.NaN;
+
+    /**
+     * Die Anzahl an Blöcken, die bei der aktuellen Zoomstufe gleichzeitig zwischengespeichert werden.
+     */
+    private int maxCachedChunks;
+
     /**
      * Erstellt einen <b>leeren</b> Tile-Container. Er ist erst "sichtbar", wenn Tiles gesetzt werden.
      *
@@ -88,35 +143,197 @@ public class TileContainer extends Actor implements TileMap {
      */
     @API
     public void setTile(int x, int y, Tile tile) {
-        tiles[x][y] = tile;
+        synchronized (chunks) {
+            if (tiles[x][y] == tile) {
+                return;
+            }
+
+            tiles[x][y] = tile;
+            VolatileImageCache.remove(chunks.remove(getChunkIndex(x / CHUNK_SIZE, y / CHUNK_SIZE)));
+        }
+    }
+
+    /**
+     * Verwirft alle vorgerenderten Blöcke, sodass alle Tiles beim nächsten Zeichnen neu gerendert werden. Nur nötig,
+     * wenn sich das Aussehen eines Tiles ändert, ohne dass es über {@link #setTile(int, int, Tile)} neu gesetzt wird.
+     */
+    @API
+    public void invalidateTiles() {
+        synchronized (chunks) {
+            clearChunks();
+        }
+    }
+
+    /**
+     * Verwirft alle vorgerenderten Blöcke. Muss mit Lock auf {@link #chunks} aufgerufen werden.
+     */
+    @Internal
+    private void clearChunks() {
+        for (BufferedImage chunk : chunks.values()) {
+            VolatileImageCache.remove(chunk);
+        }
+
+        chunks.clear();
     }
 
     @Internal
     @Override
     public void render(Graphics2D g, float pixelPerMeter) {
         final AffineTransform ore = g.getTransform();
-        float offset = tiles[0].length * tileHeight * pixelPerMeter;
+        final int countX = tiles.length;
+        final int countY = tiles[0].length;
+        final float offset = countY * tileHeight * pixelPerMeter;
 
         g.translate(0, -offset);
 
-        for (int x = 0; x < tiles.length; x++) {
-            for (int y = 0; y < tiles[x].length; y++) {
-                if (tiles[x][y] == null) {
-                    continue;
+        // Sichtbarer Bereich in Container-Koordinaten (Pixel, Ursprung oben links)
+        Rectangle clip = g.getClipBounds();
+        float chunkWidth = CHUNK_SIZE * tileWidth * pixelPerMeter;
+        float chunkHeight = CHUNK_SIZE * tileHeight * pixelPerMeter;
+
+        int chunkCountX = (countX + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int chunkCountY = (countY + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int minChunkX = 0, minChunkY = 0, maxChunkX = chunkCountX - 1, maxChunkY = chunkCountY - 1;
+
+        if (clip != null) {
+            minChunkX = Math.max(minChunkX, (int) Math.floor(clip.x / chunkWidth));
+            minChunkY = Math.max(minChunkY, (int) Math.floor(clip.y / chunkHeight));
+            maxChunkX = Math.min(maxChunkX, (int) Math.floor((clip.x + clip.width) / chunkWidth));
+            maxChunkY = Math.min(maxChunkY, (int) Math.floor((clip.y + clip.height) / chunkHeight));
+        }
+
+        if (Math.ceil(chunkWidth) > MAX_CHUNK_PIXELS || Math.ceil(chunkHeight) > MAX_CHUNK_PIXELS) {
+            renderTilesDirectly(g, pixelPerMeter, clip);
+        } else {
+            synchronized (chunks) {
+                if (chunkPixelPerMeter != pixelPerMeter) {
+                    clearChunks();
+                    chunkPixelPerMeter = pixelPerMeter;
+                    int chunkPixels = (int) Math.ceil(chunkWidth) * (int) Math.ceil(chunkHeight);
+                    maxCachedChunks = Math.max(4, MAX_CACHED_PIXELS / Math.max(1, chunkPixels));
                 }
 
-                float tx = tileWidth * x * pixelPerMeter;
-                float ty = tileHeight * y * pixelPerMeter;
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+                        BufferedImage chunk = getChunk(g, chunkX, chunkY, pixelPerMeter);
+
+                        if (chunk == null) {
+                            continue;
+                        }
+
+                        float tx = chunkX * chunkWidth;
+                        float ty = chunkY * chunkHeight;
 
-                g.translate(tx, ty);
-                tiles[x][y].render(g, tileWidth * pixelPerMeter, tileHeight * pixelPerMeter);
-                g.translate(-tx, -ty);
+                        g.translate(tx, ty);
+                        g.drawImage(VolatileImageCache.get(g, chunk), 0, 0, null);
+                        g.translate(-tx, -ty);
+                    }
+                }
             }
         }
 
         g.setTransform(ore);
     }
 
+    /**
+     * Zeichnet die sichtbaren Tiles einzeln, ohne Zwischenspeicher.
+     */
+    private void renderTilesDirectly(Graphics2D g, float pixelPerMeter, Rectangle clip) {
+        float pixelWidth = tileWidth * pixelPerMeter;
+        float pixelHeight = tileHeight * pixelPerMeter;
+
+        int minX = 0, minY = 0, maxX = tiles.length - 1, maxY = tiles[0].length - 1;
+
+        if (clip != null) {
+            minX = Math.max(minX, (int) Math.floor(clip.x / pixelWidth));
+            minY = Math.max(minY, (int) Math.floor(clip.y / pixelHeight));
+            maxX = Math.min(maxX, (int) Math.floor((clip.x + clip.width) / pixelWidth));
+            maxY = Math.min(maxY, (int) Math.floor((clip.y + clip.height) / pixelHeight));
+        }
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                renderTile(g, tiles[x][y], x * pixelWidth, y * pixelHeight, pixelWidth, pixelHeight);
+            }
+        }
+    }
+
+    /**
+     * Gibt den vorgerenderten Block zurück und rendert ihn bei Bedarf neu. Muss mit Lock auf {@link #chunks} aufgerufen
+     * werden.
+     *
+     * @return Das Bild des Blocks oder <code>null</code>, falls der Block keine Tiles enthält.
+     */
+    private BufferedImage getChunk(Graphics2D g, int chunkX, int chunkY, float pixelPerMeter) {
+        Integer index = getChunkIndex(chunkX, chunkY);
+        BufferedImage chunk = chunks.get(index);
+
+        if (chunk != null || chunks.containsKey(index)) {
+            return chunk;
+        }
+
+        chunk = renderChunk(g, chunkX, chunkY, pixelPerMeter);
+        chunks.put(index, chunk);
+
+        return chunk;
+    }
+
+    private BufferedImage renderChunk(Graphics2D g, int chunkX, int chunkY, float pixelPerMeter) {
+        int startX = chunkX * CHUNK_SIZE;
+        int startY = chunkY * CHUNK_SIZE;
+        int endX = Math.min(startX + CHUNK_SIZE, tiles.length);
+        int endY = Math.min(startY + CHUNK_SIZE, tiles[0].length);
+
+        boolean empty = true;
+
+        for (int x = startX; x < endX && empty; x++) {
+            for (int y = startY; y < endY; y++) {
+                if (tiles[x][y] != null) {
+                    empty = false;
+                    break;
+                }
+            }
+        }
+
+        if (empty) {
+            return null;
+        }
+
+        float pixelWidth = tileWidth * pixelPerMeter;
+        float pixelHeight = tileHeight * pixelPerMeter;
+
+        BufferedImage chunk = Optimizer.createCompatibleImage( //
+                Math.max(1, (int) Math.ceil((endX - startX) * pixelWidth)), //
+                Math.max(1, (int) Math.ceil((endY - startY) * pixelHeight)));
+
+        Graphics2D chunkGraphics = chunk.createGraphics();
+        chunkGraphics.setRenderingHints(g.getRenderingHints());
+
+        for (int x = startX; x < endX; x++) {
+            for (int y = startY; y < endY; y++) {
+                renderTile(chunkGraphics, tiles[x][y], (x - startX) * pixelWidth, (y - startY) * pixelHeight, pixelWidth, pixelHeight);
+            }
+        }
+
+        chunkGraphics.dispose();
+
+        return chunk;
+    }
+
+    private static void renderTile(Graphics2D g, Tile tile, float tx, float ty, float width, float height) {
+        if (tile == null) {
+            return;
+        }
+
+        g.translate(tx, ty);
+        tile.render(g, width, height);
+        g.translate(-tx, -ty);
+    }
+
+    private int getChunkIndex(int chunkX, int chunkY) {
+        return chunkX * ((tiles[0].length + CHUNK_SIZE - 1) / CHUNK_SIZE) + chunkY;
+    }
+
     @Override
     public Tile getTile(int x, int y) {
         return tiles[x][y];
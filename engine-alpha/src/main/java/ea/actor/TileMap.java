@@ -20,9 +20,11 @@
 package ea.actor;
 
 import ea.internal.annotations.API;
+import ea.internal.graphics.AtlasRegion;
+import ea.internal.graphics.ImageRendering;
+import ea.internal.graphics.SpriteAtlas;
 import ea.internal.io.ImageLoader;
 
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 
 @API
@@ -33,12 +35,9 @@ public interface TileMap {
     }
 
     static Tile createFromImage(BufferedImage image) {
-        return (g, width, height) -> {
-            AffineTransform pre = g.getTransform();
-            g.scale(width / image.getWidth(), height / image.getHeight());
-            g.drawImage(image, null, 0, 0);
-            g.setTransform(pre);
-        };
+        AtlasRegion region = SpriteAtlas.getRegion(image);
+
+        return (g, width, height) -> ImageRendering.drawRegionFromTop(g, region, width, height);
     }
 
     static TileMap createFromImage(String path, int sizeX, int sizeY) {
@@ -56,15 +55,18 @@ public interface TileMap {
               sizeY, path, image.getHeight()));
         }
 
+        // Kacheln werden erst beim ersten Zugriff ausgeschnitten, damit große Tilesets nur belegen, was genutzt wird
         Tile[][] tiles = new Tile[image.getWidth() / sizeX][image.getHeight() / sizeY];
 
-        for (int posX = 0; posX < image.getWidth(); posX += sizeX) {
-            for (int posY = 0; posY < image.getHeight(); posY += sizeY) {
-                tiles[posX / sizeX][posY / sizeY] = createFromImage(image.getSubimage(posX, posY, sizeX, sizeY));
-            }
-        }
+        return (x, y) -> {
+            synchronized (tiles) {
+                if (tiles[x][y] == null) {
+                    tiles[x][y] = createFromImage(image.getSubimage(x * sizeX, y * sizeY, sizeX, sizeY));
+                }
 
-        return (x, y) -> tiles[x][y];
+                return tiles[x][y];
+            }
+        };
     }
 
     Tile getTile(int x, int y);
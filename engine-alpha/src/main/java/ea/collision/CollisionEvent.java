@@ -31,6 +31,15 @@ import java.util.List;
  *         oder ignoriert werden soll. Hiermit lassen sich zum Beispiel einseitige Sperren/Wände umsetzen.
  *     </li>
  * </ul>
+ * <p>
+ * Ist für das Layer {@link ea.Layer#setCollisionEventPooling(boolean)} aktiviert, werden Events wiederverwendet. Sie
+ * sind dann nur während des Listener-Aufrufs gültig und dürfen nicht gespeichert werden. Für Punkte und Normale
+ * stehen mit {@link #getPointCount()}, {@link #getPointX(int)}, {@link #getPointY(int)}, {@link #getNormalX()} und
+ * {@link #getNormalY()} Methoden zur Verfügung, die keine Objekte erzeugen.
+ * <p>
+ * Werden Kollisionsevents nach dem World-Step ausgeliefert ({@link ea.Layer#setCollisionEventsDeferred(boolean)}),
+ * kann der Kontakt bei der Auslieferung bereits beendet sein. Das Event hat dann keine Kontaktpunkte, die Normale ist
+ * der Nullvektor und {@link #ignoreCollision()} bewirkt nichts.
  *
  * @param <E> Typ des anderen Objekts bei Kollisionen.
  * @see CollisionListener
@@ -40,14 +49,15 @@ public class CollisionEvent<E extends Actor> {
     private static final ThreadLocal<WorldManifold> worldManifold = ThreadLocal.withInitial(WorldManifold::new);
 
     /**
-     * Der JBox2D-Contact. Zur Manipulation der Kollision und zur Abfrage.
+     * Der JBox2D-Contact. Zur Manipulation der Kollision und zur Abfrage. Ist <code>null</code>, falls der Kontakt
+     * bei verzögerter Auslieferung bereits beendet war.
      */
-    private final Contact contact;
+    private Contact contact;
 
     /**
      * Das kollidierende Actor-Objekt.
      */
-    private final E colliding;
+    private E colliding;
 
     /**
      * Konstruktor. Erstellt ein Collision-Event.
@@ -63,6 +73,18 @@ public class CollisionEvent<E extends Actor> {
         this.colliding = colliding;
     }
 
+    /**
+     * Belegt ein wiederverwendetes Event neu.
+     *
+     * @param contact   Der neue JBox2D-Contact oder <code>null</code>, wenn das Event zurück in den Pool geht.
+     * @param colliding Das neue kollidierende Actor-Objekt oder <code>null</code>.
+     */
+    @Internal
+    public void reset(Contact contact, E colliding) {
+        this.contact = contact;
+        this.colliding = colliding;
+    }
+
     /**
      * Gibt das <code>Actor</code>-Objekt aus, dass mit dem <code>Actor</code> kollidiert,
      * an dem der Listener angemeldet wurde.
@@ -88,6 +110,10 @@ public class CollisionEvent<E extends Actor> {
      */
     @API
     public void ignoreCollision() {
+        if (contact == null) {
+            return;
+        }
+
         contact.setEnabled(false);
         colliding.getPhysicsHandler().getWorldHandler().addContactToBlacklist(contact);
     }
@@ -99,6 +125,10 @@ public class CollisionEvent<E extends Actor> {
 
     @API
     public Vector getTangentNormal() {
+        if (contact == null) {
+            return Vector.NULL;
+        }
+
         WorldManifold worldManifold = CollisionEvent.worldManifold.get();
         contact.getWorldManifold(worldManifold);
 
@@ -113,13 +143,15 @@ public class CollisionEvent<E extends Actor> {
 
     @API
     public List<Vector> getPoints() {
+        int pointCount = getPointCount();
+        if (pointCount == 0) {
+            return Collections.emptyList();
+        }
+
         WorldManifold worldManifold = CollisionEvent.worldManifold.get();
         contact.getWorldManifold(worldManifold);
 
-        int pointCount = contact.getManifold().pointCount;
-        if (pointCount == 0) {
-            return Collections.emptyList();
-        } else if (pointCount == 1) {
+        if (pointCount == 1) {
             return Collections.singletonList(Vector.of(worldManifold.points[0]));
         } else if (pointCount == 2) {
             return Arrays.asList(Vector.of(worldManifold.points[0]), Vector.of(worldManifold.points[1]));
@@ -128,7 +160,85 @@ public class CollisionEvent<E extends Actor> {
         }
     }
 
+    /**
+     * Gibt die Anzahl der Kontaktpunkte aus.
+     *
+     * @return <code>0</code>, <code>1</code> oder <code>2</code>.
+     *
+     * @see #getPoints()
+     */
+    @API
+    public int getPointCount() {
+        return contact == null ? 0 : contact.getManifold().pointCount;
+    }
+
+    /**
+     * Gibt die X-Koordinate eines Kontaktpunkts aus, ohne ein Objekt zu erzeugen.
+     *
+     * @param index Index des Kontaktpunkts, kleiner als {@link #getPointCount()}.
+     *
+     * @return X-Koordinate des Kontaktpunkts in Metern.
+     */
+    @API
+    public float getPointX(int index) {
+        return computeWorldManifold(index).points[index].x;
+    }
+
+    /**
+     * Gibt die Y-Koordinate eines Kontaktpunkts aus, ohne ein Objekt zu erzeugen.
+     *
+     * @param index Index des Kontaktpunkts, kleiner als {@link #getPointCount()}.
+     *
+     * @return Y-Koordinate des Kontaktpunkts in Metern.
+     */
+    @API
+    public float getPointY(int index) {
+        return computeWorldManifold(index).points[index].y;
+    }
+
+    /**
+     * Gibt die X-Komponente von {@link #getTangentNormal()} aus, ohne ein Objekt zu erzeugen.
+     *
+     * @return X-Komponente der Normalen.
+     */
+    @API
+    public float getNormalX() {
+        if (contact == null) {
+            return 0;
+        }
+
+        float x = computeWorldManifold(-1).normal.x;
+        return contact.m_fixtureA.getBody().getUserData() == colliding ? -x : x;
+    }
+
+    /**
+     * Gibt die Y-Komponente von {@link #getTangentNormal()} aus, ohne ein Objekt zu erzeugen.
+     *
+     * @return Y-Komponente der Normalen.
+     */
+    @API
+    public float getNormalY() {
+        if (contact == null) {
+            return 0;
+        }
+
+        float y = computeWorldManifold(-1).normal.y;
+        return contact.m_fixtureA.getBody().getUserData() == colliding ? -y : y;
+    }
+
+    private WorldManifold computeWorldManifold(int pointIndex) {
+        int pointCount = getPointCount();
+        if (pointIndex >= pointCount) {
+            throw new IndexOutOfBoundsException("Kontaktpunkt " + pointIndex + " existiert nicht, es gibt " + pointCount);
+        }
+
+        WorldManifold worldManifold = CollisionEvent.worldManifold.get();
+        contact.getWorldManifold(worldManifold);
+
+        return worldManifold;
+    }
+
     public boolean isIgnored() {
-        return !contact.isEnabled();
+        return contact != null && !contact.isEnabled();
     }
 }
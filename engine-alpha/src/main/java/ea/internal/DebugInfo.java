@@ -22,10 +22,18 @@ package ea.internal;
 public final class DebugInfo {
     private final float frameDuration;
     private final int bodyCount;
+    private final int awakeBodyCount;
+    private final int drawnActorCount;
+    private final int culledActorCount;
+    private final int ignoredContactCount;
 
-    public DebugInfo(float frameDuration, int bodyCount) {
+    public DebugInfo(float frameDuration, int bodyCount, int awakeBodyCount, int drawnActorCount, int culledActorCount, int ignoredContactCount) {
         this.frameDuration = frameDuration;
         this.bodyCount = bodyCount;
+        this.awakeBodyCount = awakeBodyCount;
+        this.drawnActorCount = drawnActorCount;
+        this.culledActorCount = culledActorCount;
+        this.ignoredContactCount = ignoredContactCount;
     }
 
     public float getFrameDuration() {
@@ -35,4 +43,20 @@ public final class DebugInfo {
     public int getBodyCount() {
         return bodyCount;
     }
+
+    public int getAwakeBodyCount() {
+        return awakeBodyCount;
+    }
+
+    public int getDrawnActorCount() {
+        return drawnActorCount;
+    }
+
+    public int getCulledActorCount() {
+        return culledActorCount;
+    }
+
+    public int getIgnoredContactCount() {
+        return ignoredContactCount;
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal;
+
+import ea.FramePhase;
+import ea.FrameStats;
+import ea.TimingStats;
+import ea.internal.annotations.Internal;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Misst die Dauer der einzelnen Abschnitte jedes Frames. Jeder Abschnitt darf nur von einem Thread gemessen werden,
+ * abgefragt werden kann von beliebigen Threads.
+ *
+ * @see FramePhase
+ */
+@Internal
+public final class FrameProfiler {
+    private static final FramePhase[] PHASES = FramePhase.values();
+
+    private final TimingRecorder frame = new TimingRecorder();
+    private final TimingRecorder[] phases = new TimingRecorder[PHASES.length];
+
+    public FrameProfiler() {
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new TimingRecorder();
+        }
+    }
+
+    /**
+     * Hält die Dauer eines Abschnitts fest, der zum Zeitpunkt <code>start</code> begonnen hat und jetzt endet.
+     *
+     * @param phase Der Abschnitt.
+     * @param start Beginn des Abschnitts im Format von {@link System#nanoTime()}.
+     *
+     * @return Das Ende des Abschnitts, damit es als Beginn des nächsten Abschnitts verwendet werden kann.
+     */
+    @Internal
+    public long record(FramePhase phase, long start) {
+        long end = System.nanoTime();
+        phases[phase.ordinal()].record(end - start);
+
+        return end;
+    }
+
+    /**
+     * Hält die Dauer eines gesamten Frames fest.
+     *
+     * @param nanos Die Dauer in Nanosekunden.
+     */
+    @Internal
+    public void recordFrame(long nanos) {
+        frame.record(nanos);
+    }
+
+    /**
+     * @param phase Der Abschnitt.
+     *
+     * @return Die Dauer des Abschnitts im zuletzt gemessenen Frame in Nanosekunden.
+     */
+    @Internal
+    public long getLatest(FramePhase phase) {
+        return phases[phase.ordinal()].getLatest();
+    }
+
+    @Internal
+    public FrameStats calculateStats() {
+        Map<FramePhase, TimingStats> result = new EnumMap<>(FramePhase.class);
+
+        for (FramePhase phase : PHASES) {
+            result.put(phase, phases[phase.ordinal()].calculateStats());
+        }
+
+        return new FrameStats(frame.calculateStats(), result);
+    }
+}
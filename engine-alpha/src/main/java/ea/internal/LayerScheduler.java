@@ -0,0 +1,185 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal;
+
+import ea.Layer;
+import ea.internal.annotations.Internal;
+import ea.internal.physics.WorldHandler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Führt die Physik-Schritte der Layer einer Szene parallel auf einem begrenzten {@link ForkJoinPool} aus.
+ * <p>
+ * Layer ohne Bodies und pausierte Layer werden direkt auf dem aufrufenden Thread simuliert, ebenso ein einzelner
+ * verbleibender Layer. Alle übrigen Layer bis auf einen werden an den Pool übergeben, der letzte läuft währenddessen auf
+ * dem aufrufenden Thread. Freie Threads des Pools stehlen sich wartende Layer. Die Aufgaben werden über die Frames
+ * hinweg wiederverwendet, ein Frame erzeugt daher keine Objekte.
+ * <p>
+ * Wie lange die einzelnen Layer brauchen, lässt sich über {@link Layer#getStepStats()} abfragen.
+ */
+@Internal
+public final class LayerScheduler {
+    private final ForkJoinPool pool;
+
+    /**
+     * Wiederverwendete Aufgaben, die ersten {@link #taskCount} sind im aktuellen Frame belegt.
+     */
+    private StepTask[] tasks = new StepTask[0];
+    private int taskCount;
+
+    /**
+     * @param parallelism Höchstzahl an Threads im Pool.
+     */
+    public LayerScheduler(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Die Parallelität muss mindestens 1 sein, war " + parallelism);
+        }
+
+        this.pool = new ForkJoinPool(parallelism, LayerScheduler::createThread, null, true);
+    }
+
+    private static ForkJoinWorkerThread createThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("ea.physics-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+
+        return thread;
+    }
+
+    /**
+     * @return Höchstzahl an Threads im Pool.
+     */
+    @Internal
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Führt an allen Layern den Physik-Schritt aus und kehrt erst zurück, wenn alle Layer fertig sind.
+     *
+     * @param layers       Die Layer. Die Liste darf während des Aufrufs nicht verändert werden.
+     * @param deltaSeconds Die Echtzeit, die seit dem letzten Schritt vergangen ist.
+     */
+    @Internal
+    public void step(List<Layer> layers, float deltaSeconds) {
+        taskCount = 0;
+
+        for (int i = 0; i < layers.size(); i++) {
+            Layer layer = layers.get(i);
+            WorldHandler worldHandler = layer.getWorldHandler();
+
+            if (worldHandler.isWorldPaused() || worldHandler.getWorld().getBodyCount() == 0) {
+                // Übergabe an einen anderen Thread wäre teurer als der Schritt selbst
+                layer.step(deltaSeconds);
+            } else {
+                acquireTask().prepare(layer, deltaSeconds);
+            }
+        }
+
+        if (taskCount == 0) {
+            return;
+        }
+
+        for (int i = 1; i < taskCount; i++) {
+            pool.execute(tasks[i]);
+        }
+
+        Throwable failure = null;
+
+        try {
+            tasks[0].layer.step(deltaSeconds);
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        }
+
+        // Auf alle Aufgaben warten, auch wenn eine fehlschlägt, damit sie im nächsten Frame wiederverwendet werden können
+        for (int i = 1; i < taskCount; i++) {
+            StepTask task = tasks[i];
+            task.quietlyJoin();
+
+            if (failure == null && task.isCompletedAbnormally()) {
+                failure = task.getException();
+            }
+        }
+
+        for (int i = 0; i < taskCount; i++) {
+            tasks[i].release();
+        }
+
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+    private StepTask acquireTask() {
+        if (taskCount == tasks.length) {
+            tasks = Arrays.copyOf(tasks, Math.max(4, tasks.length * 2));
+        }
+
+        StepTask task = tasks[taskCount];
+        if (task == null) {
+            task = new StepTask();
+            tasks[taskCount] = task;
+        }
+
+        taskCount++;
+
+        return task;
+    }
+
+    /**
+     * Beendet den Pool und wartet kurz auf laufende Schritte.
+     */
+    @Internal
+    public void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(3, TimeUnit.SECONDS);
+    }
+
+    private static final class StepTask extends RecursiveAction {
+        private Layer layer;
+        private float deltaSeconds;
+
+        void prepare(Layer layer, float deltaSeconds) {
+            this.layer = layer;
+            this.deltaSeconds = deltaSeconds;
+        }
+
+        void release() {
+            this.layer = null;
+            reinitialize();
+        }
+
+        @Override
+        protected void compute() {
+            layer.step(deltaSeconds);
+        }
+    }
+}
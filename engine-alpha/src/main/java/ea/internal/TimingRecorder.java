@@ -0,0 +1,117 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal;
+
+import ea.TimingStats;
+import ea.internal.annotations.Internal;
+
+import java.util.Arrays;
+
+/**
+ * Hält die Dauer der letzten Messungen in einem Ringpuffer fest. Das Aufzeichnen erzeugt keine Objekte und kann daher
+ * in jedem Frame aufgerufen werden, ausgewertet wird erst beim Abfragen.
+ */
+@Internal
+public final class TimingRecorder {
+    /**
+     * Anzahl der festgehaltenen Messungen, bei 60 Frames pro Sekunde etwa die letzten vier Sekunden.
+     */
+    public static final int DEFAULT_CAPACITY = 240;
+
+    private final long[] samples;
+    private int count;
+    private int next;
+    private long latest;
+
+    public TimingRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TimingRecorder(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Die Kapazität muss größer als 0 sein, war " + capacity);
+        }
+
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * Hält eine Messung fest. Ist der Puffer voll, wird die älteste Messung überschrieben.
+     *
+     * @param nanos Dauer in Nanosekunden.
+     */
+    @Internal
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        latest = nanos;
+
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    /**
+     * @return Die Dauer der letzten Messung in Nanosekunden, <code>0</code>, falls noch nichts gemessen wurde.
+     */
+    @Internal
+    public synchronized long getLatest() {
+        return latest;
+    }
+
+    @Internal
+    public synchronized void clear() {
+        count = 0;
+        next = 0;
+        latest = 0;
+    }
+
+    /**
+     * Wertet die festgehaltenen Messungen aus.
+     *
+     * @return Median, 95. und 99. Perzentil sowie das Maximum der festgehaltenen Messungen.
+     */
+    @Internal
+    public TimingStats calculateStats() {
+        long[] sorted;
+
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, count);
+        }
+
+        Arrays.sort(sorted);
+
+        return new TimingStats(sorted.length, percentile(sorted, 0.5), percentile(sorted, 0.95), percentile(sorted, 0.99), sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+    }
+
+    /**
+     * Bestimmt ein Perzentil nach dem Nearest-Rank-Verfahren.
+     */
+    @Internal
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(fraction * sorted.length);
+
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.Internal;
+
+import java.awt.AlphaComposite;
+
+/**
+ * Hält für jede Opacity eine fertige {@link AlphaComposite}-Instanz bereit. <code>AlphaComposite.getInstance</code>
+ * erzeugt bei jedem Aufruf ein neues Objekt, das Zeichnen halbtransparenter Actors soll aber keine Objekte erzeugen.
+ * Die Opacity wird dafür auf 256 Stufen gerundet, was der Genauigkeit eines 8-Bit-Alphakanals entspricht.
+ */
+@Internal
+public final class AlphaComposites {
+    private static final int STEPS = 255;
+
+    private static final AlphaComposite[] COMPOSITES = new AlphaComposite[STEPS + 1];
+
+    static {
+        for (int i = 0; i <= STEPS; i++) {
+            COMPOSITES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) i / STEPS);
+        }
+    }
+
+    private AlphaComposites() {
+        // keine Objekte erlaubt!
+    }
+
+    /**
+     * Gibt das Composite für eine Opacity aus.
+     *
+     * @param opacity Opacity zwischen <code>0</code> und <code>1</code>, andere Werte werden begrenzt.
+     *
+     * @return Ein <code>SRC_OVER</code>-Composite mit der gerundeten Opacity.
+     */
+    @Internal
+    public static AlphaComposite get(float opacity) {
+        return COMPOSITES[quantize(opacity)];
+    }
+
+    /**
+     * Rundet eine Opacity auf eine der 256 Stufen.
+     *
+     * @param opacity Opacity zwischen <code>0</code> und <code>1</code>, andere Werte werden begrenzt.
+     *
+     * @return Die Stufe zwischen <code>0</code> (unsichtbar) und <code>255</code> (deckend).
+     */
+    @Internal
+    public static int quantize(float opacity) {
+        return Math.round(Math.max(0, Math.min(1, opacity)) * STEPS);
+    }
+}
@@ -3,9 +3,9 @@ package ea.internal.graphics;
 //import com.sun.corba.se.impl.orbutil.graph.Graph;
 
 import ea.internal.annotations.Internal;
+import ea.internal.util.GifStream;
 
 import java.awt.*;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 
 /**
@@ -18,6 +18,23 @@ public final class AnimationFrame {
      * Das Bild, das zu diesem Frame gehört.
      */
     private final BufferedImage image;
+
+    /**
+     * Der Ausschnitt im Sprite-Atlas, aus dem gezeichnet wird.
+     */
+    private final AtlasRegion region;
+
+    /**
+     * Der Stream, aus dem das Bild bei jedem Zeichnen geholt wird, oder <code>null</code>, wenn das Bild fest ist.
+     */
+    private final GifStream stream;
+    private final int streamIndex;
+
+    /**
+     * Ausschnitt über das zuletzt aus dem Stream gezeichnete Bild, wird nur auf dem Render-Thread verwendet.
+     */
+    private AtlasRegion streamRegion;
+
     /**
      * Die Dauer in Sekunden, die dieser Frame aktiv bleibt.
      */
@@ -31,6 +48,26 @@ public final class AnimationFrame {
     @Internal
     public AnimationFrame(BufferedImage image, float duration) {
         this.image = image;
+        this.region = SpriteAtlas.getRegion(image);
+        this.stream = null;
+        this.streamIndex = -1;
+        this.duration = duration;
+    }
+
+    /**
+     * Erstellt einen Frame, dessen Bild erst beim Zeichnen aus einem {@link GifStream} dekodiert wird. Der Frame wird
+     * nicht in den {@link SpriteAtlas} gepackt.
+     *
+     * @param stream   Der Stream.
+     * @param index    Index des Frames im Stream.
+     * @param duration Die Dauer, die dieser Frame aktiv bleibt.
+     */
+    @Internal
+    public AnimationFrame(GifStream stream, int index, float duration) {
+        this.image = null;
+        this.region = null;
+        this.stream = stream;
+        this.streamIndex = index;
         this.duration = duration;
     }
 
@@ -41,7 +78,7 @@ public final class AnimationFrame {
 
     @Internal
     public BufferedImage getImage() {
-        return image;
+        return stream == null ? image : stream.getFrame(streamIndex);
     }
 
     @Internal
@@ -55,14 +92,18 @@ public final class AnimationFrame {
      */
     @Internal
     public void render(Graphics2D g, float width, float height, boolean flipHorizontal, boolean flipVertical) {
-        AffineTransform pre = g.getTransform();
-        g.scale(width / this.image.getWidth(), height / this.image.getHeight());
-        g.drawImage(image,
-                flipHorizontal ? image.getWidth() : 0,
-                -image.getHeight() + (flipVertical ? image.getHeight() : 0),
-                (flipHorizontal ? -1 : 1)*image.getWidth(),
-                (flipVertical ? -1 : 1)*image.getHeight(),
-                null);
-        g.setTransform(pre);
+        if (stream == null) {
+            ImageRendering.drawRegion(g, region, width, height, flipHorizontal, flipVertical);
+            return;
+        }
+
+        // Während im Hintergrund dekodiert wird, lieber den vorherigen Frame erneut zeichnen als zu warten
+        BufferedImage current = stream.pollFrame(streamIndex);
+
+        if (streamRegion == null || streamRegion.getPage() != current) {
+            streamRegion = new AtlasRegion(current, 0, 0, current.getWidth(), current.getHeight());
+        }
+
+        ImageRendering.drawRegion(g, streamRegion, width, height, flipHorizontal, flipVertical);
     }
 }
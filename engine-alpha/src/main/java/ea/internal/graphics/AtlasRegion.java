@@ -0,0 +1,74 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.Internal;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Ein Ausschnitt eines Bildes, in der Regel einer Seite des {@link SpriteAtlas}. Bilder, die nicht in den Atlas
+ * passen, werden als Ausschnitt über das gesamte eigene Bild dargestellt.
+ */
+@Internal
+public final class AtlasRegion {
+    private final BufferedImage page;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    @Internal
+    AtlasRegion(BufferedImage page, int x, int y, int width, int height) {
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return Das Bild, in dem der Ausschnitt liegt.
+     */
+    @Internal
+    public BufferedImage getPage() {
+        return page;
+    }
+
+    @Internal
+    public int getX() {
+        return x;
+    }
+
+    @Internal
+    public int getY() {
+        return y;
+    }
+
+    @Internal
+    public int getWidth() {
+        return width;
+    }
+
+    @Internal
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.Internal;
+
+import java.util.function.Supplier;
+
+/**
+ * Doppelpuffer zur Übergabe von Frames zwischen einem Erzeuger (Simulation) und einem Verbraucher (Render-Thread).
+ * <p>
+ * Der Erzeuger befüllt immer den Puffer, der gerade nicht gezeichnet wird, und muss daher nie warten. Der Verbraucher
+ * zeichnet immer den zuletzt veröffentlichten Puffer. Ein veröffentlichter, aber noch nicht gezeichneter Puffer wird
+ * verworfen, sobald der Erzeuger schneller ist.
+ *
+ * @param <T> Typ der Puffer.
+ */
+@Internal
+public final class DoubleBuffer<T> {
+    private final T first;
+    private final T second;
+
+    /**
+     * Veröffentlichter, aber noch nicht vom Verbraucher übernommener Puffer.
+     */
+    private T published;
+
+    /**
+     * Puffer, der gerade vom Verbraucher gelesen wird.
+     */
+    private T consumed;
+
+    public DoubleBuffer(Supplier<T> factory) {
+        this.first = factory.get();
+        this.second = factory.get();
+    }
+
+    /**
+     * Gibt den Puffer aus, der als nächstes befüllt werden kann. Bis zum Aufruf von {@link #publish(Object)} wird er
+     * nicht gelesen.
+     *
+     * @return Der freie Puffer.
+     */
+    @Internal
+    public synchronized T acquire() {
+        T buffer = consumed == first ? second : first;
+
+        if (published == buffer) {
+            published = null;
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Veröffentlicht einen befüllten Puffer für den Verbraucher.
+     *
+     * @param buffer Der zuvor über {@link #acquire()} erhaltene Puffer.
+     */
+    @Internal
+    public synchronized void publish(T buffer) {
+        published = buffer;
+        notifyAll();
+    }
+
+    /**
+     * Zieht einen veröffentlichten, aber noch nicht übernommenen Puffer zurück, z.B. weil der Erzeuger einen neueren
+     * Frame selbst gezeichnet hat.
+     */
+    @Internal
+    public synchronized void withdraw() {
+        published = null;
+    }
+
+    /**
+     * Wartet auf den nächsten veröffentlichten Puffer. Bis zum Aufruf von {@link #release(Object)} wird er nicht
+     * verändert.
+     *
+     * @return Der zuletzt veröffentlichte Puffer.
+     *
+     * @throws InterruptedException Wenn der wartende Thread unterbrochen wird.
+     */
+    @Internal
+    public synchronized T take() throws InterruptedException {
+        while (published == null) {
+            wait();
+        }
+
+        consumed = published;
+        published = null;
+
+        return consumed;
+    }
+
+    /**
+     * Gibt einen gelesenen Puffer wieder frei.
+     *
+     * @param buffer Der zuvor über {@link #take()} erhaltene Puffer.
+     */
+    @Internal
+    public synchronized void release(T buffer) {
+        if (consumed == buffer) {
+            consumed = null;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Rastert Glyphen einmalig pro Schrift, Schriftgröße und Farbe und legt sie im {@link SpriteAtlas} ab. Texte werden
+ * anschließend als einzelne Bildausschnitte gezeichnet, statt die Umrisse bei jedem Frame neu zu füllen.
+ * <p>
+ * Die Schriftgröße wird auf ganze Pixel gerundet ({@link #getFontSize(float)}), ähnlich wie beim Hinting. Dadurch
+ * sammeln sich bei wechselndem Zoom nicht beliebig viele Varianten an, und die Glyphen können ohne Skalierung kopiert
+ * werden. Skaliertes Zeichnen einzelner Ausschnitte ist in Java2D um ein Vielfaches langsamer.
+ */
+@Internal
+public final class GlyphAtlas {
+    /**
+     * Größte Schriftgröße in Pixel, für die Glyphen gerastert werden. Größere Texte werden direkt gezeichnet.
+     */
+    public static final int MAX_FONT_SIZE = 96;
+
+    /**
+     * Größte Anzahl gerasterter Glyphen, die zwischengespeichert werden. Darüber hinaus werden die Glyphen der am
+     * längsten nicht verwendeten Kombination aus Schrift, Schriftgröße und Farbe verworfen.
+     */
+    public static final int MAX_GLYPHS = 2048;
+
+    /**
+     * Anzahl vorbereiteter Texte, die zwischengespeichert werden.
+     */
+    private static final int MAX_RUNS = 512;
+
+    private static final FontRenderContext fontRenderContext = new FontRenderContext(null, true, true);
+
+    private static final Map<GlyphKey, Map<Integer, Glyph>> glyphs = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static int glyphCount = 0;
+
+    private static final Map<RunKey, GlyphRun> runs = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RunKey, GlyphRun> eldest) {
+            return size() > MAX_RUNS;
+        }
+    };
+
+    private static boolean enabled = false;
+
+    private GlyphAtlas() {
+        // keine Objekte erlaubt!
+    }
+
+    /**
+     * Rundet eine Schriftgröße auf ganze Pixel.
+     *
+     * @param fontSize Die tatsächliche Schriftgröße in Pixel.
+     *
+     * @return Die Schriftgröße, für die Glyphen gerastert werden, mindestens <code>1</code>.
+     */
+    @Internal
+    public static int getFontSize(float fontSize) {
+        return Math.max(1, Math.round(fontSize));
+    }
+
+    /**
+     * Bereitet einen Text zum Zeichnen vor. Das Ergebnis wird für gleiche Texte wiederverwendet.
+     *
+     * @param content  Der Text.
+     * @param font     Die Schrift in beliebiger Größe.
+     * @param fontSize Die gerundete Schriftgröße, siehe {@link #getFontSize(float)}.
+     * @param color    Die Textfarbe.
+     */
+    @Internal
+    public static synchronized GlyphRun getRun(String content, Font font, int fontSize, Color color) {
+        GlyphKey glyphKey = new GlyphKey(font, fontSize, color.getRGB());
+        RunKey runKey = new RunKey(content, glyphKey);
+        GlyphRun run = runs.get(runKey);
+
+        if (run == null) {
+            run = layout(content, glyphKey);
+            runs.put(runKey, run);
+        }
+
+        return run;
+    }
+
+    private static GlyphRun layout(String content, GlyphKey key) {
+        Font font = key.font.deriveFont((float) key.fontSize);
+        GlyphVector vector = font.createGlyphVector(fontRenderContext, content);
+        Map<Integer, Glyph> cachedGlyphs = glyphs.computeIfAbsent(key, k -> new HashMap<>());
+
+        int count = vector.getNumGlyphs();
+        AtlasRegion[] runRegions = new AtlasRegion[count];
+        int[] x = new int[count];
+        int[] y = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            Glyph glyph = cachedGlyphs.get(vector.getGlyphCode(i));
+
+            if (glyph == null) {
+                glyph = rasterize(font, vector.getGlyphCode(i), key.rgb);
+                cachedGlyphs.put(vector.getGlyphCode(i), glyph);
+                glyphCount++;
+            }
+
+            Point2D position = vector.getGlyphPosition(i);
+
+            runRegions[i] = glyph.region;
+            x[i] = (int) Math.round(position.getX()) + glyph.offsetX;
+            y[i] = (int) Math.round(position.getY()) + glyph.offsetY;
+        }
+
+        evictGlyphs(key);
+
+        return new GlyphRun(runRegions, x, y, key.fontSize, key.rgb);
+    }
+
+    /**
+     * Verwirft die Glyphen der am längsten nicht verwendeten Schriften, bis höchstens {@link #MAX_GLYPHS} übrig sind.
+     * Vorbereitete Texte behalten ihre Ausschnitte; sobald keiner sie mehr referenziert, gibt der {@link SpriteAtlas}
+     * den Platz frei.
+     *
+     * @param current Die gerade verwendete Schrift, sie wird nicht verworfen.
+     */
+    private static void evictGlyphs(GlyphKey current) {
+        Iterator<Map.Entry<GlyphKey, Map<Integer, Glyph>>> iterator = glyphs.entrySet().iterator();
+
+        while (glyphCount > MAX_GLYPHS && iterator.hasNext()) {
+            Map.Entry<GlyphKey, Map<Integer, Glyph>> entry = iterator.next();
+
+            if (entry.getKey().equals(current)) {
+                continue;
+            }
+
+            glyphCount -= entry.getValue().size();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Rastert eine Glyphe mit einem transparenten Rand von einem Pixel. Unsichtbare Glyphen (z.B. Leerzeichen) erhalten
+     * keinen Ausschnitt.
+     */
+    private static Glyph rasterize(Font font, int code, int rgb) {
+        GlyphVector vector = font.createGlyphVector(fontRenderContext, new int[]{code});
+        Rectangle bounds = vector.getGlyphPixelBounds(0, fontRenderContext, 0, 0);
+
+        if (bounds.isEmpty()) {
+            return new Glyph(null, 0, 0);
+        }
+
+        BufferedImage image = new BufferedImage(bounds.width + 2, bounds.height + 2, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        g.setColor(new Color(rgb, true));
+        g.drawGlyphVector(vector, 1 - bounds.x, 1 - bounds.y);
+        g.dispose();
+
+        return new Glyph(SpriteAtlas.getRegion(image), bounds.x - 1, bounds.y - 1);
+    }
+
+    /**
+     * Zeichnet einen vorbereiteten Text. Dabei werden keine Objekte erzeugt.
+     *
+     * @param g        Das Graphics-Objekt, die Transformation bleibt unverändert.
+     * @param run      Der vorbereitete Text.
+     * @param baseline Die Y-Koordinate der Grundlinie.
+     */
+    @Internal
+    public static void draw(Graphics2D g, GlyphRun run, int baseline) {
+        AtlasRegion[] regions = run.regions;
+
+        for (int i = 0; i < regions.length; i++) {
+            AtlasRegion region = regions[i];
+
+            if (region == null) {
+                continue;
+            }
+
+            int x = run.x[i];
+            int y = baseline + run.y[i];
+            int width = region.getWidth();
+            int height = region.getHeight();
+
+            g.drawImage(VolatileImageCache.get(g, region.getPage()), x, y, x + width, y + height, region.getX(), region.getY(), region.getX() + width, region.getY() + height, null);
+        }
+    }
+
+    /**
+     * Setzt, ob Texte über den Glyph-Atlas gezeichnet werden.
+     *
+     * @param enabled <code>true</code>, um den Glyph-Atlas zu nutzen, sonst <code>false</code>. Standard ist
+     *                <code>false</code>, da Java2D bei Software-Rendering Texte über eigene Glyph-Masken schneller
+     *                zeichnet als einzelne Bildausschnitte. Lohnend ist der Atlas bei beschleunigten Pipelines, deren
+     *                Bildkopien auf der Grafikkarte liegen.
+     */
+    @API
+    public static synchronized void setEnabled(boolean enabled) {
+        GlyphAtlas.enabled = enabled;
+    }
+
+    @API
+    public static synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Die Anzahl aktuell zwischengespeicherter Glyphen.
+     */
+    @Internal
+    public static synchronized int getGlyphCount() {
+        return glyphCount;
+    }
+
+    /**
+     * Verwirft alle gerasterten Glyphen und vorbereiteten Texte.
+     */
+    @API
+    public static synchronized void clear() {
+        glyphs.clear();
+        glyphCount = 0;
+        runs.clear();
+    }
+
+    private static final class Glyph {
+        private final AtlasRegion region;
+        private final int offsetX;
+        private final int offsetY;
+
+        private Glyph(AtlasRegion region, int offsetX, int offsetY) {
+            this.region = region;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+    }
+
+    private static final class GlyphKey {
+        private final Font font;
+        private final int fontSize;
+        private final int rgb;
+
+        private GlyphKey(Font font, int fontSize, int rgb) {
+            this.font = font;
+            this.fontSize = fontSize;
+            this.rgb = rgb;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof GlyphKey)) {
+                return false;
+            }
+
+            GlyphKey other = (GlyphKey) o;
+            return fontSize == other.fontSize && rgb == other.rgb && font.equals(other.font);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(font, fontSize, rgb);
+        }
+    }
+
+    private static final class RunKey {
+        private final String content;
+        private final GlyphKey glyphKey;
+
+        private RunKey(String content, GlyphKey glyphKey) {
+            this.content = content;
+            this.glyphKey = glyphKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof RunKey)) {
+                return false;
+            }
+
+            RunKey other = (RunKey) o;
+            return content.equals(other.content) && glyphKey.equals(other.glyphKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * content.hashCode() + glyphKey.hashCode();
+        }
+    }
+}
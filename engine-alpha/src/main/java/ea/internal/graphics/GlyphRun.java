@@ -0,0 +1,51 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.Internal;
+
+/**
+ * Ein für eine Schriftgröße und Farbe vorbereiteter Text: die Glyphen aus dem {@link GlyphAtlas} und ihre Positionen
+ * relativ zum Anfang der Grundlinie.
+ */
+@Internal
+public final class GlyphRun {
+    final AtlasRegion[] regions;
+    final int[] x;
+    final int[] y;
+    private final int fontSize;
+    private final int rgb;
+
+    GlyphRun(AtlasRegion[] regions, int[] x, int[] y, int fontSize, int rgb) {
+        this.regions = regions;
+        this.x = x;
+        this.y = y;
+        this.fontSize = fontSize;
+        this.rgb = rgb;
+    }
+
+    /**
+     * @return <code>true</code>, wenn der Text für diese Schriftgröße und Farbe vorbereitet wurde.
+     */
+    @Internal
+    public boolean matches(int fontSize, int rgb) {
+        return this.fontSize == fontSize && this.rgb == rgb;
+    }
+}
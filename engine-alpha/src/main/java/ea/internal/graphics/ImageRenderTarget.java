@@ -0,0 +1,56 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.Internal;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.function.Consumer;
+
+/**
+ * Zeichnet in ein Bild im Speicher statt in ein Fenster, z.B. für den Betrieb ohne Bildschirm.
+ */
+@Internal
+public final class ImageRenderTarget implements RenderTarget {
+    private final BufferedImage image;
+    private final Consumer<BufferedImage> listener;
+
+    /**
+     * @param width    Breite des Bildes in Pixel.
+     * @param height   Höhe des Bildes in Pixel.
+     * @param listener Wird nach jedem Zeichnen mit dem Bild aufgerufen, darf <code>null</code> sein. Es wird immer
+     *                 dasselbe Bild übergeben, das beim nächsten Zeichnen überschrieben wird.
+     */
+    public ImageRenderTarget(int width, int height, Consumer<BufferedImage> listener) {
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.listener = listener;
+    }
+
+    @Override
+    public void render(RenderSource source) {
+        Graphics2D g = image.createGraphics();
+        source.render(g, image.getWidth(), image.getHeight());
+
+        if (listener != null) {
+            listener.accept(image);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.Internal;
+
+import java.awt.Graphics2D;
+
+/**
+ * Zeichnet Bilder aus dem {@link SpriteAtlas} skaliert und gespiegelt, ohne die Transformation des Graphics-Objekts
+ * kopieren und wiederherstellen zu müssen. <code>Graphics2D.getTransform</code> erzeugt bei jedem Aufruf eine Kopie.
+ */
+@Internal
+public final class ImageRendering {
+    private ImageRendering() {
+        // keine Objekte erlaubt!
+    }
+
+    /**
+     * Zeichnet einen Ausschnitt des {@link SpriteAtlas} so, dass seine linke untere Ecke im Ursprung liegt.
+     *
+     * @param g              Das Graphics-Objekt, die Transformation bleibt unverändert.
+     * @param region         Der Ausschnitt.
+     * @param width          Breite in Pixel.
+     * @param height         Höhe in Pixel.
+     * @param flipHorizontal Ob der Ausschnitt horizontal gespiegelt wird.
+     * @param flipVertical   Ob der Ausschnitt vertikal gespiegelt wird.
+     */
+    @Internal
+    public static void drawRegion(Graphics2D g, AtlasRegion region, float width, float height, boolean flipHorizontal, boolean flipVertical) {
+        drawRegion(g, region, width, height, flipHorizontal, flipVertical, -region.getHeight());
+    }
+
+    /**
+     * Zeichnet einen Ausschnitt des {@link SpriteAtlas} so, dass seine linke obere Ecke im Ursprung liegt.
+     *
+     * @param g      Das Graphics-Objekt, die Transformation bleibt unverändert.
+     * @param region Der Ausschnitt.
+     * @param width  Breite in Pixel.
+     * @param height Höhe in Pixel.
+     */
+    @Internal
+    public static void drawRegionFromTop(Graphics2D g, AtlasRegion region, float width, float height) {
+        drawRegion(g, region, width, height, false, false, 0);
+    }
+
+    @Internal
+    private static void drawRegion(Graphics2D g, AtlasRegion region, float width, float height, boolean flipHorizontal, boolean flipVertical, int top) {
+        if (width == 0 || height == 0) {
+            return;
+        }
+
+        int regionWidth = region.getWidth();
+        int regionHeight = region.getHeight();
+
+        double scaleX = width / regionWidth;
+        double scaleY = height / regionHeight;
+
+        int left = flipHorizontal ? regionWidth : 0;
+        int right = flipHorizontal ? 0 : regionWidth;
+        int upper = flipVertical ? top + regionHeight : top;
+        int lower = flipVertical ? top : top + regionHeight;
+
+        // Skalierung umkehren statt die Transformation zu kopieren und wiederherzustellen
+        g.scale(scaleX, scaleY);
+        g.drawImage(VolatileImageCache.get(g, region.getPage()), left, upper, right, lower, region.getX(), region.getY(), region.getX() + regionWidth, region.getY() + regionHeight, null);
+        g.scale(1 / scaleX, 1 / scaleY);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.Internal;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verteilt Rechtecke auf einer festen Fläche nach dem MaxRects-Verfahren. Es werden alle maximalen freien Rechtecke
+ * verwaltet, ein neues Rechteck wird in das freie Rechteck gelegt, bei dem die kürzere verbleibende Seite am kleinsten
+ * ist (<i>Best Short Side Fit</i>).
+ *
+ * @see SpriteAtlas
+ */
+@Internal
+final class MaxRectsPacker {
+    private final List<Rectangle> freeRectangles = new ArrayList<>();
+
+    MaxRectsPacker(int width, int height) {
+        freeRectangles.add(new Rectangle(0, 0, width, height));
+    }
+
+    /**
+     * Sucht einen Platz für ein Rechteck und belegt ihn.
+     *
+     * @param width  Breite des Rechtecks.
+     * @param height Höhe des Rechtecks.
+     *
+     * @return Die belegte Fläche oder <code>null</code>, falls kein Platz mehr frei ist.
+     */
+    @Internal
+    Rectangle insert(int width, int height) {
+        Rectangle best = null;
+        int bestShortSide = Integer.MAX_VALUE;
+        int bestLongSide = Integer.MAX_VALUE;
+
+        for (Rectangle free : freeRectangles) {
+            if (free.width < width || free.height < height) {
+                continue;
+            }
+
+            int leftoverX = free.width - width;
+            int leftoverY = free.height - height;
+            int shortSide = Math.min(leftoverX, leftoverY);
+            int longSide = Math.max(leftoverX, leftoverY);
+
+            if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+                best = new Rectangle(free.x, free.y, width, height);
+                bestShortSide = shortSide;
+                bestLongSide = longSide;
+            }
+        }
+
+        if (best != null) {
+            place(best);
+        }
+
+        return best;
+    }
+
+    /**
+     * Gibt eine zuvor belegte Fläche wieder frei. Benachbarte freie Rechtecke werden dabei nicht zusammengeführt, die
+     * Fläche kann also nur für Rechtecke bis zu ihrer eigenen Größe wiederverwendet werden.
+     *
+     * @param used Die von {@link #insert(int, int)} zurückgegebene Fläche.
+     */
+    @Internal
+    void free(Rectangle used) {
+        freeRectangles.add(new Rectangle(used));
+        prune();
+    }
+
+    /**
+     * Teilt alle freien Rechtecke, die vom belegten Rechteck geschnitten werden, und entfernt danach alle freien
+     * Rechtecke, die vollständig in einem anderen liegen.
+     */
+    @Internal
+    private void place(Rectangle used) {
+        List<Rectangle> split = new ArrayList<>();
+
+        for (int i = freeRectangles.size() - 1; i >= 0; i--) {
+            Rectangle free = freeRectangles.get(i);
+
+            if (!free.intersects(used)) {
+                continue;
+            }
+
+            freeRectangles.remove(i);
+
+            if (used.x > free.x) {
+                split.add(new Rectangle(free.x, free.y, used.x - free.x, free.height));
+            }
+
+            if (used.x + used.width < free.x + free.width) {
+                split.add(new Rectangle(used.x + used.width, free.y, free.x + free.width - used.x - used.width, free.height));
+            }
+
+            if (used.y > free.y) {
+                split.add(new Rectangle(free.x, free.y, free.width, used.y - free.y));
+            }
+
+            if (used.y + used.height < free.y + free.height) {
+                split.add(new Rectangle(free.x, used.y + used.height, free.width, free.y + free.height - used.y - used.height));
+            }
+        }
+
+        freeRectangles.addAll(split);
+        prune();
+    }
+
+    @Internal
+    private void prune() {
+        for (int i = 0; i < freeRectangles.size(); i++) {
+            for (int j = i + 1; j < freeRectangles.size(); j++) {
+                Rectangle a = freeRectangles.get(i);
+                Rectangle b = freeRectangles.get(j);
+
+                if (b.contains(a)) {
+                    freeRectangles.remove(i--);
+                    break;
+                }
+
+                if (a.contains(b)) {
+                    freeRectangles.remove(j--);
+                }
+            }
+        }
+    }
+}
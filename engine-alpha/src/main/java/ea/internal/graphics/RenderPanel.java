@@ -49,6 +49,8 @@ public final class RenderPanel extends Canvas implements RenderTarget {
      */
     public void allocateBuffers() {
         createBufferStrategy(2);
+
+        VolatileImageCache.setGraphicsConfiguration(getGraphicsConfiguration());
     }
 
     public void render(RenderSource source) {
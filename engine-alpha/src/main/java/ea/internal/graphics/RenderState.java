@@ -0,0 +1,42 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package ea.internal.graphics;
+
+import ea.internal.annotations.Internal;
+
+import java.awt.Graphics2D;
+
+/**
+ * Unveränderlicher Zeichenzustand eines Actors. Wird auf dem Spiel-Thread festgehalten und kann danach auf dem
+ * Render-Thread gezeichnet werden, während die Simulation den Actor bereits weiter verändert.
+ *
+ * @see ea.actor.Actor#captureRenderState(float)
+ */
+@Internal
+@FunctionalInterface
+public interface RenderState {
+    /**
+     * Zeichnet den festgehaltenen Zustand am Ursprung, wie {@link ea.actor.Actor#render(Graphics2D, float)}.
+     *
+     * @param g             Das zeichnende Graphics-Objekt.
+     * @param pixelPerMeter Pixel pro Meter.
+     */
+    @Internal
+    void render(Graphics2D g, float pixelPerMeter);
+}
@@ -0,0 +1,278 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+import ea.internal.util.Optimizer;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Packt kleine Bilder beim Laden in wenige große Bilder (Seiten). Gezeichnet wird dann immer ein Ausschnitt einer
+ * Seite, sodass viele Sprites aus demselben Bild stammen. Das verbessert die Lokalität beim Zeichnen und gibt eine
+ * zentrale Stelle, an der der Speicherbedarf der Sprites abgefragt und begrenzt werden kann.
+ * <p>
+ * Jedes Bild wird mit einem Rand von einem Pixel gepackt, in den die äußeren Pixel des Bildes kopiert werden. So
+ * werden beim skalierten Zeichnen keine Pixel benachbarter Bilder sichtbar.
+ * <p>
+ * Der Platz eines Ausschnitts wird wieder frei, sobald der Ausschnitt selbst nicht mehr erreichbar ist. Das Quellbild
+ * ist dafür kein Maßstab: Glyphen werden z.B. aus temporären Bildern gepackt, ihre Ausschnitte aber weiter verwendet.
+ *
+ * @see AtlasRegion
+ */
+@Internal
+public final class SpriteAtlas {
+    /**
+     * Kantenlänge einer Seite in Pixel. Eine Seite belegt damit 4 MB.
+     */
+    public static final int PAGE_SIZE = 1024;
+
+    /**
+     * Maximale Kantenlänge eines Bildes, damit es in den Atlas gepackt wird. Größere Bilder werden direkt gezeichnet.
+     */
+    public static final int MAX_SPRITE_SIZE = 256;
+
+    private static final int PADDING = 1;
+
+    /**
+     * Die gepackten Ausschnitte je Quellbild. Ausschnitte über das Quellbild selbst werden nicht gespeichert, da sie
+     * ihren Schlüssel referenzieren und der Eintrag so nie verworfen würde.
+     */
+    private static final Map<BufferedImage, AtlasRegion> regions = new WeakHashMap<>();
+    private static final List<Page> pages = new ArrayList<>();
+
+    /**
+     * Alle belegten Flächen. Die Referenzen selbst müssen erreichbar bleiben, damit sie nach dem Verwerfen ihres
+     * Ausschnitts in {@link #releasedRegions} eingereiht werden.
+     */
+    private static final Set<Allocation> allocations = new HashSet<>();
+    private static final ReferenceQueue<AtlasRegion> releasedRegions = new ReferenceQueue<>();
+
+    private static boolean enabled = true;
+    private static int maxPageCount = 16;
+
+    private SpriteAtlas() {
+        // keine Objekte erlaubt!
+    }
+
+    /**
+     * Gibt den Ausschnitt aus, über den ein Bild gezeichnet wird. Beim ersten Aufruf für ein Bild wird es in den Atlas
+     * kopiert, sofern es klein genug ist und noch Platz frei ist. Spätere Änderungen am Bild werden daher nicht
+     * übernommen.
+     *
+     * @param image Das Bild.
+     *
+     * @return Der Ausschnitt im Atlas oder ein Ausschnitt über das gesamte Bild selbst.
+     */
+    @Internal
+    public static synchronized AtlasRegion getRegion(BufferedImage image) {
+        AtlasRegion region = regions.get(image);
+
+        if (region == null) {
+            reclaim();
+
+            region = pack(image);
+
+            if (region.getPage() != image) {
+                regions.put(image, region);
+            }
+        }
+
+        return region;
+    }
+
+    /**
+     * Gibt die Flächen aller nicht mehr erreichbaren Ausschnitte frei. Eine Seite ohne Ausschnitte wird komplett
+     * zurückgesetzt, damit sich keine Fragmente ansammeln.
+     */
+    @Internal
+    private static void reclaim() {
+        Allocation allocation;
+
+        while ((allocation = (Allocation) releasedRegions.poll()) != null) {
+            if (!allocations.remove(allocation)) {
+                continue; // Seite wurde bereits über clear() verworfen
+            }
+
+            Page page = allocation.page;
+
+            if (--page.allocationCount == 0) {
+                page.packer = new MaxRectsPacker(PAGE_SIZE, PAGE_SIZE);
+            } else {
+                page.packer.free(allocation.area);
+            }
+        }
+    }
+
+    @Internal
+    private static AtlasRegion pack(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        if (!enabled || width > MAX_SPRITE_SIZE || height > MAX_SPRITE_SIZE) {
+            return new AtlasRegion(image, 0, 0, width, height);
+        }
+
+        for (Page page : pages) {
+            Rectangle area = page.packer.insert(width + 2 * PADDING, height + 2 * PADDING);
+
+            if (area != null) {
+                return copy(image, page, area);
+            }
+        }
+
+        if (pages.size() >= maxPageCount) {
+            return new AtlasRegion(image, 0, 0, width, height);
+        }
+
+        Page page = new Page(Optimizer.createCompatibleImage(PAGE_SIZE, PAGE_SIZE));
+        pages.add(page);
+
+        return copy(image, page, page.packer.insert(width + 2 * PADDING, height + 2 * PADDING));
+    }
+
+    /**
+     * Kopiert ein Bild in eine Seite und füllt den Rand mit den äußeren Pixeln des Bildes.
+     */
+    @Internal
+    private static AtlasRegion copy(BufferedImage image, Page target, Rectangle area) {
+        BufferedImage page = target.image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int x = area.x + PADDING;
+        int y = area.y + PADDING;
+
+        Graphics2D g = page.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+
+        g.drawImage(image, x, y, null);
+        g.dispose();
+
+        // Äußere Pixel in den Rand kopieren: erst links und rechts, dann oben und unten inklusive der Ecken
+        WritableRaster raster = page.getRaster();
+        raster.setDataElements(x - PADDING, y, 1, height, raster.getDataElements(x, y, 1, height, null));
+        raster.setDataElements(x + width, y, 1, height, raster.getDataElements(x + width - 1, y, 1, height, null));
+        raster.setDataElements(x - PADDING, y - PADDING, width + 2 * PADDING, 1, raster.getDataElements(x - PADDING, y, width + 2 * PADDING, 1, null));
+        raster.setDataElements(x - PADDING, y + height, width + 2 * PADDING, 1, raster.getDataElements(x - PADDING, y + height - 1, width + 2 * PADDING, 1, null));
+
+        VolatileImageCache.invalidate(page);
+
+        AtlasRegion region = new AtlasRegion(page, x, y, width, height);
+        allocations.add(new Allocation(region, target, area));
+        target.allocationCount++;
+
+        return region;
+    }
+
+    /**
+     * Setzt, ob neu geladene Bilder in den Atlas gepackt werden. Bereits gepackte Bilder bleiben im Atlas.
+     *
+     * @param enabled <code>true</code>, um Bilder zu packen, sonst <code>false</code>. Standard ist
+     *                <code>true</code>.
+     */
+    @API
+    public static synchronized void setEnabled(boolean enabled) {
+        SpriteAtlas.enabled = enabled;
+    }
+
+    @API
+    public static synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Begrenzt die Anzahl der Seiten und damit den Speicherbedarf des Atlas. Passt ein Bild in keine Seite mehr, wird
+     * es direkt gezeichnet.
+     *
+     * @param maxPageCount Maximale Anzahl der Seiten, jede Seite belegt 4 MB. Standard ist 16.
+     */
+    @API
+    public static synchronized void setMaxPageCount(int maxPageCount) {
+        if (maxPageCount < 0) {
+            throw new IllegalArgumentException("Die Anzahl der Seiten darf nicht negativ sein, war " + maxPageCount);
+        }
+
+        SpriteAtlas.maxPageCount = maxPageCount;
+    }
+
+    @API
+    public static synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * @return Der Speicherbedarf aller Seiten in Byte.
+     */
+    @API
+    public static synchronized long getMemoryUsage() {
+        return (long) pages.size() * PAGE_SIZE * PAGE_SIZE * 4;
+    }
+
+    /**
+     * Vergisst alle Seiten. Bereits erstellte Actors zeichnen weiter aus ihren Seiten, neu geladene Bilder werden in
+     * neue Seiten gepackt. Der Speicher alter Seiten wird frei, sobald kein Actor sie mehr verwendet.
+     */
+    @API
+    public static synchronized void clear() {
+        regions.clear();
+        pages.clear();
+        allocations.clear();
+    }
+
+    /**
+     * Eine Seite mit der Verteilung ihrer Fläche.
+     */
+    private static final class Page {
+        private final BufferedImage image;
+        private MaxRectsPacker packer = new MaxRectsPacker(PAGE_SIZE, PAGE_SIZE);
+        private int allocationCount;
+
+        private Page(BufferedImage image) {
+            this.image = image;
+        }
+    }
+
+    /**
+     * Die belegte Fläche eines Ausschnitts, wird nach dem Verwerfen des Ausschnitts freigegeben.
+     */
+    private static final class Allocation extends WeakReference<AtlasRegion> {
+        private final Page page;
+        private final Rectangle area;
+
+        private Allocation(AtlasRegion region, Page page, Rectangle area) {
+            super(region, releasedRegions);
+            this.page = page;
+            this.area = area;
+        }
+    }
+}
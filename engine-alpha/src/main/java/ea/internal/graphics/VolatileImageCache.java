@@ -0,0 +1,333 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.graphics;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hält häufig gezeichnete Bilder, etwa die Seiten des {@link SpriteAtlas}, als {@link VolatileImage} im Grafikspeicher.
+ * Ob ein verwaltetes {@link BufferedImage} beschleunigt gezeichnet wird, entscheidet sonst die JVM anhand eigener
+ * Heuristiken.
+ * <p>
+ * Der Inhalt eines {@link VolatileImage} kann jederzeit verloren gehen, etwa bei einem Wechsel der Auflösung. Vor jedem
+ * Zeichnen wird das Bild deshalb geprüft und bei Bedarf neu hochgeladen. Ist keine Beschleunigung verfügbar oder
+ * zeichnet das Graphics-Objekt nicht auf den Bildschirm, wird das ursprüngliche Bild gezeichnet.
+ */
+@Internal
+public final class VolatileImageCache {
+    private static final Map<BufferedImage, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static GraphicsConfiguration configuration;
+
+    /**
+     * Gibt an, ob die aktuelle {@link #configuration} beschleunigte Bilder liefert. Wird bei jedem Aufruf von
+     * {@link #setGraphicsConfiguration(GraphicsConfiguration)} neu ermittelt.
+     */
+    private static boolean accelerated;
+    private static boolean enabled = true;
+
+    private static long maxPixels = 16 * 1024 * 1024;
+    private static long usedPixels;
+
+    private static long hits;
+    private static long misses;
+    private static long restores;
+
+    private VolatileImageCache() {
+        // keine Objekte erlaubt!
+    }
+
+    /**
+     * Setzt die Konfiguration des Bildschirms, auf den gezeichnet wird. Bilder für eine vorherige Konfiguration werden
+     * verworfen. Ob beschleunigt gezeichnet werden kann, wird dabei neu geprüft, auch wenn sich die Konfiguration nicht
+     * geändert hat.
+     *
+     * @param configuration Die Konfiguration des Zeichenbereichs oder <code>null</code>, um den Cache abzuschalten.
+     */
+    @Internal
+    public static synchronized void setGraphicsConfiguration(GraphicsConfiguration configuration) {
+        VolatileImageCache.accelerated = configuration != null;
+
+        if (VolatileImageCache.configuration == configuration) {
+            return;
+        }
+
+        flush();
+
+        VolatileImageCache.configuration = configuration;
+    }
+
+    /**
+     * Gibt das Bild aus, das anstelle von <code>source</code> gezeichnet werden soll.
+     *
+     * @param g      Das Graphics-Objekt, auf das gezeichnet wird.
+     * @param source Das ursprüngliche Bild.
+     *
+     * @return Ein gültiges {@link VolatileImage} mit dem Inhalt von <code>source</code> oder <code>source</code>
+     * selbst.
+     */
+    @Internal
+    public static synchronized Image get(Graphics2D g, BufferedImage source) {
+        if (!enabled || !accelerated || g.getDeviceConfiguration() != configuration) {
+            return source;
+        }
+
+        Entry entry = entries.get(source);
+
+        if (entry == null) {
+            long pixels = (long) source.getWidth() * source.getHeight();
+
+            if (pixels > maxPixels) {
+                return source;
+            }
+
+            misses++;
+
+            VolatileImage image = create(source);
+
+            if (image == null) {
+                return source;
+            }
+
+            entry = new Entry(image);
+            entries.put(source, entry);
+            usedPixels += pixels;
+
+            trim();
+
+            return image;
+        }
+
+        int status = entry.image.validate(configuration);
+
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            restores++;
+            entry.image.flush();
+            entry.image = create(source);
+
+            if (entry.image == null) {
+                entries.remove(source);
+                usedPixels -= (long) source.getWidth() * source.getHeight();
+
+                return source;
+            }
+        } else if (status == VolatileImage.IMAGE_RESTORED) {
+            restores++;
+            upload(source, entry.image);
+        } else if (entry.dirty) {
+            upload(source, entry.image);
+        } else {
+            hits++;
+        }
+
+        entry.dirty = false;
+
+        // Der Inhalt kann auch direkt nach dem Hochladen wieder verloren gehen
+        return entry.image.contentsLost() ? source : entry.image;
+    }
+
+    /**
+     * Markiert ein Bild als geändert, sodass es vor dem nächsten Zeichnen neu hochgeladen wird.
+     *
+     * @param source Das geänderte Bild.
+     */
+    @Internal
+    public static synchronized void invalidate(BufferedImage source) {
+        Entry entry = entries.get(source);
+
+        if (entry != null) {
+            entry.dirty = true;
+        }
+    }
+
+    /**
+     * Verwirft die Kopie eines Bildes im Grafikspeicher. Muss von Caches aufgerufen werden, die ein Bild nicht mehr
+     * zeichnen, da der Eintrag das Bild sonst bis zur Verdrängung im Speicher hält.
+     *
+     * @param source Das verworfene Bild, darf <code>null</code> sein.
+     */
+    @Internal
+    public static synchronized void remove(BufferedImage source) {
+        if (source == null) {
+            return;
+        }
+
+        Entry entry = entries.remove(source);
+
+        if (entry != null) {
+            entry.image.flush();
+            usedPixels -= (long) source.getWidth() * source.getHeight();
+        }
+    }
+
+    @Internal
+    private static VolatileImage create(BufferedImage source) {
+        VolatileImage image = configuration.createCompatibleVolatileImage(source.getWidth(), source.getHeight(), Transparency.TRANSLUCENT);
+
+        if (!image.getCapabilities().isAccelerated()) {
+            // Ohne Beschleunigung wäre das Bild nur eine weitere Kopie im Hauptspeicher
+            image.flush();
+            accelerated = false;
+
+            return null;
+        }
+
+        upload(source, image);
+
+        return image;
+    }
+
+    @Internal
+    private static void upload(BufferedImage source, VolatileImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+    }
+
+    @Internal
+    private static void trim() {
+        Iterator<Map.Entry<BufferedImage, Entry>> iterator = entries.entrySet().iterator();
+
+        while (usedPixels > maxPixels && iterator.hasNext()) {
+            Map.Entry<BufferedImage, Entry> eldest = iterator.next();
+            BufferedImage source = eldest.getKey();
+
+            eldest.getValue().image.flush();
+            usedPixels -= (long) source.getWidth() * source.getHeight();
+            iterator.remove();
+        }
+    }
+
+    @Internal
+    private static void flush() {
+        for (Entry entry : entries.values()) {
+            entry.image.flush();
+        }
+
+        entries.clear();
+        usedPixels = 0;
+    }
+
+    /**
+     * Setzt, ob Bilder im Grafikspeicher gehalten werden.
+     *
+     * @param enabled <code>true</code>, um Bilder im Grafikspeicher zu halten, sonst <code>false</code>. Standard ist
+     *                <code>true</code>.
+     */
+    @API
+    public static synchronized void setEnabled(boolean enabled) {
+        VolatileImageCache.enabled = enabled;
+
+        if (!enabled) {
+            flush();
+        }
+    }
+
+    @API
+    public static synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return <code>true</code>, wenn Bilder tatsächlich beschleunigt gezeichnet werden. Das ist erst nach dem Öffnen
+     * des Fensters und nur mit einer beschleunigten Grafikpipeline der Fall.
+     */
+    @API
+    public static synchronized boolean isAccelerated() {
+        return enabled && accelerated;
+    }
+
+    /**
+     * Begrenzt den belegten Grafikspeicher. Am längsten nicht gezeichnete Bilder werden zuerst verworfen.
+     *
+     * @param maxPixels Maximale Anzahl Pixel aller Bilder, jedes Pixel belegt 4 Byte. Standard sind 16M Pixel.
+     */
+    @API
+    public static synchronized void setMaxPixels(long maxPixels) {
+        if (maxPixels < 0) {
+            throw new IllegalArgumentException("Die Anzahl der Pixel darf nicht negativ sein, war " + maxPixels);
+        }
+
+        VolatileImageCache.maxPixels = maxPixels;
+
+        trim();
+    }
+
+    /**
+     * @return Anzahl der Zeichenvorgänge, für die ein gültiges Bild im Grafikspeicher lag.
+     */
+    @API
+    public static synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * @return Anzahl der Bilder, die erstmals in den Grafikspeicher geladen wurden.
+     */
+    @API
+    public static synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * @return Anzahl der Bilder, deren Inhalt verloren ging und die neu hochgeladen wurden.
+     */
+    @API
+    public static synchronized long getRestoreCount() {
+        return restores;
+    }
+
+    @API
+    public static synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        restores = 0;
+    }
+
+    /**
+     * Verwirft alle Bilder im Grafikspeicher.
+     */
+    @API
+    public static synchronized void clear() {
+        flush();
+    }
+
+    private static final class Entry {
+        private VolatileImage image;
+        private boolean dirty;
+
+        private Entry(VolatileImage image) {
+            this.image = image;
+        }
+    }
+}
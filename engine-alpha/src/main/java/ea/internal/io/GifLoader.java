@@ -0,0 +1,219 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.io;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+import ea.internal.util.GifIndex;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lädt animierte GIFs und hält sie vor, damit dieselbe Datei nicht für jede Animation erneut gelesen und dekodiert
+ * werden muss.
+ * <p>
+ * Wie beim {@link ImageLoader} ist der Cache in seiner Größe begrenzt, am längsten nicht verwendete GIFs werden zuerst
+ * verworfen. Gezählt werden die Rohdaten sowie alle über {@link GifIndex#getFrames()} dekodierten Frames.
+ */
+final public class GifLoader {
+    /**
+     * Sortiert nach der letzten Verwendung, alle Zugriffe sind über den Cache synchronisiert.
+     */
+    private static final Map<String, GifIndex> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * GIFs, die gerade gelesen werden. Weitere Anfragen für denselben Pfad warten auf das Ergebnis.
+     */
+    private static final Map<String, CompletableFuture<GifIndex>> loading = new ConcurrentHashMap<>();
+
+    private static long maxCacheSize = 64 * 1024 * 1024;
+
+    private GifLoader() {
+        // keine Objekte erlaubt!
+    }
+
+    /**
+     * Lädt ein animiertes GIF. Wird dieselbe Datei gleichzeitig von mehreren Threads angefordert, wird sie nur einmal
+     * gelesen. Andere Dateien werden dabei nicht blockiert. Die Frames werden erst bei Bedarf dekodiert.
+     *
+     * @param path Pfad des GIFs.
+     *
+     * @return Das indizierte GIF.
+     */
+    @API
+    public static GifIndex load(String path) {
+        GifIndex gif;
+
+        synchronized (cache) {
+            gif = cache.get(path);
+
+            if (gif != null) {
+                // Seit dem Laden dekodierte Frames zählen ab jetzt zum Budget
+                trim();
+
+                return gif;
+            }
+        }
+
+        CompletableFuture<GifIndex> future = new CompletableFuture<>();
+        CompletableFuture<GifIndex> pending = loading.putIfAbsent(path, future);
+
+        if (pending != null) {
+            return await(pending);
+        }
+
+        try {
+            // Ein anderer Thread kann das GIF zwischen get und putIfAbsent fertig geladen haben
+            synchronized (cache) {
+                gif = cache.get(path);
+            }
+
+            if (gif == null) {
+                gif = GifIndex.read(path);
+
+                synchronized (cache) {
+                    cache.put(path, gif);
+                    trim();
+                }
+            }
+
+            future.complete(gif);
+
+            return gif;
+        } catch (RuntimeException | Error e) {
+            // Auch bei Fehlern wie OutOfMemoryError, sonst warten andere Aufrufe für immer
+            future.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            loading.remove(path, future);
+        }
+    }
+
+    @Internal
+    private static GifIndex await(CompletableFuture<GifIndex> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Verwirft die am längsten nicht verwendeten GIFs, bis der Cache wieder in sein Budget passt. Die Größe wird dabei
+     * neu ermittelt, da Frames auch nach dem Laden noch dekodiert werden können. Muss mit gehaltenem Lock auf den Cache
+     * aufgerufen werden.
+     */
+    @Internal
+    private static void trim() {
+        long size = getSize();
+        Iterator<GifIndex> iterator = cache.values().iterator();
+
+        while (size > maxCacheSize && iterator.hasNext()) {
+            size -= iterator.next().getSize();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Muss mit gehaltenem Lock auf den Cache aufgerufen werden.
+     */
+    @Internal
+    private static long getSize() {
+        long size = 0;
+
+        for (GifIndex gif : cache.values()) {
+            size += gif.getSize();
+        }
+
+        return size;
+    }
+
+    /**
+     * Begrenzt den Speicherbedarf des Caches. GIFs, die bereits verwendet werden, bleiben auch nach dem Verwerfen im
+     * Speicher, werden aber beim nächsten Laden erneut gelesen.
+     *
+     * @param bytes Maximaler Speicherbedarf aller GIFs in Byte. Standard sind 64 MB.
+     */
+    @API
+    public static void setMaxCacheSize(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Die Größe des Caches darf nicht negativ sein, war " + bytes);
+        }
+
+        synchronized (cache) {
+            maxCacheSize = bytes;
+
+            trim();
+        }
+    }
+
+    @API
+    public static long getMaxCacheSize() {
+        synchronized (cache) {
+            return maxCacheSize;
+        }
+    }
+
+    /**
+     * @return Speicherbedarf aller GIFs im Cache in Byte.
+     */
+    @API
+    public static long getCacheSize() {
+        synchronized (cache) {
+            return getSize();
+        }
+    }
+
+    /**
+     * Leert den Cache und liest GIFs beim nächsten Laden erneut.
+     */
+    @API
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Leert einen bestimmten Cache-Eintrag.
+     *
+     * @param path Pfad des GIFs.
+     */
+    @API
+    public static void clearCache(String path) {
+        synchronized (cache) {
+            cache.remove(path);
+        }
+    }
+}
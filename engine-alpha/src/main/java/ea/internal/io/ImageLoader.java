@@ -20,24 +20,48 @@
 package ea.internal.io;
 
 import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
 import ea.internal.util.Optimizer;
 
 import javax.imageio.ImageIO;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Lädt Bilder vom Dateisystem und optimiert diese direkt für die Anzeige.
+ * <p>
+ * Geladene Bilder werden bis zu einer einstellbaren Größe zwischengespeichert, am längsten nicht verwendete Bilder
+ * werden zuerst verworfen. Bilder können von mehreren Threads gleichzeitig geladen werden, wird dasselbe Bild
+ * gleichzeitig mehrfach angefordert, wird es trotzdem nur einmal gelesen.
  *
  * @author Niklas Keller
  */
 final public class ImageLoader {
     /**
-     * Cache, damit viele gleiche Bilder nicht jedes Mal neu geladen werden müssen.
+     * Cache, damit viele gleiche Bilder nicht jedes Mal neu geladen werden müssen. Sortiert nach der letzten
+     * Verwendung, alle Zugriffe sind über den Cache synchronisiert.
      */
-    private static final Map<String, BufferedImage> cache = new HashMap<>();
+    private static final Map<String, BufferedImage> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Bilder, die gerade geladen werden. Weitere Anfragen für denselben Pfad warten auf das Ergebnis.
+     */
+    private static final Map<String, CompletableFuture<BufferedImage>> loading = new ConcurrentHashMap<>();
+
+    private static long maxCacheSize = 256 * 1024 * 1024;
+    private static long cacheSize;
+
+    private static long hits;
+    private static long misses;
+    private static long evictions;
 
     private ImageLoader() {
         // keine Objekte erlaubt!
@@ -51,27 +75,216 @@ final public class ImageLoader {
      * @return geladenes Image
      */
     public static BufferedImage load(String path) {
-        if (cache.containsKey(path)) {
-            return cache.get(path);
+        BufferedImage image = getCached(path);
+
+        if (image != null) {
+            return image;
+        }
+
+        CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> pending = loading.putIfAbsent(path, future);
+
+        if (pending != null) {
+            return await(pending);
         }
 
         try {
-            BufferedImage img = Optimizer.toCompatibleImage(ImageIO.read(ResourceLoader.loadAsStream(path)));
+            // Ein anderer Thread kann das Bild zwischen getCached und putIfAbsent fertig geladen haben
+            synchronized (cache) {
+                image = cache.get(path);
+            }
 
-            cache.put(path, img);
+            if (image == null) {
+                image = read(path);
+                putCached(path, image);
+            }
 
-            return img;
+            future.complete(image);
+
+            return image;
+        } catch (RuntimeException | Error e) {
+            // Auch bei Fehlern wie OutOfMemoryError, sonst warten andere Aufrufe für immer
+            future.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            loading.remove(path, future);
+        }
+    }
+
+    @Internal
+    private static BufferedImage read(String path) {
+        // Zwischenspeicher im Speicher statt in einer temporären Datei, wie es ImageIO für Streams sonst tut
+        try (InputStream stream = ResourceLoader.loadAsStream(path)) {
+            BufferedImage image = ImageIO.read(new MemoryCacheImageInputStream(stream));
+
+            if (image == null) {
+                throw new RuntimeException("Das Bildformat wird nicht unterstützt: " + path);
+            }
+
+            return Optimizer.toCompatibleImage(image);
         } catch (IOException e) {
             throw new RuntimeException("Das Image konnte nicht geladen werden: " + path);
         }
     }
 
+    @Internal
+    private static BufferedImage await(CompletableFuture<BufferedImage> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    @Internal
+    private static BufferedImage getCached(String path) {
+        synchronized (cache) {
+            BufferedImage image = cache.get(path);
+
+            if (image == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+
+            return image;
+        }
+    }
+
+    @Internal
+    private static void putCached(String path, BufferedImage image) {
+        synchronized (cache) {
+            BufferedImage previous = cache.put(path, image);
+
+            if (previous != null) {
+                cacheSize -= getSize(previous);
+            }
+
+            cacheSize += getSize(image);
+
+            trim();
+        }
+    }
+
+    /**
+     * Verwirft die am längsten nicht verwendeten Bilder, bis der Cache wieder in sein Budget passt. Muss mit gehaltenem
+     * Lock auf den Cache aufgerufen werden.
+     */
+    @Internal
+    private static void trim() {
+        Iterator<BufferedImage> iterator = cache.values().iterator();
+
+        while (cacheSize > maxCacheSize && iterator.hasNext()) {
+            cacheSize -= getSize(iterator.next());
+            evictions++;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * @return Speicherbedarf der Pixeldaten eines Bildes in Byte.
+     */
+    @Internal
+    private static long getSize(BufferedImage image) {
+        long bitsPerPixel = image.getColorModel().getPixelSize();
+
+        return ((long) image.getWidth() * image.getHeight() * bitsPerPixel + 7) / 8;
+    }
+
+    /**
+     * Begrenzt den Speicherbedarf des Caches. Bilder, die bereits verwendet werden, bleiben auch nach dem Verwerfen im
+     * Speicher, werden aber beim nächsten Laden erneut gelesen.
+     *
+     * @param bytes Maximaler Speicherbedarf aller Bilder in Byte. Standard sind 256 MB.
+     */
+    @API
+    public static void setMaxCacheSize(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Die Größe des Caches darf nicht negativ sein, war " + bytes);
+        }
+
+        synchronized (cache) {
+            maxCacheSize = bytes;
+
+            trim();
+        }
+    }
+
+    @API
+    public static long getMaxCacheSize() {
+        synchronized (cache) {
+            return maxCacheSize;
+        }
+    }
+
+    /**
+     * @return Speicherbedarf aller Bilder im Cache in Byte.
+     */
+    @API
+    public static long getCacheSize() {
+        synchronized (cache) {
+            return cacheSize;
+        }
+    }
+
+    /**
+     * @return Anzahl der Aufrufe von {@link #load(String)}, die ein Bild aus dem Cache geliefert haben.
+     */
+    @API
+    public static long getHitCount() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    /**
+     * @return Anzahl der Aufrufe von {@link #load(String)}, für die das Bild nicht im Cache lag. Wartet ein Aufruf auf
+     * ein Bild, das gerade von einem anderen Thread geladen wird, zählt das ebenfalls als Fehlschlag.
+     */
+    @API
+    public static long getMissCount() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+    /**
+     * @return Anzahl der Bilder, die verworfen wurden, weil der Cache voll war.
+     */
+    @API
+    public static long getEvictionCount() {
+        synchronized (cache) {
+            return evictions;
+        }
+    }
+
+    @API
+    public static void resetStatistics() {
+        synchronized (cache) {
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+        }
+    }
+
     /**
      * Leert den Cache und lädt Bilder beim nächsten Laden erneut vom Dateisystem.
      */
     @API
     public static void clearCache() {
-        cache.clear();
+        synchronized (cache) {
+            cache.clear();
+            cacheSize = 0;
+        }
     }
 
     /**
@@ -82,6 +295,12 @@ final public class ImageLoader {
      */
     @API
     public static void clearCache(String path) {
-        cache.remove(path);
+        synchronized (cache) {
+            BufferedImage image = cache.remove(path);
+
+            if (image != null) {
+                cacheSize -= getSize(image);
+            }
+        }
     }
-}
\ No newline at end of file
+}
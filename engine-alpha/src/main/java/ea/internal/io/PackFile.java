@@ -0,0 +1,272 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.io;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Ein Archiv mit vielen Ressourcen in einer Datei, das per {@link FileChannel#map} in den Speicher eingeblendet wird.
+ * Einzelne Dateien werden als Ausschnitt des eingeblendeten Speichers gelesen, ohne sie zu kopieren oder für jede
+ * Datei einen eigenen Dateizugriff zu öffnen.
+ * <p>
+ * Aufbau: Magic <code>EAPK</code>, Version und Anzahl der Einträge, dann pro Eintrag Pfad (modifiziertes UTF-8),
+ * Position (64 Bit) und Länge (32 Bit). Darauf folgen die Inhalte aller Einträge. Pfade sind relativ zum gepackten
+ * Verzeichnis und verwenden <code>/</code> als Trennzeichen.
+ * <p>
+ * Ein Archiv kann beim Bauen des Spiels erstellt werden:
+ * <pre>java -cp engine-alpha.jar ea.internal.io.PackFile assets.eapack assets-verzeichnis</pre>
+ */
+@Internal
+public final class PackFile {
+    private static final int MAGIC = 0x4541504B; // EAPK
+    private static final int VERSION = 1;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Entry> entries;
+
+    private PackFile(Path path, MappedByteBuffer buffer, Map<String, Entry> entries) {
+        this.path = path;
+        this.buffer = buffer;
+        this.entries = entries;
+    }
+
+    /**
+     * Öffnet ein Archiv und liest sein Inhaltsverzeichnis.
+     *
+     * @param path Pfad des Archivs im Dateisystem.
+     *
+     * @return Das geöffnete Archiv.
+     */
+    @Internal
+    public static PackFile open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Archive über 2 GB werden nicht unterstützt: " + path);
+            }
+
+            // Die Einblendung bleibt nach dem Schließen des Kanals gültig
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(buffer.duplicate()));
+
+        if (buffer.limit() < 12 || in.readInt() != MAGIC) {
+            throw new IOException("Ungültiges Archiv: Magic fehlt in " + path);
+        }
+
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Nicht unterstützte Version des Archivs: " + version);
+        }
+
+        int count = in.readInt();
+        Map<String, Entry> entries = new HashMap<>(count * 2);
+
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            long offset = in.readLong();
+            int length = in.readInt();
+
+            if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+                throw new IOException("Ungültiger Eintrag im Archiv: " + name);
+            }
+
+            entries.put(name, new Entry((int) offset, length));
+        }
+
+        return new PackFile(path, buffer, entries);
+    }
+
+    /**
+     * Packt alle Dateien eines Verzeichnisses in ein Archiv.
+     *
+     * @param target    Pfad des neuen Archivs.
+     * @param directory Das Verzeichnis, dessen Dateien rekursiv gepackt werden.
+     */
+    @API
+    public static void write(Path target, Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+
+        try (Stream<Path> stream = Files.walk(directory)) {
+            stream.filter(Files::isRegularFile).forEach(files::add);
+        }
+
+        Collections.sort(files);
+
+        List<String> names = new ArrayList<>();
+        List<Long> sizes = new ArrayList<>();
+
+        for (Path file : files) {
+            names.add(getName(directory.relativize(file)));
+            sizes.add(Files.size(file));
+        }
+
+        // Das Inhaltsverzeichnis hat feste Länge, daher zuerst mit Platzhaltern die Größe bestimmen
+        int headerSize = writeHeader(new ByteArrayOutputStream(), names, sizes, 0);
+
+        try (OutputStream out = Files.newOutputStream(target)) {
+            writeHeader(out, names, sizes, headerSize);
+
+            for (Path file : files) {
+                Files.copy(file, out);
+            }
+        }
+    }
+
+    private static int writeHeader(OutputStream stream, List<String> names, List<Long> sizes, long offset) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(names.size());
+
+        for (int i = 0; i < names.size(); i++) {
+            if (sizes.get(i) > Integer.MAX_VALUE) {
+                throw new IOException("Dateien über 2 GB werden nicht unterstützt: " + names.get(i));
+            }
+
+            out.writeUTF(names.get(i));
+            out.writeLong(offset);
+            out.writeInt(sizes.get(i).intValue());
+
+            offset += sizes.get(i);
+        }
+
+        out.flush();
+
+        return out.size();
+    }
+
+    /**
+     * Wandelt einen Pfad in den Namen eines Eintrags um.
+     */
+    @Internal
+    static String getName(Path path) {
+        StringBuilder name = new StringBuilder();
+
+        for (Path part : path) {
+            if (name.length() > 0) {
+                name.append('/');
+            }
+
+            name.append(part);
+        }
+
+        return name.toString();
+    }
+
+    /**
+     * @param name Name des Eintrags, Pfadtrenner <code>/</code>.
+     *
+     * @return <code>true</code>, falls das Archiv den Eintrag enthält.
+     */
+    @Internal
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Gibt den Inhalt eines Eintrags aus, ohne ihn zu kopieren.
+     *
+     * @param name Name des Eintrags, Pfadtrenner <code>/</code>.
+     *
+     * @return Ein schreibgeschützter Ausschnitt des eingeblendeten Archivs oder <code>null</code>, falls der Eintrag
+     * fehlt.
+     */
+    @Internal
+    public ByteBuffer getBuffer(String name) {
+        Entry entry = entries.get(name);
+
+        if (entry == null) {
+            return null;
+        }
+
+        // slice mit absoluten Positionen verändert den gemeinsamen Buffer nicht und ist daher threadsicher
+        return buffer.slice(entry.offset, entry.length).asReadOnlyBuffer();
+    }
+
+    /**
+     * @param name Name des Eintrags, Pfadtrenner <code>/</code>.
+     *
+     * @return Ein Stream über den Inhalt des Eintrags oder <code>null</code>, falls der Eintrag fehlt.
+     */
+    @Internal
+    public InputStream getStream(String name) {
+        ByteBuffer entry = getBuffer(name);
+
+        return entry == null ? null : new ByteBufferInputStream(entry);
+    }
+
+    @Internal
+    public Path getPath() {
+        return path;
+    }
+
+    @Internal
+    public int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Erstellt ein Archiv: <code>PackFile &lt;archiv&gt; &lt;verzeichnis&gt;</code>.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Verwendung: PackFile <archiv> <verzeichnis>");
+            System.exit(1);
+        }
+
+        write(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    private static final class Entry {
+        private final int offset;
+        private final int length;
+
+        private Entry(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -19,6 +19,7 @@
 
 package ea.internal.io;
 
+import ea.internal.annotations.API;
 import ea.internal.util.Logger;
 
 import java.io.File;
@@ -27,37 +28,112 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Lädt Dateien aus der JAR oder dem aktuellen Arbeitsverzeichnis.
+ * Lädt Dateien aus eingebundenen Archiven ({@link PackFile}), der JAR oder dem aktuellen Arbeitsverzeichnis, in
+ * dieser Reihenfolge.
  *
  * @author Niklas Keller
  */
 final public class ResourceLoader {
+    /**
+     * Eingebundene Archive, das zuletzt eingebundene Archiv wird zuerst durchsucht.
+     */
+    private static final List<PackFile> packs = new CopyOnWriteArrayList<>();
+
     private ResourceLoader() {
         // keine Objekte erlaubt!
     }
 
+    /**
+     * Bindet ein Archiv ein, das mit {@link PackFile#write(java.nio.file.Path, java.nio.file.Path)} erstellt wurde.
+     * Dateien werden danach zuerst im Archiv gesucht, Pfade sind relativ zum gepackten Verzeichnis.
+     *
+     * @param filename Pfad des Archivs im Dateisystem.
+     */
+    @API
+    public static void mountPack(String filename) throws IOException {
+        packs.add(0, PackFile.open(Paths.get(normalizePath(filename))));
+    }
+
+    /**
+     * Entfernt alle eingebundenen Archive.
+     */
+    @API
+    public static void unmountPacks() {
+        packs.clear();
+    }
+
+    /**
+     * @return Das erste eingebundene Archiv, das den Eintrag enthält, oder <code>null</code>.
+     */
+    private static PackFile findPack(String name) {
+        for (PackFile pack : packs) {
+            if (pack.contains(name)) {
+                return pack;
+            }
+        }
+
+        return null;
+    }
+
+    private static String getPackName(String filename) {
+        return filename.replace('\\', '/');
+    }
+
     public static byte[] load(String filename) throws IOException {
+        String packName = getPackName(filename);
+        PackFile pack = findPack(packName);
+
+        if (pack != null) {
+            return new ByteBufferInputStream(pack.getBuffer(packName)).readAllBytes();
+        }
+
         String normalizedFilename = normalizePath(filename);
-        Path path = Paths.get(normalizedFilename);
 
-        URL url = ResourceLoader.class.getResource("/" + normalizedFilename);
-        if (url != null) {
-            try {
-                path = Paths.get(url.toURI());
-            } catch (URISyntaxException e) {
-                throw new IOException("Could not convert URL to URI", e);
+        // Über einen Stream statt über Paths.get(URI), damit auch Dateien innerhalb der JAR gelesen werden können
+        InputStream resource = ResourceLoader.class.getResourceAsStream("/" + normalizedFilename);
+        if (resource != null) {
+            try (InputStream stream = resource) {
+                return stream.readAllBytes();
             }
         }
 
-        return Files.readAllBytes(path);
+        return Files.readAllBytes(Paths.get(normalizedFilename));
+    }
+
+    /**
+     * Gibt den Inhalt einer Datei als {@link ByteBuffer} aus. Liegt die Datei in einem eingebundenen Archiv, wird sie
+     * dabei nicht kopiert.
+     *
+     * @param filename Pfad der Datei.
+     *
+     * @return Ein schreibgeschützter Buffer mit dem Inhalt der Datei.
+     */
+    public static ByteBuffer loadAsBuffer(String filename) throws IOException {
+        String packName = getPackName(filename);
+        PackFile pack = findPack(packName);
+
+        if (pack != null) {
+            return pack.getBuffer(packName);
+        }
+
+        return ByteBuffer.wrap(load(filename)).asReadOnlyBuffer();
     }
 
     public static InputStream loadAsStream(String filename) throws IOException {
+        String packName = getPackName(filename);
+        PackFile pack = findPack(packName);
+
+        if (pack != null) {
+            return pack.getStream(packName);
+        }
+
         String normalizedFilename = normalizePath(filename);
 
         if (ResourceLoader.class.getResource("/" + normalizedFilename) != null) {
@@ -0,0 +1,119 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.io;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Liest und schreibt Tile-Blöcke im kompakten Binärformat der Engine.
+ * <p>
+ * Ein Block besteht aus einer festen Kopfzeile (Magic <code>EATC</code>, Version, Kantenlänge) gefolgt von
+ * lauflängenkodierten Tile-IDs: Paare aus Anzahl (vorzeichenlos, 16 Bit) und Tile-ID (16 Bit), spaltenweise über den
+ * Block. Große gleichförmige Flächen belegen damit nur wenige Bytes.
+ */
+final public class TileChunkIO {
+    private static final int MAGIC = 0x45415443; // EATC
+    private static final int VERSION = 1;
+
+    private TileChunkIO() {
+        // keine Objekte erlaubt!
+    }
+
+    /**
+     * Liest einen Block über den {@link ResourceLoader}.
+     *
+     * @param filename  Pfad zur Blockdatei.
+     * @param chunkSize Erwartete Kantenlänge des Blocks in Tiles.
+     *
+     * @return Die Tile-IDs des Blocks, Index <code>x * chunkSize + y</code>.
+     */
+    public static short[] load(String filename, int chunkSize) throws IOException {
+        try (InputStream stream = ResourceLoader.loadAsStream(filename)) {
+            return read(stream, chunkSize);
+        }
+    }
+
+    public static short[] read(InputStream stream, int chunkSize) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Ungültige Blockdatei: Magic fehlt");
+        }
+
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Nicht unterstützte Version der Blockdatei: " + version);
+        }
+
+        int size = in.readUnsignedByte();
+        if (size != chunkSize) {
+            throw new IOException("Blockgröße " + size + " passt nicht zur erwarteten Größe " + chunkSize);
+        }
+
+        short[] ids = new short[chunkSize * chunkSize];
+        int position = 0;
+
+        while (position < ids.length) {
+            int count = in.readUnsignedShort();
+            short id = in.readShort();
+
+            if (count == 0 || position + count > ids.length) {
+                throw new IOException("Ungültige Lauflänge in Blockdatei: " + count);
+            }
+
+            for (int end = position + count; position < end; position++) {
+                ids[position] = id;
+            }
+        }
+
+        return ids;
+    }
+
+    public static void write(OutputStream stream, short[] ids, int chunkSize) throws IOException {
+        if (ids.length != chunkSize * chunkSize) {
+            throw new IllegalArgumentException("Der Block muss genau " + chunkSize * chunkSize + " Tile-IDs enthalten, nicht " + ids.length);
+        }
+
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(chunkSize);
+
+        int position = 0;
+        while (position < ids.length) {
+            short id = ids[position];
+            int count = 1;
+
+            while (position + count < ids.length && ids[position + count] == id && count < 0xFFFF) {
+                count++;
+            }
+
+            out.writeShort(count);
+            out.writeShort(id);
+            position += count;
+        }
+
+        out.flush();
+    }
+}
@@ -6,6 +6,7 @@ import ea.actor.BodyType;
 import ea.collision.CollisionEvent;
 import ea.internal.annotations.Internal;
 import org.jbox2d.collision.AABB;
+import org.jbox2d.common.Transform;
 import org.jbox2d.common.Vec2;
 import org.jbox2d.dynamics.Body;
 import org.jbox2d.dynamics.Fixture;
@@ -39,6 +40,16 @@ public class BodyHandler implements PhysicsHandler {
 
     private BodyType type;
 
+    /**
+     * Hilfsvektor für Verschiebungen, wird nur bei gehaltener Sperre auf {@link #worldHandler} verwendet.
+     */
+    private final Vec2 moveTarget = new Vec2();
+
+    /**
+     * Die an diesem Body angemeldeten Kollisionslistener.
+     */
+    private final CollisionListeners collisionListeners = new CollisionListeners();
+
     /**
      * Erstellt einen neuen Body-Handler
      */
@@ -54,17 +65,29 @@ public class BodyHandler implements PhysicsHandler {
         return body;
     }
 
+    @Internal
+    CollisionListeners getCollisionListeners() {
+        return collisionListeners;
+    }
+
     @Override
     public void moveBy(Vector meters) {
+        moveBy(meters.getX(), meters.getY());
+    }
+
+    @Override
+    public void moveBy(float dX, float dY) {
         synchronized (worldHandler) {
             worldHandler.assertNoWorldStep();
 
-            Vec2 vector = meters.toVec2();
-            body.setTransform(vector.addLocal(body.getPosition()), body.getAngle());
+            Vec2 position = body.getPosition();
+            body.setTransform(moveTarget.set(position.x + dX, position.y + dY), body.getAngle());
 
             // Wake up body, ensures in-engine (JB2D) adjustments will happen, e.g. collision rejustment
             body.setAwake(true);
         }
+
+        worldHandler.getLayer().markActorsChanged();
     }
 
     @Override
@@ -89,23 +112,61 @@ public class BodyHandler implements PhysicsHandler {
         return false;
     }
 
+    @Override
+    public boolean calculateAABB(AABB result) {
+        boolean found = false;
+
+        for (Fixture fixture = body.m_fixtureList; fixture != null; fixture = fixture.m_next) {
+            // Ketten haben ein Kind je Segment, jedes mit eigener AABB
+            for (int child = 0; child < fixture.m_proxyCount; child++) {
+                if (found) {
+                    result.combine(fixture.getAABB(child));
+                } else {
+                    result.set(fixture.getAABB(child));
+                    found = true;
+                }
+            }
+        }
+
+        return found;
+    }
+
     @Override
     public Vector getPosition() {
         return Vector.of(body.getPosition());
     }
 
+    @Override
+    public float getX() {
+        return body.getPosition().x;
+    }
+
+    @Override
+    public float getY() {
+        return body.getPosition().y;
+    }
+
     @Override
     public float getRotation() {
         return (float) Math.toDegrees(body.getAngle());
     }
 
+    @Override
+    public void calculateInterpolatedTransform(Transform result) {
+        // Der Sweep enthält bereits den Zustand vor und nach dem letzten Physik-Schritt
+        body.m_sweep.getTransform(result, worldHandler.getInterpolationAlpha());
+    }
+
     @Override
     public void rotateBy(float degree) {
         synchronized (worldHandler) {
             worldHandler.assertNoWorldStep();
 
             body.setTransform(body.getPosition(), body.getAngle() + (float) Math.toRadians(degree));
+            worldHandler.markWorldChanged();
         }
+
+        worldHandler.getLayer().markActorsChanged();
     }
 
     @Override
@@ -114,7 +175,10 @@ public class BodyHandler implements PhysicsHandler {
             worldHandler.assertNoWorldStep();
 
             body.setTransform(body.getPosition(), (float) Math.toRadians((double) degree));
+            worldHandler.markWorldChanged();
         }
+
+        worldHandler.getLayer().markActorsChanged();
     }
 
     @Override
@@ -337,10 +401,7 @@ public class BodyHandler implements PhysicsHandler {
         bodyBounds.upperBound.x = -Float.MAX_VALUE;
         bodyBounds.upperBound.y = -Float.MAX_VALUE;
 
-        for (Fixture fixture = body.m_fixtureList; fixture != null; fixture = fixture.m_next) {
-            // TODO Include chain shapes (more than one child)
-            bodyBounds.combine(bodyBounds, fixture.getAABB(0));
-        }
+        calculateAABB(bodyBounds);
 
         return bodyBounds;
     }
@@ -383,7 +444,11 @@ public class BodyHandler implements PhysicsHandler {
             for (FixtureData fixtureData : fixtures.get()) {
                 body.createFixture(fixtureData.createFixtureDef(physicsData));
             }
+
+            worldHandler.markWorldChanged();
         }
+
+        worldHandler.getLayer().invalidateActorIndex();
     }
 
     @Override
@@ -0,0 +1,80 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.physics;
+
+import ea.actor.Actor;
+import ea.collision.CollisionListener;
+import ea.internal.annotations.Internal;
+
+import java.util.Arrays;
+
+/**
+ * Die an einem Body angemeldeten Kollisionslistener. Liegt direkt am {@link BodyHandler} des Bodys, sodass der
+ * {@link WorldHandler} sie über die Nutzerdaten des Bodys ohne Zwischentabelle findet.
+ * <p>
+ * Die Listener liegen in Arrays, die beim Anmelden kopiert werden. Das Durchlaufen erzeugt daher keine Iteratoren und
+ * ist ohne Sperre sicher, auch wenn gleichzeitig Listener angemeldet werden.
+ */
+@Internal
+final class CollisionListeners {
+    private static final CollisionListener<?>[] NO_LISTENERS = new CollisionListener<?>[0];
+    private static final WorldHandler.Checkup<?>[] NO_CHECKUPS = new WorldHandler.Checkup<?>[0];
+
+    /**
+     * Allgemeine Listener, die bei jeder Kollision des Bodys informiert werden.
+     */
+    private volatile CollisionListener<?>[] general = NO_LISTENERS;
+
+    /**
+     * Spezifische Listener, die nur bei Kollisionen mit einem bestimmten Body informiert werden.
+     */
+    private volatile WorldHandler.Checkup<?>[] specific = NO_CHECKUPS;
+
+    synchronized void addGeneral(CollisionListener<Actor> listener) {
+        CollisionListener<?>[] listeners = Arrays.copyOf(general, general.length + 1);
+        listeners[listeners.length - 1] = listener;
+        general = listeners;
+    }
+
+    synchronized void addSpecific(WorldHandler.Checkup<?> checkup) {
+        WorldHandler.Checkup<?>[] checkups = Arrays.copyOf(specific, specific.length + 1);
+        checkups[checkups.length - 1] = checkup;
+        specific = checkups;
+    }
+
+    /**
+     * @return Die allgemeinen Listener. Das Array darf nicht verändert werden.
+     */
+    CollisionListener<?>[] getGeneral() {
+        return general;
+    }
+
+    /**
+     * @return Die spezifischen Listener. Das Array darf nicht verändert werden.
+     */
+    WorldHandler.Checkup<?>[] getSpecific() {
+        return specific;
+    }
+
+    synchronized void clear() {
+        general = NO_LISTENERS;
+        specific = NO_CHECKUPS;
+    }
+}
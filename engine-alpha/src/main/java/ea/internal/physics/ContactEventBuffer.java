@@ -0,0 +1,154 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.physics;
+
+import ea.internal.annotations.Internal;
+import org.jbox2d.dynamics.Fixture;
+
+import java.util.Arrays;
+
+/**
+ * Puffer für Kontaktbeginne und -enden, die während eines World-Steps aufgezeichnet und danach gesammelt ausgeliefert
+ * werden. Pro Fixture-Paar gibt es höchstens einen Eintrag. Er merkt sich, ob das erste und das letzte Ereignis des
+ * Paares ein Beginn oder ein Ende war. Ereignisse dazwischen heben sich paarweise auf.
+ * <p>
+ * Einträge liegen in parallelen Arrays in Aufzeichnungsreihenfolge, der Index darauf ist eine Hashtabelle mit offener
+ * Adressierung und denselben Schlüsseln wie {@link FixturePairSet}. Nach {@link #clear()} werden alle Arrays
+ * wiederverwendet. Der Puffer ist nicht synchronisiert, er wird nur vom Thread des World-Steps verwendet.
+ */
+@Internal
+final class ContactEventBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Fixture[] fixturesA = new Fixture[INITIAL_CAPACITY];
+    private Fixture[] fixturesB = new Fixture[INITIAL_CAPACITY];
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private boolean[] firstBegin = new boolean[INITIAL_CAPACITY];
+    private boolean[] lastBegin = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Index in die Einträge plus eins, <code>0</code> markiert einen freien Platz.
+     */
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+
+    private int size;
+
+    /**
+     * Zeichnet einen Kontaktbeginn oder ein Kontaktende auf.
+     */
+    void record(Fixture a, Fixture b, boolean begin) {
+        long key = FixturePairSet.key(a, b);
+        int mask = table.length - 1;
+
+        for (int i = FixturePairSet.slot(key, mask); ; i = (i + 1) & mask) {
+            int entry = table[i] - 1;
+
+            if (entry == -1) {
+                if (size == fixturesA.length) {
+                    grow();
+                    record(a, b, begin);
+                    return;
+                }
+
+                table[i] = size + 1;
+                fixturesA[size] = a;
+                fixturesB[size] = b;
+                keys[size] = key;
+                firstBegin[size] = begin;
+                lastBegin[size] = begin;
+                size++;
+
+                return;
+            }
+
+            if (keys[entry] == key && matches(entry, a, b)) {
+                lastBegin[entry] = begin;
+                return;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    Fixture getFixtureA(int index) {
+        return fixturesA[index];
+    }
+
+    Fixture getFixtureB(int index) {
+        return fixturesB[index];
+    }
+
+    /**
+     * @return <code>true</code>, falls das erste aufgezeichnete Ereignis des Paares ein Kontaktbeginn war.
+     */
+    boolean isFirstBegin(int index) {
+        return firstBegin[index];
+    }
+
+    /**
+     * @return <code>true</code>, falls das letzte aufgezeichnete Ereignis des Paares ein Kontaktbeginn war.
+     */
+    boolean isLastBegin(int index) {
+        return lastBegin[index];
+    }
+
+    /**
+     * Entfernt alle Einträge, behält aber den Speicher.
+     */
+    void clear() {
+        if (size == 0) {
+            return;
+        }
+
+        Arrays.fill(fixturesA, 0, size, null);
+        Arrays.fill(fixturesB, 0, size, null);
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    private boolean matches(int index, Fixture a, Fixture b) {
+        return (fixturesA[index] == a && fixturesB[index] == b) || (fixturesA[index] == b && fixturesB[index] == a);
+    }
+
+    private void grow() {
+        int capacity = fixturesA.length * 2;
+
+        fixturesA = Arrays.copyOf(fixturesA, capacity);
+        fixturesB = Arrays.copyOf(fixturesB, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        firstBegin = Arrays.copyOf(firstBegin, capacity);
+        lastBegin = Arrays.copyOf(lastBegin, capacity);
+
+        // Füllgrad der Tabelle höchstens 50 %
+        table = new int[capacity * 2];
+        int mask = table.length - 1;
+
+        for (int entry = 0; entry < size; entry++) {
+            int i = FixturePairSet.slot(keys[entry], mask);
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+
+            table[i] = entry + 1;
+        }
+    }
+}
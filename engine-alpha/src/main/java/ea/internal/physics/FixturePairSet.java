@@ -0,0 +1,210 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.physics;
+
+import ea.internal.annotations.Internal;
+import org.jbox2d.dynamics.Fixture;
+
+/**
+ * Menge von ungeordneten Fixture-Paaren mit offener Adressierung. Der Schlüssel eines Paares ist ein primitiver
+ * <code>long</code> aus den beiden Identitäts-Hashes, kleinerer Hash zuerst, und damit unabhängig von der Reihenfolge
+ * der Fixtures. Die Fixtures selbst werden zusätzlich gespeichert, damit gleiche Identitäts-Hashes verschiedener
+ * Fixtures nicht zu falschen Treffern führen.
+ * <p>
+ * Nachschlagen erzeugt keine Objekte. Alle Zugriffe sind synchronisiert, da Kollisionsevents die Menge auch außerhalb
+ * des World-Steps verändern können. Solange die Menge leer ist, wird ohne Sperre geantwortet.
+ */
+@Internal
+public final class FixturePairSet {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Fixture[] first = new Fixture[INITIAL_CAPACITY];
+    private Fixture[] second = new Fixture[INITIAL_CAPACITY];
+
+    private volatile int size;
+
+    /**
+     * Fügt ein Paar hinzu.
+     *
+     * @return <code>false</code>, falls das Paar (in beliebiger Reihenfolge) bereits enthalten war.
+     */
+    @Internal
+    public synchronized boolean add(Fixture a, Fixture b) {
+        if (a == null || b == null) {
+            throw new IllegalArgumentException("Fixtures dürfen nicht null sein");
+        }
+
+        long key = key(a, b);
+        int mask = keys.length - 1;
+
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            if (first[i] == null) {
+                keys[i] = key;
+                first[i] = a;
+                second[i] = b;
+
+                // Füllgrad höchstens 50 %
+                if (++size * 2 > keys.length) {
+                    resize(keys.length * 2);
+                }
+
+                return true;
+            }
+
+            if (keys[i] == key && matches(i, a, b)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob ein Paar (in beliebiger Reihenfolge) enthalten ist.
+     */
+    @Internal
+    public boolean contains(Fixture a, Fixture b) {
+        if (size == 0) {
+            return false;
+        }
+
+        synchronized (this) {
+            return indexOf(a, b) != -1;
+        }
+    }
+
+    /**
+     * Entfernt ein Paar (in beliebiger Reihenfolge).
+     *
+     * @return <code>true</code>, falls das Paar enthalten war.
+     */
+    @Internal
+    public boolean remove(Fixture a, Fixture b) {
+        if (size == 0) {
+            return false;
+        }
+
+        synchronized (this) {
+            int index = indexOf(a, b);
+            if (index == -1) {
+                return false;
+            }
+
+            // Nachfolgende Einträge derselben Kette nachrücken lassen, damit keine Lücken entstehen
+            int mask = keys.length - 1;
+            int gap = index;
+
+            for (int i = (index + 1) & mask; first[i] != null; i = (i + 1) & mask) {
+                int home = slot(keys[i], mask);
+
+                // Eintrag darf nur nachrücken, wenn die Lücke zwischen seinem Zielplatz und seiner Position liegt
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = keys[i];
+                    first[gap] = first[i];
+                    second[gap] = second[i];
+                    gap = i;
+                }
+            }
+
+            first[gap] = null;
+            second[gap] = null;
+            size--;
+
+            return true;
+        }
+    }
+
+    /**
+     * Entfernt alle Paare.
+     */
+    @Internal
+    public synchronized void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        first = new Fixture[INITIAL_CAPACITY];
+        second = new Fixture[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * @return Anzahl der enthaltenen Paare.
+     */
+    @Internal
+    public int size() {
+        return size;
+    }
+
+    private int indexOf(Fixture a, Fixture b) {
+        long key = key(a, b);
+        int mask = keys.length - 1;
+
+        for (int i = slot(key, mask); first[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key && matches(i, a, b)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean matches(int index, Fixture a, Fixture b) {
+        return (first[index] == a && second[index] == b) || (first[index] == b && second[index] == a);
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Fixture[] oldFirst = first;
+        Fixture[] oldSecond = second;
+
+        keys = new long[capacity];
+        first = new Fixture[capacity];
+        second = new Fixture[capacity];
+
+        int mask = capacity - 1;
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldFirst[j] == null) {
+                continue;
+            }
+
+            int i = slot(oldKeys[j], mask);
+            while (first[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = oldKeys[j];
+            first[i] = oldFirst[j];
+            second[i] = oldSecond[j];
+        }
+    }
+
+    static long key(Fixture a, Fixture b) {
+        int hashA = System.identityHashCode(a);
+        int hashB = System.identityHashCode(b);
+
+        int lower = Math.min(hashA, hashB);
+        int higher = Math.max(hashA, hashB);
+
+        return ((long) lower << 32) | (higher & 0xFFFFFFFFL);
+    }
+
+    static int slot(long key, int mask) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
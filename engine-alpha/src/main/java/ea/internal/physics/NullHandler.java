@@ -32,29 +32,42 @@ public class NullHandler implements PhysicsHandler {
 
     @Override
     public void moveBy(Vector v) {
-        this.physicsData.setX(this.physicsData.getX() + v.getX());
-        this.physicsData.setY(this.physicsData.getY() + v.getY());
+        moveBy(v.getX(), v.getY());
+    }
+
+    @Override
+    public void moveBy(float dX, float dY) {
+        this.physicsData.setX(this.physicsData.getX() + dX);
+        this.physicsData.setY(this.physicsData.getY() + dY);
     }
 
     @Override
     public Vector getCenter() {
-        AABB bounds = null;
+        AABB bounds = new AABB();
+        calculateAABB(bounds);
+
+        return Vector.of(bounds.getCenter());
+    }
+
+    @Override
+    public boolean calculateAABB(AABB result) {
+        boolean empty = true;
         AABB shapeBounds = new AABB();
         Transform transform = new Transform();
+        transform.set(getPosition().toVec2(), (float) Math.toRadians(getRotation()));
 
         for (FixtureData fixtureData : physicsData.getFixtures().get()) {
-            transform.set(getPosition().toVec2(), (float) Math.toRadians(getRotation()));
             fixtureData.getShape().computeAABB(shapeBounds, transform, 0);
 
-            if (bounds != null) {
-                bounds.combine(shapeBounds);
+            if (empty) {
+                result.set(shapeBounds);
+                empty = false;
             } else {
-                bounds = new AABB();
-                bounds.set(shapeBounds);
+                result.combine(shapeBounds);
             }
         }
 
-        return Vector.of(bounds.getCenter());
+        return !empty;
     }
 
     /**
@@ -74,11 +87,27 @@ public class NullHandler implements PhysicsHandler {
         return new Vector(this.physicsData.getX(), this.physicsData.getY());
     }
 
+    @Override
+    public float getX() {
+        return this.physicsData.getX();
+    }
+
+    @Override
+    public float getY() {
+        return this.physicsData.getY();
+    }
+
     @Override
     public float getRotation() {
         return this.physicsData.getRotation();
     }
 
+    @Override
+    public void calculateInterpolatedTransform(Transform result) {
+        result.p.set(physicsData.getX(), physicsData.getY());
+        result.q.set((float) Math.toRadians(getRotation()));
+    }
+
     @Override
     public void rotateBy(float degree) {
         this.physicsData.setRotation(this.physicsData.getRotation() + degree);
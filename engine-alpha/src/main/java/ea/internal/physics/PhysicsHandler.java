@@ -5,6 +5,8 @@ import ea.actor.Actor;
 import ea.actor.BodyType;
 import ea.collision.CollisionEvent;
 import ea.internal.annotations.Internal;
+import org.jbox2d.collision.AABB;
+import org.jbox2d.common.Transform;
 import org.jbox2d.dynamics.Body;
 
 import java.util.List;
@@ -34,6 +36,15 @@ public interface PhysicsHandler {
     @Internal
     void moveBy(Vector v);
 
+    /**
+     * Verschiebt das Ziel-Objekt wie {@link #moveBy(Vector)}, ohne dafür einen Vector zu erzeugen.
+     *
+     * @param dX Die Verschiebung in X-Richtung.
+     * @param dY Die Verschiebung in Y-Richtung.
+     */
+    @Internal
+    void moveBy(float dX, float dY);
+
     /**
      * Gibt den <b>Gewichtsmittelpunkt</b> dieses <code>Actor</code>-Objekts aus.
      *
@@ -54,6 +65,19 @@ public interface PhysicsHandler {
     @Internal
     boolean contains(Vector p);
 
+    /**
+     * Berechnet die achsenparallele Bounding-Box (AABB) des Ziel-Objekts <b>in Weltkoordinaten</b>, basierend auf
+     * allen Fixtures.
+     *
+     * @param result Die AABB, in die das Ergebnis geschrieben wird. Wird wiederverwendet, damit beim Rendern keine
+     *               Objekte pro Frame erzeugt werden müssen.
+     *
+     * @return <code>true</code>, wenn eine Bounding-Box berechnet werden konnte. <code>false</code>, falls das
+     * Ziel-Objekt keine Fixtures hat. In diesem Fall ist <code>result</code> unverändert.
+     */
+    @Internal
+    boolean calculateAABB(AABB result);
+
     /**
      * Gibt die aktuelle Position des Ziel-Objekts an.
      *
@@ -63,6 +87,22 @@ public interface PhysicsHandler {
     @Internal
     Vector getPosition();
 
+    /**
+     * @return Die X-Koordinate der aktuellen Position, ohne dafür einen Vector zu erzeugen.
+     *
+     * @see #getPosition()
+     */
+    @Internal
+    float getX();
+
+    /**
+     * @return Die Y-Koordinate der aktuellen Position, ohne dafür einen Vector zu erzeugen.
+     *
+     * @see #getPosition()
+     */
+    @Internal
+    float getY();
+
     /**
      * Gibt die aktuelle Rotation des Ziel-Objekts in <i>Grad</i> an. Bei Erstellung eines
      * <code>Actor</code>-Objekts ist seine Rotation stets 0.
@@ -72,6 +112,17 @@ public interface PhysicsHandler {
     @Internal
     float getRotation();
 
+    /**
+     * Berechnet Position und Rotation des Ziel-Objekts zum Zeichnen, interpoliert zwischen den letzten beiden
+     * Physik-Schritten.
+     *
+     * @param result Die Transformation, in die das Ergebnis geschrieben wird.
+     *
+     * @see WorldHandler#getInterpolationAlpha()
+     */
+    @Internal
+    void calculateInterpolatedTransform(Transform result);
+
     /**
      * Rotiert das Ziel-Objekt um einen festen Winkel.
      *
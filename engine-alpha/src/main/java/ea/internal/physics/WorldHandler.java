@@ -15,14 +15,15 @@ import org.jbox2d.collision.Manifold;
 import org.jbox2d.common.Vec2;
 import org.jbox2d.dynamics.Body;
 import org.jbox2d.dynamics.BodyDef;
+import org.jbox2d.dynamics.BodyType;
 import org.jbox2d.dynamics.Fixture;
 import org.jbox2d.dynamics.World;
 import org.jbox2d.dynamics.contacts.Contact;
 import org.jbox2d.dynamics.contacts.ContactEdge;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -39,8 +40,20 @@ public class WorldHandler implements ContactListener {
     public static final int CATEGORY_DYNAMIC = 8;
     public static final int CATEGORY_PARTICLE = 16;
 
+    /**
+     * Standardlänge eines Physik-Teilschritts in Sekunden.
+     */
     public static final float STEP_TIME = 8f / 1000;
 
+    public static final int DEFAULT_VELOCITY_ITERATIONS = 6;
+    public static final int DEFAULT_POSITION_ITERATIONS = 3;
+
+    /**
+     * Standardobergrenze für Teilschritte pro Frame: keine. Jeder Frame simuliert die gesamte vergangene Zeit, eine
+     * Obergrenze muss bewusst gesetzt werden, da dabei Simulationszeit verworfen werden kann.
+     */
+    public static final int DEFAULT_MAX_STEPS = Integer.MAX_VALUE;
+
     /**
      * Das Layer, zu dem der WorldHandler gehört.
      */
@@ -57,21 +70,79 @@ public class WorldHandler implements ContactListener {
     private final World world;
 
     /**
-     * Hashmap, die alle spezifisch angegebenen Actor-Actor Kollisionsüberwachungen innehat.
+     * Enthält die Fixture-Paare der (noch nicht beendeten) Kontakte, die nicht aufgelöst werden sollen.
      */
-    private final Map<Body, List<Checkup>> specificCollisionListeners = new ConcurrentHashMap<>();
+    private final FixturePairSet contactsToIgnore = new FixturePairSet();
+
+    private float simulationAccumulator = 0;
 
     /**
-     * Hashmap, die sämtliche allgemeinen CollisionListener-Listener innehat.
+     * Länge eines Teilschritts in Sekunden.
      */
-    private final Map<Body, List<CollisionListener<Actor>>> generalCollisonListeners = new HashMap<>();
+    private volatile float stepTime = STEP_TIME;
+
+    private volatile int velocityIterations = DEFAULT_VELOCITY_ITERATIONS;
+    private volatile int positionIterations = DEFAULT_POSITION_ITERATIONS;
 
     /**
-     * Diese Liste enthält die (noch nicht beendeten) Kontakte, die nicht aufgelöst werden sollen.
+     * Höchstzahl an Teilschritten pro Aufruf von {@link #step(float)}.
      */
-    private final Collection<FixturePair> contactsToIgnore = new ArrayList<>();
+    private volatile int maxSteps = DEFAULT_MAX_STEPS;
 
-    private float simulationAccumulator = 0;
+    private volatile Layer.PhysicsOverflowPolicy overflowPolicy = Layer.PhysicsOverflowPolicy.DROP;
+
+    /**
+     * Anzahl der wachen bzw. schlafenden nicht-statischen Bodies vor dem letzten Step.
+     */
+    private volatile int awakeBodyCount = 0;
+    private volatile int sleepingBodyCount = 0;
+
+    /**
+     * Gibt an, ob seit dem letzten World-Step Fixtures erzeugt, entfernt oder versetzt wurden, siehe
+     * {@link #markWorldChanged()}. Nur dann darf der Step auch ohne wache Bodies nicht übersprungen werden.
+     */
+    private boolean worldChanged = true;
+
+    /**
+     * Anzahl der Bodies, Fixtures, Kontakte und Joints nach dem letzten World-Step. Erfasst Änderungen, die nicht über
+     * {@link #markWorldChanged()} gemeldet werden, z.B. entfernte Bodies.
+     */
+    private int steppedBodyCount = -1;
+    private int steppedProxyCount = -1;
+    private int steppedContactCount = -1;
+    private int steppedJointCount = -1;
+
+    /**
+     * Anzahl der Teilschritte, die wegen {@link #maxSteps} nicht simuliert wurden.
+     */
+    private volatile long droppedStepCount = 0;
+
+    /**
+     * Gibt an, ob Kollisionsevents wiederverwendet werden, siehe {@link #setCollisionEventPooling(boolean)}.
+     */
+    private volatile boolean collisionEventPooling = false;
+
+    /**
+     * Wiederverwendbare Kollisionsevents. Ein Eintrag pro Verschachtelungstiefe, da Listener selbst wieder Kontakte
+     * auslösen können (z.B. durch das Entfernen von Bodies).
+     */
+    private CollisionEvent<?>[] eventPool = new CollisionEvent<?>[4];
+
+    /**
+     * Anzahl der gerade vergebenen Events aus {@link #eventPool}.
+     */
+    private int eventPoolDepth = 0;
+
+    /**
+     * Gibt an, ob Kollisionslistener erst nach dem World-Step informiert werden, siehe
+     * {@link #setCollisionEventsDeferred(boolean)}.
+     */
+    private volatile boolean collisionEventsDeferred = false;
+
+    /**
+     * Während des World-Steps aufgezeichnete Kontakte, falls {@link #collisionEventsDeferred} aktiv ist.
+     */
+    private final ContactEventBuffer deferredContacts = new ContactEventBuffer();
 
     /**
      * Erstellt eine neue standardisierte Physik ohne Schwerkraft.
@@ -101,6 +172,39 @@ public class WorldHandler implements ContactListener {
         return this.worldPaused;
     }
 
+    /**
+     * Setzt, ob Kollisionsevents wiederverwendet werden. Wiederverwendete Events sind nur während des
+     * Listener-Aufrufs gültig, dafür erzeugt die Kollisionsverarbeitung keine Objekte mehr.
+     *
+     * @param collisionEventPooling <code>true</code>, um Events wiederzuverwenden.
+     */
+    @Internal
+    public void setCollisionEventPooling(boolean collisionEventPooling) {
+        this.collisionEventPooling = collisionEventPooling;
+    }
+
+    @Internal
+    public boolean isCollisionEventPooling() {
+        return collisionEventPooling;
+    }
+
+    /**
+     * Setzt, ob Kollisionslistener erst nach dem World-Step informiert werden. Kontakte werden dann während des
+     * Steps aufgezeichnet, über alle Teilschritte zusammengefasst und gesammelt ausgeliefert, wenn die World nicht
+     * mehr gesperrt ist.
+     *
+     * @param collisionEventsDeferred <code>true</code>, um Kollisionsevents nach dem World-Step auszuliefern.
+     */
+    @Internal
+    public void setCollisionEventsDeferred(boolean collisionEventsDeferred) {
+        this.collisionEventsDeferred = collisionEventsDeferred;
+    }
+
+    @Internal
+    public boolean isCollisionEventsDeferred() {
+        return collisionEventsDeferred;
+    }
+
     /**
      * Assertion-Methode, die sicherstellt, dass die (JBox2D-)World der gerade nicht im World-Step ist.
      * Dies ist wichtig für die Manipulation von Actors (Manipulation vieler physikalischen Eigenschaften während
@@ -116,6 +220,94 @@ public class WorldHandler implements ContactListener {
         }
     }
 
+    /**
+     * Gibt an, wie weit die Simulationszeit bereits in Richtung des nächsten Physik-Schritts fortgeschritten ist.
+     *
+     * @return Wert zwischen <code>0</code> (genau beim letzten Schritt) und <code>1</code> (kurz vor dem nächsten
+     * Schritt). Wird zur Interpolation beim Rendern verwendet.
+     */
+    @Internal
+    public float getInterpolationAlpha() {
+        return Math.min(1, simulationAccumulator / stepTime);
+    }
+
+    @Internal
+    public void setStepTime(float stepTime) {
+        if (!(stepTime > 0)) {
+            throw new IllegalArgumentException("Die Länge eines Physik-Schritts muss größer als 0 sein, war " + stepTime);
+        }
+
+        this.stepTime = stepTime;
+    }
+
+    @Internal
+    public float getStepTime() {
+        return stepTime;
+    }
+
+    @Internal
+    public void setIterations(int velocityIterations, int positionIterations) {
+        if (velocityIterations < 1 || positionIterations < 1) {
+            throw new IllegalArgumentException("Die Anzahl der Iterationen muss mindestens 1 sein, war " + velocityIterations + " bzw. " + positionIterations);
+        }
+
+        this.velocityIterations = velocityIterations;
+        this.positionIterations = positionIterations;
+    }
+
+    @Internal
+    public int getVelocityIterations() {
+        return velocityIterations;
+    }
+
+    @Internal
+    public int getPositionIterations() {
+        return positionIterations;
+    }
+
+    @Internal
+    public void setMaxSteps(int maxSteps) {
+        if (maxSteps < 1) {
+            throw new IllegalArgumentException("Die Höchstzahl an Physik-Schritten pro Frame muss mindestens 1 sein, war " + maxSteps);
+        }
+
+        this.maxSteps = maxSteps;
+    }
+
+    @Internal
+    public int getMaxSteps() {
+        return maxSteps;
+    }
+
+    @Internal
+    public void setOverflowPolicy(Layer.PhysicsOverflowPolicy overflowPolicy) {
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Die Überlaufstrategie darf nicht null sein");
+        }
+
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Internal
+    public Layer.PhysicsOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Internal
+    public int getAwakeBodyCount() {
+        return awakeBodyCount;
+    }
+
+    @Internal
+    public int getSleepingBodyCount() {
+        return sleepingBodyCount;
+    }
+
+    @Internal
+    public long getDroppedStepCount() {
+        return droppedStepCount;
+    }
+
     public void step(float deltaSeconds) {
         if (worldPaused) {
             return;
@@ -123,17 +315,151 @@ public class WorldHandler implements ContactListener {
 
         synchronized (this) {
             synchronized (this.world) {
+                float stepTime = this.stepTime;
+                int maxSteps = this.maxSteps;
+
                 // We use constant time frames for consistency
                 // https://gamedev.stackexchange.com/q/86609/38865
                 simulationAccumulator += deltaSeconds;
 
-                while (simulationAccumulator >= STEP_TIME) {
-                    simulationAccumulator -= STEP_TIME;
+                if (simulationAccumulator < stepTime) {
+                    return;
+                }
+
+                // Schläft alles und hat sich seit dem letzten Step nichts an Fixtures und Kontakten geändert, ändert
+                // ein Schritt nichts und kann übersprungen werden
+                countBodies();
+                boolean idle = awakeBodyCount == 0 && !hasWorldChanged();
+                int steps = 0;
+
+                while (simulationAccumulator >= stepTime) {
+                    if (steps == maxSteps) {
+                        // Obergrenze erreicht, sonst dauert der nächste Frame noch länger (spiral of death)
+                        int excessSteps = (int) (simulationAccumulator / stepTime);
+
+                        if (overflowPolicy == Layer.PhysicsOverflowPolicy.DROP) {
+                            simulationAccumulator -= excessSteps * stepTime;
+                            droppedStepCount += excessSteps;
+                        } else if (excessSteps > maxSteps) {
+                            simulationAccumulator -= (excessSteps - maxSteps) * stepTime;
+                            droppedStepCount += excessSteps - maxSteps;
+                        }
+
+                        break;
+                    }
+
+                    simulationAccumulator -= stepTime;
+                    steps++;
+
+                    if (!idle) {
+                        this.world.step(stepTime, velocityIterations, positionIterations);
+                    }
+                }
+
+                if (steps > 0 && !idle) {
+                    recordWorldState();
+                }
+            }
+
+            // Außerhalb der World-Sperre, damit Listener Bodies erzeugen und entfernen können
+            dispatchDeferredContacts();
+        }
+    }
+
+    /**
+     * Liefert die während des World-Steps aufgezeichneten Kontakte an die Listener aus. Pro Fixture-Paar wird das
+     * erste Ereignis ausgeliefert und, falls es sich davon unterscheidet, das letzte. Ein Kontakt, der innerhalb eines
+     * Frames beginnt und wieder endet, erzeugt so weiterhin Beginn und Ende.
+     */
+    @Internal
+    private void dispatchDeferredContacts() {
+        int size = deferredContacts.size();
+        if (size == 0) {
+            return;
+        }
+
+        try {
+            for (int i = 0; i < size; i++) {
+                Fixture fixtureA = deferredContacts.getFixtureA(i);
+                Fixture fixtureB = deferredContacts.getFixtureB(i);
+                Body b1 = fixtureA.getBody();
+                Body b2 = fixtureB.getBody();
+
+                if (b1 == null || b2 == null) {
+                    continue; // Fixture wurde inzwischen entfernt
+                }
+
+                // Beendete Kontakte hat JBox2D bereits wiederverwendet, es wird nur ein noch bestehender Kontakt übergeben
+                Contact contact = findContact(fixtureA, fixtureB);
+
+                boolean firstBegin = deferredContacts.isFirstBegin(i);
+                dispatchContact(b1, b2, contact, firstBegin);
+
+                boolean lastBegin = deferredContacts.isLastBegin(i);
+                if (lastBegin != firstBegin) {
+                    dispatchContact(b1, b2, contact, lastBegin);
+                }
+            }
+        } finally {
+            deferredContacts.clear();
+        }
+    }
+
+    private static Contact findContact(Fixture a, Fixture b) {
+        for (ContactEdge edge = a.getBody().getContactList(); edge != null; edge = edge.next) {
+            Contact contact = edge.contact;
+            if ((contact.m_fixtureA == a && contact.m_fixtureB == b) || (contact.m_fixtureA == b && contact.m_fixtureB == a)) {
+                return contact;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Meldet eine Änderung an Fixtures, die beim nächsten Step berücksichtigt werden muss, auch wenn alle Bodies
+     * schlafen (z.B. neue oder versetzte Fixtures, für die Kontakte gesucht werden müssen). Muss mit gehaltener Sperre
+     * auf diesen Handler aufgerufen werden.
+     */
+    @Internal
+    void markWorldChanged() {
+        worldChanged = true;
+    }
 
-                    this.world.step(STEP_TIME, 6, 3);
+    @Internal
+    private boolean hasWorldChanged() {
+        return worldChanged || world.getBodyCount() != steppedBodyCount || world.getProxyCount() != steppedProxyCount || world.getContactCount() != steppedContactCount || world.getJointCount() != steppedJointCount;
+    }
+
+    @Internal
+    private void recordWorldState() {
+        worldChanged = false;
+        steppedBodyCount = world.getBodyCount();
+        steppedProxyCount = world.getProxyCount();
+        steppedContactCount = world.getContactCount();
+        steppedJointCount = world.getJointCount();
+    }
+
+    /**
+     * Zählt die wachen und schlafenden nicht-statischen Bodies in einem Durchlauf.
+     */
+    @Internal
+    private void countBodies() {
+        int awake = 0;
+        int sleeping = 0;
+
+        for (Body body = world.getBodyList(); body != null; body = body.getNext()) {
+            if (body.getType() != BodyType.STATIC) {
+                if (body.isAwake()) {
+                    awake++;
+                } else {
+                    sleeping++;
                 }
             }
         }
+
+        awakeBodyCount = awake;
+        sleepingBodyCount = sleeping;
     }
 
     /**
@@ -163,8 +489,10 @@ public class WorldHandler implements ContactListener {
      */
     @Internal
     public void removeAllInternalReferences(Body body) {
-        specificCollisionListeners.remove(body);
-        generalCollisonListeners.remove(body);
+        CollisionListeners listeners = getCollisionListeners(body);
+        if (listeners != null) {
+            listeners.clear();
+        }
     }
 
     /**
@@ -173,7 +501,17 @@ public class WorldHandler implements ContactListener {
      */
     @Internal
     public void addContactToBlacklist(Contact contact) {
-        contactsToIgnore.add(new FixturePair(contact.m_fixtureA, contact.m_fixtureB));
+        contactsToIgnore.add(contact.m_fixtureA, contact.m_fixtureB);
+    }
+
+    /**
+     * Gibt die Anzahl der Kontakte aus, die gerade auf der Blacklist stehen.
+     *
+     * @return Anzahl der ignorierten Kontakte.
+     */
+    @Internal
+    public int getIgnoredContactCount() {
+        return contactsToIgnore.size();
     }
 
     /* ____________ CONTACT LISTENER INTERFACE ____________ */
@@ -205,98 +543,147 @@ public class WorldHandler implements ContactListener {
             return;
         }
 
+        if (collisionEventsDeferred && world.isLocked()) {
+            deferredContacts.record(contact.m_fixtureA, contact.m_fixtureB, isBegin);
+        } else {
+            dispatchContact(b1, b2, contact, isBegin);
+        }
+
+        if (!isBegin) {
+            //Contact ist beendet -> Set Enabled and remove from blacklist
+            contact.setEnabled(true);
+            contactsToIgnore.remove(contact.m_fixtureA, contact.m_fixtureB);
+        }
+    }
+
+    /**
+     * Informiert die Listener beider Bodies über einen Kontakt.
+     *
+     * @param contact Der Kontakt oder <code>null</code>, falls er bei verzögerter Auslieferung bereits beendet ist.
+     */
+    @Internal
+    private void dispatchContact(Body b1, Body b2, Contact contact, boolean isBegin) {
+        CollisionListeners listeners1 = getCollisionListeners(b1);
+        CollisionListeners listeners2 = getCollisionListeners(b2);
+
         /*
          * ~~~~~~~~~~~~~~~~~~~~~~~ TEIL I : Spezifische Checkups ~~~~~~~~~~~~~~~~~~~~~~~
          */
-
-        //Sortieren der Bodies.
-        Body lower, higher;
-        if (b1.hashCode() == b2.hashCode()) {
-            //Hashes sind gleich (blöde Sache!) -> beide Varianten probieren.
-            List<Checkup> result1 = specificCollisionListeners.get(b1);
-            if (result1 != null) {
-                for (Checkup c : result1) {
-                    c.checkCollision(b2, contact, isBegin);
-                }
-            }
-            List<Checkup> result2 = specificCollisionListeners.get(b2);
-            if (result2 != null) {
-                for (Checkup c : result2) {
-                    c.checkCollision(b1, contact, isBegin);
-                }
-            }
-        } else {
-            if (b1.hashCode() < b2.hashCode()) {
-                //f1 < f2
-                lower = b1;
-                higher = b2;
-            } else {
-                //f1 > f2
-                lower = b2;
-                higher = b1;
-            }
-            List<Checkup> result = specificCollisionListeners.get(lower);
-            if (result != null) {
-                for (Checkup c : result) {
-                    c.checkCollision(higher, contact, isBegin);
-                }
-            }
-        }
+        specificCheckup(listeners1, b2, contact, isBegin);
+        specificCheckup(listeners2, b1, contact, isBegin);
 
         /*
          * ~~~~~~~~~~~~~~~~~~~~~~~ TEIL II : Allgemeine Checkups ~~~~~~~~~~~~~~~~~~~~~~~
          */
-        generalCheckup(b1, b2, contact, isBegin);
-        generalCheckup(b2, b1, contact, isBegin);
+        generalCheckup(listeners1, b2, contact, isBegin);
+        generalCheckup(listeners2, b1, contact, isBegin);
+    }
 
-        if (!isBegin) {
-            //Contact ist beendet -> Set Enabled and remove from blacklist
-            contact.setEnabled(true);
-            //System.out.println("REMOVE");
-            removeFromBlacklist(contact);
+    /**
+     * Findet die Kollisionslistener eines Bodys über dessen Nutzerdaten.
+     *
+     * @return <code>null</code>, falls der Body (nicht mehr) zu einem angemeldeten Actor gehört.
+     */
+    @Internal
+    private static CollisionListeners getCollisionListeners(Body body) {
+        Object userData = body.getUserData();
+        if (!(userData instanceof Actor)) {
+            return null; // Is null on async removals
         }
+
+        PhysicsHandler physicsHandler = ((Actor) userData).getPhysicsHandler();
+        if (!(physicsHandler instanceof BodyHandler) || physicsHandler.getBody() != body) {
+            return null;
+        }
+
+        return ((BodyHandler) physicsHandler).getCollisionListeners();
     }
 
-    private void removeFromBlacklist(Contact contact) {
-        FixturePair fixturePair = null;
-        for (FixturePair ignoredPair : contactsToIgnore) {
-            if (ignoredPair.matches(contact.m_fixtureA, contact.m_fixtureB)) {
-                fixturePair = ignoredPair;
-                break;
-            }
+    @Internal
+    private void specificCheckup(CollisionListeners listeners, Body col, Contact contact, boolean isBegin) {
+        if (listeners == null) {
+            return;
         }
 
-        if (fixturePair != null) {
-            contactsToIgnore.remove(fixturePair);
+        for (Checkup<?> checkup : listeners.getSpecific()) {
+            if (checkup.body == col) {
+                checkup.dispatch(this, contact, isBegin);
+            }
         }
     }
 
     @Internal
-    private void generalCheckup(Body act, Body col, Contact contact, final boolean isBegin) {
-        List<CollisionListener<Actor>> list = generalCollisonListeners.get(act);
-        if (list != null) {
-            Actor other = (Actor)col.getUserData();
-            if (other == null) {
-                return; // Is null on async removals
-            }
+    @SuppressWarnings("unchecked")
+    private void generalCheckup(CollisionListeners listeners, Body col, Contact contact, final boolean isBegin) {
+        if (listeners == null) {
+            return;
+        }
 
-            CollisionEvent<Actor> collisionEvent = new CollisionEvent<>(contact, other);
-            for (CollisionListener<Actor> listener : list) {
+        CollisionListener<?>[] list = listeners.getGeneral();
+        if (list.length == 0) {
+            return;
+        }
+
+        Actor other = (Actor) col.getUserData();
+        if (other == null) {
+            return; // Is null on async removals
+        }
+
+        CollisionEvent<Actor> collisionEvent = acquireEvent(contact, other);
+        try {
+            for (CollisionListener<?> listener : list) {
                 if (isBegin) {
-                    listener.onCollision(collisionEvent);
+                    ((CollisionListener<Actor>) listener).onCollision(collisionEvent);
                 } else {
-                    listener.onCollisionEnd(collisionEvent);
+                    ((CollisionListener<Actor>) listener).onCollisionEnd(collisionEvent);
                 }
             }
+        } finally {
+            releaseEvent(collisionEvent);
+        }
+    }
+
+    /**
+     * Gibt ein Kollisionsevent für einen Listener-Aufruf aus. Ist {@link #setCollisionEventPooling(boolean)} aktiv,
+     * wird ein Event aus dem Pool wiederverwendet, das nach dem Aufruf mit {@link #releaseEvent(CollisionEvent)}
+     * zurückgegeben werden muss.
+     */
+    @Internal
+    @SuppressWarnings("unchecked")
+    private <E extends Actor> CollisionEvent<E> acquireEvent(Contact contact, E colliding) {
+        if (!collisionEventPooling) {
+            return new CollisionEvent<>(contact, colliding);
+        }
+
+        if (eventPoolDepth == eventPool.length) {
+            eventPool = Arrays.copyOf(eventPool, eventPool.length * 2);
+        }
+
+        CollisionEvent<E> event = (CollisionEvent<E>) eventPool[eventPoolDepth];
+        if (event == null) {
+            event = new CollisionEvent<>(contact, colliding);
+            eventPool[eventPoolDepth] = event;
+        } else {
+            event.reset(contact, colliding);
+        }
+
+        eventPoolDepth++;
+
+        return event;
+    }
+
+    @Internal
+    private void releaseEvent(CollisionEvent<?> event) {
+        if (eventPoolDepth > 0 && eventPool[eventPoolDepth - 1] == event) {
+            event.reset(null, null);
+            eventPoolDepth--;
         }
     }
 
     @Override
     public void preSolve(Contact contact, Manifold manifold) {
-        for (FixturePair ignoredPair : contactsToIgnore) {
-            if (ignoredPair.matches(contact.m_fixtureA, contact.m_fixtureB)) {
-                contact.setEnabled(false);
-            }
+        if (contactsToIgnore.contains(contact.m_fixtureA, contact.m_fixtureB)) {
+            contact.setEnabled(false);
         }
     }
 
@@ -339,9 +726,9 @@ public class WorldHandler implements ContactListener {
     /**
      * Speichert ein Korrespondierendes Body-Objekt sowie
      */
-    private static class Checkup<E extends Actor> {
+    static final class Checkup<E extends Actor> {
         private final CollisionListener<E> listener;  // Aufzurufen
-        private final Body body;                      // Der zweite Body (erster Body ist Hashmap-Schlüssel)
+        private final Body body;                      // Der zweite Body (erster Body hält die Listener)
         private final E collidingActor;               // Das Actor-Objekt, das neben dem Actor angemeldet wurde
 
         /**
@@ -357,14 +744,16 @@ public class WorldHandler implements ContactListener {
             this.collidingActor = collidingActor;
         }
 
-        public void checkCollision(Body body, Contact contact, boolean isBegin) {
-            if (this.body == body) {
-                CollisionEvent<E> collisionEvent = new CollisionEvent<>(contact, collidingActor);
+        private void dispatch(WorldHandler worldHandler, Contact contact, boolean isBegin) {
+            CollisionEvent<E> collisionEvent = worldHandler.acquireEvent(contact, collidingActor);
+            try {
                 if (isBegin) {
                     listener.onCollision(collisionEvent);
                 } else {
                     listener.onCollisionEnd(collisionEvent);
                 }
+            } finally {
+                worldHandler.releaseEvent(collisionEvent);
             }
         }
     }
@@ -378,13 +767,13 @@ public class WorldHandler implements ContactListener {
     @Internal
     public static void addGenericCollisionListener(CollisionListener<Actor> listener, Actor actor) {
         actor.addMountListener(() -> {
-            Body body = actor.getPhysicsHandler().getBody();
+            PhysicsHandler physicsHandler = actor.getPhysicsHandler();
 
-            if (body == null) {
+            if (!(physicsHandler instanceof BodyHandler)) {
                 throw new IllegalStateException("Body is missing on an Actor with an existing WorldHandler");
             }
 
-            actor.getPhysicsHandler().getWorldHandler().generalCollisonListeners.computeIfAbsent(body, key -> new CopyOnWriteArrayList<>()).add(listener);
+            ((BodyHandler) physicsHandler).getCollisionListeners().addGeneral(listener);
         });
     }
 
@@ -407,17 +796,8 @@ public class WorldHandler implements ContactListener {
                 return;
             }
 
-            Body lower, higher;
-            if (b1.hashCode() < b2.hashCode()) {
-                lower = b1;
-                higher = b2;
-            } else {
-                lower = b2;
-                higher = b1;
-            }
-
-            Checkup<E> checkup = new Checkup<>(listener, higher, collider);
-            worldHandler.specificCollisionListeners.computeIfAbsent(lower, key -> new CopyOnWriteArrayList<>()).add(checkup);
+            Checkup<E> checkup = new Checkup<>(listener, b2, collider);
+            ((BodyHandler) actor.getPhysicsHandler()).getCollisionListeners().addSpecific(checkup);
         });
     }
 
@@ -463,26 +843,4 @@ public class WorldHandler implements ContactListener {
 
         return releases;
     }
-
-    private static class FixturePair {
-        private final Fixture f1;
-        private final Fixture f2;
-
-        public FixturePair(Fixture b1, Fixture b2) {
-            this.f1 = b1;
-            this.f2 = b2;
-        }
-
-        /**
-         * Prüft dieses Body-Tupel auf Referenzgleichheit mit einem weiteren.
-         *
-         * @param a Body A
-         * @param b Body B
-         *
-         * @return this == (A|B)
-         */
-        public boolean matches(Fixture a, Fixture b) {
-            return (f1 == a && f2 == b) || (f1 == b && f2 == a);
-        }
-    }
 }
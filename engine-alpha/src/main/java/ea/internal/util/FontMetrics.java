@@ -24,18 +24,77 @@ import ea.Vector;
 import java.awt.Canvas;
 import java.awt.Font;
 import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Misst Texte. Die Ergebnisse werden pro Schrift und Inhalt zwischengespeichert, da sich z.B. Punktestände bei jedem
+ * Frame ändern, aber nur wenige verschiedene Werte annehmen.
+ */
 public final class FontMetrics {
+    private static final int MAX_CACHED_SIZES = 1024;
+
     private static final ThreadLocal<Canvas> canvas = ThreadLocal.withInitial(Canvas::new);
 
+    private static final Map<Font, Integer> descents = new HashMap<>();
+
+    private static final Map<LayoutKey, Vector> sizes = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LayoutKey, Vector> eldest) {
+            return size() > MAX_CACHED_SIZES;
+        }
+    };
+
     public static int getDescent(Font font) {
-        return canvas.get().getFontMetrics(font).getDescent();
+        synchronized (descents) {
+            return descents.computeIfAbsent(font, f -> canvas.get().getFontMetrics(f).getDescent());
+        }
     }
 
     public static Vector getSize(String content, Font font) {
+        LayoutKey key = new LayoutKey(content, font);
+
+        synchronized (sizes) {
+            Vector size = sizes.get(key);
+            if (size != null) {
+                return size;
+            }
+        }
+
         Canvas canvas = FontMetrics.canvas.get();
         Rectangle2D bounds = canvas.getFontMetrics(font).getStringBounds(content, canvas.getGraphics());
+        Vector size = new Vector(bounds.getWidth(), bounds.getHeight());
+
+        synchronized (sizes) {
+            sizes.put(key, size);
+        }
+
+        return size;
+    }
+
+    private static final class LayoutKey {
+        private final String content;
+        private final Font font;
+
+        private LayoutKey(String content, Font font) {
+            this.content = content;
+            this.font = font;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof LayoutKey)) {
+                return false;
+            }
+
+            LayoutKey other = (LayoutKey) o;
+            return content.equals(other.content) && font.equals(other.font);
+        }
 
-        return new Vector(bounds.getWidth(), bounds.getHeight());
+        @Override
+        public int hashCode() {
+            return 31 * content.hashCode() + font.hashCode();
+        }
     }
 }
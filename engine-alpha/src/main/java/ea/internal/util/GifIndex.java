@@ -0,0 +1,611 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.util;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+import ea.internal.io.ResourceLoader;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ein animiertes GIF, von dem beim Laden nur die Positionen der Frames in der Datei ermittelt werden. Die Frames
+ * werden erst bei Bedarf dekodiert: entweder alle auf einmal über {@link #getFrames()} oder nacheinander über einen
+ * {@link GifStream}, der nur wenige Frames gleichzeitig im Speicher hält.
+ * <p>
+ * Im Gegensatz zum {@link GifDecoder} wird jeder Frame direkt in ein <code>int[]</code> geschrieben und am Ende mit
+ * einer Kopie in sein Bild übertragen.
+ */
+@Internal
+public final class GifIndex {
+    private static final int MAX_STACK_SIZE = 4096;
+
+    private final byte[] data;
+    private final int width;
+    private final int height;
+    private final int backgroundColor;
+    private final Frame[] frames;
+
+    private BufferedImage[] decodedFrames;
+
+    private GifIndex(byte[] data, int width, int height, int backgroundColor, Frame[] frames) {
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.backgroundColor = backgroundColor;
+        this.frames = frames;
+    }
+
+    /**
+     * Liest eine GIF-Datei und ermittelt die Positionen aller Frames. Die Pixeldaten werden dabei nicht dekodiert.
+     *
+     * @param path Pfad der Datei.
+     *
+     * @return Das indizierte GIF.
+     */
+    @Internal
+    public static GifIndex read(String path) {
+        byte[] data;
+
+        try (InputStream stream = ResourceLoader.loadAsStream(path)) {
+            data = stream.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Das GIF konnte nicht geladen werden: " + path);
+        }
+
+        GifIndex index = parse(data);
+
+        if (index == null) {
+            throw new RuntimeException("Die Datei ist kein gültiges GIF: " + path);
+        }
+
+        return index;
+    }
+
+    /**
+     * @return Das indizierte GIF oder <code>null</code>, falls die Daten kein GIF mit mindestens einem Frame sind.
+     */
+    @Internal
+    static GifIndex parse(byte[] data) {
+        if (data.length < 13 || data[0] != 'G' || data[1] != 'I' || data[2] != 'F') {
+            return null;
+        }
+
+        int width = readShort(data, 6);
+        int height = readShort(data, 8);
+        int packed = data[10] & 0xff;
+        int backgroundIndex = data[11] & 0xff;
+        int position = 13;
+
+        int[] globalColors = null;
+
+        if ((packed & 0x80) != 0) {
+            int colorCount = 2 << (packed & 7);
+            globalColors = readColorTable(data, position, colorCount);
+            position += 3 * colorCount;
+        }
+
+        int backgroundColor = globalColors == null ? 0 : globalColors[backgroundIndex];
+
+        List<Frame> frames = new ArrayList<>();
+
+        // Werte der letzten Graphic Control Extension, gelten für den nächsten Frame
+        int dispose = 0;
+        boolean transparency = false;
+        int transparentIndex = 0;
+        int delay = 0;
+
+        while (position >= 0 && position < data.length) {
+            int code = data[position++] & 0xff;
+
+            if (code == 0x2C) {
+                // Image Descriptor
+                if (position + 9 > data.length) {
+                    break;
+                }
+
+                int x = readShort(data, position);
+                int y = readShort(data, position + 2);
+                int frameWidth = readShort(data, position + 4);
+                int frameHeight = readShort(data, position + 6);
+                int framePacked = data[position + 8] & 0xff;
+                position += 9;
+
+                int[] colors = globalColors;
+
+                if ((framePacked & 0x80) != 0) {
+                    int colorCount = 2 << (framePacked & 7);
+                    colors = readColorTable(data, position, colorCount);
+                    position += 3 * colorCount;
+                }
+
+                if (colors == null || position >= data.length) {
+                    break;
+                }
+
+                int dataOffset = position;
+                position = skipBlocks(data, position + 1);
+
+                if (position < 0) {
+                    break;
+                }
+
+                frames.add(new Frame(x, y, frameWidth, frameHeight, (framePacked & 0x40) != 0, colors,
+                        transparency ? transparentIndex : -1, dispose == 0 ? 1 : dispose, delay, dataOffset));
+
+                dispose = 0;
+                transparency = false;
+                delay = 0;
+            } else if (code == 0x21) {
+                // Extension
+                if (position + 1 >= data.length) {
+                    break;
+                }
+
+                int label = data[position++] & 0xff;
+
+                if (label == 0xF9 && position + 5 < data.length) {
+                    int controlPacked = data[position + 1] & 0xff;
+                    dispose = (controlPacked & 0x1c) >> 2;
+                    transparency = (controlPacked & 1) != 0;
+                    delay = readShort(data, position + 2) * 10;
+                    transparentIndex = data[position + 4] & 0xff;
+                }
+
+                position = skipBlocks(data, position);
+            } else if (code == 0x3B) {
+                // Trailer
+                break;
+            } else if (code != 0x00) {
+                break;
+            }
+        }
+
+        if (frames.isEmpty()) {
+            return null;
+        }
+
+        return new GifIndex(data, width, height, backgroundColor, frames.toArray(new Frame[0]));
+    }
+
+    private static int readShort(byte[] data, int position) {
+        return (data[position] & 0xff) | ((data[position + 1] & 0xff) << 8);
+    }
+
+    private static int[] readColorTable(byte[] data, int position, int colorCount) {
+        if (position + 3 * colorCount > data.length) {
+            return null;
+        }
+
+        // Immer 256 Einträge, damit beim Dekodieren keine Grenzen geprüft werden müssen
+        int[] colors = new int[256];
+
+        for (int i = 0; i < colorCount; i++) {
+            int offset = position + 3 * i;
+            colors[i] = 0xff000000 | (data[offset] & 0xff) << 16 | (data[offset + 1] & 0xff) << 8 | (data[offset + 2] & 0xff);
+        }
+
+        return colors;
+    }
+
+    /**
+     * Überspringt eine Folge von Datenblöcken bis einschließlich des leeren Abschlussblocks.
+     *
+     * @return Die Position nach dem Abschlussblock oder <code>-1</code>, falls die Datei vorher endet.
+     */
+    private static int skipBlocks(byte[] data, int position) {
+        while (position < data.length) {
+            int size = data[position] & 0xff;
+            position += size + 1;
+
+            if (size == 0) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    @API
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /**
+     * @param index Index des Frames.
+     *
+     * @return Die Anzeigedauer des Frames in Millisekunden.
+     */
+    @API
+    public int getDelay(int index) {
+        return frames[index].delay;
+    }
+
+    @API
+    public int getWidth() {
+        return width;
+    }
+
+    @API
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Dekodiert alle Frames. Das Ergebnis wird vorgehalten, weitere Aufrufe geben dieselben Bilder zurück.
+     *
+     * @return Alle Frames als eigene Bilder.
+     */
+    @API
+    public synchronized BufferedImage[] getFrames() {
+        if (decodedFrames == null) {
+            BufferedImage[] images = new BufferedImage[frames.length];
+            Decoder decoder = new Decoder();
+
+            for (int i = 0; i < frames.length; i++) {
+                decoder.advance();
+
+                images[i] = createImage();
+                decoder.copyTo(images[i]);
+            }
+
+            decodedFrames = images;
+        }
+
+        return decodedFrames.clone();
+    }
+
+    /**
+     * @return Speicherbedarf in Byte: die Rohdaten der Datei und, falls bereits über {@link #getFrames()} dekodiert,
+     * alle Frames.
+     */
+    @Internal
+    public synchronized long getSize() {
+        long size = data.length;
+
+        if (decodedFrames != null) {
+            size += 4L * width * height * decodedFrames.length;
+        }
+
+        return size;
+    }
+
+    /**
+     * Öffnet einen neuen {@link GifStream}, der die Frames nacheinander dekodiert.
+     *
+     * @return Ein neuer Stream, unabhängig von anderen Streams desselben GIFs.
+     */
+    @API
+    public GifStream openStream() {
+        return new GifStream(this);
+    }
+
+    @Internal
+    BufferedImage createImage() {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    /**
+     * Position und Darstellung eines Frames in der Datei.
+     */
+    private static final class Frame {
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+        private final boolean interlace;
+        private final int[] colors;
+        private final int transparentIndex;
+        private final int dispose;
+        private final int delay;
+
+        /**
+         * Position der LZW-Daten in der Datei, beginnend mit der minimalen Code-Länge.
+         */
+        private final int dataOffset;
+
+        private Frame(int x, int y, int width, int height, boolean interlace, int[] colors, int transparentIndex, int dispose, int delay, int dataOffset) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.interlace = interlace;
+            this.colors = colors;
+            this.transparentIndex = transparentIndex;
+            this.dispose = dispose;
+            this.delay = delay;
+            this.dataOffset = dataOffset;
+        }
+    }
+
+    /**
+     * Setzt die Frames nacheinander auf einer Zeichenfläche zusammen. Ein Frame hängt über die Disposal-Methode des
+     * vorherigen Frames von allen vorherigen Frames ab, daher kann nur vorwärts dekodiert werden.
+     */
+    @Internal
+    final class Decoder {
+        private final int[] canvas = new int[width * height];
+        private int[] saved;
+
+        private final short[] prefix = new short[MAX_STACK_SIZE];
+        private final byte[] suffix = new byte[MAX_STACK_SIZE];
+        private final int[] lengths = new int[MAX_STACK_SIZE];
+        private byte[] pixels = new byte[0];
+
+        /**
+         * Index des nächsten zu dekodierenden Frames.
+         */
+        private int next;
+
+        /**
+         * @return Index des nächsten Frames, den {@link #advance()} dekodiert.
+         */
+        @Internal
+        int getNext() {
+            return next;
+        }
+
+        /**
+         * Beginnt wieder beim ersten Frame.
+         */
+        @Internal
+        void reset() {
+            Arrays.fill(canvas, 0);
+            next = 0;
+        }
+
+        /**
+         * Überträgt die Zeichenfläche in ein Bild mit den Maßen des GIFs.
+         */
+        @Internal
+        void copyTo(BufferedImage image) {
+            image.getRaster().setDataElements(0, 0, width, height, canvas);
+        }
+
+        /**
+         * Dekodiert den nächsten Frame auf die Zeichenfläche. Nach dem letzten Frame beginnt es wieder beim ersten.
+         */
+        @Internal
+        void advance() {
+            if (next == frames.length) {
+                reset();
+            }
+
+            if (next > 0) {
+                dispose(frames[next - 1]);
+            }
+
+            Frame frame = frames[next];
+
+            if (frame.dispose == 3) {
+                if (saved == null) {
+                    saved = new int[canvas.length];
+                }
+
+                System.arraycopy(canvas, 0, saved, 0, canvas.length);
+            }
+
+            decodePixels(frame);
+            drawPixels(frame);
+
+            next++;
+        }
+
+        private void dispose(Frame frame) {
+            if (frame.dispose == 2 && frame.x < width) {
+                int color = frame.transparentIndex >= 0 ? 0 : backgroundColor;
+                int right = Math.min(frame.x + frame.width, width);
+                int bottom = Math.min(frame.y + frame.height, height);
+
+                for (int line = frame.y; line < bottom; line++) {
+                    Arrays.fill(canvas, line * width + frame.x, line * width + right, color);
+                }
+            } else if (frame.dispose == 3 && saved != null) {
+                System.arraycopy(saved, 0, canvas, 0, canvas.length);
+            }
+        }
+
+        private void drawPixels(Frame frame) {
+            int[] colors = frame.colors;
+            int transparentIndex = frame.transparentIndex;
+            int right = Math.min(frame.x + frame.width, width);
+
+            int pass = 1;
+            int increment = 8;
+            int interlacedLine = 0;
+
+            for (int i = 0; i < frame.height; i++) {
+                int line = i;
+
+                if (frame.interlace) {
+                    if (interlacedLine >= frame.height) {
+                        pass++;
+
+                        switch (pass) {
+                            case 2:
+                                interlacedLine = 4;
+                                break;
+                            case 3:
+                                interlacedLine = 2;
+                                increment = 4;
+                                break;
+                            case 4:
+                                interlacedLine = 1;
+                                increment = 2;
+                                break;
+                        }
+                    }
+
+                    line = interlacedLine;
+                    interlacedLine += increment;
+                }
+
+                line += frame.y;
+
+                if (line >= height) {
+                    continue;
+                }
+
+                int source = i * frame.width;
+                int offset = line * width;
+
+                for (int x = frame.x; x < right; x++) {
+                    int index = pixels[source++] & 0xff;
+
+                    if (index != transparentIndex) {
+                        canvas[offset + x] = colors[index];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Dekodiert die LZW-Daten eines Frames in {@link #pixels}. Anders als im {@link GifDecoder} wird jeder Code
+         * direkt rückwärts an seine Position geschrieben, statt jedes Pixel einzeln über einen Stack auszugeben.
+         */
+        private void decodePixels(Frame frame) {
+            int pixelCount = frame.width * frame.height;
+
+            if (pixels.length < pixelCount) {
+                pixels = new byte[pixelCount];
+            }
+
+            int position = frame.dataOffset;
+            int dataSize = data[position++] & 0xff;
+            int pi = 0;
+
+            if (dataSize < 1 || dataSize > 11) {
+                Arrays.fill(pixels, 0, pixelCount, (byte) 0);
+                return;
+            }
+
+            int clear = 1 << dataSize;
+            int endOfInformation = clear + 1;
+            int available = clear + 2;
+            int oldCode = -1;
+            int first = 0;
+            int codeSize = dataSize + 1;
+            int codeMask = (1 << codeSize) - 1;
+
+            for (int code = 0; code < clear; code++) {
+                suffix[code] = (byte) code;
+                lengths[code] = 1;
+            }
+
+            int datum = 0;
+            int bits = 0;
+            int count = 0;
+
+            decode:
+            while (pi < pixelCount) {
+                // Bytes laden, bis genug Bits für einen Code vorhanden sind
+                while (bits < codeSize) {
+                    if (count == 0) {
+                        count = position < data.length ? data[position++] & 0xff : 0;
+
+                        if (count == 0 || position + count > data.length) {
+                            break decode;
+                        }
+                    }
+
+                    datum |= (data[position++] & 0xff) << bits;
+                    bits += 8;
+                    count--;
+                }
+
+                int code = datum & codeMask;
+                datum >>>= codeSize;
+                bits -= codeSize;
+
+                if (code > available || code == endOfInformation) {
+                    break;
+                }
+
+                if (code == clear) {
+                    codeSize = dataSize + 1;
+                    codeMask = (1 << codeSize) - 1;
+                    available = clear + 2;
+                    oldCode = -1;
+                    continue;
+                }
+
+                if (oldCode == -1) {
+                    pixels[pi++] = suffix[code];
+                    oldCode = code;
+                    first = suffix[code] & 0xff;
+                    continue;
+                }
+
+                // Bei code == available ist der Code noch nicht in der Tabelle: vorheriger String plus dessen erstes Pixel
+                int string = code == available ? oldCode : code;
+                int end = pi + lengths[string];
+                int target = end - 1;
+
+                while (string >= clear) {
+                    if (target < pixelCount) {
+                        pixels[target] = suffix[string];
+                    }
+
+                    target--;
+                    string = prefix[string];
+                }
+
+                first = suffix[string] & 0xff;
+
+                if (target < pixelCount) {
+                    pixels[target] = (byte) first;
+                }
+
+                pi = end;
+
+                if (code == available) {
+                    if (pi < pixelCount) {
+                        pixels[pi] = (byte) first;
+                    }
+
+                    pi++;
+                }
+
+                if (available < MAX_STACK_SIZE) {
+                    prefix[available] = (short) oldCode;
+                    suffix[available] = (byte) first;
+                    lengths[available] = lengths[oldCode] + 1;
+                    available++;
+
+                    if ((available & codeMask) == 0 && available < MAX_STACK_SIZE) {
+                        codeSize++;
+                        codeMask += available;
+                    }
+                }
+
+                oldCode = code;
+            }
+
+            if (pi < pixelCount) {
+                Arrays.fill(pixels, pi, pixelCount, (byte) 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.util;
+
+import ea.internal.annotations.API;
+import ea.internal.annotations.Internal;
+import ea.internal.graphics.VolatileImageCache;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dekodiert die Frames eines {@link GifIndex} erst, wenn sie gebraucht werden. Es werden nur die zuletzt dekodierten
+ * Frames in einem kleinen Ringpuffer gehalten, der jeweils nächste Frame wird im Hintergrund vorbereitet. So bleibt
+ * der Speicherbedarf auch bei langen GIFs konstant.
+ * <p>
+ * Ein von {@link #getFrame(int)} zurückgegebenes Bild bleibt gültig, bis zwei weitere Frames abgefragt wurden. Es
+ * sollte deshalb direkt gezeichnet und nicht aufbewahrt werden.
+ */
+@Internal
+public final class GifStream {
+    /**
+     * Anzahl der Bilder im Ringpuffer. Neben dem aktuellen Frame müssen der vorherige Frame, der im Pipeline-Modus noch
+     * gezeichnet werden kann, und der vorbereitete nächste Frame Platz finden.
+     */
+    private static final int RING_SIZE = 4;
+
+    private static final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ea.gif");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final GifIndex gif;
+    private final GifIndex.Decoder decoder;
+
+    /**
+     * Schützt Decoder und Ringpuffer. Ein {@link ReentrantLock} statt <code>synchronized</code>, damit
+     * {@link #pollFrame(int)} nicht auf eine laufende Hintergrund-Dekodierung warten muss.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final BufferedImage[] images = new BufferedImage[RING_SIZE];
+    private final int[] imageFrames = new int[RING_SIZE];
+
+    /**
+     * Zeitpunkt der letzten Rückgabe je Bild, <code>0</code> für vorbereitete, noch nicht abgefragte Frames.
+     * Überschrieben wird immer das am längsten nicht zurückgegebene Bild.
+     */
+    private final long[] imageUses = new long[RING_SIZE];
+    private long clock;
+
+    /**
+     * Die Bilder, die zuletzt und davor zurückgegeben wurden. Sie können noch gezeichnet werden und werden deshalb nie
+     * überschrieben.
+     */
+    private int lastSlot = -1;
+    private int previousSlot = -1;
+
+    /**
+     * Das zuletzt zurückgegebene Bild, für {@link #pollFrame(int)}.
+     */
+    private volatile BufferedImage lastImage;
+
+    /**
+     * Frame, der gerade im Hintergrund dekodiert werden soll, sonst <code>-1</code>.
+     */
+    private int prefetching = -1;
+
+    @Internal
+    GifStream(GifIndex gif) {
+        this.gif = gif;
+        this.decoder = gif.new Decoder();
+
+        Arrays.fill(imageFrames, -1);
+    }
+
+    @API
+    public GifIndex getGif() {
+        return gif;
+    }
+
+    /**
+     * Gibt einen Frame aus und bereitet im Hintergrund den folgenden Frame vor. Frames sollten in aufsteigender
+     * Reihenfolge abgefragt werden, ein Sprung zurück dekodiert alle Frames ab dem ersten erneut.
+     *
+     * @param index Index des Frames.
+     *
+     * @return Das Bild des Frames, gültig bis zwei weitere Frames abgefragt wurden.
+     */
+    @API
+    public BufferedImage getFrame(int index) {
+        checkIndex(index);
+
+        lock.lock();
+
+        try {
+            return acquire(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wie {@link #getFrame(int)}, wartet aber nicht, falls gerade im Hintergrund ein Frame dekodiert wird. In diesem
+     * Fall wird das zuletzt zurückgegebene Bild erneut ausgegeben.
+     *
+     * @param index Index des Frames.
+     *
+     * @return Das Bild des Frames oder das zuletzt zurückgegebene Bild.
+     */
+    @Internal
+    public BufferedImage pollFrame(int index) {
+        checkIndex(index);
+
+        BufferedImage fallback = lastImage;
+
+        if (fallback == null) {
+            return getFrame(index);
+        }
+
+        if (!lock.tryLock()) {
+            return fallback;
+        }
+
+        try {
+            return acquire(index);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= gif.getFrameCount()) {
+            throw new IllegalArgumentException("Ungültiger Frame-Index " + index + ", das GIF hat " + gif.getFrameCount() + " Frames");
+        }
+    }
+
+    private BufferedImage acquire(int index) {
+        int slot = findSlot(index);
+
+        if (slot < 0) {
+            slot = decode(index);
+        }
+
+        imageUses[slot] = ++clock;
+
+        if (slot != lastSlot) {
+            previousSlot = lastSlot;
+            lastSlot = slot;
+        }
+
+        lastImage = images[slot];
+
+        prefetch((index + 1) % gif.getFrameCount());
+
+        return images[slot];
+    }
+
+    private int findSlot(int index) {
+        for (int i = 0; i < RING_SIZE; i++) {
+            if (imageFrames[i] == index) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int decode(int index) {
+        if (decoder.getNext() > index) {
+            decoder.reset();
+        }
+
+        while (decoder.getNext() <= index) {
+            decoder.advance();
+        }
+
+        int slot = -1;
+
+        for (int i = 0; i < RING_SIZE; i++) {
+            if (i == lastSlot || i == previousSlot) {
+                continue;
+            }
+
+            if (slot < 0 || imageUses[i] < imageUses[slot]) {
+                slot = i;
+            }
+        }
+
+        if (images[slot] == null) {
+            images[slot] = gif.createImage();
+        }
+
+        decoder.copyTo(images[slot]);
+        imageFrames[slot] = index;
+        imageUses[slot] = 0;
+
+        VolatileImageCache.invalidate(images[slot]);
+
+        return slot;
+    }
+
+    private void prefetch(int index) {
+        if (prefetching == index || findSlot(index) >= 0) {
+            return;
+        }
+
+        prefetching = index;
+
+        prefetcher.execute(() -> {
+            lock.lock();
+
+            try {
+                // Inzwischen wurde ein anderer Frame angefordert, dieser wird nicht mehr gebraucht
+                if (prefetching != index) {
+                    return;
+                }
+
+                prefetching = -1;
+
+                if (findSlot(index) < 0) {
+                    decode(index);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+}
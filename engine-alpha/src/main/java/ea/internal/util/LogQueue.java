@@ -0,0 +1,145 @@
+/*
+ * Engine Alpha ist eine anfängerorientierte 2D-Gaming Engine.
+ *
+ * Copyright (c) 2011 - 2020 Michael Andonie and contributors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package ea.internal.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Begrenzte, sperrfreie Warteschlange für Log-Einträge mit beliebig vielen schreibenden Threads. Gelesen werden darf
+ * immer nur von einem Thread gleichzeitig, der {@link Logger} stellt das über einen Lock sicher. Die Einträge werden beim Erstellen angelegt und wiederverwendet, ein Log-Aufruf erzeugt daher keine weiteren
+ * Objekte.
+ * <p>
+ * Jeder Platz trägt eine Sequenznummer, über die schreibende Threads freie Plätze reservieren und der lesende Thread
+ * fertig geschriebene Einträge erkennt (nach Dmitry Vyukov).
+ */
+final class LogQueue {
+    private final Entry[] entries;
+    private final int mask;
+
+    /**
+     * Nächste zu reservierende Position, wird von allen schreibenden Threads per CAS erhöht.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Nächste zu lesende Position, wird nur vom gerade lesenden Thread geschrieben.
+     */
+    private volatile long head;
+
+    LogQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Die Kapazität muss eine Zweierpotenz sein, war " + capacity);
+        }
+
+        entries = new Entry[capacity];
+        mask = capacity - 1;
+
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new Entry(i);
+        }
+    }
+
+    /**
+     * Fügt einen Eintrag hinzu, ohne zu blockieren.
+     *
+     * @return <code>false</code>, falls die Warteschlange voll ist.
+     */
+    boolean offer(long time, String type, String tag, String message, String filename, int line, boolean error, boolean printOnConsole) {
+        long position = tail.get();
+
+        while (true) {
+            Entry entry = entries[(int) position & mask];
+            long difference = entry.sequence - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entry.time = time;
+                    entry.type = type;
+                    entry.tag = tag;
+                    entry.message = message;
+                    entry.filename = filename;
+                    entry.line = line;
+                    entry.error = error;
+                    entry.printOnConsole = printOnConsole;
+
+                    // Veröffentlicht die Felder für den lesenden Thread
+                    entry.sequence = position + 1;
+
+                    return true;
+                }
+
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Gibt den nächsten fertig geschriebenen Eintrag aus. Der Eintrag muss mit {@link #release(Entry)} freigegeben
+     * werden, bevor der nächste gelesen wird. Darf nicht von mehreren Threads gleichzeitig aufgerufen werden.
+     *
+     * @return Der Eintrag oder <code>null</code>, falls keiner bereitsteht.
+     */
+    Entry peek() {
+        long position = head;
+        Entry entry = entries[(int) position & mask];
+
+        return entry.sequence == position + 1 ? entry : null;
+    }
+
+    void release(Entry entry) {
+        long position = head;
+
+        entry.type = null;
+        entry.tag = null;
+        entry.message = null;
+        entry.filename = null;
+        entry.sequence = position + entries.length;
+
+        head = position + 1;
+    }
+
+    /**
+     * @return <code>true</code>, wenn alle bisher reservierten Einträge gelesen wurden.
+     */
+    boolean isEmpty() {
+        return head >= tail.get();
+    }
+
+    static final class Entry {
+        private volatile long sequence;
+
+        long time;
+        String type;
+        String tag;
+        String message;
+        String filename;
+        int line;
+        boolean error;
+        boolean printOnConsole;
+
+        private Entry(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
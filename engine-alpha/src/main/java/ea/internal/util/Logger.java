@@ -20,32 +20,88 @@
 package ea.internal.util;
 
 import ea.Game;
+import ea.internal.annotations.API;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Logger für die Engine Alpha, damit Probleme bei Anwendern auch von Entwicklern nachvollzogen
  * werden können.
+ * <p>
+ * Standardmäßig schreibt jeder Aufruf direkt in die Log-Datei. Im asynchronen Modus (siehe
+ * {@link #setAsynchronous(boolean)}) werden Meldungen nur in eine Warteschlange gelegt und von einem eigenen Thread
+ * gesammelt formatiert und geschrieben, sodass Log-Aufrufe z.B. in Kollisions-Listenern den Frame kaum verzögern.
  *
  * @author Julien Gelmar {@literal <master@nownewstart.net>}
  * @author Niklas Keller {@literal <me@kelunik.com>}
  */
 final public class Logger {
+    /**
+     * Verhalten im asynchronen Modus, wenn die Warteschlange voll ist.
+     */
+    @API
+    public enum OverflowPolicy {
+        /**
+         * Die Meldung wird verworfen, der Aufruf kehrt sofort zurück. Die Anzahl verworfener Meldungen wird ins Log
+         * geschrieben.
+         */
+        DROP,
+
+        /**
+         * Der Aufruf wartet, bis wieder Platz in der Warteschlange ist.
+         */
+        BLOCK
+    }
+
+    private static final int QUEUE_CAPACITY = 8192;
+
+    /**
+     * Maximale Anzahl Meldungen, die vor einem Flush der Datei geschrieben werden.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * Maximale Wartezeit auf den Log-Thread beim Ausschalten des asynchronen Modus.
+     */
+    private static final long WORKER_JOIN_MILLIS = 1000;
+
+    private static final String DEFAULT_FILE = "engine-alpha.log";
+
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+    /**
+     * Alle Schreibzugriffe sind über {@link #fileLock} synchronisiert, ebenso das Lesen aus der Warteschlange.
+     */
     private static BufferedWriter writer;
 
+    private static final Object fileLock = new Object();
+
+    private static String file = DEFAULT_FILE;
+
+    private static volatile LogQueue queue;
+    private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private static volatile boolean callSiteCapture = true;
+    private static final AtomicLong dropped = new AtomicLong();
+    private static Thread worker;
+
     private Logger() {
         // keine Objekte erlaubt!
     }
 
     static {
         try {
-            writer = new BufferedWriter(new FileWriter("engine-alpha.log", false));
+            writer = new BufferedWriter(new FileWriter(DEFAULT_FILE, false));
         } catch (IOException e) {
-            File ea = new File("engine-alpha.log");
+            File ea = new File(DEFAULT_FILE);
 
             if (ea.isDirectory()) {
                 System.err.println("Logger konnte nicht initialisiert werden, da 'engine-alpha.log' ein Verzeichnis ist!");
@@ -61,8 +117,14 @@ final public class Logger {
 
         Runtime.getRuntime().addShutdownHook(new Thread() {
             public void run() {
+                // Beendet den Log-Thread, bevor die Datei geschlossen wird
+                setAsynchronous(false);
+                flush();
+
                 try {
-                    writer.close();
+                    synchronized (fileLock) {
+                        writer.close();
+                    }
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
@@ -70,22 +132,268 @@ final public class Logger {
         });
     }
 
+    /**
+     * Schreibt ab sofort in eine andere Log-Datei. Eine bestehende Datei wird dabei überschrieben.
+     *
+     * @param path Pfad der neuen Log-Datei. Standard ist <code>engine-alpha.log</code> im Arbeitsverzeichnis.
+     *
+     * @throws IOException Falls die Datei nicht geöffnet werden kann. Es wird dann weiter in die bisherige Datei
+     *                     geschrieben.
+     */
+    @API
+    public static void setFile(String path) throws IOException {
+        flush();
+
+        synchronized (fileLock) {
+            BufferedWriter previous = writer;
+
+            writer = new BufferedWriter(new FileWriter(path, false));
+            file = path;
+
+            previous.close();
+        }
+    }
+
+    /**
+     * @return Pfad der aktuellen Log-Datei.
+     */
+    @API
+    public static String getFile() {
+        synchronized (fileLock) {
+            return file;
+        }
+    }
+
+    /**
+     * Schaltet den asynchronen Modus ein oder aus. Beim Ausschalten werden alle noch wartenden Meldungen geschrieben,
+     * auch solche, die andere Threads noch während des Ausschaltens einreihen.
+     *
+     * @param asynchronous <code>true</code>, damit Meldungen von einem eigenen Thread geschrieben werden. Standard ist
+     *                     <code>false</code>.
+     */
+    @API
+    public static synchronized void setAsynchronous(boolean asynchronous) {
+        if (asynchronous == (queue != null)) {
+            return;
+        }
+
+        if (asynchronous) {
+            queue = new LogQueue(QUEUE_CAPACITY);
+
+            worker = new Thread(Logger::runWorker, "ea.logger");
+            worker.setDaemon(true);
+            worker.start();
+        } else {
+            LogQueue current = queue;
+
+            queue = null;
+
+            try {
+                worker.join(WORKER_JOIN_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            worker = null;
+
+            // Falls der Log-Thread nicht rechtzeitig fertig wurde
+            synchronized (fileLock) {
+                drain(current, Integer.MAX_VALUE);
+            }
+
+            flush();
+        }
+    }
+
+    @API
+    public static boolean isAsynchronous() {
+        return queue != null;
+    }
+
+    /**
+     * Setzt, was im asynchronen Modus bei voller Warteschlange passiert.
+     *
+     * @param policy Das Verhalten. Standard ist {@link OverflowPolicy#DROP}.
+     */
+    @API
+    public static void setOverflowPolicy(OverflowPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Das Verhalten darf nicht null sein");
+        }
+
+        overflowPolicy = policy;
+    }
+
+    @API
+    public static OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Setzt, ob Datei und Zeile des Aufrufs ins Log geschrieben werden. Das Ermitteln des Aufrufers ist der teuerste
+     * Teil eines Log-Aufrufs.
+     *
+     * @param callSiteCapture <code>true</code>, um Datei und Zeile zu ermitteln. Standard ist <code>true</code>.
+     */
+    @API
+    public static void setCallSiteCapture(boolean callSiteCapture) {
+        Logger.callSiteCapture = callSiteCapture;
+    }
+
+    @API
+    public static boolean isCallSiteCapture() {
+        return callSiteCapture;
+    }
+
+    /**
+     * @return Anzahl der Meldungen, die im asynchronen Modus wegen voller Warteschlange verworfen wurden.
+     */
+    @API
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Wartet, bis alle Meldungen in die Datei geschrieben wurden.
+     */
+    @API
+    public static void flush() {
+        LogQueue current = queue;
+
+        if (current != null) {
+            while (!current.isEmpty() && queue == current) {
+                LockSupport.parkNanos(IDLE_NANOS / 5);
+            }
+        }
+
+        try {
+            synchronized (fileLock) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Logger konnte die Log-Datei nicht schreiben");
+        }
+    }
+
+    /**
+     * Liest Meldungen aus der Warteschlange und schreibt sie gesammelt in die Datei.
+     */
+    private static void runWorker() {
+        LogQueue current = queue;
+
+        while (queue == current || !current.isEmpty()) {
+            int count;
+
+            synchronized (fileLock) {
+                count = drain(current, BATCH_SIZE);
+
+                if (count > 0) {
+                    try {
+                        writer.flush();
+                    } catch (IOException e) {
+                        System.err.println("Logger konnte die Log-Datei nicht schreiben");
+                    }
+                }
+            }
+
+            if (count == 0) {
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Schreibt bereitstehende Meldungen aus der Warteschlange. Muss mit gehaltenem {@link #fileLock} aufgerufen werden,
+     * damit immer nur ein Thread aus der Warteschlange liest.
+     *
+     * @param max Maximale Anzahl zu schreibender Meldungen.
+     *
+     * @return Anzahl geschriebener Meldungen.
+     */
+    private static int drain(LogQueue current, int max) {
+        long droppedCount = dropped.getAndSet(0);
+
+        if (droppedCount > 0) {
+            write(format(System.currentTimeMillis(), "WARNUNG", "Logger", droppedCount + " Meldungen wurden verworfen, da die Warteschlange voll war", null, 0));
+        }
+
+        int count = 0;
+        LogQueue.Entry entry;
+
+        while (count < max && (entry = current.peek()) != null) {
+            String text = format(entry.time, entry.type, entry.tag, entry.message, entry.filename, entry.line);
+
+            if (entry.printOnConsole) {
+                (entry.error ? System.err : System.out).println(text);
+            }
+
+            write(text);
+            current.release(entry);
+            count++;
+        }
+
+        return count;
+    }
+
     /**
      * Logger-Funktion für Warnungen
      *
      * @param s Text der Warnung
      */
     public static void warning(String s, String tag) {
-        StackTraceElement e = Thread.currentThread().getStackTrace()[2];
-        write("WARNUNG", tag, e.getFileName(), e.getLineNumber(), s);
+        log("WARNUNG", tag, s, false, true);
     }
 
-    private static String write(String type, String tag, String filename, int line, String message) {
-        return write(type, tag, filename, line, message, false, true);
+    /**
+     * Schreibt eine Meldung direkt oder legt sie im asynchronen Modus in die Warteschlange.
+     */
+    private static void log(String type, String tag, String message, boolean error, boolean printOnConsole) {
+        String filename = null;
+        int line = 0;
+
+        if (callSiteCapture) {
+            StackWalker.StackFrame caller = stackWalker.walk(frames -> frames.filter(frame -> !frame.getClassName().equals(Logger.class.getName())).findFirst()).orElse(null);
+
+            if (caller != null) {
+                filename = caller.getFileName();
+                line = caller.getLineNumber();
+            }
+        }
+
+        LogQueue current = queue;
+
+        if (current == null) {
+            write(type, tag, filename, line, message, error, printOnConsole);
+            return;
+        }
+
+        long time = System.currentTimeMillis();
+
+        while (!current.offer(time, type, tag, message, filename, line, error, printOnConsole)) {
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                dropped.incrementAndGet();
+                return;
+            }
+
+            if (queue != current) {
+                // Der asynchrone Modus wurde inzwischen ausgeschaltet, die Warteschlange wird nicht mehr geleert
+                write(type, tag, filename, line, message, error, printOnConsole);
+                return;
+            }
+
+            LockSupport.parkNanos(IDLE_NANOS / 5);
+        }
+
+        if (queue != current) {
+            // Eingereiht, nachdem der Log-Thread die Warteschlange verlassen haben kann: selbst schreiben
+            synchronized (fileLock) {
+                drain(current, Integer.MAX_VALUE);
+            }
+        }
     }
 
     private static String write(String type, String tag, String filename, int line, String message, boolean error, boolean printOnConsole) {
-        String str = String.format("[%s][%s][%s] %s (%s:%s)", getTime(), type, tag, message, filename, line);
+        String str = format(System.currentTimeMillis(), type, tag, message, filename, line);
 
         if (printOnConsole) {
             if (error) {
@@ -95,16 +403,28 @@ final public class Logger {
             }
         }
 
-        return write(str);
+        synchronized (fileLock) {
+            return write(str);
+        }
+    }
+
+    private static String format(long time, String type, String tag, String message, String filename, int line) {
+        if (filename == null) {
+            return String.format("[%s][%s][%s] %s", getTime(time), type, tag, message);
+        }
+
+        return String.format("[%s][%s][%s] %s (%s:%s)", getTime(time), type, tag, message, filename, line);
     }
 
     /**
      * Zeit im Log-Format
      *
+     * @param time Zeitpunkt in Millisekunden seit 1970
+     *
      * @return gibt die Zeit für die Logs zurück
      */
-    private static String getTime() {
-        return new Date().toString();
+    private static String getTime(long time) {
+        return new Date(time).toString();
     }
 
     /**
@@ -133,11 +453,12 @@ final public class Logger {
      * @param s Text des Fehlers
      */
     public static void error(String tag, String s) {
-        StackTraceElement e = Thread.currentThread().getStackTrace()[2];
-        write("ERROR", tag, e.getFileName(), e.getLineNumber(), s, true, true);
+        log("ERROR", tag, s, true, true);
 
         // TODO: Remove again
-        new RuntimeException().printStackTrace();
+        if (queue == null) {
+            new RuntimeException().printStackTrace();
+        }
     }
 
     /**
@@ -146,8 +467,7 @@ final public class Logger {
      * @param s Text der Information
      */
     public static void info(String tag, String s) {
-        StackTraceElement e = Thread.currentThread().getStackTrace()[2];
-        write("INFO", tag, e.getFileName(), e.getLineNumber(), s);
+        log("INFO", tag, s, false, true);
     }
 
     /**
@@ -163,8 +483,7 @@ final public class Logger {
      */
     public static void verboseInfo(String tag, String s) {
         if (ea.Game.isVerbose()) {
-            StackTraceElement e = Thread.currentThread().getStackTrace()[2];
-            write("VER", tag, e.getFileName(), e.getLineNumber(), s, false, false);
+            log("VER", tag, s, false, false);
         }
     }
 
@@ -178,7 +497,6 @@ final public class Logger {
      * @author Andonie
      */
     public static void debug(String tag, String s) {
-        StackTraceElement e = Thread.currentThread().getStackTrace()[2];
-        write("DEBUG", tag, e.getFileName(), e.getLineNumber(), s, false, Game.isDebug());
+        log("DEBUG", tag, s, false, Game.isDebug());
     }
-}
\ No newline at end of file
+}
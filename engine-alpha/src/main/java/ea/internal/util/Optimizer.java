@@ -29,7 +29,10 @@ import java.awt.image.ColorModel;
  * @author Niklas Keller {@literal <me@kelunik.com>}
  */
 final public class Optimizer {
-    private static final GraphicsConfiguration graphicsConfig = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    /**
+     * Konfiguration des Bildschirms, <code>null</code> ohne Bildschirm (z.B. auf einem Server).
+     */
+    private static final GraphicsConfiguration graphicsConfig = GraphicsEnvironment.isHeadless() ? null : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
 
     private Optimizer() {
         // keine Objekte erlaubt!
@@ -40,9 +43,13 @@ final public class Optimizer {
      *
      * @param img Image, das optimiert werden soll
      *
-     * @return optimiertes Image
+     * @return optimiertes Image, ohne Bildschirm das unveränderte Image
      */
     public static BufferedImage toCompatibleImage(BufferedImage img) {
+        if (graphicsConfig == null) {
+            return img;
+        }
+
         ColorModel a = img.getColorModel();
         ColorModel b = graphicsConfig.getColorModel(a.getTransparency());
 
@@ -58,4 +65,20 @@ final public class Optimizer {
 
         return compat;
     }
+
+    /**
+     * Erstellt ein leeres, transparentes Image, das für das Rendering auf dem Bildschirm des Anwenders optimiert ist.
+     *
+     * @param width  Breite in Pixel.
+     * @param height Höhe in Pixel.
+     *
+     * @return neues Image, ohne Bildschirm im Format ARGB
+     */
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        if (graphicsConfig == null) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        return graphicsConfig.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
 }
@@ -0,0 +1,55 @@
+package ea;
+
+import ea.internal.io.ImageLoader;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AssetManagerTest {
+    @Test
+    public void preloadsIntoCaches() {
+        ImageLoader.clearCache();
+        ImageLoader.resetStatistics();
+
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        AssetManager assets = new AssetManager().addImage("assets/logo.png", "assets/favicon.png").addImage("assets/missing.png");
+        assets.load(new AssetLoadListener() {
+            @Override
+            public void onProgress(String path, int loaded, int total) {
+                assertEquals(3, total);
+                progress.add(loaded);
+            }
+
+            @Override
+            public void onError(String path, RuntimeException exception) {
+                errors.add(path);
+            }
+        });
+        assets.await();
+
+        assertTrue(assets.isDone());
+        assertEquals(1, assets.getProgress(), 0);
+        assertEquals(2, assets.getLoadedCount());
+        assertEquals(1, assets.getFailedCount());
+        assertEquals(Collections.singletonList("assets/missing.png"), errors);
+        assertEquals(List.of(1, 2, 3), progress);
+
+        ImageLoader.resetStatistics();
+        ImageLoader.load("assets/logo.png");
+        assertEquals(1, ImageLoader.getHitCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsAssetsAfterStart() {
+        AssetManager assets = new AssetManager();
+        assets.load();
+        assets.addImage("assets/logo.png");
+    }
+}
@@ -0,0 +1,123 @@
+package ea;
+
+import ea.actor.BodyType;
+import ea.actor.Rectangle;
+import ea.collision.CollisionEvent;
+import ea.internal.physics.WorldHandler;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CollisionDispatchTest {
+    private Layer layer;
+    private Rectangle ground;
+    private Rectangle box;
+
+    @Before
+    public void setup() {
+        layer = new Layer();
+        layer.setGravity(new Vector(0, -10));
+
+        ground = new Rectangle(10, 1);
+        ground.setPosition(-5, -1);
+        ground.setBodyType(BodyType.STATIC);
+
+        box = new Rectangle(1, 1);
+        box.setPosition(0, 0.5f);
+        box.setBodyType(BodyType.DYNAMIC);
+
+        layer.add(ground, box);
+        layer.invokeFrameUpdateListeners(0);
+    }
+
+    @Test
+    public void generalAndSpecificListeners() {
+        List<Object> general = new ArrayList<>();
+        List<Object> specific = new ArrayList<>();
+
+        box.addCollisionListener(event -> general.add(event.getColliding()));
+        box.addCollisionListener(ground, event -> specific.add(event.getColliding()));
+
+        step();
+
+        assertEquals(1, general.size());
+        assertSame(ground, general.get(0));
+        assertEquals(1, specific.size());
+        assertSame(ground, specific.get(0));
+    }
+
+    @Test
+    public void pooledEventsAreReused() {
+        layer.setCollisionEventPooling(true);
+        assertTrue(layer.isCollisionEventPooling());
+
+        List<CollisionEvent<?>> events = new ArrayList<>();
+        float[] normal = new float[3];
+
+        box.addCollisionListener(event -> {
+            events.add(event);
+            normal[0] = event.getNormalX();
+            normal[1] = event.getNormalY();
+            normal[2] = event.getPointCount();
+        });
+        ground.addCollisionListener(events::add);
+
+        step();
+
+        assertEquals(2, events.size());
+        assertSame(events.get(0), events.get(1));
+        assertNull(events.get(0).getColliding());
+
+        // Die Normale zeigt vom Kollisionspartner weg, wie bei getTangentNormal()
+        assertEquals(0, normal[0], 0.001f);
+        assertEquals(1, Math.abs(normal[1]), 0.001f);
+        assertTrue(normal[2] > 0);
+    }
+
+    @Test
+    public void deferredEventsRunAfterWorldStep() {
+        layer.setCollisionEventsDeferred(true);
+        assertTrue(layer.isCollisionEventsDeferred());
+
+        List<Boolean> locked = new ArrayList<>();
+
+        box.addCollisionListener(ground, event -> {
+            locked.add(layer.getWorldHandler().getWorld().isLocked());
+            assertTrue(event.getPointCount() > 0);
+
+            // Während des World-Steps wäre das nicht erlaubt
+            box.setPosition(0, 5);
+        });
+
+        step();
+
+        assertEquals(Collections.singletonList(false), locked);
+        assertEquals(5, box.getY(), 0.5f);
+    }
+
+    @Test
+    public void removedActorsReceiveNoEvents() {
+        List<Object> general = new ArrayList<>();
+        box.addCollisionListener(event -> general.add(event.getColliding()));
+
+        layer.remove(box);
+        layer.invokeFrameUpdateListeners(0);
+        step();
+
+        assertEquals(0, general.size());
+    }
+
+    private void step() {
+        for (int i = 0; i < 60; i++) {
+            layer.step(WorldHandler.STEP_TIME);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ea;
+
+import ea.internal.graphics.DoubleBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class DoubleBufferTest {
+    @Test
+    public void producerNeverWritesConsumedBuffer() throws InterruptedException {
+        DoubleBuffer<StringBuilder> buffer = new DoubleBuffer<>(StringBuilder::new);
+
+        StringBuilder first = buffer.acquire();
+        buffer.publish(first);
+
+        StringBuilder consumed = buffer.take();
+        assertSame(first, consumed);
+
+        StringBuilder second = buffer.acquire();
+        assertNotSame(consumed, second);
+        buffer.publish(second);
+
+        // Solange der erste Puffer gelesen wird, wird der zweite erneut befüllt
+        assertSame(second, buffer.acquire());
+
+        buffer.release(consumed);
+        assertSame(first, buffer.acquire());
+    }
+
+    @Test
+    public void consumerGetsLatestBuffer() throws InterruptedException {
+        DoubleBuffer<StringBuilder> buffer = new DoubleBuffer<>(StringBuilder::new);
+
+        StringBuilder first = buffer.acquire();
+        buffer.publish(first);
+
+        StringBuilder second = buffer.acquire();
+        buffer.publish(second);
+
+        assertSame(second, buffer.take());
+    }
+}
@@ -0,0 +1,55 @@
+package ea;
+
+import ea.internal.physics.FixturePairSet;
+import org.jbox2d.dynamics.Fixture;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FixturePairSetTest {
+    @Test
+    public void pairsAreOrderIndependent() {
+        FixturePairSet set = new FixturePairSet();
+        Fixture a = new Fixture();
+        Fixture b = new Fixture();
+        Fixture c = new Fixture();
+
+        assertTrue(set.add(a, b));
+        assertFalse(set.add(b, a));
+        assertEquals(1, set.size());
+
+        assertTrue(set.contains(a, b));
+        assertTrue(set.contains(b, a));
+        assertFalse(set.contains(a, c));
+
+        assertTrue(set.remove(b, a));
+        assertFalse(set.contains(a, b));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    public void removeKeepsOtherPairsReachable() {
+        FixturePairSet set = new FixturePairSet();
+        Fixture[] fixtures = new Fixture[200];
+
+        for (int i = 0; i < fixtures.length; i++) {
+            fixtures[i] = new Fixture();
+        }
+
+        for (int i = 1; i < fixtures.length; i++) {
+            set.add(fixtures[i - 1], fixtures[i]);
+        }
+
+        for (int i = 1; i < fixtures.length; i += 2) {
+            assertTrue(set.remove(fixtures[i], fixtures[i - 1]));
+        }
+
+        assertEquals((fixtures.length - 1) / 2, set.size());
+
+        for (int i = 1; i < fixtures.length; i++) {
+            assertEquals(i % 2 == 0, set.contains(fixtures[i - 1], fixtures[i]));
+        }
+    }
+}
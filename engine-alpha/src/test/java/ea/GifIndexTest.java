@@ -0,0 +1,121 @@
+package ea;
+
+import ea.internal.io.GifLoader;
+import ea.internal.util.GifDecoder;
+import ea.internal.util.GifIndex;
+import ea.internal.util.GifStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class GifIndexTest {
+    private static final int FRAME_COUNT = 5;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String path;
+
+    @Before
+    public void setup() throws IOException {
+        File file = folder.newFile("test.gif");
+        path = file.getAbsolutePath();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(output);
+            writer.prepareWriteSequence(null);
+
+            for (int i = 0; i < FRAME_COUNT; i++) {
+                BufferedImage frame = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = frame.createGraphics();
+                g.setColor(Color.BLUE);
+                g.fillRect(0, 0, 40, 30);
+                g.setColor(Color.YELLOW);
+                g.fillRect(i * 6, i * 4, 10, 10);
+                g.dispose();
+
+                writer.writeToSequence(new IIOImage(frame, null, null), null);
+            }
+
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    @After
+    public void cleanup() {
+        GifLoader.setMaxCacheSize(64 * 1024 * 1024);
+        GifLoader.clearCache();
+    }
+
+    @Test
+    public void decodesLikeGifDecoder() {
+        GifDecoder decoder = new GifDecoder();
+        decoder.read(new File(path).toURI().toString());
+
+        GifIndex gif = GifIndex.read(path);
+        BufferedImage[] frames = gif.getFrames();
+
+        assertEquals(decoder.getFrameCount(), gif.getFrameCount());
+
+        for (int i = 0; i < frames.length; i++) {
+            assertArrayEquals(getPixels(decoder.getFrame(i)), getPixels(frames[i]));
+            assertEquals(decoder.getDelay(i), gif.getDelay(i));
+        }
+    }
+
+    @Test
+    public void streamsFramesInAnyOrder() {
+        GifIndex gif = GifIndex.read(path);
+        BufferedImage[] frames = gif.getFrames();
+        GifStream stream = gif.openStream();
+
+        int[] order = {0, 1, 2, 3, 4, 0, 1, 3, 2, 4, 4};
+
+        for (int index : order) {
+            assertArrayEquals(getPixels(frames[index]), getPixels(stream.getFrame(index)));
+        }
+    }
+
+    @Test
+    public void loaderCountsDecodedFramesAgainstBudget() {
+        GifIndex gif = GifLoader.load(path);
+        long indexSize = GifLoader.getCacheSize();
+
+        assertSame(gif, GifLoader.load(path));
+        assertEquals(gif.getSize(), indexSize);
+
+        gif.getFrames();
+
+        assertEquals(indexSize + 4L * 40 * 30 * FRAME_COUNT, GifLoader.getCacheSize());
+
+        GifLoader.setMaxCacheSize(GifLoader.getCacheSize() - 1);
+
+        assertEquals(0, GifLoader.getCacheSize());
+        assertNotSame(gif, GifLoader.load(path));
+    }
+
+    private static int[] getPixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+}
@@ -0,0 +1,52 @@
+package ea;
+
+import ea.internal.graphics.GlyphAtlas;
+import ea.internal.graphics.GlyphRun;
+import org.junit.After;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Font;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GlyphAtlasTest {
+    @After
+    public void cleanup() {
+        GlyphAtlas.clear();
+    }
+
+    @Test
+    public void fontSizeBuckets() {
+        assertEquals(1, GlyphAtlas.getFontSize(0.2f));
+        assertEquals(12, GlyphAtlas.getFontSize(12.1f));
+        assertEquals(13, GlyphAtlas.getFontSize(12.5f));
+        assertEquals(33, GlyphAtlas.getFontSize(33));
+    }
+
+    @Test
+    public void reusesLayouts() {
+        Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 1000);
+        GlyphRun run = GlyphAtlas.getRun("Score: 42", font, 20, Color.WHITE);
+
+        assertSame(run, GlyphAtlas.getRun("Score: 42", font, 20, Color.WHITE));
+        assertNotSame(run, GlyphAtlas.getRun("Score: 42", font, 20, Color.RED));
+        assertNotSame(run, GlyphAtlas.getRun("Score: 43", font, 20, Color.WHITE));
+        assertTrue(run.matches(20, Color.WHITE.getRGB()));
+    }
+
+    @Test
+    public void boundsCachedGlyphs() {
+        Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 1000);
+
+        for (int i = 0; i < 220; i++) {
+            GlyphAtlas.getRun("ABCDEFGHIJ", font, 12, new Color(i));
+            assertTrue(GlyphAtlas.getGlyphCount() <= GlyphAtlas.MAX_GLYPHS);
+        }
+
+        assertTrue(GlyphAtlas.getGlyphCount() > 0);
+    }
+}
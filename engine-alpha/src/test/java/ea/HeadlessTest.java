@@ -0,0 +1,97 @@
+package ea;
+
+import ea.actor.BodyType;
+import ea.actor.Rectangle;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HeadlessTest {
+    private static float simulateFall() {
+        Scene scene = new Scene();
+        scene.setGravity(new Vector(0, -10));
+
+        Rectangle rectangle = new Rectangle(1, 1);
+        rectangle.setBodyType(BodyType.DYNAMIC);
+        scene.add(rectangle);
+
+        Game.startHeadless(scene, 120);
+
+        return rectangle.getPosition().getY();
+    }
+
+    @Test
+    public void virtualClockIsDeterministic() {
+        float first = simulateFall();
+        float second = simulateFall();
+
+        assertTrue(first < -1);
+        assertEquals(first, second, 0);
+    }
+
+    @Test
+    public void renderInterval() {
+        Scene scene = new Scene();
+        scene.add(new Rectangle(1, 1));
+
+        AtomicInteger frames = new AtomicInteger();
+        AtomicInteger rendered = new AtomicInteger();
+
+        scene.addFrameUpdateListener(deltaSeconds -> frames.incrementAndGet());
+
+        Game.startHeadless(scene, 100, true, 64, 48, 10, image -> {
+            assertEquals(64, image.getWidth());
+            assertEquals(48, image.getHeight());
+            rendered.incrementAndGet();
+        });
+
+        assertEquals(100, frames.get());
+        assertEquals(10, rendered.get());
+        assertFalse(Game.isRunning());
+    }
+
+    @Test
+    public void frameStats() {
+        Scene scene = new Scene();
+        scene.add(new Rectangle(1, 1));
+
+        Game.startHeadless(scene, 50, true, 64, 48, 5, image -> {
+            // nicht benötigt
+        });
+
+        FrameStats stats = Game.getFrameStats();
+
+        assertEquals(50, stats.getPhase(FramePhase.PHYSICS).getSampleCount());
+        assertEquals(50, stats.getPhase(FramePhase.LISTENERS).getSampleCount());
+        assertEquals(10, stats.getPhase(FramePhase.RENDER).getSampleCount());
+        assertEquals(10, stats.getPhase(FramePhase.PRESENT).getSampleCount());
+        assertEquals(49, stats.getFrame().getSampleCount());
+        assertEquals(50, scene.getMainLayer().getStepStats().getSampleCount());
+
+        TimingStats physics = stats.getPhase(FramePhase.PHYSICS);
+        assertTrue(physics.getMedian() <= physics.getPercentile95());
+        assertTrue(physics.getPercentile95() <= physics.getPercentile99());
+        assertTrue(physics.getPercentile99() <= physics.getMax());
+    }
+
+    @Test
+    public void exitStopsHeadlessRun() {
+        Scene scene = new Scene();
+        AtomicInteger frames = new AtomicInteger();
+
+        scene.addFrameUpdateListener(deltaSeconds -> {
+            if (frames.incrementAndGet() == 5) {
+                Game.exit();
+            }
+        });
+
+        Game.startHeadless(scene, 100);
+
+        assertEquals(5, frames.get());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+}
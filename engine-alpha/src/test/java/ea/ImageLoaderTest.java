@@ -0,0 +1,82 @@
+package ea;
+
+import ea.internal.io.ImageLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ImageLoaderTest {
+    private static final String LOGO = "assets/logo.png";
+    private static final String FAVICON = "assets/favicon.png";
+
+    @Before
+    public void setup() {
+        ImageLoader.clearCache();
+        ImageLoader.resetStatistics();
+    }
+
+    @After
+    public void cleanup() {
+        ImageLoader.setMaxCacheSize(256 * 1024 * 1024);
+        ImageLoader.clearCache();
+    }
+
+    @Test
+    public void cachesImages() {
+        BufferedImage image = ImageLoader.load(LOGO);
+
+        assertSame(image, ImageLoader.load(LOGO));
+        assertEquals(1, ImageLoader.getMissCount());
+        assertEquals(1, ImageLoader.getHitCount());
+        assertEquals((long) image.getWidth() * image.getHeight() * image.getColorModel().getPixelSize() / 8, ImageLoader.getCacheSize());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        BufferedImage logo = ImageLoader.load(LOGO);
+        BufferedImage favicon = ImageLoader.load(FAVICON);
+
+        ImageLoader.load(LOGO);
+        ImageLoader.setMaxCacheSize(ImageLoader.getCacheSize() - 1);
+
+        assertEquals(1, ImageLoader.getEvictionCount());
+        assertSame(logo, ImageLoader.load(LOGO));
+        assertNotSame(favicon, ImageLoader.load(FAVICON));
+    }
+
+    @Test
+    public void loadsConcurrentRequestsOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<BufferedImage>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 32; i++) {
+            tasks.add(() -> ImageLoader.load(LOGO));
+        }
+
+        try {
+            List<Future<BufferedImage>> results = executor.invokeAll(tasks);
+            BufferedImage image = results.get(0).get();
+
+            for (Future<BufferedImage> result : results) {
+                assertSame(image, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(32, ImageLoader.getHitCount() + ImageLoader.getMissCount());
+        assertEquals(0, ImageLoader.getEvictionCount());
+    }
+}
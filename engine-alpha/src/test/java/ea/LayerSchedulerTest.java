@@ -0,0 +1,89 @@
+package ea;
+
+import ea.actor.BodyType;
+import ea.actor.Rectangle;
+import ea.internal.LayerScheduler;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LayerSchedulerTest {
+    private final LayerScheduler scheduler = new LayerScheduler(2);
+
+    @After
+    public void shutdown() throws InterruptedException {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void stepsAllLayers() {
+        List<Layer> layers = new ArrayList<>();
+        List<Rectangle> boxes = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            Layer layer = new Layer();
+            layer.setGravity(new Vector(0, -10));
+
+            Rectangle box = new Rectangle(1, 1);
+            box.setBodyType(BodyType.DYNAMIC);
+            layer.add(box);
+            layer.invokeFrameUpdateListeners(0);
+
+            layers.add(layer);
+            boxes.add(box);
+        }
+
+        layers.get(0).getWorldHandler().setWorldPaused(true);
+        layers.add(new Layer());
+
+        for (int frame = 0; frame < 10; frame++) {
+            scheduler.step(layers, 1 / 60f);
+        }
+
+        assertEquals(0, boxes.get(0).getY(), 0);
+        for (int i = 1; i < boxes.size(); i++) {
+            assertTrue(boxes.get(i).getY() < 0);
+        }
+    }
+
+    @Test
+    public void rethrowsFailures() {
+        RuntimeException failure = new RuntimeException("Test");
+
+        Layer failing = new Layer() {
+            @Override
+            public void step(float deltaSeconds) {
+                throw failure;
+            }
+        };
+
+        Rectangle box = new Rectangle(1, 1);
+        failing.add(box);
+        failing.invokeFrameUpdateListeners(0);
+
+        Layer other = new Layer();
+        other.add(new Rectangle(1, 1));
+        other.invokeFrameUpdateListeners(0);
+
+        for (List<Layer> layers : Arrays.asList(Arrays.asList(failing, other), Arrays.asList(other, failing))) {
+            try {
+                scheduler.step(layers, 1 / 60f);
+                fail();
+            } catch (RuntimeException e) {
+                // Aus dem Pool kommt eine Kopie mit dem Stacktrace des wartenden Threads
+                assertSame(failure, e == failure ? e : e.getCause());
+            }
+        }
+
+        // Die Aufgaben sind danach wieder verwendbar
+        scheduler.step(Arrays.asList(other, other), 1 / 60f);
+    }
+}
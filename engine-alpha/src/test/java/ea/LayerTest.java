@@ -0,0 +1,178 @@
+package ea;
+
+import ea.actor.Actor;
+import ea.actor.Rectangle;
+import ea.internal.Bounds;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LayerTest {
+    private Layer layer;
+    private Rectangle left;
+    private Rectangle right;
+    private Rectangle front;
+
+    @Before
+    public void setup() {
+        layer = new Layer();
+
+        left = new Rectangle(1, 1);
+        left.setPosition(0, 0);
+
+        right = new Rectangle(1, 1);
+        right.setPosition(10, 0);
+
+        front = new Rectangle(2, 2);
+        front.setPosition(-0.5f, -0.5f);
+        front.setLayerPosition(5);
+
+        layer.add(front, left, right);
+        layer.invokeFrameUpdateListeners(0);
+    }
+
+    @Test
+    public void queryBounds() {
+        assertEquals(Arrays.<Actor>asList(left, front), layer.queryActors(new Bounds(-1, -1, 2, 2)));
+        assertEquals(Collections.singletonList(right), layer.queryActors(new Bounds(9, -1, 3, 3)));
+        assertEquals(Collections.emptyList(), layer.queryActors(new Bounds(20, 20, 1, 1)));
+    }
+
+    @Test
+    public void queryPoint() {
+        assertEquals(Arrays.<Actor>asList(left, front), layer.queryActors(new Vector(0.5f, 0.5f)));
+        assertEquals(Collections.singletonList(front), layer.queryActors(new Vector(-0.25f, -0.25f)));
+        assertEquals(Collections.emptyList(), layer.queryActors(new Vector(5, 5)));
+    }
+
+    @Test
+    public void queryFollowsMovement() {
+        right.setPosition(0, 5);
+
+        assertEquals(Collections.singletonList(right), layer.queryActors(new Vector(0.5f, 5.5f)));
+        assertEquals(Collections.emptyList(), layer.queryActors(new Vector(10.5f, 0.5f)));
+    }
+
+    @Test
+    public void queryFollowsLayerPosition() {
+        left.setLayerPosition(10);
+
+        assertEquals(Arrays.<Actor>asList(front, left), layer.queryActors(new Vector(0.5f, 0.5f)));
+    }
+
+    @Test
+    public void staticLayerRedrawsOnChange() {
+        Scene scene = new Scene();
+        scene.addLayer(layer);
+        scene.getCamera().setZoom(20);
+
+        layer.setStatic(true);
+        assertTrue(layer.isStatic());
+
+        right.setPosition(-8, 2);
+        right.setColor(Color.RED);
+        assertEquals(Color.RED.getRGB(), render(scene).getRGB(50, 50));
+
+        // Farbänderungen werden nicht erkannt, bis das Layer invalidiert wird
+        right.setColor(Color.GREEN);
+        assertEquals(Color.RED.getRGB(), render(scene).getRGB(50, 50));
+
+        layer.invalidate();
+        assertEquals(Color.GREEN.getRGB(), render(scene).getRGB(50, 50));
+
+        // Bewegungen werden erkannt
+        right.setPosition(-8, -3);
+        BufferedImage image = render(scene);
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(50, 50));
+        assertEquals(Color.GREEN.getRGB(), image.getRGB(50, 150));
+    }
+
+    @Test
+    public void pipelinedSnapshotKeepsRenderState() {
+        Scene scene = new Scene();
+        scene.addLayer(layer);
+        scene.getCamera().setZoom(20);
+
+        right.setPosition(-8, 2);
+        right.setColor(Color.RED);
+
+        SceneSnapshot snapshot = new SceneSnapshot(true);
+        scene.captureSnapshot(snapshot, 400, 200);
+        assertTrue(snapshot.isPipelineSafe());
+
+        // Änderungen nach dem Festhalten dürfen den Snapshot nicht beeinflussen
+        right.setColor(Color.GREEN);
+        right.setSize(3, 3);
+
+        BufferedImage image = render(snapshot);
+        assertEquals(Color.RED.getRGB(), image.getRGB(50, 50));
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(70, 50));
+    }
+
+    @Test
+    public void customRenderIsNotPipelined() {
+        Scene scene = new Scene();
+        scene.addLayer(layer);
+
+        layer.add(new Rectangle(1, 1) {
+            @Override
+            public void render(Graphics2D g, float pixelPerMeter) {
+                // eigene Darstellung ohne festgehaltenen Zustand
+            }
+        });
+        layer.invokeFrameUpdateListeners(0);
+
+        SceneSnapshot snapshot = new SceneSnapshot(true);
+        scene.captureSnapshot(snapshot, 400, 200);
+        assertFalse(snapshot.isPipelineSafe());
+    }
+
+    @Test
+    public void countsActorsOutsideTheIndexAsCulled() {
+        Scene scene = new Scene();
+        scene.addLayer(layer);
+        scene.getCamera().setZoom(20);
+
+        right.setPosition(50, 0);
+        front.setVisible(false);
+
+        for (int i = 0; i < 5; i++) {
+            Rectangle far = new Rectangle(1, 1);
+            far.setPosition(100 + 2 * i, 0);
+            layer.add(far);
+        }
+
+        layer.invokeFrameUpdateListeners(0);
+        scene.captureSnapshot(new SceneSnapshot(false), 400, 200);
+
+        assertEquals(1, layer.getDrawnActorCount());
+        assertEquals(6, layer.getCulledActorCount());
+    }
+
+    private BufferedImage render(Scene scene) {
+        BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        layer.render(g, scene.getCamera(), image.getWidth(), image.getHeight());
+        g.dispose();
+
+        return image;
+    }
+
+    private static BufferedImage render(SceneSnapshot snapshot) {
+        BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        snapshot.render(g, image.getWidth(), image.getHeight());
+        g.dispose();
+
+        return image;
+    }
+}
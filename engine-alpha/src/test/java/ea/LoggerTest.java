@@ -1,15 +1,20 @@
 package ea;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import ea.internal.util.Logger;
 
@@ -18,13 +23,24 @@ public class LoggerTest {
     private final PrintStream standardErr = System.err;
     private final ByteArrayOutputStream errStreamCaptor = new ByteArrayOutputStream();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String previousFile;
+    private Path logFile;
+
     @Before
-    public void setUp() {
+    public void setUp() throws IOException {
         System.setErr(new PrintStream(errStreamCaptor));
+
+        previousFile = Logger.getFile();
+        logFile = folder.getRoot().toPath().resolve("engine-alpha.log");
+        Logger.setFile(logFile.toString());
     }
 
     @After
-    public void tearDown() {
+    public void tearDown() throws IOException {
+        Logger.setFile(previousFile);
         System.setErr(standardErr);
     }
 
@@ -32,6 +48,67 @@ public class LoggerTest {
     public void fileExists() {
         Logger.error("LoggerTest", "lorem ipsum");
         assertTrue(errStreamCaptor.toString().indexOf("lorem ipsum") > -1);
-        assertTrue(Files.exists(Paths.get("engine-alpha.log")));
+        assertTrue(Files.exists(logFile));
+    }
+
+    @Test
+    public void asynchronousWritesAfterFlush() throws IOException {
+        Logger.setAsynchronous(true);
+
+        try {
+            Logger.setCallSiteCapture(false);
+
+            for (int i = 0; i < 100; i++) {
+                Logger.error("LoggerTest", "asynchron " + i);
+            }
+
+            Logger.flush();
+
+            String log = new String(Files.readAllBytes(logFile));
+            assertTrue(log.contains("[LoggerTest] asynchron 99" + System.lineSeparator()));
+            assertTrue(errStreamCaptor.toString().contains("asynchron 0"));
+        } finally {
+            Logger.setCallSiteCapture(true);
+            Logger.setAsynchronous(false);
+        }
+
+        assertFalse(Logger.isAsynchronous());
+    }
+
+    @Test
+    public void disablingAsynchronousModeKeepsConcurrentRecords() throws Exception {
+        Logger.setCallSiteCapture(false);
+
+        Thread[] producers = new Thread[4];
+
+        try {
+            Logger.setAsynchronous(true);
+
+            for (int i = 0; i < producers.length; i++) {
+                int producer = i;
+
+                producers[i] = new Thread(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        Logger.debug("LoggerTest", "parallel " + producer + " " + j);
+                    }
+                });
+                producers[i].start();
+            }
+
+            Logger.setAsynchronous(false);
+
+            for (Thread thread : producers) {
+                thread.join();
+            }
+        } finally {
+            Logger.setCallSiteCapture(true);
+            Logger.setAsynchronous(false);
+        }
+
+        Logger.flush();
+
+        String log = new String(Files.readAllBytes(logFile));
+
+        assertEquals(producers.length * 500, log.split("\\[LoggerTest\\] parallel ", -1).length - 1);
     }
 }
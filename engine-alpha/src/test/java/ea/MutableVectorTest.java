@@ -0,0 +1,44 @@
+package ea;
+
+import ea.actor.Rectangle;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MutableVectorTest {
+    @Test
+    public void matchesVector() {
+        Vector vector = new Vector(3, -4);
+
+        MutableVector rotated = new MutableVector(vector).rotate(30);
+        assertEquals(vector.rotate(30).getX(), rotated.getX(), 0.0001f);
+        assertEquals(vector.rotate(30).getY(), rotated.getY(), 0.0001f);
+
+        MutableVector normalized = new MutableVector(vector).normalize();
+        assertEquals(vector.normalize(), normalized.toVector());
+        assertEquals(5, new MutableVector(vector).getLength(), 0.0001f);
+    }
+
+    @Test
+    public void chainingModifiesInPlace() {
+        MutableVector vector = new MutableVector(1, 2);
+
+        assertSame(vector, vector.add(1, 1).multiply(2).subtract(new Vector(1, 1)));
+        assertEquals(new Vector(3, 5), vector.toVector());
+    }
+
+    @Test
+    public void actorPosition() {
+        Rectangle rectangle = new Rectangle(1, 1);
+        rectangle.setPosition(2, 3);
+        rectangle.moveBy(1, -1);
+
+        MutableVector position = new MutableVector();
+        assertSame(position, rectangle.getPosition(position));
+        assertEquals(3, position.getX(), 0);
+        assertEquals(2, position.getY(), 0);
+        assertEquals(3, rectangle.getX(), 0);
+        assertEquals(2, rectangle.getY(), 0);
+    }
+}
@@ -0,0 +1,69 @@
+package ea;
+
+import ea.internal.io.ImageLoader;
+import ea.internal.io.PackFile;
+import ea.internal.io.ResourceLoader;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PackFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void cleanup() {
+        ResourceLoader.unmountPacks();
+        ImageLoader.clearCache();
+    }
+
+    @Test
+    public void loadsFromMountedPack() throws IOException {
+        Path content = folder.newFolder("content").toPath();
+        Files.createDirectories(content.resolve("pack-test/sub"));
+        Files.write(content.resolve("pack-test/hello.txt"), "Hallo Welt".getBytes(StandardCharsets.UTF_8));
+        Files.write(content.resolve("pack-test/sub/empty.bin"), new byte[0]);
+        Files.write(content.resolve("pack-test/logo.png"), ResourceLoader.load("assets/logo.png"));
+
+        File packFile = new File(folder.getRoot(), "test.eapack");
+        PackFile.write(packFile.toPath(), content);
+        ResourceLoader.mountPack(packFile.getPath());
+
+        assertArrayEquals("Hallo Welt".getBytes(StandardCharsets.UTF_8), ResourceLoader.load("pack-test/hello.txt"));
+        assertEquals(0, ResourceLoader.load("pack-test/sub/empty.bin").length);
+
+        ByteBuffer buffer = ResourceLoader.loadAsBuffer("pack-test/hello.txt");
+        assertTrue(buffer.isReadOnly());
+        assertEquals(10, buffer.remaining());
+
+        try (InputStream stream = ResourceLoader.loadAsStream("pack-test\\hello.txt")) {
+            assertEquals('H', stream.read());
+            assertEquals(9, stream.available());
+        }
+
+        BufferedImage logo = ImageLoader.load("pack-test/logo.png");
+        assertEquals(ImageLoader.load("assets/logo.png").getWidth(), logo.getWidth());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsInvalidPack() throws IOException {
+        File file = folder.newFile("invalid.eapack");
+        Files.write(file.toPath(), "kein Archiv".getBytes(StandardCharsets.UTF_8));
+
+        ResourceLoader.mountPack(file.getPath());
+    }
+}
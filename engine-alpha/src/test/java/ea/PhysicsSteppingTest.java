@@ -0,0 +1,96 @@
+package ea;
+
+import ea.actor.BodyType;
+import ea.actor.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PhysicsSteppingTest {
+    private Layer layer;
+    private Rectangle box;
+
+    @Before
+    public void setup() {
+        layer = new Layer();
+        layer.setGravity(new Vector(0, -10));
+
+        Rectangle ground = new Rectangle(10, 1);
+        ground.setPosition(-5, -1);
+        ground.setBodyType(BodyType.STATIC);
+
+        box = new Rectangle(1, 1);
+        box.setPosition(0, 0.5f);
+        box.setBodyType(BodyType.DYNAMIC);
+
+        layer.add(ground, box);
+        layer.invokeFrameUpdateListeners(0);
+    }
+
+    @Test
+    public void dropsStepsAboveLimit() {
+        layer.setMaxPhysicsSteps(4);
+        layer.step(0.1f);
+
+        // 12 Teilschritte à 8 ms, davon 4 simuliert
+        assertEquals(8, layer.getDroppedPhysicsSteps());
+
+        float y = box.getY();
+        layer.step(0);
+        assertEquals(y, box.getY(), 0);
+    }
+
+    @Test
+    public void catchesUpInFollowingFrames() {
+        layer.setMaxPhysicsSteps(4);
+        layer.setPhysicsOverflowPolicy(Layer.PhysicsOverflowPolicy.CATCH_UP);
+        layer.step(0.1f);
+
+        // Höchstens ein weiterer Frame wird nachgeholt
+        assertEquals(4, layer.getDroppedPhysicsSteps());
+
+        float y = box.getY();
+        layer.step(0);
+        assertNotEquals(y, box.getY(), 0);
+    }
+
+    @Test
+    public void countsSleepingBodies() {
+        settle();
+
+        assertEquals(0, layer.getAwakeBodyCount());
+        assertEquals(1, layer.getSleepingBodyCount());
+
+        layer.setSleepingAllowed(false);
+        settle();
+
+        assertEquals(1, layer.getAwakeBodyCount());
+        assertEquals(0, layer.getSleepingBodyCount());
+    }
+
+    @Test
+    public void findsContactsOfNewFixturesWhileAsleep() {
+        settle();
+
+        Rectangle wall = new Rectangle(1, 1);
+        wall.setPosition(0.5f, 0.5f);
+        wall.setBodyType(BodyType.STATIC);
+        layer.add(wall);
+        layer.invokeFrameUpdateListeners(0);
+
+        int contacts = layer.getWorldHandler().getWorld().getContactCount();
+        layer.step(1 / 60f);
+
+        assertEquals(0, layer.getAwakeBodyCount());
+        assertTrue(layer.getWorldHandler().getWorld().getContactCount() > contacts);
+    }
+
+    private void settle() {
+        for (int i = 0; i < 300; i++) {
+            layer.step(1 / 60f);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ea;
+
+import ea.internal.graphics.AtlasRegion;
+import ea.internal.graphics.SpriteAtlas;
+import org.junit.After;
+import org.junit.Test;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SpriteAtlasTest {
+    private static BufferedImage createImage(int width, int height, int seed) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, 0xFF000000 | (seed * 7919 + x * 31 + y * 17) & 0xFFFFFF);
+            }
+        }
+
+        return image;
+    }
+
+    @After
+    public void cleanup() {
+        SpriteAtlas.clear();
+        SpriteAtlas.setMaxPageCount(16);
+    }
+
+    @Test
+    public void packsWithoutOverlap() {
+        List<Rectangle> used = new ArrayList<>();
+
+        // Nicht mehr erreichbare Ausschnitte würden freigegeben und ihre Fläche neu belegt
+        List<AtlasRegion> regions = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            BufferedImage image = createImage(8 + i % 40, 8 + (i * 7) % 50, i);
+            AtlasRegion region = SpriteAtlas.getRegion(image);
+
+            assertNotSame(image, region.getPage());
+            assertEquals(image.getWidth(), region.getWidth());
+            assertEquals(image.getHeight(), region.getHeight());
+            assertEquals(image.getRGB(3, 5), region.getPage().getRGB(region.getX() + 3, region.getY() + 5));
+
+            // Rand enthält die äußeren Pixel
+            assertEquals(image.getRGB(0, 0), region.getPage().getRGB(region.getX() - 1, region.getY() - 1));
+            assertEquals(image.getRGB(image.getWidth() - 1, 2), region.getPage().getRGB(region.getX() + region.getWidth(), region.getY() + 2));
+
+            Rectangle padded = new Rectangle(region.getX() - 1, region.getY() - 1, region.getWidth() + 2, region.getHeight() + 2);
+            for (Rectangle other : used) {
+                assertFalse(other.intersects(padded));
+            }
+
+            used.add(padded);
+            regions.add(region);
+        }
+
+        // alle Ausschnitte liegen auf einer Seite, sonst wäre der Test auf Überschneidungen zu streng
+        assertEquals(1, SpriteAtlas.getPageCount());
+    }
+
+    @Test
+    public void sameImageSameRegion() {
+        BufferedImage image = createImage(16, 16, 1);
+
+        assertSame(SpriteAtlas.getRegion(image), SpriteAtlas.getRegion(image));
+    }
+
+    @Test
+    public void largeImagesAreNotPacked() {
+        BufferedImage image = createImage(SpriteAtlas.MAX_SPRITE_SIZE + 1, 10, 1);
+        AtlasRegion region = SpriteAtlas.getRegion(image);
+
+        assertSame(image, region.getPage());
+        assertEquals(0, SpriteAtlas.getPageCount());
+
+        // Nicht zwischengespeichert, sonst hielte der Ausschnitt sein eigenes Bild am Leben
+        assertNotSame(region, SpriteAtlas.getRegion(image));
+    }
+
+    @Test
+    public void reclaimsUnreachableRegions() {
+        SpriteAtlas.setMaxPageCount(1);
+
+        List<AtlasRegion> regions = new ArrayList<>();
+        int size = SpriteAtlas.MAX_SPRITE_SIZE;
+
+        for (int i = 0; i < 9; i++) {
+            regions.add(SpriteAtlas.getRegion(createImage(size, size, i)));
+        }
+
+        BufferedImage overflow = createImage(size, size, 9);
+        assertSame(overflow, SpriteAtlas.getRegion(overflow).getPage());
+
+        regions.clear();
+
+        BufferedImage image = null;
+        AtlasRegion region = null;
+
+        for (int attempt = 0; attempt < 20 && (region == null || region.getPage() == image); attempt++) {
+            System.gc();
+
+            image = createImage(size, size, 10 + attempt);
+            region = SpriteAtlas.getRegion(image);
+        }
+
+        assertNotSame(image, region.getPage());
+        assertEquals(1, SpriteAtlas.getPageCount());
+    }
+}
@@ -0,0 +1,132 @@
+package ea;
+
+import ea.actor.StreamingTileMap;
+import ea.internal.io.TileChunkIO;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingTileMapTest {
+    private static final int CHUNK_SIZE = 16;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private void writeChunk(int chunkX, int chunkY, short id) throws IOException {
+        short[] ids = new short[CHUNK_SIZE * CHUNK_SIZE];
+        Arrays.fill(ids, id);
+
+        try (OutputStream out = new FileOutputStream(new File(folder.getRoot(), chunkX + "_" + chunkY + ".chunk"))) {
+            TileChunkIO.write(out, ids, CHUNK_SIZE);
+        }
+    }
+
+    @Test
+    public void chunkFormatRoundTrip() throws IOException {
+        short[] ids = new short[CHUNK_SIZE * CHUNK_SIZE];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (short) (i / 50);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TileChunkIO.write(out, ids, CHUNK_SIZE);
+
+        // Lauflängenkodierung: 6 Läufe à 4 Bytes plus 6 Bytes Kopf
+        assertEquals(6 + 6 * 4, out.size());
+        assertArrayEquals(ids, TileChunkIO.read(new ByteArrayInputStream(out.toByteArray()), CHUNK_SIZE));
+    }
+
+    @Test
+    public void loadsVisibleChunksInBackground() throws Exception {
+        writeChunk(0, 0, (short) 1);
+
+        StreamingTileMap map = new StreamingTileMap(folder.getRoot().getAbsolutePath(), 1000, 1000, 1, 1);
+        map.setPaletteTile(1, (g, width, height) -> {
+            g.setColor(Color.RED);
+            g.fill(new Rectangle2D.Float(0, 0, width, height));
+        });
+
+        BufferedImage target = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        render(map, target);
+
+        // 2x2 sichtbare Blöcke plus ein Block Rand zum Vorladen
+        long deadline = System.currentTimeMillis() + 5000;
+        while (map.getLoadedChunkCount() < 9 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(9, map.getLoadedChunkCount());
+
+        render(map, target);
+
+        assertEquals(Color.RED.getRGB(), target.getRGB(10, 10));
+        assertEquals(Color.BLACK.getRGB(), target.getRGB(16 * 30 + 10, 10));
+    }
+
+    @Test
+    public void evictsChunksButKeepsModifications() throws IOException {
+        writeChunk(1, 0, (short) 2);
+
+        StreamingTileMap map = new StreamingTileMap(folder.getRoot().getAbsolutePath(), 100, 100, 1, 1);
+        map.setMaxLoadedChunks(2);
+
+        map.setTileId(3, 3, (short) 5);
+        assertEquals(2, map.getTileId(CHUNK_SIZE, 0));
+        assertEquals(0, map.getTileId(2 * CHUNK_SIZE, 0));
+        assertEquals(0, map.getTileId(3 * CHUNK_SIZE, 0));
+
+        assertTrue(map.getLoadedChunkCount() <= 2);
+        assertEquals(5, map.getTileId(3, 3));
+        assertEquals(0, map.getTileId(4, 3));
+    }
+
+    @Test
+    public void keepsVisibleChunksAboveLimit() throws Exception {
+        writeChunk(0, 0, (short) 1);
+
+        StreamingTileMap map = new StreamingTileMap(folder.getRoot().getAbsolutePath(), 1000, 1000, 1, 1);
+        map.setMaxLoadedChunks(2);
+        map.setPaletteTile(1, (g, width, height) -> {
+            g.setColor(Color.RED);
+            g.fill(new Rectangle2D.Float(0, 0, width, height));
+        });
+
+        BufferedImage target = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        render(map, target);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (map.getLoadedChunkCount() < 9 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Sichtbare Blöcke und Rand werden trotz kleinerer Grenze nicht verdrängt
+        render(map, target);
+
+        assertEquals(9, map.getLoadedChunkCount());
+        assertEquals(Color.RED.getRGB(), target.getRGB(10, 10));
+    }
+
+    private static void render(StreamingTileMap map, BufferedImage target) {
+        Graphics2D g = target.createGraphics();
+        g.setClip(0, 0, target.getWidth(), target.getHeight());
+        g.translate(0, map.getTileCountY() * 30f);
+        map.render(g, 30);
+        g.dispose();
+    }
+}
@@ -0,0 +1,91 @@
+package ea;
+
+import ea.actor.Tile;
+import ea.actor.TileContainer;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+
+public class TileContainerTest {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final float PIXEL_PER_METER = 30;
+
+    private static class CountingTile implements Tile {
+        private final Color color;
+        private int renderCount;
+
+        private CountingTile(Color color) {
+            this.color = color;
+        }
+
+        @Override
+        public void render(Graphics2D g, float width, float height) {
+            renderCount++;
+            g.setColor(color);
+            g.fill(new Rectangle2D.Float(0, 0, width, height));
+        }
+    }
+
+    private static TileContainer createFilledContainer(int size, Tile tile) {
+        TileContainer container = new TileContainer(size, size, 1);
+
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                container.setTile(x, y, tile);
+            }
+        }
+
+        return container;
+    }
+
+    private static void render(TileContainer container, BufferedImage target) {
+        Graphics2D g = target.createGraphics();
+        g.setClip(0, 0, WIDTH, HEIGHT);
+        // Obere linke Ecke des Containers an den Ursprung legen
+        g.translate(0, container.getTileCountY() * PIXEL_PER_METER);
+        container.render(g, PIXEL_PER_METER);
+        g.dispose();
+    }
+
+    @Test
+    public void rendersOnlyVisibleChunks() {
+        CountingTile tile = new CountingTile(Color.RED);
+        TileContainer container = createFilledContainer(1000, tile);
+        BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        render(container, target);
+
+        // 800x600 px bei 30 px pro Tile und 16 Tiles pro Block: 2x2 Blöcke
+        assertEquals(4 * 16 * 16, tile.renderCount);
+        assertEquals(Color.RED.getRGB(), target.getRGB(WIDTH - 1, HEIGHT - 1));
+
+        render(container, target);
+
+        assertEquals(4 * 16 * 16, tile.renderCount);
+    }
+
+    @Test
+    public void setTileInvalidatesOnlyAffectedChunk() {
+        CountingTile tile = new CountingTile(Color.RED);
+        CountingTile replacement = new CountingTile(Color.BLUE);
+        TileContainer container = createFilledContainer(100, tile);
+        BufferedImage target = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        render(container, target);
+        int initialCount = tile.renderCount;
+
+        container.setTile(20, 0, replacement);
+        render(container, target);
+
+        assertEquals(initialCount + 16 * 16 - 1, tile.renderCount);
+        assertEquals(1, replacement.renderCount);
+        assertEquals(Color.BLUE.getRGB(), target.getRGB(20 * 30 + 15, 15));
+        assertEquals(Color.RED.getRGB(), target.getRGB(19 * 30 + 15, 15));
+    }
+}
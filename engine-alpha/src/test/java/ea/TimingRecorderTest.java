@@ -0,0 +1,49 @@
+package ea;
+
+import ea.internal.TimingRecorder;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TimingRecorderTest {
+    @Test
+    public void percentiles() {
+        TimingRecorder recorder = new TimingRecorder(100);
+
+        for (int i = 100; i >= 1; i--) {
+            recorder.record(i * 1000000L);
+        }
+
+        TimingStats stats = recorder.calculateStats();
+
+        assertEquals(100, stats.getSampleCount());
+        assertEquals(50, stats.getMedian(), 0);
+        assertEquals(95, stats.getPercentile95(), 0);
+        assertEquals(99, stats.getPercentile99(), 0);
+        assertEquals(100, stats.getMax(), 0);
+    }
+
+    @Test
+    public void oldSamplesAreOverwritten() {
+        TimingRecorder recorder = new TimingRecorder(4);
+
+        recorder.record(100000000L);
+
+        for (int i = 0; i < 4; i++) {
+            recorder.record(1000000L);
+        }
+
+        TimingStats stats = recorder.calculateStats();
+
+        assertEquals(4, stats.getSampleCount());
+        assertEquals(1, stats.getMax(), 0);
+    }
+
+    @Test
+    public void empty() {
+        TimingStats stats = new TimingRecorder().calculateStats();
+
+        assertEquals(0, stats.getSampleCount());
+        assertEquals(0, stats.getMax(), 0);
+    }
+}
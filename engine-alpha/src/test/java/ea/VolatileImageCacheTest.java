@@ -0,0 +1,47 @@
+package ea;
+
+import ea.internal.graphics.VolatileImageCache;
+import org.junit.After;
+import org.junit.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class VolatileImageCacheTest {
+    @After
+    public void cleanup() {
+        VolatileImageCache.setGraphicsConfiguration(null);
+        VolatileImageCache.resetStatistics();
+    }
+
+    @Test
+    public void fallsBackWithoutScreen() {
+        BufferedImage source = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage target = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+
+        // Ohne Konfiguration wird immer das ursprüngliche Bild gezeichnet
+        assertSame(source, VolatileImageCache.get(g, source));
+        assertEquals(0, VolatileImageCache.getMissCount());
+
+        // Bilder im Hauptspeicher werden nicht beschleunigt, der Cache schaltet sich ab
+        VolatileImageCache.setGraphicsConfiguration(g.getDeviceConfiguration());
+        assertSame(source, VolatileImageCache.get(g, source));
+        assertSame(source, VolatileImageCache.get(g, source));
+        assertFalse(VolatileImageCache.isAccelerated());
+        assertEquals(0, VolatileImageCache.getHitCount());
+
+        // Erneutes Setzen prüft die Beschleunigung neu
+        VolatileImageCache.setGraphicsConfiguration(g.getDeviceConfiguration());
+        assertTrue(VolatileImageCache.isAccelerated());
+        assertSame(source, VolatileImageCache.get(g, source));
+        assertFalse(VolatileImageCache.isAccelerated());
+
+        g.dispose();
+    }
+}